@@ -3892,6 +3892,9 @@ async function loadLeads(page = 0) {
     const status = document.getElementById('filter-leads-status') ? document.getElementById('filter-leads-status').value : '';
 
     let url = `${API_BASE}/api/v1/leads?page=${page}&size=${PAGE_SIZE}&sortBy=id&sortDirection=DESC`;
+    if (search) {
+        url += `&search=${encodeURIComponent(search)}`;
+    }
     if (status) {
         url = `${API_BASE}/api/v1/leads/status/${status}?page=${page}&size=${PAGE_SIZE}`;
     }
@@ -3904,7 +3907,7 @@ async function loadLeads(page = 0) {
             const data = await response.json();
             let leads = data.content || [];
 
-            if (search) {
+            if (search && status) {
                 leads = leads.filter(l =>
                     (l.fullName && l.fullName.toLowerCase().includes(search.toLowerCase())) ||
                     (l.phoneNumber && l.phoneNumber.includes(search))
@@ -232,8 +232,87 @@ document.addEventListener('DOMContentLoaded', () => {
         markAllAsRead();
     });
 
-    // Initialize and start polling
+    // Live updates over server-sent events. EventSource cannot send the Authorization header, so each
+    // connection opens with a short-lived stream token; polling only runs while the stream is down.
+    let eventSource = null;
+    let lastEventId = null;
+    let pollTimer = null;
+    let reconnectDelay = 1000;
+
+    function startPolling() {
+        if (!pollTimer) {
+            pollTimer = setInterval(fetchUnreadCount, 60000);
+        }
+    }
+
+    function stopPolling() {
+        if (pollTimer) {
+            clearInterval(pollTimer);
+            pollTimer = null;
+        }
+    }
+
+    function scheduleReconnect() {
+        startPolling();
+        setTimeout(connectStream, reconnectDelay);
+        reconnectDelay = Math.min(reconnectDelay * 2, 60000);
+    }
+
+    async function connectStream() {
+        if (!window.EventSource) {
+            startPolling();
+            return;
+        }
+        try {
+            const response = await fetch(`${baseApiUrl}/stream-token`, {
+                method: 'POST',
+                headers: {
+                    'Authorization': `Bearer ${localStorage.getItem('token')}`
+                }
+            });
+            if (!response.ok) {
+                throw new Error(`Stream token request failed with status ${response.status}`);
+            }
+            const { token: streamToken } = await response.json();
+            const params = new URLSearchParams({ access_token: streamToken });
+            if (lastEventId) {
+                params.set('lastEventId', lastEventId);
+            }
+            eventSource = new EventSource(`${baseApiUrl}/stream?${params}`);
+        } catch (error) {
+            console.error('Error opening notification stream:', error);
+            scheduleReconnect();
+            return;
+        }
+
+        eventSource.onopen = () => {
+            reconnectDelay = 1000;
+            stopPolling();
+            fetchUnreadCount();
+        };
+        eventSource.addEventListener('notification', (event) => {
+            lastEventId = event.lastEventId;
+            fetchUnreadCount();
+            if (bellDropdown.classList.contains('show')) {
+                fetchNotifications(currentPage);
+            }
+        });
+        eventSource.onerror = () => {
+            // The browser retries dropped connections itself; a rejected one (expired token, node full) is closed
+            if (eventSource.readyState === EventSource.CLOSED) {
+                eventSource = null;
+                scheduleReconnect();
+            }
+        };
+    }
+
+    window.addEventListener('beforeunload', () => {
+        if (eventSource) {
+            eventSource.close();
+        }
+    });
+
+    // Initialize and subscribe
     fetchUnreadCount();
-    // Poll every 60 seconds
-    setInterval(fetchUnreadCount, 60000);
+    connectStream();
 });
@@ -5,15 +5,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.example.academicmanagementsystem.model.NotificationType;
 import org.example.academicmanagementsystem.model.UserRole;
-import org.example.academicmanagementsystem.service.NotificationService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Aspect
 @Component
@@ -21,7 +25,18 @@ import java.util.Set;
 @Slf4j
 public class AuditNotificationAspect {
 
-    private final NotificationService notificationService;
+    /** Published for every audited service call; turned into notifications after commit by {@link AuditNotificationCoalescer} */
+    public record AuditEvent(String username, String entityName, String action, NotificationType type, UserRole extraRole) {
+    }
+
+    /** Everything derivable from the method signature alone, computed once per Method */
+    private record Classification(boolean skipped, String entityName, String action, NotificationType type, UserRole extraRole) {
+        private static final Classification SKIPPED = new Classification(true, null, null, null, null);
+    }
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Method, Classification> classifications = new ConcurrentHashMap<>();
 
     private static final Set<String> SKIPPED_SIGNATURES = new HashSet<>();
 
@@ -47,38 +62,18 @@ public class AuditNotificationAspect {
         returning = "result"
     )
     public void afterServiceChange(JoinPoint joinPoint, Object result) {
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
-        String fullSignature = className + "." + methodName;
-
-        if (SKIPPED_SIGNATURES.contains(fullSignature)) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Classification classification = classifications.computeIfAbsent(method, AuditNotificationAspect::classify);
+        if (classification.skipped()) {
             return;
         }
 
-        // Skip NotificationService itself to avoid infinite loop
-        if (className.contains("NotificationService")) {
-            return;
-        }
-
-        String username = getUsername();
-        String action = getActionFromMethod(methodName);
-        String entityName = getEntityNameFromClassOrMethod(className, methodName);
-        String message = String.format("User %s performed %s on %s", username, action.toLowerCase(), entityName);
-
-        NotificationType type = getNotificationType(action);
-
         try {
-            // Notify Admin
-            notificationService.createForRole(UserRole.ADMIN, type, message, null);
-
-            // Notify specific roles based on entity
-            if (isFinanceRelated(entityName)) {
-                notificationService.createForRole(UserRole.ACCOUNTANT, type, message, null);
-            } else if (isLeadOrStudentRelated(entityName)) {
-                notificationService.createForRole(UserRole.MODERATOR, type, message, null);
-            }
+            // Cheap in-memory event; message formatting and inserts happen after commit, coalesced
+            eventPublisher.publishEvent(new AuditEvent(getUsername(), classification.entityName(),
+                    classification.action(), classification.type(), classification.extraRole()));
         } catch (Exception e) {
-            log.error("Failed to create audit notification for " + fullSignature, e);
+            log.error("Failed to publish audit event for " + method.getDeclaringClass().getSimpleName() + "." + method.getName(), e);
         }
     }
 
@@ -90,7 +85,30 @@ public class AuditNotificationAspect {
         return "SYSTEM";
     }
 
-    private String getActionFromMethod(String methodName) {
+    private static Classification classify(Method method) {
+        String methodName = method.getName();
+        String className = method.getDeclaringClass().getSimpleName();
+
+        if (SKIPPED_SIGNATURES.contains(className + "." + methodName)) {
+            return Classification.SKIPPED;
+        }
+        // Skip NotificationService itself to avoid infinite loop
+        if (className.contains("NotificationService")) {
+            return Classification.SKIPPED;
+        }
+
+        String action = getActionFromMethod(methodName);
+        String entityName = getEntityNameFromClassOrMethod(className, methodName);
+        UserRole extraRole = null;
+        if (isFinanceRelated(entityName)) {
+            extraRole = UserRole.ACCOUNTANT;
+        } else if (isLeadOrStudentRelated(entityName)) {
+            extraRole = UserRole.MODERATOR;
+        }
+        return new Classification(false, entityName, action, getNotificationType(action), extraRole);
+    }
+
+    private static String getActionFromMethod(String methodName) {
         String lower = methodName.toLowerCase();
         if (lower.startsWith("create") || lower.startsWith("enroll") || lower.startsWith("add") || lower.startsWith("record")) {
             return "CREATE";
@@ -104,7 +122,7 @@ public class AuditNotificationAspect {
         return "WRITE";
     }
 
-    private String getEntityNameFromClassOrMethod(String className, String methodName) {
+    private static String getEntityNameFromClassOrMethod(String className, String methodName) {
         String name = className.replace("ServiceImpl", "").replace("Service", "");
         if (name.isEmpty() || name.equals("Object")) {
             name = methodName;
@@ -112,7 +130,7 @@ public class AuditNotificationAspect {
         return name;
     }
 
-    private NotificationType getNotificationType(String action) {
+    private static NotificationType getNotificationType(String action) {
         switch (action) {
             case "CREATE":
                 return NotificationType.SYSTEM_CREATE;
@@ -125,12 +143,12 @@ public class AuditNotificationAspect {
         }
     }
 
-    private boolean isFinanceRelated(String entityName) {
+    private static boolean isFinanceRelated(String entityName) {
         String lower = entityName.toLowerCase();
         return lower.contains("payment") || lower.contains("finance") || lower.contains("salary") || lower.contains("expense") || lower.contains("invoice") || lower.contains("payroll");
     }
 
-    private boolean isLeadOrStudentRelated(String entityName) {
+    private static boolean isLeadOrStudentRelated(String entityName) {
         String lower = entityName.toLowerCase();
         return lower.contains("lead") || lower.contains("student") || lower.contains("round") || lower.contains("diploma") || lower.contains("complaint") || lower.contains("instructor");
     }
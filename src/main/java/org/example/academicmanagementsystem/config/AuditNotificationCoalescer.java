@@ -0,0 +1,101 @@
+package org.example.academicmanagementsystem.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.example.academicmanagementsystem.service.NotificationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects committed audit events and emits one summary notification per
+ * (actor, entity, action) and time window, so bulk operations don't turn into bursts of inserts.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditNotificationCoalescer {
+
+    private record Key(String username, String entityName, String action) {
+    }
+
+    private static final class Window {
+        private final AuditNotificationAspect.AuditEvent first;
+        private final long openedAt = System.currentTimeMillis();
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Window(AuditNotificationAspect.AuditEvent first) {
+            this.first = first;
+        }
+    }
+
+    private final NotificationService notificationService;
+
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+
+    @Value("${audit.notifications.coalesce-window-ms:5000}")
+    private long coalesceWindowMs;
+
+    // Runs after commit; falls back to immediate handling for calls made outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuditEvent(AuditNotificationAspect.AuditEvent event) {
+        Key key = new Key(event.username(), event.entityName(), event.action());
+        windows.compute(key, (k, window) -> {
+            Window target = window != null ? window : new Window(event);
+            target.count.incrementAndGet();
+            return target;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${audit.notifications.flush-interval-ms:1000}")
+    public void flushExpired() {
+        flush(System.currentTimeMillis() - coalesceWindowMs);
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flush(Long.MAX_VALUE);
+    }
+
+    private void flush(long openedBefore) {
+        Iterator<Map.Entry<Key, Window>> iterator = windows.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Window> entry = iterator.next();
+            if (entry.getValue().openedAt > openedBefore) {
+                continue;
+            }
+            // remove(key, value) so an event racing into this window is never lost
+            if (windows.remove(entry.getKey(), entry.getValue())) {
+                notify(entry.getValue());
+            }
+        }
+    }
+
+    private void notify(Window window) {
+        AuditNotificationAspect.AuditEvent event = window.first;
+        int count = window.count.get();
+        String message = count == 1
+                ? String.format("User %s performed %s on %s", event.username(), event.action().toLowerCase(), event.entityName())
+                : String.format("User %s performed %d %s operations on %s", event.username(), count, event.action().toLowerCase(), event.entityName());
+
+        try {
+            // Notify Admin
+            notificationService.createForRole(UserRole.ADMIN, event.type(), message, null);
+
+            // Notify specific roles based on entity
+            if (event.extraRole() != null) {
+                notificationService.createForRole(event.extraRole(), event.type(), message, null);
+            }
+        } catch (Exception e) {
+            log.error("Failed to create audit notification for " + event.entityName(), e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.academicmanagementsystem.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Ordered ahead of the transaction interceptor so each retry runs in a new transaction
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@Slf4j
+public class ConflictRetryAspect {
+
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public ConflictRetryAspect(@Value("${concurrency.retry.max-attempts:4}") int maxAttempts,
+                               @Value("${concurrency.retry.backoff-ms:20}") long backoffMillis) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+    }
+
+    @Around("@annotation(org.example.academicmanagementsystem.config.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Optimistic lock conflict in {} (attempt {}/{}), retrying",
+                        joinPoint.getSignature().toShortString(), attempt, maxAttempts);
+                // Randomised, growing pause so competing writers do not collide again in lockstep
+                Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis * attempt + 1));
+            }
+        }
+    }
+}
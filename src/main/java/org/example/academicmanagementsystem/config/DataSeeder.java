@@ -45,6 +45,7 @@ public class DataSeeder {
     private final PayrollRecordRepository payrollRecordRepository;
     private final PasswordEncoder passwordEncoder;
     private final org.springframework.jdbc.core.JdbcTemplate jdbcTemplate;
+    private final org.example.academicmanagementsystem.service.LeadStatusCounterService leadStatusCounterService;
 
     @Bean
     public CommandLineRunner seedDatabase() {
@@ -146,6 +147,9 @@ public class DataSeeder {
             }
             seedLeads(users, diplomaV2Repository.findAll());
             System.out.println(">>> Seeded fresh moderator leads for active week");
+
+            // Seeding bypasses LeadService, so bring the dashboard counters back in line
+            leadStatusCounterService.rebuild();
  
             log.info("Database seeding completed successfully!");
         };
@@ -347,15 +351,10 @@ public class DataSeeder {
         rd.setTotalStudents(capacity);
         rd.setCurrentEnrollment(0);
         
-        rd.setInstallment1Amount(instAmount);
-        rd.setInstallment2Amount(instAmount);
-        rd.setInstallment3Amount(instAmount);
-        rd.setInstallment4Amount(instAmount);
-        
-        rd.setInstallment1Date(d1);
-        rd.setInstallment2Date(d2);
-        rd.setInstallment3Date(d3);
-        rd.setInstallment4Date(d4);
+        rd.putInstallment(1, d1, instAmount);
+        rd.putInstallment(2, d2, instAmount);
+        rd.putInstallment(3, d3, instAmount);
+        rd.putInstallment(4, d4, instAmount);
         return rd;
     }
 
@@ -662,21 +661,10 @@ public class DataSeeder {
                     newRd.setCurrentEnrollment(7);
                     
                     // Setup Installments info
-                    newRd.setInstallment1Amount(new BigDecimal("2250.00"));
-                    newRd.setInstallment1Date(LocalDate.of(2026, 4, 12));
-                    newRd.setInstallment1Percent(50);
-                    
-                    newRd.setInstallment2Amount(new BigDecimal("2250.00"));
-                    newRd.setInstallment2Date(LocalDate.of(2026, 5, 12));
-                    newRd.setInstallment2Percent(50);
-                    
-                    newRd.setInstallment3Amount(new BigDecimal("0.00"));
-                    newRd.setInstallment3Date(LocalDate.of(2026, 6, 12));
-                    newRd.setInstallment3Percent(0);
-
-                    newRd.setInstallment4Amount(new BigDecimal("0.00"));
-                    newRd.setInstallment4Date(LocalDate.of(2026, 7, 12));
-                    newRd.setInstallment4Percent(0);
+                    newRd.putInstallment(1, LocalDate.of(2026, 4, 12), new BigDecimal("2250.00"), 50);
+                    newRd.putInstallment(2, LocalDate.of(2026, 5, 12), new BigDecimal("2250.00"), 50);
+                    newRd.putInstallment(3, LocalDate.of(2026, 6, 12), new BigDecimal("0.00"), 0);
+                    newRd.putInstallment(4, LocalDate.of(2026, 7, 12), new BigDecimal("0.00"), 0);
 
                     return roundDiplomaV2Repository.save(newRd);
                 });
@@ -713,12 +701,10 @@ public class DataSeeder {
         s.setDiploma(diploma);
         s.setEnrollmentDate(LocalDate.of(2026, 4, 12).atStartOfDay());
         s.setDepositAmount(new BigDecimal("500.00"));
-        s.setInstallment1Paid(new BigDecimal("1150.00"));
-        s.setInstallment1Notes("Lorem Epsom Lorem Epsom");
-        s.setInstallment2Paid(new BigDecimal("600.00"));
-        s.setInstallment2Notes("Lorem Epsom Lorem Epsom");
-        s.setInstallment3Paid(BigDecimal.ZERO);
-        s.setInstallment4Paid(BigDecimal.ZERO);
+        s.recordInstallment(1, new BigDecimal("1150.00"), "Lorem Epsom Lorem Epsom");
+        s.recordInstallment(2, new BigDecimal("600.00"), "Lorem Epsom Lorem Epsom");
+        s.recordInstallment(3, BigDecimal.ZERO, null);
+        s.recordInstallment(4, BigDecimal.ZERO, null);
         studentV2Repository.save(s);
     }
 }
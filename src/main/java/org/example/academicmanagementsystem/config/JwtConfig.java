@@ -10,4 +10,6 @@ import org.springframework.context.annotation.Configuration;
 public class JwtConfig {
     private String secret;
     private Long expiration;
+    // Lifetime of the query-parameter token that opens the notification stream
+    private Long streamExpiration = 60000L;
 }
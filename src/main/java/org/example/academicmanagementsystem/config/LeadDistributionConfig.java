@@ -0,0 +1,13 @@
+package org.example.academicmanagementsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "leads.distribution")
+@Data
+public class LeadDistributionConfig {
+    // Unassigned leads read, assigned and updated per transaction
+    private int batchSize = 1000;
+}
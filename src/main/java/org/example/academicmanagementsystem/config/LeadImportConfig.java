@@ -0,0 +1,15 @@
+package org.example.academicmanagementsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "leads.import")
+@Data
+public class LeadImportConfig {
+    // Rows per JDBC batch / per transaction
+    private int batchSize = 1000;
+    // Row errors echoed back in the summary; the rest are only counted
+    private int maxReportedErrors = 500;
+}
@@ -0,0 +1,28 @@
+package org.example.academicmanagementsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "notifications.dispatch")
+@Data
+public class NotificationDispatchConfig {
+
+    public enum OverflowPolicy {
+        // Persist on the calling thread when the queue stays full (never loses a notification)
+        CALLER_RUNS,
+        // Drop the notification when the queue stays full (protects request latency)
+        DROP
+    }
+
+    private int queueCapacity = 10_000;
+    private int batchSize = 200;
+    // How long the idle worker waits for an event before re-checking for shutdown
+    private long pollIntervalMs = 250;
+    // Time a producer may block on a full queue before the overflow policy applies
+    private long offerTimeoutMs = 50;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.CALLER_RUNS;
+    // Max time spent draining the queue on shutdown
+    private long shutdownTimeoutMs = 10_000;
+}
@@ -0,0 +1,28 @@
+package org.example.academicmanagementsystem.config;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.example.academicmanagementsystem.model.*;
+
+/**
+ * Keeps the phone_key column of leads, students, V2 students, V2 invoices and complaints in step with the
+ * phone number the row stores, so dedupe and lookups compare canonical keys instead of raw strings.
+ */
+public class PhoneKeyEntityListener {
+
+    @PrePersist
+    @PreUpdate
+    public void assignPhoneKey(BaseEntity entity) {
+        if (entity instanceof Lead lead) {
+            lead.setPhoneKey(PhoneKey.of(lead.getPhoneNumber()));
+        } else if (entity instanceof Student student) {
+            student.setPhoneKey(PhoneKey.of(student.getPhone()));
+        } else if (entity instanceof StudentV2 student) {
+            student.setPhoneKey(PhoneKey.of(student.getPhone()));
+        } else if (entity instanceof InvoiceV2 invoice) {
+            invoice.setPhoneKey(PhoneKey.of(invoice.getCustomerPhone()));
+        } else if (entity instanceof Complaint complaint) {
+            complaint.setPhoneKey(PhoneKey.of(complaint.getPhone()));
+        }
+    }
+}
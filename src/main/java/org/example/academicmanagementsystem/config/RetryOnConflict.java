@@ -0,0 +1,20 @@
+package org.example.academicmanagementsystem.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a transactional service method when it loses an optimistic-lock race
+ * (another transaction changed a versioned row it read). Handled by {@link ConflictRetryAspect},
+ * which wraps the transaction so every attempt starts from freshly read data.
+ * <p>
+ * Student, RoundDiploma and RoundDiplomaV2 carry a {@code @Version} column, so a write based on a stale
+ * copy fails instead of silently overwriting a concurrent change; this annotation turns that failure
+ * into a retry.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+}
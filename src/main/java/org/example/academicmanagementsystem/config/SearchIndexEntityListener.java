@@ -0,0 +1,76 @@
+package org.example.academicmanagementsystem.config;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.example.academicmanagementsystem.model.BaseEntity;
+import org.example.academicmanagementsystem.model.InvoiceV2;
+import org.example.academicmanagementsystem.model.Lead;
+import org.example.academicmanagementsystem.model.StudentV2;
+import org.example.academicmanagementsystem.service.SearchIndexService;
+import org.example.academicmanagementsystem.service.SearchIndexService.Domain;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * Keeps the search index in step with student, lead and invoice writes. Changes reach the index only after
+ * the surrounding transaction commits, so rolled-back writes never show up in search results.
+ */
+public class SearchIndexEntityListener {
+
+    private final ObjectProvider<SearchIndexService> searchIndexService;
+
+    public SearchIndexEntityListener(ObjectProvider<SearchIndexService> searchIndexService) {
+        this.searchIndexService = searchIndexService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(BaseEntity entity) {
+        if (entity.isDeleted()) {
+            onRemove(entity);
+        } else if (entity instanceof StudentV2 student) {
+            index(Domain.STUDENT, student.getId(), student.getName(), student.getPhone());
+        } else if (entity instanceof Lead lead) {
+            index(Domain.LEAD, lead.getId(), lead.getFullName(), lead.getPhoneNumber());
+        } else if (entity instanceof InvoiceV2 invoice) {
+            index(Domain.INVOICE, invoice.getId(), invoice.getCustomerName(), invoice.getCustomerPhone());
+        }
+    }
+
+    @PostRemove
+    public void onRemove(BaseEntity entity) {
+        Long id = entity.getId();
+        if (entity instanceof StudentV2) {
+            afterCommit(index -> index.remove(Domain.STUDENT, id));
+        } else if (entity instanceof Lead) {
+            afterCommit(index -> index.remove(Domain.LEAD, id));
+        } else if (entity instanceof InvoiceV2) {
+            afterCommit(index -> index.remove(Domain.INVOICE, id));
+        }
+    }
+
+    private void index(Domain domain, Long id, String name, String phone) {
+        afterCommit(index -> index.index(domain, id, name, phone));
+    }
+
+    private void afterCommit(Consumer<SearchIndexService> change) {
+        SearchIndexService index = searchIndexService.getIfAvailable();
+        if (index == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.accept(index);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.accept(index);
+            }
+        });
+    }
+}
@@ -2,25 +2,29 @@ package org.example.academicmanagementsystem.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.academicmanagementsystem.dto.AttendanceLogRequest;
+import org.example.academicmanagementsystem.dto.AttendanceHoursSummary;
 import org.example.academicmanagementsystem.dto.AttendanceLogResponse;
+import org.example.academicmanagementsystem.dto.WeeklyHoursBucket;
 import org.example.academicmanagementsystem.model.Attendance;
 import org.example.academicmanagementsystem.model.User;
 import org.example.academicmanagementsystem.repository.AttendanceRepository;
 import org.example.academicmanagementsystem.repository.UserRepository;
+import org.example.academicmanagementsystem.security.UserDetailsImpl;
+import org.example.academicmanagementsystem.service.AttendanceReportService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -33,12 +37,16 @@ public class AttendanceController {
 
     private final AttendanceRepository attendanceRepository;
     private final UserRepository userRepository;
+    private final AttendanceReportService attendanceReportService;
 
+    private UserDetailsImpl getCurrentPrincipal() {
+        return UserDetailsImpl.current()
+                .orElseThrow(() -> new RuntimeException("No authenticated user found"));
+    }
+
+    // Reference built from the principal's id; no query per request
     private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Current user not found: " + username));
+        return userRepository.getReferenceById(getCurrentPrincipal().getId());
     }
 
     // Submit or update work hours for a specific date
@@ -64,10 +72,11 @@ public class AttendanceController {
         attendance.setCheckInTime(checkIn);
         attendance.setCheckOutTime(checkOut);
         
-        attendance.setCreatedBy(user.getUsername());
-        attendance.setUpdatedBy(user.getUsername());
+        attendance.setCreatedBy(getCurrentPrincipal().getUsername());
+        attendance.setUpdatedBy(getCurrentPrincipal().getUsername());
 
         Attendance saved = attendanceRepository.save(attendance);
+        attendanceReportService.markChanged(saved.getDate());
 
         return ResponseEntity.ok(AttendanceLogResponse.builder()
                 .id(saved.getId())
@@ -108,9 +117,10 @@ public class AttendanceController {
         LocalDateTime checkOut = checkIn.plusMinutes(request.getTotalHours().multiply(new BigDecimal("60")).longValue());
         attendance.setCheckInTime(checkIn);
         attendance.setCheckOutTime(checkOut);
-        attendance.setUpdatedBy(user.getUsername());
+        attendance.setUpdatedBy(getCurrentPrincipal().getUsername());
 
         Attendance saved = attendanceRepository.save(attendance);
+        attendanceReportService.markChanged(saved.getDate());
 
         return ResponseEntity.ok(AttendanceLogResponse.builder()
                 .id(saved.getId())
@@ -131,6 +141,7 @@ public class AttendanceController {
         }
 
         attendanceRepository.delete(attendance);
+        attendanceReportService.markChanged(attendance.getDate());
 
         Map<String, String> response = new HashMap<>();
         response.put("message", "Attendance record deleted successfully");
@@ -154,4 +165,38 @@ public class AttendanceController {
         response.put("weeklyHours", hours);
         return ResponseEntity.ok(response);
     }
+
+    // Weekly buckets of the current user's hours for the last N weeks, current week included
+    @GetMapping("/weekly-hours/history")
+    public ResponseEntity<List<WeeklyHoursBucket>> getWeeklyHoursHistory(@RequestParam(defaultValue = "8") int weeks) {
+        User user = getCurrentUser();
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusWeeks(Math.max(1, Math.min(weeks, 104)) - 1L);
+        return ResponseEntity.ok(attendanceReportService.getWeeklyHours(from, today, user.getId()));
+    }
+
+    /**
+     * GET /api/v1/attendance/report?from=2026-03-01&to=2026-03-31
+     * Hours, logged days and overtime of every employee in the period, from one grouped query.
+     */
+    @GetMapping("/report")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ACCOUNTANT')")
+    public ResponseEntity<List<AttendanceHoursSummary>> getHoursReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(attendanceReportService.getHoursByEmployee(from, to));
+    }
+
+    /**
+     * GET /api/v1/attendance/report/weekly?from=2026-03-01&to=2026-03-31&employeeId=7
+     * Per-employee weekly buckets (Sunday to Saturday) for every week touching the period.
+     */
+    @GetMapping("/report/weekly")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ACCOUNTANT')")
+    public ResponseEntity<List<WeeklyHoursBucket>> getWeeklyHoursReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long employeeId) {
+        return ResponseEntity.ok(attendanceReportService.getWeeklyHours(from, to, employeeId));
+    }
 }
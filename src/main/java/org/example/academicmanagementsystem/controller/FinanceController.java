@@ -6,6 +6,9 @@ import org.example.academicmanagementsystem.dto.SalaryResponse;
 import org.example.academicmanagementsystem.dto.ExpenseResponse;
 import org.example.academicmanagementsystem.model.Expense;
 import org.example.academicmanagementsystem.service.FinanceService;
+import org.example.academicmanagementsystem.service.InstallmentMigrationService;
+import org.example.academicmanagementsystem.service.PayrollService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +23,8 @@ import java.util.Map;
 public class FinanceController {
 
     private final FinanceService financeService;
+    private final InstallmentMigrationService installmentMigrationService;
+    private final PayrollService payrollService;
 
     @GetMapping("/overview")
     public ResponseEntity<FinanceOverviewResponse> getOverview(@RequestParam String month) {
@@ -45,6 +50,28 @@ public class FinanceController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * POST /api/v1/finance/salaries/run-payroll/background?month=2026-01
+     * Starts (or resumes) the month's payroll on a background thread and returns its progress right away.
+     */
+    @PostMapping("/salaries/run-payroll/background")
+    public ResponseEntity<?> runPayrollInBackground(@RequestParam String month) {
+        return payrollService.runPayrollInBackground(month)
+                .<ResponseEntity<?>>map(run -> ResponseEntity.status(HttpStatus.ACCEPTED).body(run))
+                .orElseGet(() -> ResponseEntity.badRequest().body(Map.of("error", "ALREADY_EXISTS")));
+    }
+
+    /**
+     * GET /api/v1/finance/salaries/payroll-runs/2026-01
+     * Progress of a month's payroll run: status and processed / total employees.
+     */
+    @GetMapping("/salaries/payroll-runs/{month}")
+    public ResponseEntity<org.example.academicmanagementsystem.dto.PayrollRunResponse> getPayrollProgress(@PathVariable String month) {
+        return payrollService.getProgress(month)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/expenses")
     public ResponseEntity<List<ExpenseResponse>> getExpenses(@RequestParam String month) {
         return ResponseEntity.ok(financeService.getExpenses(month));
@@ -59,4 +86,24 @@ public class FinanceController {
     public ResponseEntity<ExpenseResponse> updateExpense(@PathVariable Long id, @RequestBody Expense expense) {
         return ResponseEntity.ok(financeService.updateExpense(id, expense));
     }
+
+    /**
+     * POST /api/v1/finance/snapshots/rebuild?from=2025-01&to=2025-12
+     * Recomputes the stored totals of every closed month in the range, e.g. after a backfill.
+     */
+    @PostMapping("/snapshots/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildSnapshots(@RequestParam String from, @RequestParam String to) {
+        return ResponseEntity.ok(Map.of("rebuilt", financeService.rebuildSnapshots(from, to)));
+    }
+
+    /**
+     * POST /api/v1/finance/installments/migrate
+     * Copies legacy installment columns into the installment schedule tables; safe to run repeatedly.
+     */
+    @PostMapping("/installments/migrate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> migrateInstallments() {
+        return ResponseEntity.ok(Map.of("migrated", installmentMigrationService.migrateLegacyColumns()));
+    }
 }
@@ -26,6 +26,8 @@ import java.util.Optional;
 public class LeadController {
 
     private final LeadService leadService;
+    private final org.example.academicmanagementsystem.service.LeadImportService leadImportService;
+    private final org.example.academicmanagementsystem.service.LeadDistributionService leadDistributionService;
 
     // Create a new lead by ADMIN/MODERATOR - can specify teleSalesId
     @PostMapping("/admin")
@@ -44,20 +46,37 @@ public class LeadController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdLead);
     }
 
-    // Get all leads with pagination - accessible by all authenticated users
+    // Get all leads with pagination, optionally filtered by name or phone - accessible by all authenticated users
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Page<LeadResponse>> getAllLeads(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(required = false) String search) {
         Sort.Direction direction = sortDirection.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<LeadResponse> leads = leadService.findAll(pageable);
+        Page<LeadResponse> leads = leadService.search(search, pageable);
         return ResponseEntity.ok(leads);
     }
 
+    // Look up leads by phone prefix (e.g. an operator code) or suffix (the last digits a caller reads out)
+    @GetMapping("/by-phone")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Page<LeadResponse>> getLeadsByPhone(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String suffix,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
+        try {
+            return ResponseEntity.ok(leadService.searchByPhone(prefix, suffix, pageable));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Get lead by ID - accessible by all authenticated users
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
@@ -181,7 +200,8 @@ public class LeadController {
 
     /**
      * POST /api/v1/leads/bulk-import
-     * Bulk-creates leads from a JSON array. Leads are left unassigned (teleSales = null).
+     * Bulk-creates leads from a JSON array. Leads are left unassigned (teleSales = null);
+     * rows with an already known phone number are skipped.
      * MODERATOR / ADMIN only.
      */
     @PostMapping("/bulk-import")
@@ -191,17 +211,36 @@ public class LeadController {
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
+    /**
+     * POST /api/v1/leads/bulk-import/stream
+     * Streams a large lead file (CSV with header row, or NDJSON) straight from the request body.
+     * Returns a compact summary with per-row errors instead of the created leads.
+     * MODERATOR / ADMIN only.
+     */
+    @PostMapping(value = "/bulk-import/stream", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
+    public ResponseEntity<org.example.academicmanagementsystem.dto.LeadImportSummary> bulkImportStream(
+            @RequestHeader(org.springframework.http.HttpHeaders.CONTENT_TYPE) String contentType,
+            java.io.InputStream body) {
+        org.example.academicmanagementsystem.service.LeadImportService.Format format =
+                contentType.toLowerCase().startsWith("text/csv")
+                        ? org.example.academicmanagementsystem.service.LeadImportService.Format.CSV
+                        : org.example.academicmanagementsystem.service.LeadImportService.Format.NDJSON;
+        return ResponseEntity.status(HttpStatus.CREATED).body(leadImportService.importLeads(body, format));
+    }
+
     /**
      * POST /api/v1/leads/distribute
-     * Distributes unassigned leads round-robin across all active TELESALES agents.
+     * Distributes unassigned leads to active TELESALES agents, least open load first.
      * @param leadsPerAgent max leads to assign per agent (default 30; 0 = all remaining)
+     * @param skillWeights optional body of {agentId, diplomaId, weight}; 0 keeps an agent off that diploma
      */
     @PostMapping("/distribute")
     @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
-    public ResponseEntity<Map<String, Object>> distributeLeads(
-            @RequestParam(defaultValue = "30") int leadsPerAgent) {
-        Map<String, Object> result = leadService.distributeLeads(leadsPerAgent);
-        return ResponseEntity.ok(result);
+    public ResponseEntity<org.example.academicmanagementsystem.dto.LeadDistributionSummary> distributeLeads(
+            @RequestParam(defaultValue = "30") int leadsPerAgent,
+            @RequestBody(required = false) List<org.example.academicmanagementsystem.dto.AgentSkillWeight> skillWeights) {
+        return ResponseEntity.ok(leadDistributionService.distribute(leadsPerAgent, skillWeights));
     }
 
     /**
@@ -227,5 +266,17 @@ public class LeadController {
     public ResponseEntity<List<Map<String, Object>>> getTelesalesPerformance() {
         return ResponseEntity.ok(leadService.getTelesalesPerformance());
     }
-}
 
+    /**
+     * POST /api/v1/leads/counters/rebuild
+     * Repairs the dashboard lead counters by recomputing them from the leads table.
+     * ADMIN only.
+     */
+    @PostMapping("/counters/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildStatusCounters() {
+        Map<String, Integer> response = new HashMap<>();
+        response.put("buckets", leadService.rebuildStatusCounters());
+        return ResponseEntity.ok(response);
+    }
+}
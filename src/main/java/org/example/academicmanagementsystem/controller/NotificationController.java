@@ -15,6 +15,8 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final org.example.academicmanagementsystem.service.NotificationStreamService notificationStreamService;
+    private final org.example.academicmanagementsystem.security.JwtTokenProvider jwtTokenProvider;
 
     @GetMapping("/my")
     public ResponseEntity<org.springframework.data.domain.Page<NotificationResponse>> getMyNotifications(
@@ -24,6 +26,48 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getMyNotifications(pageable));
     }
 
+    /**
+     * GET /api/v1/notifications/my/feed
+     * Keyset-paginated feed ordered by (createdAt, id) descending. Pass nextCreatedAt / nextId
+     * from the previous response to continue; cost stays constant however deep the client scrolls.
+     */
+    @GetMapping("/my/feed")
+    public ResponseEntity<org.example.academicmanagementsystem.dto.NotificationFeedResponse> getMyNotificationFeed(
+            @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime beforeCreatedAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(notificationService.getMyNotificationFeed(beforeCreatedAt, beforeId, size));
+    }
+
+    /**
+     * POST /api/v1/notifications/stream-token
+     * Short-lived token for opening the stream from a browser EventSource, which cannot send the
+     * Authorization header. Pass it as ?access_token=; it is accepted by /stream only.
+     */
+    @PostMapping("/stream-token")
+    public ResponseEntity<java.util.Map<String, Object>> createStreamToken(
+            @org.springframework.security.core.annotation.AuthenticationPrincipal org.example.academicmanagementsystem.security.UserDetailsImpl principal) {
+        return ResponseEntity.ok(java.util.Map.of(
+                "token", jwtTokenProvider.generateStreamToken(principal),
+                "expiresIn", jwtTokenProvider.getStreamExpirationTime()));
+    }
+
+    /**
+     * GET /api/v1/notifications/stream
+     * Server-sent events feed of new notifications for the current user and their role.
+     * Reconnecting clients send Last-Event-ID (or ?lastEventId= on a fresh EventSource) to receive what they missed.
+     */
+    @GetMapping(value = "/stream", produces = org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<org.springframework.web.servlet.mvc.method.annotation.SseEmitter> stream(
+            @org.springframework.security.core.annotation.AuthenticationPrincipal org.example.academicmanagementsystem.security.UserDetailsImpl principal,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam) {
+        Long lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        return notificationStreamService.subscribe(principal.getId(), principal.getRole(), lastEventId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
     @GetMapping("/unread-count")
     public ResponseEntity<Long> getUnreadCount() {
         return ResponseEntity.ok(notificationService.getUnreadCount());
@@ -46,4 +90,20 @@ public class NotificationController {
         notificationService.deleteNotification(id);
         return ResponseEntity.ok().build();
     }
+
+    @GetMapping("/dispatch-stats")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<java.util.Map<String, Long>> getDispatchStats() {
+        return ResponseEntity.ok(notificationService.getDispatchStats());
+    }
+
+    /**
+     * POST /api/v1/notifications/archive?olderThanDays=90
+     * Runs the retention job immediately; returns the number of notifications moved to the archive.
+     */
+    @PostMapping("/archive")
+    @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<java.util.Map<String, Integer>> archiveNotifications(@RequestParam(defaultValue = "90") int olderThanDays) {
+        return ResponseEntity.ok(java.util.Map.of("archived", notificationService.archiveNotifications(olderThanDays)));
+    }
 }
@@ -3,16 +3,20 @@ package org.example.academicmanagementsystem.controller;
 import lombok.RequiredArgsConstructor;
 import org.example.academicmanagementsystem.dto.PaymentRequest;
 import org.example.academicmanagementsystem.dto.PaymentResponse;
+import org.example.academicmanagementsystem.service.PaymentExportService;
 import org.example.academicmanagementsystem.service.PaymentService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,6 +28,7 @@ import java.util.Map;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final PaymentExportService paymentExportService;
 
     // Record a payment - accessible by ADMIN, ACCOUNTANT
     @PostMapping
@@ -65,11 +70,14 @@ public class PaymentController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    // Get payment statistics - accessible by ADMIN, ACCOUNTANT
+    // Get payment statistics, optionally for a date range and/or diploma - accessible by ADMIN, ACCOUNTANT
     @GetMapping("/statistics")
     @PreAuthorize("hasAnyRole('ADMIN', 'ACCOUNTANT')")
-    public ResponseEntity<Map<String, Object>> getPaymentStatistics() {
-        Map<String, Object> statistics = paymentService.getPaymentStatistics();
+    public ResponseEntity<Map<String, Object>> getPaymentStatistics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) Long diplomaId) {
+        Map<String, Object> statistics = paymentService.getPaymentStatistics(startDate, endDate, diplomaId);
         return ResponseEntity.ok(statistics);
     }
 
@@ -84,6 +92,24 @@ public class PaymentController {
         return ResponseEntity.ok(payments);
     }
 
+    // Stream payments in date range as CSV or NDJSON without buffering the result - accessible by ADMIN, ACCOUNTANT
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ACCOUNTANT')")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "CSV") PaymentExportService.Format format) {
+
+        boolean csv = format == PaymentExportService.Format.CSV;
+        String filename = "payments-" + startDate.toLocalDate() + "-" + endDate.toLocalDate() + (csv ? ".csv" : ".ndjson");
+        StreamingResponseBody body = output -> paymentExportService.exportPayments(startDate, endDate, format, output);
+
+        return ResponseEntity.ok()
+                .contentType(csv ? MediaType.parseMediaType("text/csv") : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     // Health check endpoint - public access
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> healthCheck() {
@@ -0,0 +1,40 @@
+package org.example.academicmanagementsystem.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.academicmanagementsystem.dto.SearchIndexStatus;
+import org.example.academicmanagementsystem.service.SearchIndexService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/search-index")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasRole('ADMIN')")
+public class SearchIndexController {
+
+    private final SearchIndexService searchIndexService;
+
+    /**
+     * GET /api/v1/search-index
+     * Per-domain state of the in-memory search index (ready, building, over capacity, document count).
+     */
+    @GetMapping
+    public ResponseEntity<List<SearchIndexStatus>> getStatus() {
+        return ResponseEntity.ok(searchIndexService.getStatus());
+    }
+
+    /**
+     * POST /api/v1/search-index/rebuild
+     * Rebuilds the index from the database in the background; searches keep using the current index meanwhile.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<List<SearchIndexStatus>> rebuild() {
+        searchIndexService.rebuild();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(searchIndexService.getStatus());
+    }
+}
@@ -23,6 +23,8 @@ public class UserController {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final org.example.academicmanagementsystem.security.UserDetailsCache userDetailsCache;
+    private final org.example.academicmanagementsystem.security.TokenVersionRegistry tokenVersionRegistry;
 
     @GetMapping("/role/{role}")
     public List<UserResponse> getUsersByRole(@PathVariable UserRole role) {
@@ -56,6 +58,9 @@ public class UserController {
         user.setCommission(request.getCommission());
 
         User updated = userRepository.save(user);
+        // Tokens carry username, role and name, so existing ones are now stale
+        tokenVersionRegistry.revoke(id);
+        userDetailsCache.evictUser(id);
         return ResponseEntity.ok(userMapper.toUserResponse(updated));
     }
 
@@ -64,7 +69,9 @@ public class UserController {
         if (!userRepository.existsById(id)) {
             throw new RuntimeException("User not found with id: " + id);
         }
+        tokenVersionRegistry.revoke(id);
         userRepository.deleteById(id);
+        userDetailsCache.evictUser(id);
         return ResponseEntity.noContent().build();
     }
 }
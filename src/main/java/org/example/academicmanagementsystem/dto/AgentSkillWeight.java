@@ -0,0 +1,17 @@
+package org.example.academicmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// How strongly an agent should be preferred for leads of one diploma; 1 is neutral, 0 excludes the agent
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AgentSkillWeight {
+    private Long agentId;
+    private Long diplomaId;
+    private double weight;
+}
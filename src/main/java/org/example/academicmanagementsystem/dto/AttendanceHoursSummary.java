@@ -0,0 +1,20 @@
+package org.example.academicmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceHoursSummary {
+    private Long employeeId;
+    private String employeeName;
+    private BigDecimal hours;
+    private long days;
+    private BigDecimal overtimeHours; // hours beyond the standard working day, summed per logged day
+}
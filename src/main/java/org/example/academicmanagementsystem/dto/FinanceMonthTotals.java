@@ -0,0 +1,31 @@
+package org.example.academicmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinanceMonthTotals {
+    private String month; // Format: "YYYY-MM"
+    private BigDecimal paymentRevenue;
+    private BigDecimal invoiceRevenue;
+    private BigDecimal expenses;
+    private BigDecimal salaries;
+    @Builder.Default
+    private List<DiplomaRevenue> diplomaRevenue = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    public static class DiplomaRevenue {
+        private String diplomaName;
+        private BigDecimal revenue;
+    }
+}
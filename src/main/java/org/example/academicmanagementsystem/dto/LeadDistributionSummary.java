@@ -0,0 +1,32 @@
+package org.example.academicmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeadDistributionSummary {
+    private long total;
+    private long remaining; // unassigned leads left after this run
+    private String message;
+    @Builder.Default
+    private List<AgentAssignment> agents = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class AgentAssignment {
+        private Long agentId;
+        private String agentName;
+        private long openLeadsBefore;
+        private long assigned;
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.academicmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeadImportSummary {
+    private long totalRows;
+    private long imported;
+    private long duplicates;
+    private long failed;
+    private boolean errorsTruncated; // true when more errors occurred than are listed below
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowError {
+        private long row;
+        private String phoneNumber;
+        private String message;
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.academicmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeadStatisticsSummary {
+    private long total;
+    private long opened;
+    private long closed;
+    private long enrolled;
+    private long distinctSources;
+}
@@ -0,0 +1,24 @@
+package org.example.academicmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of the keyset notification feed. The client passes nextCreatedAt / nextId
+ * back to fetch the following page; both are null when there is nothing left.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationFeedResponse {
+    private List<NotificationResponse> items;
+    private boolean hasMore;
+    private LocalDateTime nextCreatedAt;
+    private Long nextId;
+}
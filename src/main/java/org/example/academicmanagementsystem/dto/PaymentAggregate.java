@@ -0,0 +1,22 @@
+package org.example.academicmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.academicmanagementsystem.model.PaymentMethod;
+import org.example.academicmanagementsystem.model.PaymentType;
+
+import java.math.BigDecimal;
+
+/**
+ * Payment count and collected amount for one (method, type) combination.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentAggregate {
+    private PaymentMethod method;
+    private PaymentType type;
+    private long count;
+    private BigDecimal amount;
+}
@@ -0,0 +1,24 @@
+package org.example.academicmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.academicmanagementsystem.model.PayrollRunStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollRunResponse {
+    private String month;
+    private PayrollRunStatus status;
+    private int totalEmployees;
+    private int processedEmployees;
+    private BigDecimal totalPayroll;
+    private LocalDateTime generatedAt;
+    private LocalDateTime completedAt;
+}
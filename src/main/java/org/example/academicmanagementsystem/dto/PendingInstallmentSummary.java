@@ -0,0 +1,37 @@
+package org.example.academicmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Unpaid installment amounts due in a period, one total per installment number.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingInstallmentSummary {
+    private Map<Integer, BigDecimal> amountsBySeq = new TreeMap<>();
+
+    // Build from (seq, amount) rows as returned by InstallmentScheduleRepository.sumPendingBySeq
+    public static PendingInstallmentSummary fromRows(List<Object[]> rows) {
+        PendingInstallmentSummary summary = new PendingInstallmentSummary();
+        for (Object[] row : rows) {
+            summary.amountsBySeq.put(((Number) row[0]).intValue(), (BigDecimal) row[1]);
+        }
+        return summary;
+    }
+
+    public BigDecimal getAmount(int seq) {
+        return amountsBySeq.getOrDefault(seq, BigDecimal.ZERO);
+    }
+
+    public BigDecimal getTotal() {
+        return amountsBySeq.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.academicmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.academicmanagementsystem.service.SearchIndexService;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchIndexStatus {
+    private SearchIndexService.Domain domain;
+    private boolean ready;        // searches are answered from memory
+    private boolean building;
+    private boolean overCapacity; // more documents than search.index.max-documents; searches use SQL
+    private int documents;
+    private LocalDateTime builtAt;
+}
@@ -0,0 +1,41 @@
+package org.example.academicmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.academicmanagementsystem.model.StudentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of the V2 student grid, built by a JPQL constructor expression with the totals
+ * already computed in SQL. Field order matches the constructor used by StudentV2Repository.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentGridRowV2 {
+    private Long id;
+    private Long roundDiplomaId;
+    private String name;
+    private String phone;
+    private String email;
+    private String notes;
+    private String roundName;
+    private String diplomaName;
+    private BigDecimal depositAmount;
+    private String salesPersonName;
+    private String discount;
+    private String password;
+    private Boolean itStatus;
+    private StudentStatus status;
+    private LocalDate cancellationDate;
+    private String cancellationReason;
+    private LocalDateTime enrollmentDate;
+    private BigDecimal totalAmount;
+    private BigDecimal paidAmount;
+    private BigDecimal remainingAmount;
+    private LocalDate endDate;
+}
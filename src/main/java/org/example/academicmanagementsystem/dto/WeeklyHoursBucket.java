@@ -0,0 +1,21 @@
+package org.example.academicmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeeklyHoursBucket {
+    private LocalDate weekStart; // Sunday, matching the /weekly-hours view
+    private Long employeeId;
+    private BigDecimal hours;
+    private long days;
+    private BigDecimal overtimeHours;
+}
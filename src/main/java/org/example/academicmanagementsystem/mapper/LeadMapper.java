@@ -46,6 +46,7 @@ public interface LeadMapper {
     @Mapping(target = "followUps", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "phoneKey", ignore = true) // Derived from phoneNumber by PhoneKeyEntityListener
     Lead toLeadEntity(LeadRequest leadRequest);
 
     // Map FollowUp to LeadResponse.FollowUpInfo
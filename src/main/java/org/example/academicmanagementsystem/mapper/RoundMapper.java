@@ -1,10 +1,13 @@
 package org.example.academicmanagementsystem.mapper;
 
 import org.example.academicmanagementsystem.dto.*;
+import org.example.academicmanagementsystem.model.InstallmentSchedule;
 import org.example.academicmanagementsystem.model.Round;
 import org.example.academicmanagementsystem.model.RoundDiploma;
+import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 
 import java.util.List;
 
@@ -29,12 +32,55 @@ public interface RoundMapper {
     @Mapping(target = "diploma", ignore = true)
     @Mapping(target = "instructor", ignore = true)
     @Mapping(target = "students", ignore = true)
+    @Mapping(target = "installments", ignore = true)
     @Mapping(target = "currentEnrollment", constant = "0")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "createdBy", ignore = true)
     @Mapping(target = "updatedBy", ignore = true)
+    @Mapping(target = "version", ignore = true) // Owned by Hibernate's optimistic locking
     RoundDiploma toRoundDiplomaEntity(RoundDiplomaRequest request);
 
+    // Installment slots are filled from the schedule rows by mapInstallments below
+    @Mapping(target = "installment1Amount", ignore = true)
+    @Mapping(target = "installment1Date", ignore = true)
+    @Mapping(target = "installment2Amount", ignore = true)
+    @Mapping(target = "installment2Date", ignore = true)
+    @Mapping(target = "installment3Amount", ignore = true)
+    @Mapping(target = "installment3Date", ignore = true)
+    @Mapping(target = "installment4Amount", ignore = true)
+    @Mapping(target = "installment4Date", ignore = true)
     RoundDiplomaResponse toRoundDiplomaResponse(RoundDiploma roundDiploma);
+
+    @AfterMapping
+    default void mapInstallments(RoundDiplomaRequest request, @MappingTarget RoundDiploma roundDiploma) {
+        roundDiploma.putInstallment(1, request.getInstallment1Date(), request.getInstallment1Amount());
+        roundDiploma.putInstallment(2, request.getInstallment2Date(), request.getInstallment2Amount());
+        roundDiploma.putInstallment(3, request.getInstallment3Date(), request.getInstallment3Amount());
+        roundDiploma.putInstallment(4, request.getInstallment4Date(), request.getInstallment4Amount());
+    }
+
+    @AfterMapping
+    default void mapInstallments(RoundDiploma roundDiploma, @MappingTarget RoundDiplomaResponse.RoundDiplomaResponseBuilder response) {
+        InstallmentSchedule inst1 = roundDiploma.getInstallment(1);
+        if (inst1 != null) {
+            response.installment1Amount(inst1.getAmount());
+            response.installment1Date(inst1.getDueDate());
+        }
+        InstallmentSchedule inst2 = roundDiploma.getInstallment(2);
+        if (inst2 != null) {
+            response.installment2Amount(inst2.getAmount());
+            response.installment2Date(inst2.getDueDate());
+        }
+        InstallmentSchedule inst3 = roundDiploma.getInstallment(3);
+        if (inst3 != null) {
+            response.installment3Amount(inst3.getAmount());
+            response.installment3Date(inst3.getDueDate());
+        }
+        InstallmentSchedule inst4 = roundDiploma.getInstallment(4);
+        if (inst4 != null) {
+            response.installment4Amount(inst4.getAmount());
+            response.installment4Date(inst4.getDueDate());
+        }
+    }
 }
@@ -15,5 +15,6 @@ public interface UserMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "password", ignore = true) // Password will be encoded separately
+    @Mapping(target = "tokenVersion", ignore = true) // Starts at 0; only bumped to revoke tokens
     User toUser(RegisterRequest registerRequest);
 }
@@ -0,0 +1,50 @@
+package org.example.academicmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a notification moved out of the hot table by the retention job.
+ * Keeps the original id so references from logs or emails can still be resolved.
+ */
+@Entity
+@Table(name = "notifications_archive", indexes = {
+        @Index(name = "idx_notifications_archive_user", columnList = "user_id"),
+        @Index(name = "idx_notifications_archive_created", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedNotification {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    private UserRole targetRole;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+
+    @Column(nullable = false)
+    private Boolean isRead;
+
+    private Long referenceId;
+
+    private LocalDateTime createdAt;
+
+    private String createdBy;
+
+    private LocalDateTime archivedAt;
+}
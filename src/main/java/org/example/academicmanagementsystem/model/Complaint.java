@@ -5,11 +5,13 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.example.academicmanagementsystem.config.PhoneKeyEntityListener;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "complaints")
+@EntityListeners(PhoneKeyEntityListener.class)
+@Table(name = "complaints", indexes = @Index(name = "idx_complaints_phone_key", columnList = "phone_key"))
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
@@ -26,6 +28,10 @@ public class Complaint extends BaseEntity{
     @Column(nullable = false)
     private String phone;
 
+    // Canonical form of phone, maintained by PhoneKeyEntityListener
+    @Column(name = "phone_key", length = PhoneKey.MAX_LENGTH)
+    private String phoneKey;
+
     @Column(columnDefinition = "TEXT", nullable = false)
     private String complaintText;
 
@@ -0,0 +1,33 @@
+package org.example.academicmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Payment revenue per diploma for one closed month, stored alongside {@link FinanceMonthlySnapshot}.
+ */
+@Entity
+@Table(name = "finance_diploma_revenue_snapshots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_finance_diploma_revenue", columnNames = {"snapshot_month", "diploma_name"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinanceDiplomaRevenueSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "snapshot_month", nullable = false, length = 7)
+    private String month;
+
+    @Column(name = "diploma_name", nullable = false)
+    private String diplomaName;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
@@ -0,0 +1,50 @@
+package org.example.academicmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Aggregated finance totals of one closed month ("YYYY-MM").
+ * A change to the month's payments, invoices, expenses or salaries marks the row stale and bumps
+ * its generation; a recomputation is only stored if the generation is still the one it started from.
+ */
+@Entity
+@Table(name = "finance_monthly_snapshots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_finance_snapshot_month", columnNames = "snapshot_month"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FinanceMonthlySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "snapshot_month", nullable = false, length = 7)
+    private String month;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal paymentRevenue = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal invoiceRevenue = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal expenses = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal salaries = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private boolean stale;
+
+    @Column(nullable = false)
+    private long generation;
+
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,40 @@
+package org.example.academicmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One installment slot of a round diploma's payment plan.
+ * Replaces the fixed installment1..4 column groups; {@link #seq} is the installment number payments refer to.
+ */
+@Entity
+@Table(name = "installment_schedule",
+        uniqueConstraints = @UniqueConstraint(name = "uk_installment_schedule_seq", columnNames = {"round_diploma_id", "seq"}),
+        indexes = @Index(name = "idx_installment_schedule_due_date", columnList = "due_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InstallmentSchedule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "round_diploma_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private RoundDiploma roundDiploma;
+
+    @Column(nullable = false)
+    private Integer seq;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal amount;
+}
@@ -0,0 +1,41 @@
+package org.example.academicmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One installment slot of a V2 round diploma's payment plan, replacing the installment1..4 column groups.
+ */
+@Entity
+@Table(name = "installment_schedule_v2",
+        uniqueConstraints = @UniqueConstraint(name = "uk_installment_schedule_v2_seq", columnNames = {"round_diploma_id", "seq"}),
+        indexes = @Index(name = "idx_installment_schedule_v2_due_date", columnList = "due_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InstallmentScheduleV2 {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "round_diploma_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private RoundDiplomaV2 roundDiploma;
+
+    @Column(nullable = false)
+    private Integer seq;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    private Integer percent;
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.example.academicmanagementsystem.config.PhoneKeyEntityListener;
+import org.example.academicmanagementsystem.config.SearchIndexEntityListener;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
@@ -12,7 +14,8 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "invoices_v2")
+@EntityListeners({PhoneKeyEntityListener.class, SearchIndexEntityListener.class})
+@Table(name = "invoices_v2", indexes = @Index(name = "idx_invoices_v2_phone_key", columnList = "phone_key"))
 @SQLDelete(sql = "UPDATE invoices_v2 SET deleted = true WHERE id=?")
 @SQLRestriction("deleted = false")
 @Data
@@ -30,6 +33,10 @@ public class InvoiceV2 extends BaseEntity {
     @Column(nullable = false)
     private String customerPhone;
 
+    // Canonical form of customerPhone, maintained by PhoneKeyEntityListener
+    @Column(name = "phone_key", length = PhoneKey.MAX_LENGTH)
+    private String phoneKey;
+
     @Column(nullable = false)
     private BigDecimal amount;
 
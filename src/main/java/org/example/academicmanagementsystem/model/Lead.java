@@ -9,7 +9,9 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 @Entity
-@Table(name = "leads")
+@EntityListeners({org.example.academicmanagementsystem.config.PhoneKeyEntityListener.class,
+        org.example.academicmanagementsystem.config.SearchIndexEntityListener.class})
+@Table(name = "leads", indexes = @Index(name = "idx_leads_phone_key", columnList = "phone_key"))
 @org.hibernate.annotations.SQLDelete(sql = "UPDATE leads SET deleted = true WHERE id=?")
 @org.hibernate.annotations.SQLRestriction("deleted = false")
 @Data
@@ -24,6 +26,10 @@ public class Lead extends BaseEntity{
     @Column(nullable = false)
     private String phoneNumber;
 
+    // Canonical form of phoneNumber, maintained by PhoneKeyEntityListener
+    @Column(name = "phone_key", length = PhoneKey.MAX_LENGTH)
+    private String phoneKey;
+
     private String source;
 
     @ManyToOne
@@ -0,0 +1,35 @@
+package org.example.academicmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Materialized lead count per (status, telesales agent).
+ * Unassigned leads are stored under {@link #UNASSIGNED} so every bucket has a real key.
+ */
+@Entity
+@Table(name = "lead_status_counters",
+        uniqueConstraints = @UniqueConstraint(name = "uk_lead_status_counter", columnNames = {"status", "tele_sales_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeadStatusCounter {
+
+    public static final long UNASSIGNED = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private LeadStatus status;
+
+    @Column(name = "tele_sales_id", nullable = false)
+    private Long teleSalesId = UNASSIGNED;
+
+    @Column(name = "lead_count", nullable = false)
+    private long leadCount;
+}
@@ -7,7 +7,11 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_read", columnList = "user_id, is_read"),
+        @Index(name = "idx_notifications_role_id", columnList = "target_role, id"),
+        @Index(name = "idx_notifications_created_id", columnList = "created_at, id")
+})
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
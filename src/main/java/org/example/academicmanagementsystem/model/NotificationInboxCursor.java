@@ -0,0 +1,28 @@
+package org.example.academicmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-user read position in the role-targeted notification stream.
+ * Every role notification with an id up to {@link #roleReadUpToId} counts as read for this user.
+ */
+@Entity
+@Table(name = "notification_inbox_cursors")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationInboxCursor {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, unique = true)
+    private Long userId;
+
+    @Column(name = "role_read_up_to_id", nullable = false)
+    private Long roleReadUpToId = 0L;
+}
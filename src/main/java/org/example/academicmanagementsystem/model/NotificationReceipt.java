@@ -0,0 +1,32 @@
+package org.example.academicmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a single role-targeted notification as read by one user (above that user's inbox cursor).
+ */
+@Entity
+@Table(name = "notification_receipts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_notification_receipt", columnNames = {"user_id", "notification_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationReceipt {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "notification_id", nullable = false)
+    private Long notificationId;
+
+    private LocalDateTime readAt;
+}
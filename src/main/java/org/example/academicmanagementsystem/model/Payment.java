@@ -7,7 +7,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_student_installment", columnList = "student_id, installment_number")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -2,6 +2,8 @@ package org.example.academicmanagementsystem.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -30,4 +32,20 @@ public class PayrollRecord extends BaseEntity {
 
     @Column(nullable = false)
     private LocalDateTime generatedAt = LocalDateTime.now();
+
+    // Progress of the payroll run that generates this month's salaries
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "varchar(20) default 'COMPLETED'")
+    private PayrollRunStatus status = PayrollRunStatus.COMPLETED;
+
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private Integer totalEmployees = 0;
+
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private Integer processedEmployees = 0;
+
+    // Keyset cursor: employees up to this id already have a salary for the month
+    private Long lastEmployeeId;
+
+    private LocalDateTime completedAt;
 }
@@ -0,0 +1,7 @@
+package org.example.academicmanagementsystem.model;
+
+public enum PayrollRunStatus {
+    RUNNING,   // salaries are being generated; resumable after a crash
+    COMPLETED, // every eligible employee has a salary for the month
+    FAILED     // stopped on an error; running it again resumes after the last committed chunk
+}
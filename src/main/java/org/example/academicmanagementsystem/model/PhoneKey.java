@@ -0,0 +1,69 @@
+package org.example.academicmanagementsystem.model;
+
+/**
+ * Canonical form of a phone number used for dedupe and lookups: digits only, with the country code and
+ * without international or trunk prefixes. "+20 100 123 4567", "0020-100-123-4567" and "01001234567"
+ * all map to "201001234567". Numbers without a country code are taken as Egyptian.
+ */
+public final class PhoneKey {
+
+    public static final String DEFAULT_COUNTRY_CODE = "20";
+    public static final int MAX_LENGTH = 20;
+
+    private PhoneKey() {
+    }
+
+    // Canonical key of a full phone number, or null when it has no digits
+    public static String of(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = digitsOf(phone);
+        if (digits.isEmpty()) {
+            return null;
+        }
+        String key;
+        if (phone.trim().startsWith("+")) {
+            key = digits;
+        } else if (digits.startsWith("00")) {
+            key = digits.substring(2);
+        } else if (digits.startsWith("0")) {
+            key = DEFAULT_COUNTRY_CODE + digits.substring(1);
+        } else if (digits.length() == 10 && digits.startsWith("1")) {
+            // mobile number typed without its leading 0
+            key = DEFAULT_COUNTRY_CODE + digits;
+        } else {
+            key = digits;
+        }
+        return key.length() > MAX_LENGTH ? key.substring(0, MAX_LENGTH) : key;
+    }
+
+    // Digits of a partial number as they appear inside a canonical key: prefixes that the key does not
+    // keep ("00" or a national "0") are dropped, so "0100123" finds "201001234567"
+    public static String searchDigits(String term) {
+        String digits = digitsOf(term);
+        if (digits.startsWith("00")) {
+            return digits.substring(2);
+        }
+        return digits.startsWith("0") ? digits.substring(1) : digits;
+    }
+
+    // ASCII digits of the value; Arabic-Indic and Eastern Arabic-Indic digits are converted
+    public static String digitsOf(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c >= '\u0660' && c <= '\u0669') {
+                digits.append((char) ('0' + c - '\u0660'));
+            } else if (c >= '\u06F0' && c <= '\u06F9') {
+                digits.append((char) ('0' + c - '\u06F0'));
+            }
+        }
+        return digits.toString();
+    }
+}
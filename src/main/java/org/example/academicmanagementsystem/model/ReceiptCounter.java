@@ -0,0 +1,28 @@
+package org.example.academicmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-year receipt number counter. {@link #nextValue} is the first number not yet handed out
+ * to any application instance; instances reserve blocks by advancing it.
+ */
+@Entity
+@Table(name = "receipt_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReceiptCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "receipt_year", nullable = false, unique = true)
+    private Integer receiptYear;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
@@ -5,6 +5,7 @@ import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
@@ -42,22 +43,41 @@ public class RoundDiploma extends BaseEntity {
     @Column(nullable = false)
     private Integer currentEnrollment = 0;
 
-    // Individual Installment Amounts
-    @Column(precision = 10, scale = 2)
-    private BigDecimal installment1Amount;
-    @Column(precision = 10, scale = 2)
-    private BigDecimal installment2Amount;
-    @Column(precision = 10, scale = 2)
-    private BigDecimal installment3Amount;
-    @Column(precision = 10, scale = 2)
-    private BigDecimal installment4Amount;
-
-    // Individual Installment Dates
-    private LocalDate installment1Date;
-    private LocalDate installment2Date;
-    private LocalDate installment3Date;
-    private LocalDate installment4Date;
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    @OneToMany(mappedBy = "roundDiploma", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("seq")
+    @org.hibernate.annotations.BatchSize(size = 100)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<InstallmentSchedule> installments = new ArrayList<>();
 
     @OneToMany(mappedBy = "roundDiploma", cascade = CascadeType.ALL)
     private List<Student> students;
+
+    // Schedule slot with the given installment number, or null when the plan has none
+    public InstallmentSchedule getInstallment(int seq) {
+        return installments.stream().filter(i -> i.getSeq() == seq).findFirst().orElse(null);
+    }
+
+    // Create, update or (when both values are null) remove the schedule slot with the given number
+    public void putInstallment(int seq, LocalDate dueDate, BigDecimal amount) {
+        InstallmentSchedule slot = getInstallment(seq);
+        if (dueDate == null && amount == null) {
+            if (slot != null) {
+                installments.remove(slot);
+            }
+            return;
+        }
+        if (slot == null) {
+            slot = new InstallmentSchedule();
+            slot.setRoundDiploma(this);
+            slot.setSeq(seq);
+            installments.add(slot);
+        }
+        slot.setDueDate(dueDate);
+        slot.setAmount(amount);
+    }
 }
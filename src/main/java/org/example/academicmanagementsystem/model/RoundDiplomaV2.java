@@ -7,6 +7,8 @@ import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "round_diplomas_v2")
@@ -45,25 +47,39 @@ public class RoundDiplomaV2 extends BaseEntity {
     @Column(nullable = false)
     private Integer currentEnrollment = 0;
 
-    // Installment Percentages
-    private Integer installment1Percent;
-    private Integer installment2Percent;
-    private Integer installment3Percent;
-    private Integer installment4Percent;
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 
-    // Individual Installment Amounts
-    @Column(precision = 10, scale = 2)
-    private BigDecimal installment1Amount;
-    @Column(precision = 10, scale = 2)
-    private BigDecimal installment2Amount;
-    @Column(precision = 10, scale = 2)
-    private BigDecimal installment3Amount;
-    @Column(precision = 10, scale = 2)
-    private BigDecimal installment4Amount;
+    @OneToMany(mappedBy = "roundDiploma", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("seq")
+    @org.hibernate.annotations.BatchSize(size = 100)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<InstallmentScheduleV2> installments = new ArrayList<>();
 
-    // Individual Installment Dates
-    private LocalDate installment1Date;
-    private LocalDate installment2Date;
-    private LocalDate installment3Date;
-    private LocalDate installment4Date;
+    // Schedule slot with the given installment number, or null when the plan has none
+    public InstallmentScheduleV2 getInstallment(int seq) {
+        return installments.stream().filter(i -> i.getSeq() == seq).findFirst().orElse(null);
+    }
+
+    // Create, update or (when every value is null) remove the schedule slot with the given number
+    public void putInstallment(int seq, LocalDate dueDate, BigDecimal amount, Integer percent) {
+        InstallmentScheduleV2 slot = getInstallment(seq);
+        if (dueDate == null && amount == null && percent == null) {
+            if (slot != null) {
+                installments.remove(slot);
+            }
+            return;
+        }
+        if (slot == null) {
+            slot = new InstallmentScheduleV2();
+            slot.setRoundDiploma(this);
+            slot.setSeq(seq);
+            installments.add(slot);
+        }
+        slot.setDueDate(dueDate);
+        slot.setAmount(amount);
+        slot.setPercent(percent);
+    }
 }
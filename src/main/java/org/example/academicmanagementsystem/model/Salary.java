@@ -10,7 +10,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "salaries")
+@Table(name = "salaries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_salaries_employee_month", columnNames = {"employee_id", "month"})
+})
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
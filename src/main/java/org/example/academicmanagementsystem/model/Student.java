@@ -5,13 +5,15 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.example.academicmanagementsystem.config.PhoneKeyEntityListener;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "students")
+@EntityListeners(PhoneKeyEntityListener.class)
+@Table(name = "students", indexes = @Index(name = "idx_students_phone_key", columnList = "phone_key"))
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
@@ -24,6 +26,10 @@ public class Student extends BaseEntity {
     @Column(unique = true, nullable = false)
     private String phone;
 
+    // Canonical form of phone, maintained by PhoneKeyEntityListener
+    @Column(name = "phone_key", length = PhoneKey.MAX_LENGTH)
+    private String phoneKey;
+
     @Column(nullable = true , unique = true)
     private String email;
 
@@ -48,6 +54,9 @@ public class Student extends BaseEntity {
     @Column(nullable = false)
     private LocalDateTime enrollmentDate;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 
     // Relations
     @OneToMany(mappedBy = "student")
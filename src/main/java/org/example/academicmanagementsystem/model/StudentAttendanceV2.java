@@ -11,7 +11,9 @@ import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "student_attendance_v2")
+@Table(name = "student_attendance_v2", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attendance_v2_session_student", columnNames = {"round_diploma_id", "student_id", "date"})
+})
 @SQLDelete(sql = "UPDATE student_attendance_v2 SET deleted = true WHERE id=?")
 @SQLRestriction("deleted = false")
 @Data
@@ -0,0 +1,36 @@
+package org.example.academicmanagementsystem.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Ledger entry of what a V2 student paid against one installment slot of their round diploma.
+ */
+@Entity
+@Table(name = "student_installment_v2",
+        uniqueConstraints = @UniqueConstraint(name = "uk_student_installment_v2_seq", columnNames = {"student_id", "seq"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentInstallmentV2 {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private StudentV2 student;
+
+    @Column(nullable = false)
+    private Integer seq;
+
+    @Column(name = "paid_amount", precision = 10, scale = 2)
+    private BigDecimal paidAmount = BigDecimal.ZERO;
+
+    private String notes;
+}
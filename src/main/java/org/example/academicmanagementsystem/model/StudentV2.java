@@ -5,15 +5,21 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.example.academicmanagementsystem.config.PhoneKeyEntityListener;
+import org.example.academicmanagementsystem.config.SearchIndexEntityListener;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Table(name = "students_v2")
+@EntityListeners({PhoneKeyEntityListener.class, SearchIndexEntityListener.class})
+@Table(name = "students_v2", indexes = @Index(name = "idx_students_v2_phone_key", columnList = "phone_key"))
 @SQLDelete(sql = "UPDATE students_v2 SET deleted = true WHERE id=?")
 @SQLRestriction("deleted = false")
 @Data
@@ -28,6 +34,10 @@ public class StudentV2 extends BaseEntity {
     @Column(nullable = false)
     private String phone;
 
+    // Canonical form of phone, maintained by PhoneKeyEntityListener
+    @Column(name = "phone_key", length = PhoneKey.MAX_LENGTH)
+    private String phoneKey;
+
     private String email;
 
     @Column(columnDefinition = "TEXT")
@@ -63,15 +73,36 @@ public class StudentV2 extends BaseEntity {
 
     private LocalDateTime enrollmentDate = LocalDateTime.now();
 
-    private BigDecimal installment1Paid = BigDecimal.ZERO;
-    private String installment1Notes;
-
-    private BigDecimal installment2Paid = BigDecimal.ZERO;
-    private String installment2Notes;
-
-    private BigDecimal installment3Paid = BigDecimal.ZERO;
-    private String installment3Notes;
-
-    private BigDecimal installment4Paid = BigDecimal.ZERO;
-    private String installment4Notes;
+    @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("seq")
+    @org.hibernate.annotations.BatchSize(size = 100)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<StudentInstallmentV2> installments = new ArrayList<>();
+
+    // Ledger entry for the given installment number, or null when nothing was recorded
+    public StudentInstallmentV2 getInstallment(int seq) {
+        return installments.stream().filter(i -> i.getSeq() == seq).findFirst().orElse(null);
+    }
+
+    // Record the paid amount and notes against an installment slot
+    public void recordInstallment(int seq, BigDecimal paidAmount, String notes) {
+        StudentInstallmentV2 entry = getInstallment(seq);
+        if (entry == null) {
+            entry = new StudentInstallmentV2();
+            entry.setStudent(this);
+            entry.setSeq(seq);
+            installments.add(entry);
+        }
+        entry.setPaidAmount(paidAmount != null ? paidAmount : BigDecimal.ZERO);
+        entry.setNotes(notes);
+    }
+
+    // Total paid across all installment slots (deposit excluded)
+    public BigDecimal getInstallmentsPaid() {
+        return installments.stream()
+                .map(StudentInstallmentV2::getPaidAmount)
+                .filter(java.util.Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
 }
@@ -49,6 +49,10 @@ public class User extends BaseEntity {
 
     private String employmentType; // Full time, Freelance
 
+    // Embedded in issued JWTs; bumping it revokes every token issued before
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private Integer tokenVersion = 0;
+
     // Relations
     @OneToMany(mappedBy = "teleSales")
     private List<Lead> managedLeads;
@@ -35,6 +35,34 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
                                                    @Param("from") LocalDate from,
                                                    @Param("to") LocalDate to);
 
+    // Hours worked per employee for a set of employees in one grouped query: rows of [employeeId, hours]
+    @Query("SELECT a.employee.id, COALESCE(SUM(a.totalHours), 0) FROM Attendance a " +
+           "WHERE a.employee.id IN :employeeIds AND a.date BETWEEN :from AND :to GROUP BY a.employee.id")
+    List<Object[]> sumTotalHoursByEmployeesAndDateRange(@Param("employeeIds") java.util.Collection<Long> employeeIds,
+                                                        @Param("from") LocalDate from,
+                                                        @Param("to") LocalDate to);
+
+    // Hours, days and overtime per employee for a period in one grouped statement
+    @Query("SELECT new org.example.academicmanagementsystem.dto.AttendanceHoursSummary(e.id, e.fullName, " +
+           "COALESCE(SUM(a.totalHours), 0), COUNT(a), " +
+           "COALESCE(SUM(CASE WHEN a.totalHours > :dailyHours THEN a.totalHours - :dailyHours ELSE 0 END), 0)) " +
+           "FROM Attendance a JOIN a.employee e WHERE a.date BETWEEN :from AND :to " +
+           "GROUP BY e.id, e.fullName ORDER BY e.fullName")
+    List<org.example.academicmanagementsystem.dto.AttendanceHoursSummary> summarizeHoursByEmployee(@Param("from") LocalDate from,
+                                                                                                 @Param("to") LocalDate to,
+                                                                                                 @Param("dailyHours") BigDecimal dailyHours);
+
+    // The same totals bucketed per employee and Sunday-based week
+    @Query("SELECT new org.example.academicmanagementsystem.dto.WeeklyHoursBucket(" +
+           "a.date - (cast(dayofweek(a.date) as Integer) - 1) day, a.employee.id, " +
+           "COALESCE(SUM(a.totalHours), 0), COUNT(a), " +
+           "COALESCE(SUM(CASE WHEN a.totalHours > :dailyHours THEN a.totalHours - :dailyHours ELSE 0 END), 0)) " +
+           "FROM Attendance a WHERE a.date BETWEEN :from AND :to " +
+           "GROUP BY a.date - (cast(dayofweek(a.date) as Integer) - 1) day, a.employee.id")
+    List<org.example.academicmanagementsystem.dto.WeeklyHoursBucket> summarizeHoursByWeek(@Param("from") LocalDate from,
+                                                                                         @Param("to") LocalDate to,
+                                                                                         @Param("dailyHours") BigDecimal dailyHours);
+
     @Query("SELECT COUNT(a) FROM Attendance a WHERE a.employee.id = :employeeId AND a.date BETWEEN :from AND :to")
     long countDaysByEmployeeAndDateRange(@Param("employeeId") Long employeeId,
                                          @Param("from") LocalDate from,
@@ -7,4 +7,7 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface DiplomaV2Repository extends JpaRepository<DiplomaV2, Long> {
     java.util.Optional<DiplomaV2> findByName(String name);
+
+    @org.springframework.data.jpa.repository.Query("SELECT d.id FROM DiplomaV2 d")
+    java.util.List<Long> findAllIds();
 }
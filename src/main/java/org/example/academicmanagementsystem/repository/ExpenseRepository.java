@@ -10,4 +10,9 @@ import java.util.List;
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     List<Expense> findByExpenseDateBetween(LocalDate start, LocalDate end);
+
+    // Total expenses in a period, summed in the database
+    @org.springframework.data.jpa.repository.Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.expenseDate BETWEEN :start AND :end")
+    java.math.BigDecimal sumAmountBetween(@org.springframework.data.repository.query.Param("start") LocalDate start,
+                                          @org.springframework.data.repository.query.Param("end") LocalDate end);
 }
@@ -0,0 +1,20 @@
+package org.example.academicmanagementsystem.repository;
+
+import org.example.academicmanagementsystem.model.FinanceDiplomaRevenueSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FinanceDiplomaRevenueSnapshotRepository extends JpaRepository<FinanceDiplomaRevenueSnapshot, Long> {
+
+    List<FinanceDiplomaRevenueSnapshot> findByMonth(String month);
+
+    @Modifying
+    @Query("DELETE FROM FinanceDiplomaRevenueSnapshot s WHERE s.month = :month")
+    int deleteByMonth(@Param("month") String month);
+}
@@ -0,0 +1,40 @@
+package org.example.academicmanagementsystem.repository;
+
+import org.example.academicmanagementsystem.model.FinanceMonthlySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FinanceMonthlySnapshotRepository extends JpaRepository<FinanceMonthlySnapshot, Long> {
+
+    Optional<FinanceMonthlySnapshot> findByMonth(String month);
+
+    List<FinanceMonthlySnapshot> findByMonthIn(Collection<String> months);
+
+    // Invalidate a month, creating a stale placeholder so a concurrent first computation cannot store old totals
+    @Modifying
+    @Query(value = "INSERT INTO finance_monthly_snapshots " +
+                   "(snapshot_month, payment_revenue, invoice_revenue, expenses, salaries, stale, generation) " +
+                   "VALUES (:month, 0, 0, 0, 0, true, 1) " +
+                   "ON DUPLICATE KEY UPDATE stale = true, generation = generation + 1", nativeQuery = true)
+    int markStale(@Param("month") String month);
+
+    // Store recomputed totals only if nothing invalidated the month since the computation started
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FinanceMonthlySnapshot s SET s.paymentRevenue = :paymentRevenue, s.invoiceRevenue = :invoiceRevenue, " +
+           "s.expenses = :expenses, s.salaries = :salaries, s.stale = false, s.computedAt = :computedAt " +
+           "WHERE s.month = :month AND s.generation = :generation")
+    int storeIfGeneration(@Param("month") String month, @Param("generation") long generation,
+                          @Param("paymentRevenue") BigDecimal paymentRevenue, @Param("invoiceRevenue") BigDecimal invoiceRevenue,
+                          @Param("expenses") BigDecimal expenses, @Param("salaries") BigDecimal salaries,
+                          @Param("computedAt") LocalDateTime computedAt);
+}
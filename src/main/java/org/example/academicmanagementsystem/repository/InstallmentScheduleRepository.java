@@ -0,0 +1,26 @@
+package org.example.academicmanagementsystem.repository;
+
+import org.example.academicmanagementsystem.model.InstallmentSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface InstallmentScheduleRepository extends JpaRepository<InstallmentSchedule, Long> {
+
+    // Installment slots due in a period (range scan on idx_installment_schedule_due_date)
+    List<InstallmentSchedule> findByDueDateBetweenOrderByDueDate(LocalDate start, LocalDate end);
+
+    // Unpaid installments due in a period, summed per slot: every enrolled student of a round diploma owes
+    // each slot due in range unless a payment exists for that installment (anti-join on payments(student_id, installment_number))
+    @Query("SELECT i.seq, COALESCE(SUM(i.amount), 0) FROM InstallmentSchedule i " +
+           "JOIN Student s ON s.roundDiploma = i.roundDiploma " +
+           "WHERE i.dueDate BETWEEN :start AND :end AND i.amount IS NOT NULL " +
+           "AND NOT EXISTS (SELECT 1 FROM Payment p WHERE p.student = s AND p.installmentNumber = i.seq) " +
+           "GROUP BY i.seq")
+    List<Object[]> sumPendingBySeq(@Param("start") LocalDate start, @Param("end") LocalDate end);
+}
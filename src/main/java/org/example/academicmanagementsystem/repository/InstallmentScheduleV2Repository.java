@@ -0,0 +1,22 @@
+package org.example.academicmanagementsystem.repository;
+
+import org.example.academicmanagementsystem.model.InstallmentScheduleV2;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InstallmentScheduleV2Repository extends JpaRepository<InstallmentScheduleV2, Long> {
+
+    // Installment slots due in a period (range scan on idx_installment_schedule_v2_due_date)
+    List<InstallmentScheduleV2> findByDueDateBetweenOrderByDueDate(LocalDate start, LocalDate end);
+
+    // Schedule rows (roundDiplomaId, seq, dueDate, amount) for the round diplomas shown on a grid page
+    @Query("SELECT s.roundDiploma.id, s.seq, s.dueDate, s.amount FROM InstallmentScheduleV2 s WHERE s.roundDiploma.id IN :roundDiplomaIds")
+    List<Object[]> findScheduleRows(@Param("roundDiplomaIds") Collection<Long> roundDiplomaIds);
+}
@@ -15,4 +15,15 @@ public interface InvoiceV2Repository extends JpaRepository<InvoiceV2, Long> {
            "LOWER(i.customerName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(i.customerPhone) LIKE LOWER(CONCAT('%', :search, '%'))")
     Page<InvoiceV2> searchInvoices(@Param("search") String search, Pageable pageable);
+
+    // Invoice revenue in a period, summed in the database
+    @Query("SELECT COALESCE(SUM(i.amount), 0) FROM InvoiceV2 i WHERE i.invoiceDate BETWEEN :start AND :end")
+    java.math.BigDecimal sumAmountBetween(@Param("start") java.time.LocalDate start, @Param("end") java.time.LocalDate end);
+
+    // Page of invoices restricted to ids matched by the search index
+    Page<InvoiceV2> findByIdIn(java.util.Collection<Long> ids, Pageable pageable);
+
+    // Keyset chunk of (id, name, phone) rows for building the search index
+    @Query("SELECT i.id, i.customerName, i.customerPhone FROM InvoiceV2 i WHERE i.id > :afterId ORDER BY i.id")
+    java.util.List<Object[]> findSearchRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
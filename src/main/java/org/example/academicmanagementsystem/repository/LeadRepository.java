@@ -1,12 +1,17 @@
 package org.example.academicmanagementsystem.repository;
 
+import org.example.academicmanagementsystem.dto.LeadStatisticsSummary;
 import org.example.academicmanagementsystem.model.Lead;
 import org.example.academicmanagementsystem.model.LeadStatus;
+import org.example.academicmanagementsystem.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import jakarta.persistence.LockModeType;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -38,12 +43,30 @@ public interface LeadRepository extends JpaRepository<Lead, Long> {
     // Find All leads as a page filtering by status
     Page<Lead> findLeadsByStatus(LeadStatus status, Pageable pageable);
 
-    // Find leads that have NOT been assigned to any telesales agent
-    List<Lead> findByTeleSalesIsNull();
+    // Count leads that have NOT been assigned to any telesales agent
+    long countByTeleSalesIsNull();
 
     // Find unassigned leads paginated
     Page<Lead> findByTeleSalesIsNull(Pageable pageable);
 
+    // Keyset chunk of unassigned (id, status, diploma id) rows, locked until the distribution transaction commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l.id, l.status, l.diploma.id FROM Lead l WHERE l.teleSales IS NULL AND l.id > :afterId ORDER BY l.id")
+    List<Object[]> findUnassignedRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Open leads per agent for the given agents, in one grouped query
+    @Query("SELECT l.teleSales.id, COUNT(l) FROM Lead l WHERE l.teleSales.id IN :agentIds AND l.status IN :statuses " +
+           "GROUP BY l.teleSales.id")
+    List<Object[]> countOpenLeadsByTeleSales(@Param("agentIds") java.util.Collection<Long> agentIds,
+                                             @Param("statuses") java.util.Collection<LeadStatus> statuses);
+
+    // Set-based assignment of a chunk of leads to one agent; leads assigned meanwhile are left alone
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Lead l SET l.teleSales = :agent, l.updatedBy = :updatedBy, l.updatedAt = :updatedAt " +
+           "WHERE l.id IN :ids AND l.teleSales IS NULL")
+    int assignTeleSales(@Param("agent") User agent, @Param("ids") java.util.Collection<Long> ids,
+                        @Param("updatedBy") String updatedBy, @Param("updatedAt") java.time.LocalDateTime updatedAt);
+
     // Count leads assigned to a specific telesales agent
     long countByTeleSalesId(Long teleSalesId);
 
@@ -61,6 +84,55 @@ public interface LeadRepository extends JpaRepository<Lead, Long> {
     // Count total leads per telesales agent
     @Query("SELECT l.teleSales.id, COUNT(l) FROM Lead l WHERE l.teleSales IS NOT NULL GROUP BY l.teleSales.id")
     List<Object[]> countLeadsPerTelesales();
-}
-
 
+    // Dashboard statistics computed in a single pass over the leads table
+    @Query("SELECT new org.example.academicmanagementsystem.dto.LeadStatisticsSummary(" +
+           "COUNT(l), " +
+           "COALESCE(SUM(CASE WHEN l.status IN (org.example.academicmanagementsystem.model.LeadStatus.OPEN, " +
+           "org.example.academicmanagementsystem.model.LeadStatus.INTERESTED, " +
+           "org.example.academicmanagementsystem.model.LeadStatus.FOLLOW_UP) THEN 1L ELSE 0L END), 0L), " +
+           "COALESCE(SUM(CASE WHEN l.status IN (org.example.academicmanagementsystem.model.LeadStatus.CLOSED, " +
+           "org.example.academicmanagementsystem.model.LeadStatus.REJECTED) THEN 1L ELSE 0L END), 0L), " +
+           "COALESCE(SUM(CASE WHEN l.status = org.example.academicmanagementsystem.model.LeadStatus.ENROLLED THEN 1L ELSE 0L END), 0L), " +
+           "COUNT(DISTINCT CASE WHEN TRIM(l.source) <> '' THEN l.source END)) " +
+           "FROM Lead l")
+    LeadStatisticsSummary getLeadStatisticsSummary();
+
+    // Count leads that never received a call attempt
+    @Query("SELECT COUNT(l) FROM Lead l WHERE l.followUps IS EMPTY")
+    long countLeadsWithoutFollowUps();
+
+    // Count closed leads that carry a closure reason (treated as cancelled)
+    @Query("SELECT COUNT(l) FROM Lead l WHERE l.status = org.example.academicmanagementsystem.model.LeadStatus.CLOSED " +
+           "AND l.closureReason IS NOT NULL AND l.closureReason <> ''")
+    long countClosedWithClosureReason();
+
+    // Phone keys from the given set that already belong to a lead (batched duplicate check on idx_leads_phone_key)
+    @Query("SELECT l.phoneKey FROM Lead l WHERE l.phoneKey IN :phoneKeys")
+    List<String> findExistingPhoneKeys(@Param("phoneKeys") java.util.Collection<String> phoneKeys);
+
+    // Check if a lead with the canonical phone key exists
+    boolean existsByPhoneKey(String phoneKey);
+
+    // Leads whose name or phone contains the term (used when the search index cannot answer)
+    @Query("SELECT l FROM Lead l WHERE LOWER(l.fullName) LIKE LOWER(CONCAT('%', :search, '%')) " +
+           "OR l.phoneNumber LIKE CONCAT('%', :search, '%')")
+    Page<Lead> searchLeads(@Param("search") String search, Pageable pageable);
+
+    // Page of leads restricted to ids matched by the search index
+    Page<Lead> findByIdIn(java.util.Collection<Long> ids, Pageable pageable);
+
+    // Leads whose canonical phone key starts with the given key (fallback when the search index cannot answer)
+    Page<Lead> findByPhoneKeyStartingWith(String phoneKey, Pageable pageable);
+
+    // Leads whose canonical phone key ends with the given digits (fallback when the search index cannot answer)
+    Page<Lead> findByPhoneKeyEndingWith(String digits, Pageable pageable);
+
+    // Keyset chunk of (id, name, phone) rows for building the search index
+    @Query("SELECT l.id, l.fullName, l.phoneNumber FROM Lead l WHERE l.id > :afterId ORDER BY l.id")
+    List<Object[]> findSearchRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // (id, name, phone) rows for the given phone keys, to index leads inserted outside the entity lifecycle
+    @Query("SELECT l.id, l.fullName, l.phoneNumber FROM Lead l WHERE l.phoneKey IN :phoneKeys")
+    List<Object[]> findSearchRowsByPhoneKeyIn(@Param("phoneKeys") java.util.Collection<String> phoneKeys);
+}
@@ -0,0 +1,54 @@
+package org.example.academicmanagementsystem.repository;
+
+import org.example.academicmanagementsystem.model.LeadStatus;
+import org.example.academicmanagementsystem.model.LeadStatusCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LeadStatusCounterRepository extends JpaRepository<LeadStatusCounter, Long> {
+
+    // Atomically add delta to a (status, agent) bucket, creating the row on first use
+    @Modifying
+    @Query(value = "INSERT INTO lead_status_counters (status, tele_sales_id, lead_count) VALUES (:status, :teleSalesId, :delta) " +
+                   "ON DUPLICATE KEY UPDATE lead_count = lead_count + :delta", nativeQuery = true)
+    int adjust(@Param("status") String status, @Param("teleSalesId") long teleSalesId, @Param("delta") long delta);
+
+    // Total leads across all buckets
+    @Query("SELECT COALESCE(SUM(c.leadCount), 0) FROM LeadStatusCounter c")
+    long sumAll();
+
+    // Total leads in a status, regardless of agent
+    @Query("SELECT COALESCE(SUM(c.leadCount), 0) FROM LeadStatusCounter c WHERE c.status = :status")
+    long sumByStatus(@Param("status") LeadStatus status);
+
+    // Single bucket read (agent 0 = unassigned)
+    @Query("SELECT COALESCE(SUM(c.leadCount), 0) FROM LeadStatusCounter c WHERE c.status = :status AND c.teleSalesId = :teleSalesId")
+    long sumByStatusAndTeleSalesId(@Param("status") LeadStatus status, @Param("teleSalesId") Long teleSalesId);
+
+    // All buckets of one agent
+    List<LeadStatusCounter> findByTeleSalesId(Long teleSalesId);
+
+    // All assigned buckets, used for the per-agent performance view
+    List<LeadStatusCounter> findByTeleSalesIdNot(Long teleSalesId);
+
+    // Lock every bucket (and, on MySQL, the gaps between them) so adjust() waits until a rebuild commits
+    @Query(value = "SELECT id, status, tele_sales_id FROM lead_status_counters FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockAll();
+
+    // Live (non soft-deleted) lead count per (status, agent) bucket; a plain snapshot read, no locks on leads
+    @Query(value = "SELECT status, COALESCE(tele_sales_id, 0), COUNT(*) FROM leads WHERE deleted = false " +
+                   "GROUP BY status, COALESCE(tele_sales_id, 0)", nativeQuery = true)
+    List<Object[]> countLeadsByBucket();
+
+    // Overwrite one bucket with a recomputed count, creating the row if it is missing
+    @Modifying
+    @Query(value = "INSERT INTO lead_status_counters (status, tele_sales_id, lead_count) VALUES (:status, :teleSalesId, :count) " +
+                   "ON DUPLICATE KEY UPDATE lead_count = :count", nativeQuery = true)
+    int setCount(@Param("status") String status, @Param("teleSalesId") long teleSalesId, @Param("count") long count);
+}
@@ -0,0 +1,12 @@
+package org.example.academicmanagementsystem.repository;
+
+import org.example.academicmanagementsystem.model.Notification;
+
+import java.util.List;
+
+// Custom fragment of NotificationRepository for writes that JPA cannot batch (IDENTITY ids)
+public interface NotificationBatchRepository {
+
+    /** Inserts the notifications as one JDBC batch and sets their generated ids; returns the same list */
+    List<Notification> insertBatch(List<Notification> notifications);
+}
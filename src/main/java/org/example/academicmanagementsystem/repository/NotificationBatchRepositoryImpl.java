@@ -0,0 +1,66 @@
+package org.example.academicmanagementsystem.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.academicmanagementsystem.model.Notification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class NotificationBatchRepositoryImpl implements NotificationBatchRepository {
+
+    private static final String INSERT_NOTIFICATION_SQL =
+            "INSERT INTO notifications (user_id, target_role, type, message, is_read, reference_id, " +
+            "created_at, updated_at, created_by, updated_by, deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Notification> insertBatch(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return notifications;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return jdbcTemplate.execute(
+                connection -> connection.prepareStatement(INSERT_NOTIFICATION_SQL, new String[]{"id"}),
+                (PreparedStatement statement) -> {
+                    for (Notification notification : notifications) {
+                        notification.setCreatedAt(now);
+                        notification.setUpdatedAt(now);
+                        if (notification.getUser() != null) {
+                            statement.setLong(1, notification.getUser().getId());
+                        } else {
+                            statement.setNull(1, Types.BIGINT);
+                        }
+                        statement.setString(2, notification.getTargetRole() != null ? notification.getTargetRole().name() : null);
+                        statement.setString(3, notification.getType().name());
+                        statement.setString(4, notification.getMessage());
+                        statement.setBoolean(5, Boolean.TRUE.equals(notification.getIsRead()));
+                        if (notification.getReferenceId() != null) {
+                            statement.setLong(6, notification.getReferenceId());
+                        } else {
+                            statement.setNull(6, Types.BIGINT);
+                        }
+                        statement.setTimestamp(7, timestamp);
+                        statement.setTimestamp(8, timestamp);
+                        statement.setString(9, notification.getCreatedBy());
+                        statement.setString(10, notification.getUpdatedBy());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    // Generated keys come back in insertion order, one per batched row
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        for (int i = 0; i < notifications.size() && keys.next(); i++) {
+                            notifications.get(i).setId(keys.getLong(1));
+                        }
+                    }
+                    return notifications;
+                });
+    }
+}
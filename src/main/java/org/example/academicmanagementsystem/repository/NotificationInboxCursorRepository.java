@@ -0,0 +1,13 @@
+package org.example.academicmanagementsystem.repository;
+
+import org.example.academicmanagementsystem.model.NotificationInboxCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface NotificationInboxCursorRepository extends JpaRepository<NotificationInboxCursor, Long> {
+
+    Optional<NotificationInboxCursor> findByUserId(Long userId);
+}
@@ -0,0 +1,36 @@
+package org.example.academicmanagementsystem.repository;
+
+import org.example.academicmanagementsystem.model.NotificationReceipt;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationReceiptRepository extends JpaRepository<NotificationReceipt, Long> {
+
+    boolean existsByUserIdAndNotificationId(Long userId, Long notificationId);
+
+    // Receipts of one user above their cursor for notifications of the given role
+    @Query("SELECT COUNT(r) FROM NotificationReceipt r, Notification n " +
+           "WHERE n.id = r.notificationId AND r.userId = :userId AND n.targetRole = :role AND r.notificationId > :afterId")
+    long countRoleReceiptsAfter(@Param("userId") Long userId, @Param("role") UserRole role, @Param("afterId") Long afterId);
+
+    // Which of the given notifications this user has read individually (one query per feed page)
+    @Query("SELECT r.notificationId FROM NotificationReceipt r WHERE r.userId = :userId AND r.notificationId IN :notificationIds")
+    List<Long> findReadNotificationIds(@Param("userId") Long userId, @Param("notificationIds") Collection<Long> notificationIds);
+
+    // Receipts at or below the cursor are redundant
+    @Modifying
+    @Query("DELETE FROM NotificationReceipt r WHERE r.userId = :userId AND r.notificationId <= :upToId")
+    int deleteCoveredByCursor(@Param("userId") Long userId, @Param("upToId") Long upToId);
+
+    @Modifying
+    @Query("DELETE FROM NotificationReceipt r WHERE r.notificationId = :notificationId")
+    int deleteByNotificationId(@Param("notificationId") Long notificationId);
+}
@@ -4,16 +4,54 @@ import org.example.academicmanagementsystem.model.Notification;
 import org.example.academicmanagementsystem.model.User;
 import org.example.academicmanagementsystem.model.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Long> {
+public interface NotificationRepository extends JpaRepository<Notification, Long>, NotificationBatchRepository {
 
     List<Notification> findByUserOrTargetRoleOrderByCreatedAtDesc(User user, UserRole targetRole);
 
     org.springframework.data.domain.Page<Notification> findByUserOrTargetRole(User user, UserRole targetRole, org.springframework.data.domain.Pageable pageable);
 
     long countByUserOrTargetRoleAndIsReadFalse(User user, UserRole targetRole);
+
+    // Mark every direct notification of a user as read in a single statement (index: user_id, is_read)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllReadForUser(@Param("userId") Long userId);
+
+    // First page of the keyset feed: newest notifications visible to the user (index: created_at, id)
+    @Query("SELECT n FROM Notification n WHERE (n.user.id = :userId OR n.targetRole = :role) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFeedFirstPage(@Param("userId") Long userId, @Param("role") UserRole role,
+                                         org.springframework.data.domain.Pageable pageable);
+
+    // Next page of the keyset feed: seeks past the last (createdAt, id) the client has seen
+    @Query("SELECT n FROM Notification n WHERE (n.user.id = :userId OR n.targetRole = :role) " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFeedBefore(@Param("userId") Long userId, @Param("role") UserRole role,
+                                      @Param("createdAt") java.time.LocalDateTime createdAt, @Param("id") Long id,
+                                      org.springframework.data.domain.Pageable pageable);
+
+    // Unread notifications addressed directly to a user (index: user_id, is_read)
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.isRead = false")
+    long countUnreadForUser(@Param("userId") Long userId);
+
+    // Role notifications newer than a user's inbox cursor (index: target_role, id)
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.targetRole = :role AND n.id > :afterId")
+    long countForRoleAfter(@Param("role") UserRole role, @Param("afterId") Long afterId);
+
+    // Replay for a reconnecting stream: everything visible to the user after the last delivered id
+    @Query("SELECT n FROM Notification n WHERE n.id > :afterId AND (n.user.id = :userId OR n.targetRole = :role) ORDER BY n.id ASC")
+    List<Notification> findVisibleAfter(@Param("userId") Long userId, @Param("role") UserRole role,
+                                        @Param("afterId") Long afterId, org.springframework.data.domain.Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(n.id), 0) FROM Notification n WHERE n.targetRole = :role")
+    long findLatestIdForRole(@Param("role") UserRole role);
 }
@@ -7,13 +7,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -24,6 +28,19 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     Optional<Payment> findByReceiptNumber(String receiptNumber);
 
+    // Payment counts and totals per (method, type), optionally restricted to a period and a diploma
+    @Query("SELECT new org.example.academicmanagementsystem.dto.PaymentAggregate(p.method, p.type, COUNT(p), COALESCE(SUM(p.amount), 0)) " +
+           "FROM Payment p LEFT JOIN p.student s LEFT JOIN s.roundDiploma rd " +
+           "WHERE (:start IS NULL OR p.paymentDate >= :start) AND (:end IS NULL OR p.paymentDate <= :end) " +
+           "AND (:diplomaId IS NULL OR rd.diploma.id = :diplomaId) " +
+           "GROUP BY p.method, p.type")
+    List<org.example.academicmanagementsystem.dto.PaymentAggregate> aggregateByMethodAndType(@Param("start") LocalDateTime start,
+                                                                                           @Param("end") LocalDateTime end,
+                                                                                           @Param("diplomaId") Long diplomaId);
+
+    // Receipts already issued under a prefix (prefix range scan on the unique receipt_number index)
+    long countByReceiptNumberStartingWith(String prefix);
+
     List<Payment> findByType(PaymentType type);
 
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.student = :student")
@@ -33,6 +50,20 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findPaymentsBetweenDates(@Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end);
 
+    // Forward-only cursor over a period for exports; student, diploma batch and processor are fetched in the same row.
+    // MySQL only streams with a fetch size when the JDBC URL sets useCursorFetch=true
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Payment p JOIN FETCH p.student s LEFT JOIN FETCH s.roundDiploma LEFT JOIN FETCH p.processedBy " +
+           "WHERE p.paymentDate BETWEEN :start AND :end ORDER BY p.paymentDate, p.id")
+    Stream<Payment> streamPaymentsBetweenDates(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Collected payment revenue in a period, summed in the database
+    @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payment p WHERE p.paymentDate BETWEEN :start AND :end")
+    BigDecimal sumAmountBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
     @Query("SELECT p FROM Payment p WHERE p.student = :student ORDER BY p.paymentDate DESC")
     List<Payment> findRecentPaymentsByStudent(@Param("student") Student student, Pageable pageable);
 
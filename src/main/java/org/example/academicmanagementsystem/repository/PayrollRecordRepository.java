@@ -2,11 +2,28 @@ package org.example.academicmanagementsystem.repository;
 
 import org.example.academicmanagementsystem.model.PayrollRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface PayrollRecordRepository extends JpaRepository<PayrollRecord, Long> {
     Optional<PayrollRecord> findByMonth(String month);
+
+    // Create the month's run record; a no-op when it already exists (the unique month column decides)
+    @Modifying
+    @Query(value = "INSERT INTO payroll_records (month, total_payroll, paid_amount, generated_at, status, total_employees, " +
+                   "processed_employees, created_at, updated_at, created_by, updated_by, deleted) " +
+                   "VALUES (:month, 0, 0, :now, 'RUNNING', 0, 0, :now, :now, :username, :username, false) " +
+                   "ON DUPLICATE KEY UPDATE month = month", nativeQuery = true)
+    int createIfAbsent(@Param("month") String month, @Param("now") LocalDateTime now, @Param("username") String username);
+
+    // Record a committed chunk; runs in the chunk's transaction so the cursor never gets ahead of the inserts
+    @Modifying
+    @Query("UPDATE PayrollRecord r SET r.processedEmployees = :processed, r.lastEmployeeId = :lastEmployeeId WHERE r.month = :month")
+    int advance(@Param("month") String month, @Param("processed") int processed, @Param("lastEmployeeId") Long lastEmployeeId);
 }
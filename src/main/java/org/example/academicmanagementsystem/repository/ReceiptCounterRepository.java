@@ -0,0 +1,29 @@
+package org.example.academicmanagementsystem.repository;
+
+import org.example.academicmanagementsystem.model.ReceiptCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReceiptCounterRepository extends JpaRepository<ReceiptCounter, Long> {
+
+    // Next unreserved receipt number of a year
+    @Query("SELECT c.nextValue FROM ReceiptCounter c WHERE c.receiptYear = :year")
+    Optional<Long> findNextValue(@Param("year") int year);
+
+    // Create the year's counter; a no-op when another instance created it first
+    @Modifying
+    @Query(value = "INSERT INTO receipt_counters (receipt_year, next_value) VALUES (:year, :nextValue) " +
+                   "ON DUPLICATE KEY UPDATE next_value = next_value", nativeQuery = true)
+    int createIfAbsent(@Param("year") int year, @Param("nextValue") long nextValue);
+
+    // Reserve a block of numbers; the row lock serialises concurrent reservations until commit
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ReceiptCounter c SET c.nextValue = c.nextValue + :size WHERE c.receiptYear = :year")
+    int advance(@Param("year") int year, @Param("size") long size);
+}
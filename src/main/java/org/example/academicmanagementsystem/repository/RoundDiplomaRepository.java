@@ -2,6 +2,7 @@ package org.example.academicmanagementsystem.repository;
 
 import org.example.academicmanagementsystem.model.RoundDiploma;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,11 +12,14 @@ import java.util.List;
 
 @Repository
 public interface RoundDiplomaRepository extends JpaRepository<RoundDiploma, Long> {
-    
-    @Query("SELECT rd FROM RoundDiploma rd WHERE " +
-           "(rd.installment1Date BETWEEN :start AND :end) OR " +
-           "(rd.installment2Date BETWEEN :start AND :end) OR " +
-           "(rd.installment3Date BETWEEN :start AND :end) OR " +
-           "(rd.installment4Date BETWEEN :start AND :end)")
+
+    // Round diplomas with at least one installment due in the period
+    @Query("SELECT DISTINCT i.roundDiploma FROM InstallmentSchedule i WHERE i.dueDate BETWEEN :start AND :end")
     List<RoundDiploma> findWithInstallmentsInMonth(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // Take one seat if the batch still has capacity; returns 0 when it is full
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RoundDiploma rd SET rd.currentEnrollment = rd.currentEnrollment + 1, rd.version = rd.version + 1 " +
+           "WHERE rd.id = :id AND rd.currentEnrollment < rd.totalStudents")
+    int reserveSeat(@Param("id") Long id);
 }
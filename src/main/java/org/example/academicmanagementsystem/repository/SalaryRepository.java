@@ -8,4 +8,8 @@ import org.springframework.stereotype.Repository;
 public interface SalaryRepository extends JpaRepository<Salary, Long> {
     java.util.List<Salary> findByMonth(String month);
     void deleteByMonth(String month);
+
+    // Total net salaries of a payroll month, summed in the database
+    @org.springframework.data.jpa.repository.Query("SELECT COALESCE(SUM(s.netSalary), 0) FROM Salary s WHERE s.month = :month")
+    java.math.BigDecimal sumNetSalaryByMonth(@org.springframework.data.repository.query.Param("month") String month);
 }
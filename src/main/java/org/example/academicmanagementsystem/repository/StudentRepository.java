@@ -6,16 +6,17 @@ import org.example.academicmanagementsystem.model.Student;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
 
-    Optional<Student> findByPhone(String phone);
+    boolean existsByPhoneKey(String phoneKey);
 
     List<Student> findByRoundDiploma(RoundDiploma roundDiploma);
 
@@ -28,4 +29,17 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     @Query("SELECT s FROM Student s WHERE s.roundDiploma = :roundDiploma ORDER BY s.enrollmentDate DESC")
     List<Student> findRecentStudentsByRoundDiploma(RoundDiploma roundDiploma, Pageable pageable);
+
+    // Apply a payment to the balance in one statement so concurrent payments cannot lose updates.
+    // The status is assigned first so it is computed from the pre-update paid amount on every database.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Student s SET " +
+           "s.paymentStatus = CASE WHEN s.paidAmount + :amount >= s.totalFees " +
+           "THEN org.example.academicmanagementsystem.model.PaymentStatus.PAID " +
+           "ELSE org.example.academicmanagementsystem.model.PaymentStatus.PARTIAL END, " +
+           "s.remainingAmount = s.remainingAmount - :amount, " +
+           "s.paidAmount = s.paidAmount + :amount, " +
+           "s.version = s.version + 1 " +
+           "WHERE s.id = :id")
+    int applyPayment(@Param("id") Long id, @Param("amount") java.math.BigDecimal amount);
 }
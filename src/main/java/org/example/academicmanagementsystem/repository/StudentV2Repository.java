@@ -1,5 +1,6 @@
 package org.example.academicmanagementsystem.repository;
 
+import org.example.academicmanagementsystem.dto.StudentGridRowV2;
 import org.example.academicmanagementsystem.model.StudentStatus;
 import org.example.academicmanagementsystem.model.StudentV2;
 import org.springframework.data.domain.Page;
@@ -9,15 +10,69 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface StudentV2Repository extends JpaRepository<StudentV2, Long> {
-    Page<StudentV2> findByStatus(StudentStatus status, Pageable pageable);
-    Page<StudentV2> findByStatusAndNameContainingIgnoreCase(StudentStatus status, String name, Pageable pageable);
-    
+    // Grid columns only, with paid and remaining totals computed in SQL; the pricing comes from the
+    // student's (round, diploma) pair
+    String GRID_ROW_SELECT = "SELECT new org.example.academicmanagementsystem.dto.StudentGridRowV2(" +
+            "s.id, rd.id, s.name, s.phone, s.email, s.notes, r.name, d.name, s.depositAmount, sp.fullName, " +
+            "s.discount, s.password, s.itStatus, s.status, s.cancellationDate, s.cancellationReason, s.enrollmentDate, " +
+            "COALESCE(rd.totalPrice, 0BD), " +
+            "COALESCE(s.depositAmount, 0BD) + COALESCE((SELECT SUM(i.paidAmount) FROM StudentInstallmentV2 i WHERE i.student = s), 0BD), " +
+            "COALESCE(rd.totalPrice, 0BD) - COALESCE(s.depositAmount, 0BD) - COALESCE((SELECT SUM(i.paidAmount) FROM StudentInstallmentV2 i WHERE i.student = s), 0BD), " +
+            "rd.endDate) " +
+            "FROM StudentV2 s LEFT JOIN s.round r LEFT JOIN s.diploma d LEFT JOIN s.salesPerson sp " +
+            "LEFT JOIN RoundDiplomaV2 rd ON rd.round = r AND rd.diploma = d ";
+
+    // Grid page of students in a status, optionally filtered by name; no entities are materialised
+    @org.springframework.data.jpa.repository.Query(value = GRID_ROW_SELECT +
+            "WHERE s.status = :status AND (:search IS NULL OR LOWER(s.name) LIKE LOWER(CONCAT('%', :search, '%')))",
+            countQuery = "SELECT COUNT(s) FROM StudentV2 s " +
+            "WHERE s.status = :status AND (:search IS NULL OR LOWER(s.name) LIKE LOWER(CONCAT('%', :search, '%')))")
+    Page<StudentGridRowV2> findGridRowsByStatus(@org.springframework.data.repository.query.Param("status") StudentStatus status,
+                                                @org.springframework.data.repository.query.Param("search") String search,
+                                                Pageable pageable);
+
+    // Grid page of the students of one round diploma, optionally filtered by name or phone
+    @org.springframework.data.jpa.repository.Query(value = GRID_ROW_SELECT +
+            "WHERE rd.id = :roundDiplomaId AND (:search IS NULL OR LOWER(s.name) LIKE LOWER(CONCAT('%', :search, '%')) " +
+            "OR LOWER(s.phone) LIKE LOWER(CONCAT('%', :search, '%')))",
+            countQuery = "SELECT COUNT(s) FROM StudentV2 s, RoundDiplomaV2 rd " +
+            "WHERE rd.id = :roundDiplomaId AND s.round = rd.round AND s.diploma = rd.diploma " +
+            "AND (:search IS NULL OR LOWER(s.name) LIKE LOWER(CONCAT('%', :search, '%')) " +
+            "OR LOWER(s.phone) LIKE LOWER(CONCAT('%', :search, '%')))")
+    Page<StudentGridRowV2> findGridRowsByRoundDiploma(@org.springframework.data.repository.query.Param("roundDiplomaId") Long roundDiplomaId,
+                                                      @org.springframework.data.repository.query.Param("search") String search,
+                                                      Pageable pageable);
+
+    // Grid page of students in a status restricted to ids matched by the search index
+    @org.springframework.data.jpa.repository.Query(value = GRID_ROW_SELECT + "WHERE s.status = :status AND s.id IN :ids",
+            countQuery = "SELECT COUNT(s) FROM StudentV2 s WHERE s.status = :status AND s.id IN :ids")
+    Page<StudentGridRowV2> findGridRowsByStatusAndIds(@org.springframework.data.repository.query.Param("status") StudentStatus status,
+                                                      @org.springframework.data.repository.query.Param("ids") java.util.Collection<Long> ids,
+                                                      Pageable pageable);
+
+    // Grid page of one round diploma's students restricted to ids matched by the search index
+    @org.springframework.data.jpa.repository.Query(value = GRID_ROW_SELECT + "WHERE rd.id = :roundDiplomaId AND s.id IN :ids",
+            countQuery = "SELECT COUNT(s) FROM StudentV2 s, RoundDiplomaV2 rd " +
+            "WHERE rd.id = :roundDiplomaId AND s.round = rd.round AND s.diploma = rd.diploma AND s.id IN :ids")
+    Page<StudentGridRowV2> findGridRowsByRoundDiplomaAndIds(@org.springframework.data.repository.query.Param("roundDiplomaId") Long roundDiplomaId,
+                                                            @org.springframework.data.repository.query.Param("ids") java.util.Collection<Long> ids,
+                                                            Pageable pageable);
+
     Page<StudentV2> findByRoundAndDiploma(org.example.academicmanagementsystem.model.RoundV2 round, org.example.academicmanagementsystem.model.DiplomaV2 diploma, Pageable pageable);
     
+    // Ids from the given set that belong to an existing student (one IN query instead of a lookup per id)
+    @org.springframework.data.jpa.repository.Query("SELECT s.id FROM StudentV2 s WHERE s.id IN :ids")
+    java.util.List<Long> findExistingIds(@org.springframework.data.repository.query.Param("ids") java.util.Collection<Long> ids);
+
     long countByRoundAndDiplomaAndStatusNot(org.example.academicmanagementsystem.model.RoundV2 round, org.example.academicmanagementsystem.model.DiplomaV2 diploma, StudentStatus status);
     
-    @org.springframework.data.jpa.repository.Query("SELECT s FROM StudentV2 s WHERE s.round = :round AND s.diploma = :diploma AND (LOWER(s.name) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(s.phone) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<StudentV2> searchInRoundDiploma(@org.springframework.data.repository.query.Param("round") org.example.academicmanagementsystem.model.RoundV2 round, @org.springframework.data.repository.query.Param("diploma") org.example.academicmanagementsystem.model.DiplomaV2 diploma, @org.springframework.data.repository.query.Param("search") String search, Pageable pageable);
-
     java.util.List<StudentV2> findBySalesPersonId(Long salesPersonId);
+
+    // Installment ledger rows (studentId, seq, paidAmount, notes) for a page of students
+    @org.springframework.data.jpa.repository.Query("SELECT i.student.id, i.seq, i.paidAmount, i.notes FROM StudentInstallmentV2 i WHERE i.student.id IN :studentIds")
+    java.util.List<Object[]> findLedgerRows(@org.springframework.data.repository.query.Param("studentIds") java.util.Collection<Long> studentIds);
+
+    // Keyset chunk of (id, name, phone) rows for building the search index
+    @org.springframework.data.jpa.repository.Query("SELECT s.id, s.name, s.phone FROM StudentV2 s WHERE s.id > :afterId ORDER BY s.id")
+    java.util.List<Object[]> findSearchRowsAfter(@org.springframework.data.repository.query.Param("afterId") Long afterId, Pageable pageable);
 }
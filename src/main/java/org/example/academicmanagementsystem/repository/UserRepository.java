@@ -17,4 +17,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByEmail(String email);
 
     java.util.List<User> findByRole(org.example.academicmanagementsystem.model.UserRole role);
+
+    // Payroll-eligible employees (active with a base salary) after a keyset cursor: rows of [id, baseSalary]
+    @org.springframework.data.jpa.repository.Query("SELECT u.id, u.baseSalary FROM User u " +
+            "WHERE u.active = true AND u.baseSalary IS NOT NULL AND u.id > :afterId ORDER BY u.id")
+    java.util.List<Object[]> findPayrollEligibleAfter(@org.springframework.data.repository.query.Param("afterId") Long afterId,
+                                                      org.springframework.data.domain.Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query("SELECT COUNT(u) FROM User u WHERE u.active = true AND u.baseSalary IS NOT NULL")
+    long countPayrollEligible();
+
+    @org.springframework.data.jpa.repository.Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@org.springframework.data.repository.query.Param("id") Long id);
+
+    @org.springframework.data.jpa.repository.Modifying(flushAutomatically = true, clearAutomatically = true)
+    @org.springframework.data.jpa.repository.Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(@org.springframework.data.repository.query.Param("id") Long id);
 }
@@ -21,20 +21,32 @@ import java.io.IOException;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    static final String STREAM_PATH = "/api/v1/notifications/stream";
+    static final String STREAM_TOKEN_PARAM = "access_token";
+
     private final JwtTokenProvider tokenProvider;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
         try {
-            String jwt = getJwtFromRequest(request);
+            boolean streamRequest = isStreamRequest(request);
+            String headerJwt = getJwtFromRequest(request);
+            boolean fromQuery = !StringUtils.hasText(headerJwt) && streamRequest;
+            String jwt = fromQuery ? request.getParameter(STREAM_TOKEN_PARAM) : headerJwt;
+
+            // Stream tokens open the notification stream and nothing else; full tokens never travel in a URL
+            java.util.Optional<io.jsonwebtoken.Claims> claims = (StringUtils.hasText(jwt)
+                    ? tokenProvider.parseClaims(jwt)
+                    : java.util.Optional.<io.jsonwebtoken.Claims>empty())
+                    .filter(c -> tokenProvider.isStreamToken(c) ? streamRequest : !fromQuery);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            UserDetails userDetails = claims.map(this::resolvePrincipal).orElse(null);
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -48,6 +60,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Principal straight from the claims when the token carries them; null when the token was revoked
+    private UserDetails resolvePrincipal(io.jsonwebtoken.Claims claims) {
+        java.util.Optional<UserDetailsImpl> fromClaims = tokenProvider.toPrincipal(claims);
+        if (fromClaims.isEmpty()) {
+            return userDetailsCache.get(claims.getSubject());
+        }
+        UserDetailsImpl principal = fromClaims.get();
+        if (!tokenVersionRegistry.isCurrent(principal.getId(), principal.getTokenVersion())) {
+            log.debug("Rejected revoked token for user {}", principal.getUsername());
+            return null;
+        }
+        return principal;
+    }
+
+    private static boolean isStreamRequest(HttpServletRequest request) {
+        return "GET".equals(request.getMethod())
+                && STREAM_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -11,49 +11,92 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_FULL_NAME = "name";
+    static final String CLAIM_TOKEN_VERSION = "ver";
+    static final String CLAIM_SCOPE = "scope";
+    static final String SCOPE_NOTIFICATION_STREAM = "notification-stream";
+
     private final JwtConfig jwtConfig;
 
+    // Built once on first use; both are immutable and thread-safe
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            jwtParser = Jwts.parser().verifyWith(getSigningKey()).build();
+            parser = jwtParser;
+        }
+        return jwtParser;
     }
 
     public String generateToken(Authentication authentication) {
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+        return tokenFor(userPrincipal, jwtConfig.getExpiration()).compact();
+    }
 
+    /**
+     * Short-lived token that only opens the notification stream. A browser EventSource cannot send the
+     * Authorization header, so this token travels as a query parameter instead of the full one.
+     */
+    public String generateStreamToken(UserDetailsImpl userPrincipal) {
+        return tokenFor(userPrincipal, jwtConfig.getStreamExpiration())
+                .claim(CLAIM_SCOPE, SCOPE_NOTIFICATION_STREAM)
+                .compact();
+    }
+
+    public boolean isStreamToken(Claims claims) {
+        return SCOPE_NOTIFICATION_STREAM.equals(claims.get(CLAIM_SCOPE, String.class));
+    }
+
+    private JwtBuilder tokenFor(UserDetailsImpl userPrincipal, long ttlMs) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtConfig.getExpiration());
+        Date expiryDate = new Date(now.getTime() + ttlMs);
 
         return Jwts.builder()
                 .subject(userPrincipal.getUsername())
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_ROLE, userPrincipal.getRole().name())
+                .claim(CLAIM_FULL_NAME, userPrincipal.getFullName())
+                .claim(CLAIM_TOKEN_VERSION, userPrincipal.getTokenVersion() != null ? userPrincipal.getTokenVersion() : 0)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+                .signWith(getSigningKey());
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
+        return getParser().parseSignedClaims(token).getPayload().getSubject();
     }
 
     public boolean validateToken(String authToken) {
+        return parseClaims(authToken).isPresent();
+    }
+
+    /**
+     * Verifies the token and returns its claims in a single parse; empty when the token is invalid.
+     */
+    public Optional<Claims> parseClaims(String authToken) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
+            return Optional.of(getParser().parseSignedClaims(authToken).getPayload());
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -65,10 +108,33 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return Optional.empty();
+    }
+
+    /**
+     * Builds the request principal from the token alone. Empty for tokens issued before
+     * identity claims were added; those still go through a user lookup.
+     */
+    public Optional<UserDetailsImpl> toPrincipal(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        if (userId == null || role == null || tokenVersion == null) {
+            return Optional.empty();
+        }
+        return Optional.of(UserDetailsImpl.fromClaims(
+                userId.longValue(),
+                claims.getSubject(),
+                org.example.academicmanagementsystem.model.UserRole.valueOf(role),
+                claims.get(CLAIM_FULL_NAME, String.class),
+                tokenVersion.intValue()));
     }
 
     public Long getExpirationTime() {
         return jwtConfig.getExpiration();
     }
+
+    public Long getStreamExpirationTime() {
+        return jwtConfig.getStreamExpiration();
+    }
 }
@@ -0,0 +1,63 @@
+package org.example.academicmanagementsystem.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.academicmanagementsystem.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * In-memory view of each user's current token version. A token is accepted only while the
+ * version it carries matches; revoking bumps the stored version, so older tokens stop working
+ * on the next request. Versions are cached per node; a revoke evicts locally at once, and the TTL
+ * bounds how long other nodes (or a version bumped outside revoke) keep accepting old tokens.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    // Returned for users that no longer exist; never matches a token
+    static final int REVOKED = -1;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Integer> versions;
+
+    public TokenVersionRegistry(UserRepository userRepository,
+                                @Value("${security.token-version-cache.max-size:10000}") long maxSize,
+                                @Value("${security.token-version-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        return tokenVersion != null && tokenVersion == currentVersion(userId);
+    }
+
+    public int currentVersion(Long userId) {
+        return versions.get(userId, id -> userRepository.findTokenVersionById(id).orElse(REVOKED));
+    }
+
+    /** Invalidates every token issued to the user so far */
+    @Transactional
+    public void revoke(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        // Drop now so this node rejects old tokens immediately, and again after commit so a
+        // concurrent request cannot reload the pre-commit version
+        versions.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.invalidate(userId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.academicmanagementsystem.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+/**
+ * Short-lived cache of authenticated principals keyed by token subject, so the JWT filter
+ * does not hit the users table on every request. Entries are evicted whenever a user changes;
+ * the TTL bounds how long any missed invalidation can survive.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final Cache<String, UserDetailsImpl> principals;
+
+    public UserDetailsCache(UserDetailsServiceImpl userDetailsService,
+                            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+                            @Value("${security.principal-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userDetailsService = userDetailsService;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public UserDetailsImpl get(String username) {
+        return principals.get(username, key -> (UserDetailsImpl) userDetailsService.loadUserByUsername(key));
+    }
+
+    /** Evicts every entry for the user, whatever name it was cached under (username or email) */
+    public void evictUser(Long userId) {
+        evictAfterCommit(principal -> principal.getId().equals(userId));
+    }
+
+    public void evictUsername(String username) {
+        evictAfterCommit(principal -> principal.getUsername().equals(username));
+        principals.invalidate(username);
+    }
+
+    // Evict now and again once the change is visible, so a concurrent request cannot re-cache the old row
+    private void evictAfterCommit(Predicate<UserDetailsImpl> matches) {
+        principals.asMap().values().removeIf(matches);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.asMap().values().removeIf(matches);
+                }
+            });
+        }
+    }
+}
@@ -22,6 +22,7 @@ public class UserDetailsImpl implements UserDetails {
     private UserRole role;
     private String fullName;
     private Boolean active;
+    private Integer tokenVersion;
 
     public static UserDetailsImpl build(User user) {
         return new UserDetailsImpl(
@@ -31,7 +32,27 @@ public class UserDetailsImpl implements UserDetails {
                 user.getPassword(),
                 user.getRole(),
                 user.getFullName(),
-                user.getActive());
+                user.getActive(),
+                user.getTokenVersion());
+    }
+
+    /**
+     * Lightweight principal rebuilt from token claims, without touching the database.
+     * Email and password are not part of the token and stay null.
+     */
+    public static UserDetailsImpl fromClaims(Long id, String username, UserRole role, String fullName, Integer tokenVersion) {
+        return new UserDetailsImpl(id, username, null, null, role, fullName, true, tokenVersion);
+    }
+
+    /** Principal of the current request, when it was authenticated with a JWT */
+    public static java.util.Optional<UserDetailsImpl> current() {
+        org.springframework.security.core.Authentication authentication =
+                org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof UserDetailsImpl principal) {
+            return java.util.Optional.of(principal);
+        }
+        return java.util.Optional.empty();
     }
 
     @Override
@@ -0,0 +1,23 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.dto.AttendanceHoursSummary;
+import org.example.academicmanagementsystem.dto.WeeklyHoursBucket;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Team-level attendance totals computed with grouped queries instead of one query per employee.
+ * Weeks run Sunday to Saturday; totals of closed weeks are cached until an attendance log in them changes.
+ */
+public interface AttendanceReportService {
+
+    /** Hours, logged days and overtime per employee for the period */
+    List<AttendanceHoursSummary> getHoursByEmployee(LocalDate from, LocalDate to);
+
+    /** Per-employee weekly buckets for every week touching the period; employeeId is optional */
+    List<WeeklyHoursBucket> getWeeklyHours(LocalDate from, LocalDate to, Long employeeId);
+
+    /** Drops the cached totals of the week containing the date after a log was written or deleted */
+    void markChanged(LocalDate date);
+}
@@ -29,6 +29,8 @@ public class AuthService {
     private final UserMapper userMapper;
     private final org.example.academicmanagementsystem.repository.SalaryRepository salaryRepository;
     private final org.example.academicmanagementsystem.repository.PayrollRecordRepository payrollRecordRepository;
+    private final org.example.academicmanagementsystem.security.UserDetailsCache userDetailsCache;
+    private final FinanceSnapshotService financeSnapshotService;
 
     @Transactional
     public AuthResponse login(LoginRequest loginRequest) {
@@ -80,6 +82,8 @@ public class AuthService {
         user.setActive(true);
 
         User savedUser = userRepository.save(user);
+        // A soft-deleted account may have been cached under the same name
+        userDetailsCache.evictUsername(savedUser.getUsername());
 
         // Auto-add to specified month's payroll if it exists, otherwise current month
         String targetMonth = registerRequest.getTargetMonth();
@@ -96,6 +100,7 @@ public class AuthService {
             salary.setNetSalary(salary.getBaseSalary());
             salary.setStatus(org.example.academicmanagementsystem.model.SalaryStatus.PENDING);
             salaryRepository.save(salary);
+            financeSnapshotService.markChanged(targetMonth);
 
             org.example.academicmanagementsystem.model.PayrollRecord record = recordOpt.get();
             record.setTotalPayroll(record.getTotalPayroll().add(salary.getNetSalary()));
@@ -16,4 +16,5 @@ public interface FinanceService {
     List<ExpenseResponse> getExpenses(String month);
     ExpenseResponse addExpense(Expense expense);
     ExpenseResponse updateExpense(Long id, Expense expense);
+    int rebuildSnapshots(String fromMonth, String toMonth);
 }
@@ -0,0 +1,30 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.dto.FinanceMonthTotals;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Monthly finance totals computed with SQL aggregates. Closed months are served from a stored
+ * snapshot that is invalidated whenever their payments, invoices, expenses or salaries change;
+ * the current month is always computed live.
+ */
+public interface FinanceSnapshotService {
+
+    FinanceMonthTotals getMonth(YearMonth month);
+
+    /** Totals for several months at once, without the per-diploma breakdown */
+    Map<YearMonth, FinanceMonthTotals> getMonths(List<YearMonth> months);
+
+    /** Invalidates the month containing the given date; a no-op for the current month */
+    void markChanged(LocalDate date);
+
+    /** Invalidates a month given as "YYYY-MM" */
+    void markChanged(String month);
+
+    /** Recomputes and stores every closed month in the range; returns how many were written */
+    int rebuild(YearMonth from, YearMonth to);
+}
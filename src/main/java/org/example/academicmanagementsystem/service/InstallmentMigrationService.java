@@ -0,0 +1,14 @@
+package org.example.academicmanagementsystem.service;
+
+/**
+ * Moves the legacy installment1..4 columns of round_diplomas, round_diplomas_v2 and students_v2
+ * into the installment_schedule, installment_schedule_v2 and student_installment_v2 tables.
+ */
+public interface InstallmentMigrationService {
+
+    /**
+     * Copies every legacy slot that has no schedule/ledger row yet and clears the copied legacy values;
+     * returns how many rows were inserted
+     */
+    int migrateLegacyColumns();
+}
@@ -0,0 +1,17 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.dto.AgentSkillWeight;
+import org.example.academicmanagementsystem.dto.LeadDistributionSummary;
+
+import java.util.List;
+
+public interface LeadDistributionService {
+
+    /**
+     * Assigns unassigned leads to active TELESALES agents, always to the agent with the lowest open load
+     * (OPEN, INTERESTED, FOLLOW_UP leads) divided by their skill weight for the lead's diploma.
+     * @param leadsPerAgent max leads per agent in this run (0 = no limit)
+     * @param skillWeights optional per-agent, per-diploma weights; missing pairs weigh 1
+     */
+    LeadDistributionSummary distribute(int leadsPerAgent, List<AgentSkillWeight> skillWeights);
+}
@@ -0,0 +1,16 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.dto.LeadImportSummary;
+
+import java.io.InputStream;
+
+public interface LeadImportService {
+
+    enum Format { CSV, NDJSON }
+
+    /**
+     * Streams leads from CSV (with header row) or NDJSON and inserts them in JDBC batches.
+     * Rows whose phone number already exists are skipped. Imported leads are left unassigned.
+     */
+    LeadImportSummary importLeads(InputStream input, Format format);
+}
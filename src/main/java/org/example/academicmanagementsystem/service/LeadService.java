@@ -24,6 +24,12 @@ public interface LeadService {
 
     Page<LeadResponse> findAll(Pageable pageable);
 
+    // Leads whose name or phone number contains the search term
+    Page<LeadResponse> search(String search, Pageable pageable);
+
+    // Leads whose phone number starts with the prefix or ends with the suffix; exactly one must be given
+    Page<LeadResponse> searchByPhone(String prefix, String suffix, Pageable pageable);
+
     Boolean deleteById(Long id);
 
     Optional<LeadResponse> update(Long id, LeadRequest leadRequest);
@@ -54,21 +60,20 @@ public interface LeadService {
     /** Returns statistics for the currently authenticated TELESALES user */
     Map<String, Long> getMyLeadsStats();
 
-    /** Bulk-imports a list of leads (MODERATOR/ADMIN only). Returns saved leads. */
-    List<LeadDetailResponse> bulkImport(List<LeadRequest> leads);
-
     /**
-     * Distributes unassigned leads round-robin across all active TELESALES users.
-     * @param leadsPerAgent max leads per agent in this batch (default 30, 0 = distribute all)
-     * @return summary map: agentName -> leadsAssigned, plus "total" key
+     * Bulk-imports a list of leads (MODERATOR/ADMIN only). Returns saved leads.
+     * Rows whose phone number already belongs to a lead, or repeats an earlier row, are skipped.
      */
-    Map<String, Object> distributeLeads(int leadsPerAgent);
+    List<LeadDetailResponse> bulkImport(List<LeadRequest> leads);
 
     /** Returns paginated leads that have no telesales agent assigned */
     Page<LeadResponse> getUnassignedLeads(Pageable pageable);
 
     /** Returns performance stats for every TELESALES agent (for MODERATOR view) */
     List<Map<String, Object>> getTelesalesPerformance();
+
+    /** Rebuilds the materialized lead status counters from the leads table. Returns the number of buckets written. */
+    int rebuildStatusCounters();
 }
 
 
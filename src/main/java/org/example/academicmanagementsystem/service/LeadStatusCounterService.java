@@ -0,0 +1,40 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.model.LeadStatus;
+import org.example.academicmanagementsystem.model.User;
+
+import java.util.Map;
+
+/**
+ * Maintains the lead_status_counters table so dashboard counts are read without scanning leads.
+ * Every write must run inside the transaction that changes the lead.
+ */
+public interface LeadStatusCounterService {
+
+    /** Adds delta to the (status, agent) bucket; a null agent id means unassigned */
+    void adjust(LeadStatus status, Long teleSalesId, long delta);
+
+    /** Records a newly created lead */
+    void leadCreated(LeadStatus status, User teleSales);
+
+    /** Records a removed (soft-deleted) lead */
+    void leadRemoved(LeadStatus status, User teleSales);
+
+    /** Moves a lead between buckets after a status and/or agent change; no-op when nothing changed */
+    void leadMoved(LeadStatus oldStatus, User oldTeleSales, LeadStatus newStatus, User newTeleSales);
+
+    long countAll();
+
+    long countByStatus(LeadStatus status);
+
+    long countUnassigned(LeadStatus status);
+
+    /** Status breakdown for one agent; statuses without leads are reported as 0 */
+    Map<LeadStatus, Long> countByAgent(Long teleSalesId);
+
+    /** Status breakdown for every agent that owns at least one lead */
+    Map<Long, Map<LeadStatus, Long>> countByAllAgents();
+
+    /** Repair job: recomputes every bucket from the leads table. Returns the number of buckets written. */
+    int rebuild();
+}
@@ -0,0 +1,25 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.model.NotificationType;
+import org.example.academicmanagementsystem.model.UserRole;
+
+import java.util.Map;
+
+/**
+ * Persists notifications off the request thread.
+ * Events raised inside a transaction are only queued once it commits.
+ */
+public interface NotificationDispatcher {
+
+    /** A notification waiting to be written; exactly one of userId / targetRole is set */
+    record PendingNotification(Long userId, UserRole targetRole, NotificationType type, String message, Long referenceId) {
+    }
+
+    void dispatch(PendingNotification notification);
+
+    /** Persists everything currently queued on the calling thread (used by tests and shutdown) */
+    void flush();
+
+    /** queued / flushed / dropped / failed counters plus the current queue size */
+    Map<String, Long> getStats();
+}
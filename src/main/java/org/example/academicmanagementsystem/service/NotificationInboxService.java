@@ -0,0 +1,31 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.model.Notification;
+import org.example.academicmanagementsystem.model.UserRole;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-user view over notifications: direct notifications carry their own isRead flag,
+ * role notifications are read through a per-user cursor plus individual receipts.
+ * Unread counts are cached in memory and invalidated on every change.
+ */
+public interface NotificationInboxService {
+
+    long getUnreadCount(Long userId, UserRole role);
+
+    /** Ids among the given notifications that this user has read */
+    Set<Long> findReadIds(Long userId, List<Notification> notifications);
+
+    void markAsRead(Long userId, UserRole role, Notification notification);
+
+    void markAllAsRead(Long userId, UserRole role);
+
+    /** Cache invalidation hook for newly persisted or deleted notifications */
+    void onNotificationsChanged(Collection<Long> userIds, Collection<UserRole> roles);
+
+    /** Drops every cached count, e.g. after notifications were archived in bulk */
+    void invalidateAll();
+}
@@ -0,0 +1,14 @@
+package org.example.academicmanagementsystem.service;
+
+/**
+ * Moves old notifications out of the hot notifications table into notifications_archive,
+ * so inbox queries and indexes stay small as history accumulates.
+ */
+public interface NotificationRetentionService {
+
+    /** Archives notifications created more than the given number of days ago; returns how many were moved */
+    int archiveOlderThan(int days);
+
+    /** Scheduled run using the configured retention period */
+    void archiveExpired();
+}
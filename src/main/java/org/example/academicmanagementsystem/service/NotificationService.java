@@ -8,10 +8,13 @@ import java.util.List;
 
 public interface NotificationService {
     org.springframework.data.domain.Page<NotificationResponse> getMyNotifications(org.springframework.data.domain.Pageable pageable);
+    org.example.academicmanagementsystem.dto.NotificationFeedResponse getMyNotificationFeed(java.time.LocalDateTime beforeCreatedAt, Long beforeId, int size);
     long getUnreadCount();
     void markAsRead(Long id);
     void markAllAsRead();
     void deleteNotification(Long id);
     void createForUser(Long userId, NotificationType type, String message, Long referenceId);
     void createForRole(UserRole role, NotificationType type, String message, Long referenceId);
+    java.util.Map<String, Long> getDispatchStats();
+    int archiveNotifications(int olderThanDays);
 }
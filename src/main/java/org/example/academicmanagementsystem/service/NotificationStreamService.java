@@ -0,0 +1,25 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.model.Notification;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Server-sent events channel for notifications, one registry per node.
+ */
+public interface NotificationStreamService {
+
+    /**
+     * Opens a stream for the user. When lastEventId is given, notifications created after it are replayed first.
+     * Returns empty when this node already serves the maximum number of streams.
+     */
+    Optional<SseEmitter> subscribe(Long userId, UserRole role, Long lastEventId);
+
+    /** Pushes committed notifications to the connected recipients */
+    void publish(List<Notification> notifications);
+
+    int getActiveStreams();
+}
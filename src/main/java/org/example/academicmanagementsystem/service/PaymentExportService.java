@@ -0,0 +1,17 @@
+package org.example.academicmanagementsystem.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface PaymentExportService {
+
+    enum Format { CSV, NDJSON }
+
+    /**
+     * Streams the payments recorded in a period to the given output as CSV (with header row) or NDJSON.
+     * Rows are read through a forward-only cursor and written one at a time, so memory use does not
+     * grow with the size of the period. Returns the number of exported rows.
+     */
+    long exportPayments(LocalDateTime start, LocalDateTime end, Format format, OutputStream output) throws IOException;
+}
@@ -22,5 +22,8 @@ public interface PaymentService {
 
     Map<String, Object> getPaymentStatistics();
 
+    // Totals, per-method and per-type breakdowns; every filter is optional
+    Map<String, Object> getPaymentStatistics(LocalDateTime start, LocalDateTime end, Long diplomaId);
+
     List<PaymentResponse> getPaymentsBetweenDates(LocalDateTime start, LocalDateTime end);
 }
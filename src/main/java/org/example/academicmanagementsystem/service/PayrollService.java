@@ -0,0 +1,23 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.dto.PayrollRunResponse;
+
+import java.util.Optional;
+
+/**
+ * Generates a month's salaries for every active employee with a base salary, overtime included.
+ * Employees are processed in keyset chunks, each inserted as one JDBC batch in its own transaction;
+ * the unique (employee, month) key makes every chunk idempotent, so an interrupted run resumes
+ * where it stopped instead of starting over.
+ */
+public interface PayrollService {
+
+    /** Runs (or resumes) the month's payroll on the calling thread; empty when the month is already complete */
+    Optional<PayrollRunResponse> generatePayroll(String month);
+
+    /** Claims the month and continues the run on a background thread; empty when the month is already complete */
+    Optional<PayrollRunResponse> runPayrollInBackground(String month);
+
+    /** Current progress of the month's run; empty when it was never started */
+    Optional<PayrollRunResponse> getProgress(String month);
+}
@@ -0,0 +1,21 @@
+package org.example.academicmanagementsystem.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Phone-number dedupe on the canonical phone_key column (see PhoneKey). New rows get their key from
+ * PhoneKeyEntityListener; rows written before the column existed, or through plain JDBC, are filled by
+ * the backfill that runs at startup.
+ */
+public interface PhoneKeyService {
+
+    /** Keys from the given set already used by a lead, as a hash set so callers can check each row in O(1) */
+    Set<String> findTakenLeadKeys(Collection<String> phoneKeys);
+
+    /** Whether a lead already has this phone number in any formatting */
+    boolean isLeadPhoneTaken(String phone);
+
+    /** Fills phone_key on every keyed table where it is missing; returns the number of rows updated */
+    int backfill();
+}
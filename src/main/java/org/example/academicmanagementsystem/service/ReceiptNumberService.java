@@ -0,0 +1,12 @@
+package org.example.academicmanagementsystem.service;
+
+/**
+ * Hands out payment receipt numbers (RCP-YYYY-NNN) from a per-year counter row.
+ * Numbers are reserved from the database in blocks and assigned from memory, so each
+ * assignment is O(1) and never collides, even across application instances.
+ */
+public interface ReceiptNumberService {
+
+    /** Next receipt number of the current year */
+    String nextReceiptNumber();
+}
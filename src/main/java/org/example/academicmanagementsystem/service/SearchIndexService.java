@@ -0,0 +1,41 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.dto.SearchIndexStatus;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-memory trigram index over the names and phone numbers of students, leads and invoices. Search boxes
+ * resolve a term to an id set here and page over those ids instead of scanning with LIKE '%term%'.
+ * An empty Optional means the index cannot answer (not built yet, over capacity, or too many hits) and
+ * the caller should fall back to its SQL search.
+ */
+public interface SearchIndexService {
+
+    enum Domain {
+        STUDENT,
+        LEAD,
+        INVOICE
+    }
+
+    /** Ids whose name contains the term, or whose phone contains it when the term looks like a phone number */
+    Optional<Set<Long>> search(Domain domain, String term);
+
+    /** Ids whose phone number starts with the given digits */
+    Optional<Set<Long>> searchPhonePrefix(Domain domain, String phone);
+
+    /** Ids whose phone number ends with the given digits */
+    Optional<Set<Long>> searchPhoneSuffix(Domain domain, String phone);
+
+    void index(Domain domain, Long id, String name, String phone);
+
+    void remove(Domain domain, Long id);
+
+    /** Rebuilds every domain from the database in the background; requests made before it starts are coalesced */
+    CompletableFuture<Void> rebuild();
+
+    List<SearchIndexStatus> getStatus();
+}
@@ -0,0 +1,116 @@
+package org.example.academicmanagementsystem.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.academicmanagementsystem.dto.AttendanceHoursSummary;
+import org.example.academicmanagementsystem.dto.WeeklyHoursBucket;
+import org.example.academicmanagementsystem.repository.AttendanceRepository;
+import org.example.academicmanagementsystem.service.AttendanceReportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+public class AttendanceReportServiceImpl implements AttendanceReportService {
+
+    private final AttendanceRepository attendanceRepository;
+    private final BigDecimal standardDailyHours;
+    // Week start (Sunday) -> every employee's bucket for that week; only closed weeks are stored
+    private final Cache<LocalDate, List<WeeklyHoursBucket>> closedWeeks;
+
+    public AttendanceReportServiceImpl(AttendanceRepository attendanceRepository,
+                                       @Value("${attendance.standard-daily-hours:8}") BigDecimal standardDailyHours,
+                                       @Value("${attendance.weekly-cache.max-weeks:520}") long maxWeeks,
+                                       @Value("${attendance.weekly-cache.ttl-minutes:60}") long ttlMinutes) {
+        this.attendanceRepository = attendanceRepository;
+        this.standardDailyHours = standardDailyHours;
+        this.closedWeeks = Caffeine.newBuilder()
+                .maximumSize(maxWeeks)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    @Override
+    public List<AttendanceHoursSummary> getHoursByEmployee(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return attendanceRepository.summarizeHoursByEmployee(from, to, standardDailyHours);
+    }
+
+    @Override
+    public List<WeeklyHoursBucket> getWeeklyHours(LocalDate from, LocalDate to, Long employeeId) {
+        validateRange(from, to);
+        LocalDate firstWeek = weekStart(from);
+        LocalDate lastWeek = weekStart(to);
+        LocalDate currentWeek = weekStart(LocalDate.now());
+
+        // Closed weeks missing from the cache are loaded together in one grouped query
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (LocalDate week = firstWeek; !week.isAfter(lastWeek) && week.isBefore(currentWeek); week = week.plusWeeks(1)) {
+            if (closedWeeks.getIfPresent(week) == null) {
+                firstMissing = firstMissing == null ? week : firstMissing;
+                lastMissing = week;
+            }
+        }
+        if (firstMissing != null) {
+            Map<LocalDate, List<WeeklyHoursBucket>> loaded = loadWeeks(firstMissing, lastMissing);
+            for (LocalDate week = firstMissing; !week.isAfter(lastMissing); week = week.plusWeeks(1)) {
+                closedWeeks.put(week, List.copyOf(loaded.getOrDefault(week, List.of())));
+            }
+        }
+
+        // The open week (and any future one) is always read live
+        Map<LocalDate, List<WeeklyHoursBucket>> open = lastWeek.isBefore(currentWeek)
+                ? Map.of()
+                : loadWeeks(firstWeek.isAfter(currentWeek) ? firstWeek : currentWeek, lastWeek);
+
+        List<WeeklyHoursBucket> buckets = new ArrayList<>();
+        for (LocalDate week = firstWeek; !week.isAfter(lastWeek); week = week.plusWeeks(1)) {
+            List<WeeklyHoursBucket> weekBuckets = week.isBefore(currentWeek)
+                    ? Objects.requireNonNullElse(closedWeeks.getIfPresent(week), List.of())
+                    : open.getOrDefault(week, List.of());
+            for (WeeklyHoursBucket bucket : weekBuckets) {
+                if (employeeId == null || employeeId.equals(bucket.getEmployeeId())) {
+                    buckets.add(bucket);
+                }
+            }
+        }
+        buckets.sort(Comparator.comparing(WeeklyHoursBucket::getWeekStart).thenComparing(WeeklyHoursBucket::getEmployeeId));
+        return buckets;
+    }
+
+    @Override
+    public void markChanged(LocalDate date) {
+        if (date != null) {
+            closedWeeks.invalidate(weekStart(date));
+        }
+    }
+
+    private Map<LocalDate, List<WeeklyHoursBucket>> loadWeeks(LocalDate firstWeek, LocalDate lastWeek) {
+        Map<LocalDate, List<WeeklyHoursBucket>> byWeek = new HashMap<>();
+        for (WeeklyHoursBucket bucket : attendanceRepository.summarizeHoursByWeek(firstWeek, lastWeek.plusDays(6), standardDailyHours)) {
+            byWeek.computeIfAbsent(bucket.getWeekStart(), week -> new ArrayList<>()).add(bucket);
+        }
+        return byWeek;
+    }
+
+    // Sunday on or before the date, matching the /weekly-hours view
+    private LocalDate weekStart(LocalDate date) {
+        return date.minusDays(date.getDayOfWeek().getValue() % 7);
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("A valid date range is required");
+        }
+    }
+}
@@ -3,55 +3,78 @@ package org.example.academicmanagementsystem.service.impl;
 import lombok.RequiredArgsConstructor;
 import org.example.academicmanagementsystem.dto.AttendanceV2Request;
 import org.example.academicmanagementsystem.dto.AttendanceV2Response;
+import org.example.academicmanagementsystem.model.AttendanceStatus;
 import org.example.academicmanagementsystem.model.RoundDiplomaV2;
 import org.example.academicmanagementsystem.model.StudentAttendanceV2;
-import org.example.academicmanagementsystem.model.StudentV2;
 import org.example.academicmanagementsystem.repository.RoundDiplomaV2Repository;
 import org.example.academicmanagementsystem.repository.StudentAttendanceV2Repository;
 import org.example.academicmanagementsystem.repository.StudentV2Repository;
 import org.example.academicmanagementsystem.service.AttendanceV2Service;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Date;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AttendanceV2ServiceImpl implements AttendanceV2Service {
 
+    private static final String UPSERT_ATTENDANCE_SQL =
+            "INSERT INTO student_attendance_v2 (round_diploma_id, student_id, date, status, task_submitted, notes, " +
+            "created_at, updated_at, deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, false) " +
+            "ON DUPLICATE KEY UPDATE status = VALUES(status), task_submitted = VALUES(task_submitted), " +
+            "notes = VALUES(notes), updated_at = VALUES(updated_at), deleted = false";
+
     private final StudentAttendanceV2Repository attendanceRepository;
     private final RoundDiplomaV2Repository roundDiplomaRepository;
     private final StudentV2Repository studentRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     @Transactional
     public void saveBulkAttendance(AttendanceV2Request request) {
-        RoundDiplomaV2 rd = roundDiplomaRepository.findById(request.getRoundDiplomaId())
-                .orElseThrow(() -> new RuntimeException("RoundDiploma not found"));
-
-        // Get existing records for this date to update instead of duplicate
-        List<StudentAttendanceV2> existing = attendanceRepository.findByRoundDiplomaAndDate(rd, request.getDate());
-        Map<Long, StudentAttendanceV2> existingMap = existing.stream()
-                .collect(Collectors.toMap(a -> a.getStudent().getId(), a -> a));
+        if (!roundDiplomaRepository.existsById(request.getRoundDiplomaId())) {
+            throw new RuntimeException("RoundDiploma not found");
+        }
+        List<AttendanceV2Request.StudentAttendanceRecord> records = request.getRecords();
+        if (records == null || records.isEmpty()) {
+            return;
+        }
 
-        for (AttendanceV2Request.StudentAttendanceRecord record : request.getRecords()) {
-            StudentAttendanceV2 attendance = existingMap.get(record.getStudentId());
-            if (attendance == null) {
-                attendance = new StudentAttendanceV2();
-                StudentV2 student = studentRepository.findById(record.getStudentId())
-                        .orElseThrow(() -> new RuntimeException("Student not found: " + record.getStudentId()));
-                attendance.setStudent(student);
-                attendance.setRoundDiploma(rd);
-                attendance.setDate(request.getDate());
+        // One IN query validates every student of the session
+        Set<Long> studentIds = records.stream()
+                .map(AttendanceV2Request.StudentAttendanceRecord::getStudentId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Long> existingIds = new HashSet<>(studentRepository.findExistingIds(studentIds));
+        for (Long studentId : studentIds) {
+            if (!existingIds.contains(studentId)) {
+                throw new RuntimeException("Student not found: " + studentId);
             }
-            attendance.setStatus(record.getStatus());
-            attendance.setTaskSubmitted(record.getTaskSubmitted() != null ? record.getTaskSubmitted() : false);
-            attendance.setNotes(record.getNotes());
-            attendanceRepository.save(attendance);
         }
+
+        // Insert or overwrite each student's row for the session in one JDBC batch, keyed by the unique
+        // (round_diploma_id, student_id, date) constraint; a soft-deleted row is brought back
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Date date = Date.valueOf(request.getDate());
+        List<Object[]> batch = new ArrayList<>(records.size());
+        for (AttendanceV2Request.StudentAttendanceRecord record : records) {
+            AttendanceStatus status = record.getStatus() != null ? record.getStatus() : AttendanceStatus.PRESENT;
+            batch.add(new Object[]{
+                    request.getRoundDiplomaId(), record.getStudentId(), date, status.name(),
+                    record.getTaskSubmitted() != null ? record.getTaskSubmitted() : false, record.getNotes(), now, now
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_ATTENDANCE_SQL, batch);
     }
 
     @Override
@@ -6,7 +6,11 @@ import org.example.academicmanagementsystem.dto.SalaryResponse;
 import org.example.academicmanagementsystem.dto.ExpenseResponse;
 import org.example.academicmanagementsystem.model.*;
 import org.example.academicmanagementsystem.repository.*;
+import org.example.academicmanagementsystem.dto.FinanceMonthTotals;
+import org.example.academicmanagementsystem.dto.PendingInstallmentSummary;
 import org.example.academicmanagementsystem.service.FinanceService;
+import org.example.academicmanagementsystem.service.FinanceSnapshotService;
+import org.example.academicmanagementsystem.service.PayrollService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,43 +31,26 @@ public class FinanceServiceImpl implements FinanceService {
     private final PaymentRepository paymentRepository;
     private final SalaryRepository salaryRepository;
     private final ExpenseRepository expenseRepository;
-    private final RoundDiplomaRepository roundDiplomaRepository;
-    private final PayrollRecordRepository payrollRecordRepository;
-    private final UserRepository userRepository;
+    private final InstallmentScheduleRepository installmentScheduleRepository;
+    private final FinanceSnapshotService financeSnapshotService;
+    private final PayrollService payrollService;
 
     @Override
     public FinanceOverviewResponse getOverview(String monthStr) {
         YearMonth targetMonth = YearMonth.parse(monthStr);
         LocalDate start = targetMonth.atDay(1);
         LocalDate end = targetMonth.atEndOfMonth();
-        LocalDateTime startDt = start.atStartOfDay();
-        LocalDateTime endDt = end.atTime(23, 59, 59);
 
-        // Collected Revenue from Payments in this month
-        BigDecimal collectedRevenue = paymentRepository.findPaymentsBetweenDates(startDt, endDt).stream()
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Revenue from Invoices
-        BigDecimal invoiceRevenue = invoiceRepository.findAll().stream()
-                .filter(i -> !i.getInvoiceDate().isBefore(start) && !i.getInvoiceDate().isAfter(end))
-                .map(InvoiceV2::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Closed months come from the snapshot store, the current month is aggregated live
+        FinanceMonthTotals totals = financeSnapshotService.getMonth(targetMonth);
 
-        BigDecimal totalCollected = collectedRevenue.add(invoiceRevenue);
+        BigDecimal totalCollected = totals.getPaymentRevenue().add(totals.getInvoiceRevenue());
 
         // Pending Revenue (Installments due but not paid)
         BigDecimal pendingRevenue = calculatePendingRevenue(start, end);
 
-        // Expenses
-        BigDecimal totalExpenses = expenseRepository.findByExpenseDateBetween(start, end).stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Salaries
-        BigDecimal totalSalaries = salaryRepository.findByMonth(monthStr).stream()
-                .map(Salary::getNetSalary)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalExpenses = totals.getExpenses();
+        BigDecimal totalSalaries = totals.getSalaries();
 
         BigDecimal netProfit = totalCollected.subtract(totalExpenses).subtract(totalSalaries);
 
@@ -75,7 +62,7 @@ public class FinanceServiceImpl implements FinanceService {
         breakdown.put("Net profit", netProfit);
 
         // Top Revenue Diplomas
-        List<FinanceOverviewResponse.TopDiplomaRevenue> topDiplomas = getTopDiplomas(startDt, endDt);
+        List<FinanceOverviewResponse.TopDiplomaRevenue> topDiplomas = getTopDiplomas(totals.getDiplomaRevenue());
 
         return FinanceOverviewResponse.builder()
                 .totalRevenue(totalCollected.add(pendingRevenue))
@@ -88,54 +75,25 @@ public class FinanceServiceImpl implements FinanceService {
                 .build();
     }
 
-    private BigDecimal calculatePendingRevenue(LocalDate start, LocalDate end) {
-        BigDecimal pending = BigDecimal.ZERO;
-        List<RoundDiploma> rds = roundDiplomaRepository.findWithInstallmentsInMonth(start, end);
-        
-        for (RoundDiploma rd : rds) {
-            List<Student> students = rd.getStudents();
-            if (students == null) continue;
-
-            // Check each installment
-            if (isDateInRange(rd.getInstallment1Date(), start, end)) {
-                pending = pending.add(calculateMissingInstallments(students, 1, rd.getInstallment1Amount()));
-            }
-            if (isDateInRange(rd.getInstallment2Date(), start, end)) {
-                pending = pending.add(calculateMissingInstallments(students, 2, rd.getInstallment2Amount()));
-            }
-            if (isDateInRange(rd.getInstallment3Date(), start, end)) {
-                pending = pending.add(calculateMissingInstallments(students, 3, rd.getInstallment3Amount()));
-            }
-            if (isDateInRange(rd.getInstallment4Date(), start, end)) {
-                pending = pending.add(calculateMissingInstallments(students, 4, rd.getInstallment4Amount()));
-            }
-        }
-        return pending;
-    }
-
-    private boolean isDateInRange(LocalDate date, LocalDate start, LocalDate end) {
-        return date != null && !date.isBefore(start) && !date.isAfter(end);
+    @Override
+    public int rebuildSnapshots(String from, String to) {
+        return financeSnapshotService.rebuild(YearMonth.parse(from), YearMonth.parse(to));
     }
 
-    private BigDecimal calculateMissingInstallments(List<Student> students, int instNum, BigDecimal amount) {
-        if (amount == null) return BigDecimal.ZERO;
-        long missingCount = students.stream()
-                .filter(s -> s.getPayments().stream()
-                        .noneMatch(p -> p.getInstallmentNumber() != null && p.getInstallmentNumber() == instNum))
-                .count();
-        return amount.multiply(BigDecimal.valueOf(missingCount));
+    private BigDecimal calculatePendingRevenue(LocalDate start, LocalDate end) {
+        // One aggregate over schedule slots due in range joined to enrolled students; no student or payment is loaded
+        return PendingInstallmentSummary.fromRows(installmentScheduleRepository.sumPendingBySeq(start, end)).getTotal();
     }
 
-    private List<FinanceOverviewResponse.TopDiplomaRevenue> getTopDiplomas(LocalDateTime start, LocalDateTime end) {
-        List<Object[]> results = paymentRepository.getRevenueByDiplomaInRange(start, end);
+    private List<FinanceOverviewResponse.TopDiplomaRevenue> getTopDiplomas(List<FinanceMonthTotals.DiplomaRevenue> results) {
         BigDecimal total = results.stream()
-                .map(r -> (BigDecimal) r[1])
+                .map(FinanceMonthTotals.DiplomaRevenue::getRevenue)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         return results.stream()
                 .map(r -> {
-                    String name = (String) r[0];
-                    BigDecimal amount = (BigDecimal) r[1];
+                    String name = r.getDiplomaName();
+                    BigDecimal amount = r.getRevenue();
                     double perc = total.compareTo(BigDecimal.ZERO) > 0 
                         ? amount.divide(total, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)).doubleValue()
                         : 0.0;
@@ -146,26 +104,17 @@ public class FinanceServiceImpl implements FinanceService {
     }
 
     private List<FinanceOverviewResponse.DataPoint> getHistoricalChartData() {
-        List<FinanceOverviewResponse.DataPoint> data = new ArrayList<>();
+        List<YearMonth> months = new ArrayList<>();
         YearMonth current = YearMonth.now();
-        
         for (int i = 5; i >= 0; i--) {
-            YearMonth month = current.minusMonths(i);
-            LocalDate start = month.atDay(1);
-            LocalDate end = month.atEndOfMonth();
-            LocalDateTime startDt = start.atStartOfDay();
-            LocalDateTime endDt = end.atTime(23, 59, 59);
-
-            BigDecimal revenue = paymentRepository.findPaymentsBetweenDates(startDt, endDt).stream()
-                    .map(Payment::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            BigDecimal expenses = expenseRepository.findByExpenseDateBetween(start, end).stream()
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            data.add(new FinanceOverviewResponse.DataPoint(month.getMonth().name().substring(0, 3), revenue, expenses));
+            months.add(current.minusMonths(i));
         }
+
+        // Five closed months from one snapshot query, the current month live
+        List<FinanceOverviewResponse.DataPoint> data = new ArrayList<>();
+        financeSnapshotService.getMonths(months).forEach((month, totals) ->
+                data.add(new FinanceOverviewResponse.DataPoint(month.getMonth().name().substring(0, 3),
+                        totals.getPaymentRevenue(), totals.getExpenses())));
         return data;
     }
 
@@ -214,6 +163,7 @@ public class FinanceServiceImpl implements FinanceService {
         salary.setNetSalary(base.add(bonus).add(over).subtract(ded));
 
         salary = salaryRepository.save(salary);
+        financeSnapshotService.markChanged(salary.getMonth());
 
         boolean hasEmp = salary.getEmployee() != null;
         return SalaryResponse.builder()
@@ -236,36 +186,11 @@ public class FinanceServiceImpl implements FinanceService {
     }
 
     @Override
-    @Transactional
     public Map<String, String> runPayroll(String month) {
-        Optional<PayrollRecord> existing = payrollRecordRepository.findByMonth(month);
-        if (existing.isPresent()) {
-            return Collections.singletonMap("error", "ALREADY_EXISTS");
-        }
-
-        List<User> activeEmployees = userRepository.findAll().stream()
-                .filter(u -> u.getActive() && u.getBaseSalary() != null)
-                .collect(Collectors.toList());
-
-        BigDecimal totalPayroll = BigDecimal.ZERO;
-
-        for (User emp : activeEmployees) {
-            Salary salary = new Salary();
-            salary.setEmployee(emp);
-            salary.setMonth(month);
-            salary.setBaseSalary(BigDecimal.valueOf(emp.getBaseSalary()));
-            salary.setNetSalary(BigDecimal.valueOf(emp.getBaseSalary()));
-            salary.setStatus(SalaryStatus.PENDING);
-            salaryRepository.save(salary);
-            totalPayroll = totalPayroll.add(salary.getNetSalary());
-        }
-
-        PayrollRecord record = new PayrollRecord();
-        record.setMonth(month);
-        record.setTotalPayroll(totalPayroll);
-        payrollRecordRepository.save(record);
-
-        return Collections.singletonMap("success", "Payroll generated for " + activeEmployees.size() + " employees");
+        // Idempotent per month: the engine skips completed months and resumes interrupted ones
+        return payrollService.generatePayroll(month)
+                .map(run -> Collections.singletonMap("success", "Payroll generated for " + run.getProcessedEmployees() + " employees"))
+                .orElse(Collections.singletonMap("error", "ALREADY_EXISTS"));
     }
 
     @Override
@@ -289,8 +214,10 @@ public class FinanceServiceImpl implements FinanceService {
     }
 
     @Override
+    @Transactional
     public ExpenseResponse addExpense(Expense expense) {
         Expense saved = expenseRepository.save(expense);
+        financeSnapshotService.markChanged(saved.getExpenseDate());
         return ExpenseResponse.builder()
                 .id(saved.getId())
                 .title(saved.getTitle())
@@ -304,9 +231,12 @@ public class FinanceServiceImpl implements FinanceService {
     }
 
     @Override
+    @Transactional
     public ExpenseResponse updateExpense(Long id, Expense request) {
         Expense expense = expenseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Expense not found"));
+        // The date may move the expense to another month; both months change
+        financeSnapshotService.markChanged(expense.getExpenseDate());
 
         if (request.getTitle() != null) expense.setTitle(request.getTitle());
         if (request.getAmount() != null) expense.setAmount(request.getAmount());
@@ -316,6 +246,7 @@ public class FinanceServiceImpl implements FinanceService {
         if (request.getNote() != null) expense.setNote(request.getNote());
 
         Expense saved = expenseRepository.save(expense);
+        financeSnapshotService.markChanged(saved.getExpenseDate());
         return ExpenseResponse.builder()
                 .id(saved.getId())
                 .title(saved.getTitle())
@@ -0,0 +1,196 @@
+package org.example.academicmanagementsystem.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.academicmanagementsystem.dto.FinanceMonthTotals;
+import org.example.academicmanagementsystem.model.FinanceDiplomaRevenueSnapshot;
+import org.example.academicmanagementsystem.model.FinanceMonthlySnapshot;
+import org.example.academicmanagementsystem.repository.*;
+import org.example.academicmanagementsystem.service.FinanceSnapshotService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class FinanceSnapshotServiceImpl implements FinanceSnapshotService {
+
+    // Marker for "no snapshot row yet": the computed totals are inserted instead of updated
+    private static final long NO_ROW = -1L;
+
+    private final FinanceMonthlySnapshotRepository snapshotRepository;
+    private final FinanceDiplomaRevenueSnapshotRepository diplomaRevenueRepository;
+    private final PaymentRepository paymentRepository;
+    private final InvoiceV2Repository invoiceRepository;
+    private final ExpenseRepository expenseRepository;
+    private final SalaryRepository salaryRepository;
+    private final TransactionTemplate requiresNew;
+
+    public FinanceSnapshotServiceImpl(FinanceMonthlySnapshotRepository snapshotRepository,
+                                      FinanceDiplomaRevenueSnapshotRepository diplomaRevenueRepository,
+                                      PaymentRepository paymentRepository,
+                                      InvoiceV2Repository invoiceRepository,
+                                      ExpenseRepository expenseRepository,
+                                      SalaryRepository salaryRepository,
+                                      PlatformTransactionManager transactionManager) {
+        this.snapshotRepository = snapshotRepository;
+        this.diplomaRevenueRepository = diplomaRevenueRepository;
+        this.paymentRepository = paymentRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.expenseRepository = expenseRepository;
+        this.salaryRepository = salaryRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public FinanceMonthTotals getMonth(YearMonth month) {
+        if (!isClosed(month)) {
+            return compute(month, true);
+        }
+        Optional<FinanceMonthlySnapshot> snapshot = snapshotRepository.findByMonth(month.toString());
+        if (snapshot.isPresent() && !snapshot.get().isStale()) {
+            return fromSnapshot(snapshot.get(), diplomaRevenueRepository.findByMonth(month.toString()));
+        }
+        return computeAndStore(month, snapshot.map(FinanceMonthlySnapshot::getGeneration).orElse(NO_ROW));
+    }
+
+    @Override
+    public Map<YearMonth, FinanceMonthTotals> getMonths(List<YearMonth> months) {
+        List<String> closed = months.stream().filter(this::isClosed).map(YearMonth::toString).toList();
+        Map<String, FinanceMonthlySnapshot> snapshots = closed.isEmpty() ? Map.of()
+                : snapshotRepository.findByMonthIn(closed).stream()
+                        .collect(Collectors.toMap(FinanceMonthlySnapshot::getMonth, Function.identity()));
+
+        Map<YearMonth, FinanceMonthTotals> result = new LinkedHashMap<>();
+        for (YearMonth month : months) {
+            FinanceMonthlySnapshot snapshot = snapshots.get(month.toString());
+            if (!isClosed(month)) {
+                result.put(month, compute(month, false));
+            } else if (snapshot != null && !snapshot.isStale()) {
+                result.put(month, fromSnapshot(snapshot, List.of()));
+            } else {
+                FinanceMonthTotals totals = computeAndStore(month, snapshot != null ? snapshot.getGeneration() : NO_ROW);
+                totals.setDiplomaRevenue(new ArrayList<>());
+                result.put(month, totals);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public void markChanged(LocalDate date) {
+        if (date != null) {
+            markChanged(YearMonth.from(date).toString());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void markChanged(String month) {
+        if (month == null || !isClosed(YearMonth.parse(month))) {
+            return;
+        }
+        // Runs in the caller's transaction, so the invalidation commits together with the change
+        snapshotRepository.markStale(month);
+    }
+
+    @Override
+    public int rebuild(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("Rebuild range is empty: " + from + " is after " + to);
+        }
+        int written = 0;
+        for (YearMonth month = from; !month.isAfter(to) && isClosed(month); month = month.plusMonths(1)) {
+            long generation = snapshotRepository.findByMonth(month.toString())
+                    .map(FinanceMonthlySnapshot::getGeneration)
+                    .orElse(NO_ROW);
+            computeAndStore(month, generation);
+            written++;
+        }
+        log.info("Rebuilt {} finance snapshots between {} and {}", written, from, to);
+        return written;
+    }
+
+    // ---- Helpers ----
+
+    private boolean isClosed(YearMonth month) {
+        return month.isBefore(YearMonth.now());
+    }
+
+    private FinanceMonthTotals compute(YearMonth month, boolean withDiplomas) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.atEndOfMonth();
+        LocalDateTime startDt = start.atStartOfDay();
+        LocalDateTime endDt = end.atTime(23, 59, 59);
+
+        List<FinanceMonthTotals.DiplomaRevenue> diplomas = new ArrayList<>();
+        if (withDiplomas) {
+            for (Object[] row : paymentRepository.getRevenueByDiplomaInRange(startDt, endDt)) {
+                diplomas.add(new FinanceMonthTotals.DiplomaRevenue((String) row[0], (BigDecimal) row[1]));
+            }
+        }
+        return FinanceMonthTotals.builder()
+                .month(month.toString())
+                .paymentRevenue(paymentRepository.sumAmountBetween(startDt, endDt))
+                .invoiceRevenue(invoiceRepository.sumAmountBetween(start, end))
+                .expenses(expenseRepository.sumAmountBetween(start, end))
+                .salaries(salaryRepository.sumNetSalaryByMonth(month.toString()))
+                .diplomaRevenue(diplomas)
+                .build();
+    }
+
+    private FinanceMonthTotals computeAndStore(YearMonth month, long generation) {
+        FinanceMonthTotals totals = compute(month, true);
+        try {
+            requiresNew.executeWithoutResult(status -> store(totals, generation));
+        } catch (DataIntegrityViolationException ex) {
+            // Another request created the row first (or invalidated the month); the next read settles it
+            log.debug("Finance snapshot for {} was written concurrently", month);
+        }
+        return totals;
+    }
+
+    private void store(FinanceMonthTotals totals, long generation) {
+        String month = totals.getMonth();
+        if (generation == NO_ROW) {
+            snapshotRepository.saveAndFlush(new FinanceMonthlySnapshot(null, month,
+                    totals.getPaymentRevenue(), totals.getInvoiceRevenue(), totals.getExpenses(), totals.getSalaries(),
+                    false, 0L, LocalDateTime.now()));
+        } else if (snapshotRepository.storeIfGeneration(month, generation,
+                totals.getPaymentRevenue(), totals.getInvoiceRevenue(), totals.getExpenses(), totals.getSalaries(),
+                LocalDateTime.now()) == 0) {
+            // Invalidated while computing: leave the row stale
+            return;
+        }
+        diplomaRevenueRepository.deleteByMonth(month);
+        diplomaRevenueRepository.saveAll(totals.getDiplomaRevenue().stream()
+                .filter(d -> d.getDiplomaName() != null)
+                .map(d -> new FinanceDiplomaRevenueSnapshot(null, month, d.getDiplomaName(), d.getRevenue()))
+                .toList());
+    }
+
+    private FinanceMonthTotals fromSnapshot(FinanceMonthlySnapshot snapshot, List<FinanceDiplomaRevenueSnapshot> diplomas) {
+        return FinanceMonthTotals.builder()
+                .month(snapshot.getMonth())
+                .paymentRevenue(snapshot.getPaymentRevenue())
+                .invoiceRevenue(snapshot.getInvoiceRevenue())
+                .expenses(snapshot.getExpenses())
+                .salaries(snapshot.getSalaries())
+                .diplomaRevenue(diplomas.stream()
+                        .map(d -> new FinanceMonthTotals.DiplomaRevenue(d.getDiplomaName(), d.getRevenue()))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.academicmanagementsystem.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.academicmanagementsystem.service.InstallmentMigrationService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InstallmentMigrationServiceImpl implements InstallmentMigrationService {
+
+    private static final int LEGACY_SLOTS = 4;
+
+    private static final String COPY_SCHEDULE =
+            "INSERT INTO installment_schedule (round_diploma_id, seq, due_date, amount) " +
+            "SELECT rd.id, %1$d, rd.installment%1$d_date, rd.installment%1$d_amount FROM round_diplomas rd " +
+            "WHERE (rd.installment%1$d_date IS NOT NULL OR rd.installment%1$d_amount IS NOT NULL) " +
+            "AND NOT EXISTS (SELECT 1 FROM installment_schedule i WHERE i.round_diploma_id = rd.id AND i.seq = %1$d)";
+
+    private static final String CLEAR_SCHEDULE =
+            "UPDATE round_diplomas SET installment%1$d_date = NULL, installment%1$d_amount = NULL " +
+            "WHERE installment%1$d_date IS NOT NULL OR installment%1$d_amount IS NOT NULL";
+
+    private static final String COPY_SCHEDULE_V2 =
+            "INSERT INTO installment_schedule_v2 (round_diploma_id, seq, due_date, amount, percent) " +
+            "SELECT rd.id, %1$d, rd.installment%1$d_date, rd.installment%1$d_amount, rd.installment%1$d_percent " +
+            "FROM round_diplomas_v2 rd " +
+            "WHERE (rd.installment%1$d_date IS NOT NULL OR rd.installment%1$d_amount IS NOT NULL " +
+            "OR rd.installment%1$d_percent IS NOT NULL) " +
+            "AND NOT EXISTS (SELECT 1 FROM installment_schedule_v2 i WHERE i.round_diploma_id = rd.id AND i.seq = %1$d)";
+
+    private static final String CLEAR_SCHEDULE_V2 =
+            "UPDATE round_diplomas_v2 SET installment%1$d_date = NULL, installment%1$d_amount = NULL, " +
+            "installment%1$d_percent = NULL " +
+            "WHERE installment%1$d_date IS NOT NULL OR installment%1$d_amount IS NOT NULL OR installment%1$d_percent IS NOT NULL";
+
+    private static final String COPY_LEDGER_V2 =
+            "INSERT INTO student_installment_v2 (student_id, seq, paid_amount, notes) " +
+            "SELECT s.id, %1$d, COALESCE(s.installment%1$d_paid, 0), s.installment%1$d_notes FROM students_v2 s " +
+            "WHERE (s.installment%1$d_paid <> 0 OR s.installment%1$d_notes IS NOT NULL) " +
+            "AND NOT EXISTS (SELECT 1 FROM student_installment_v2 i WHERE i.student_id = s.id AND i.seq = %1$d)";
+
+    private static final String CLEAR_LEDGER_V2 =
+            "UPDATE students_v2 SET installment%1$d_paid = 0, installment%1$d_notes = NULL " +
+            "WHERE installment%1$d_paid <> 0 OR installment%1$d_notes IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        int migrated = migrateLegacyColumns();
+        if (migrated > 0) {
+            log.info("Migrated {} legacy installment rows into the installment schedule tables", migrated);
+        }
+    }
+
+    @Override
+    public int migrateLegacyColumns() {
+        return copy(COPY_SCHEDULE, CLEAR_SCHEDULE, "round_diplomas")
+                + copy(COPY_SCHEDULE_V2, CLEAR_SCHEDULE_V2, "round_diplomas_v2")
+                + copy(COPY_LEDGER_V2, CLEAR_LEDGER_V2, "students_v2");
+    }
+
+    // One INSERT ... SELECT per slot, then the copied legacy values are cleared in the same transaction.
+    // Once cleared, a slot deleted from the new tables is not resurrected by a later run.
+    private int copy(String copyTemplate, String clearTemplate, String legacyTable) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int inserted = 0;
+        for (int seq = 1; seq <= LEGACY_SLOTS; seq++) {
+            int slot = seq;
+            try {
+                inserted += transaction.execute(status -> {
+                    int copied = jdbcTemplate.update(String.format(copyTemplate, slot));
+                    jdbcTemplate.update(String.format(clearTemplate, slot));
+                    return copied;
+                });
+            } catch (BadSqlGrammarException e) {
+                log.debug("Skipping installment migration for {}: legacy columns not present", legacyTable);
+                return inserted;
+            }
+        }
+        return inserted;
+    }
+}
@@ -6,16 +6,22 @@ import org.example.academicmanagementsystem.dto.InvoiceV2Response;
 import org.example.academicmanagementsystem.model.InvoiceV2;
 import org.example.academicmanagementsystem.repository.InvoiceV2Repository;
 import org.example.academicmanagementsystem.service.InvoiceV2Service;
+import org.example.academicmanagementsystem.service.SearchIndexService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 public class InvoiceV2ServiceImpl implements InvoiceV2Service {
 
     private final InvoiceV2Repository invoiceRepository;
+    private final org.example.academicmanagementsystem.service.FinanceSnapshotService financeSnapshotService;
+    private final SearchIndexService searchIndexService;
 
     @Override
     @Transactional
@@ -23,6 +29,7 @@ public class InvoiceV2ServiceImpl implements InvoiceV2Service {
         InvoiceV2 invoice = new InvoiceV2();
         mapToEntity(request, invoice);
         InvoiceV2 saved = invoiceRepository.save(invoice);
+        financeSnapshotService.markChanged(saved.getInvoiceDate());
         return mapToResponse(saved);
     }
 
@@ -30,7 +37,12 @@ public class InvoiceV2ServiceImpl implements InvoiceV2Service {
     public Page<InvoiceV2Response> getInvoices(String search, Pageable pageable) {
         Page<InvoiceV2> invoices;
         if (search != null && !search.isEmpty()) {
-            invoices = invoiceRepository.searchInvoices(search, pageable);
+            Optional<Set<Long>> matches = searchIndexService.search(SearchIndexService.Domain.INVOICE, search);
+            if (matches.isPresent()) {
+                invoices = matches.get().isEmpty() ? Page.empty(pageable) : invoiceRepository.findByIdIn(matches.get(), pageable);
+            } else {
+                invoices = invoiceRepository.searchInvoices(search, pageable);
+            }
         } else {
             invoices = invoiceRepository.findAll(pageable);
         }
@@ -49,18 +61,20 @@ public class InvoiceV2ServiceImpl implements InvoiceV2Service {
     public InvoiceV2Response updateInvoice(Long id, InvoiceV2Request request) {
         InvoiceV2 invoice = invoiceRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Invoice not found with id: " + id));
+        financeSnapshotService.markChanged(invoice.getInvoiceDate());
         mapToEntity(request, invoice);
         InvoiceV2 updated = invoiceRepository.save(invoice);
+        financeSnapshotService.markChanged(updated.getInvoiceDate());
         return mapToResponse(updated);
     }
 
     @Override
     @Transactional
     public void deleteInvoice(Long id) {
-        if (!invoiceRepository.existsById(id)) {
-            throw new RuntimeException("Invoice not found with id: " + id);
-        }
-        invoiceRepository.deleteById(id);
+        InvoiceV2 invoice = invoiceRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Invoice not found with id: " + id));
+        invoiceRepository.delete(invoice);
+        financeSnapshotService.markChanged(invoice.getInvoiceDate());
     }
 
     private void mapToEntity(InvoiceV2Request request, InvoiceV2 invoice) {
@@ -0,0 +1,216 @@
+package org.example.academicmanagementsystem.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.academicmanagementsystem.config.LeadDistributionConfig;
+import org.example.academicmanagementsystem.dto.AgentSkillWeight;
+import org.example.academicmanagementsystem.dto.LeadDistributionSummary;
+import org.example.academicmanagementsystem.model.LeadStatus;
+import org.example.academicmanagementsystem.model.NotificationType;
+import org.example.academicmanagementsystem.model.User;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.example.academicmanagementsystem.repository.LeadRepository;
+import org.example.academicmanagementsystem.repository.UserRepository;
+import org.example.academicmanagementsystem.service.LeadDistributionService;
+import org.example.academicmanagementsystem.service.LeadStatusCounterService;
+import org.example.academicmanagementsystem.service.NotificationService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeadDistributionServiceImpl implements LeadDistributionService {
+
+    private static final Set<LeadStatus> OPEN_STATUSES = EnumSet.of(LeadStatus.OPEN, LeadStatus.INTERESTED, LeadStatus.FOLLOW_UP);
+    private static final String UPDATED_BY = "system-distribution";
+
+    private final LeadRepository leadRepository;
+    private final UserRepository userRepository;
+    private final LeadStatusCounterService leadStatusCounterService;
+    private final NotificationService notificationService;
+    private final PlatformTransactionManager transactionManager;
+    private final LeadDistributionConfig distributionConfig;
+
+    // One agent's load during a run; assigned doubles as the version of the agent's heap slots
+    private static final class AgentLoad {
+        private final User agent;
+        private final long openBefore;
+        private final Map<Long, Double> weights;
+        private long assigned;
+
+        private AgentLoad(User agent, long openBefore, Map<Long, Double> weights) {
+            this.agent = agent;
+            this.openBefore = openBefore;
+            this.weights = weights;
+        }
+
+        private double weightFor(Long diplomaId) {
+            return diplomaId == null ? 1.0 : weights.getOrDefault(diplomaId, 1.0);
+        }
+
+        // Load the agent would carry after one more lead, scaled down by their skill for the diploma
+        private double score(Long diplomaId) {
+            return (openBefore + assigned + 1) / weightFor(diplomaId);
+        }
+    }
+
+    private record Slot(AgentLoad load, double score, long version) {
+    }
+
+    private record Chunk(int rows, long lastId, int assigned) {
+    }
+
+    @Override
+    public LeadDistributionSummary distribute(int leadsPerAgent, List<AgentSkillWeight> skillWeights) {
+        if (leadRepository.countByTeleSalesIsNull() == 0) {
+            return LeadDistributionSummary.builder()
+                    .message("No unassigned leads to distribute")
+                    .build();
+        }
+
+        List<User> agents = userRepository.findByRole(UserRole.TELESALES).stream()
+                .filter(u -> Boolean.TRUE.equals(u.getActive()))
+                .toList();
+        if (agents.isEmpty()) {
+            throw new RuntimeException("No active TELESALES agents found");
+        }
+
+        Map<Long, Map<Long, Double>> weightsByAgent = resolveWeights(agents, skillWeights);
+        Map<Long, Long> openByAgent = new HashMap<>();
+        for (Object[] row : leadRepository.countOpenLeadsByTeleSales(agents.stream().map(User::getId).toList(), OPEN_STATUSES)) {
+            openByAgent.put((Long) row[0], (Long) row[1]);
+        }
+        List<AgentLoad> loads = new ArrayList<>();
+        for (User agent : agents) {
+            loads.add(new AgentLoad(agent, openByAgent.getOrDefault(agent.getId(), 0L),
+                    weightsByAgent.getOrDefault(agent.getId(), Map.of())));
+        }
+
+        long limit = leadsPerAgent <= 0 ? Long.MAX_VALUE : leadsPerAgent;
+        int batchSize = Math.max(1, distributionConfig.getBatchSize());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        // One heap per diploma seen so far (null key = no diploma); each holds one slot per eligible agent
+        Map<Long, PriorityQueue<Slot>> heaps = new HashMap<>();
+
+        long total = 0;
+        long afterId = 0L;
+        while (loads.stream().anyMatch(load -> load.assigned < limit)) {
+            long fromId = afterId;
+            Chunk chunk = transaction.execute(status -> {
+                List<Object[]> rows = leadRepository.findUnassignedRowsAfter(fromId, PageRequest.of(0, batchSize));
+                long lastId = rows.isEmpty() ? fromId : (Long) rows.get(rows.size() - 1)[0];
+                return new Chunk(rows.size(), lastId, assignChunk(rows, heaps, loads, limit));
+            });
+            total += chunk.assigned();
+            if (chunk.rows() < batchSize) {
+                break;
+            }
+            afterId = chunk.lastId();
+        }
+
+        LeadDistributionSummary summary = LeadDistributionSummary.builder()
+                .total(total)
+                .remaining(leadRepository.countByTeleSalesIsNull())
+                .build();
+        for (AgentLoad load : loads) {
+            summary.getAgents().add(new LeadDistributionSummary.AgentAssignment(
+                    load.agent.getId(), load.agent.getFullName(), load.openBefore, load.assigned));
+            if (load.assigned > 0) {
+                notificationService.createForUser(load.agent.getId(), NotificationType.LEAD_CREATED,
+                        load.assigned + " new leads have been assigned to you", null);
+            }
+        }
+        log.info("Lead distribution assigned {} leads across {} agents, {} remain unassigned",
+                total, agents.size(), summary.getRemaining());
+        return summary;
+    }
+
+    // Picks an agent for every (id, status, diploma id) row, then writes one UPDATE per agent and the matching
+    // counter moves. Leads whose diploma no agent with capacity left can take stay unassigned.
+    private int assignChunk(List<Object[]> rows, Map<Long, PriorityQueue<Slot>> heaps, List<AgentLoad> loads, long limit) {
+        Map<AgentLoad, List<Long>> idsByAgent = new LinkedHashMap<>();
+        Map<AgentLoad, Map<LeadStatus, Long>> movedByAgent = new HashMap<>();
+        int assigned = 0;
+        for (Object[] row : rows) {
+            Long diplomaId = (Long) row[2];
+            PriorityQueue<Slot> heap = heaps.computeIfAbsent(diplomaId, id -> newHeap(id, loads, limit));
+            AgentLoad chosen = poll(heap, diplomaId, limit);
+            if (chosen == null) {
+                continue;
+            }
+            assigned++;
+            chosen.assigned++;
+            if (chosen.assigned < limit) {
+                heap.add(new Slot(chosen, chosen.score(diplomaId), chosen.assigned));
+            }
+            idsByAgent.computeIfAbsent(chosen, load -> new ArrayList<>()).add((Long) row[0]);
+            movedByAgent.computeIfAbsent(chosen, load -> new EnumMap<>(LeadStatus.class))
+                    .merge((LeadStatus) row[1], 1L, Long::sum);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        idsByAgent.forEach((load, ids) -> leadRepository.assignTeleSales(load.agent, ids, UPDATED_BY, now));
+        movedByAgent.forEach((load, byStatus) -> byStatus.forEach((status, moved) -> {
+            leadStatusCounterService.adjust(status, null, -moved);
+            leadStatusCounterService.adjust(status, load.agent.getId(), moved);
+        }));
+        return assigned;
+    }
+
+    private static PriorityQueue<Slot> newHeap(Long diplomaId, List<AgentLoad> loads, long limit) {
+        PriorityQueue<Slot> heap = new PriorityQueue<>(Comparator.comparingDouble(Slot::score)
+                .thenComparingLong(slot -> slot.load.agent.getId()));
+        for (AgentLoad load : loads) {
+            if (load.weightFor(diplomaId) > 0 && load.assigned < limit) {
+                heap.add(new Slot(load, load.score(diplomaId), load.assigned));
+            }
+        }
+        return heap;
+    }
+
+    // Least-loaded agent for the diploma; slots left behind by assignments through other heaps are re-scored lazily
+    private static AgentLoad poll(PriorityQueue<Slot> heap, Long diplomaId, long limit) {
+        Slot slot;
+        while ((slot = heap.poll()) != null) {
+            AgentLoad load = slot.load;
+            if (load.assigned >= limit) {
+                continue;
+            }
+            if (slot.version != load.assigned) {
+                heap.add(new Slot(load, load.score(diplomaId), load.assigned));
+                continue;
+            }
+            return load;
+        }
+        return null;
+    }
+
+    private static Map<Long, Map<Long, Double>> resolveWeights(List<User> agents, List<AgentSkillWeight> skillWeights) {
+        Map<Long, Map<Long, Double>> weights = new HashMap<>();
+        if (skillWeights == null) {
+            return weights;
+        }
+        Set<Long> agentIds = new HashSet<>();
+        agents.forEach(agent -> agentIds.add(agent.getId()));
+        for (AgentSkillWeight skill : skillWeights) {
+            if (skill.getAgentId() == null || skill.getDiplomaId() == null) {
+                throw new IllegalArgumentException("Skill weight needs both agentId and diplomaId");
+            }
+            if (!agentIds.contains(skill.getAgentId())) {
+                throw new RuntimeException("Skill weight refers to an agent that is not an active TELESALES user: "
+                        + skill.getAgentId());
+            }
+            if (!Double.isFinite(skill.getWeight()) || skill.getWeight() < 0) {
+                throw new IllegalArgumentException("Skill weight must be zero or positive: " + skill.getWeight());
+            }
+            weights.computeIfAbsent(skill.getAgentId(), id -> new HashMap<>()).put(skill.getDiplomaId(), skill.getWeight());
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,329 @@
+package org.example.academicmanagementsystem.service.impl;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.academicmanagementsystem.config.LeadImportConfig;
+import org.example.academicmanagementsystem.dto.LeadImportSummary;
+import org.example.academicmanagementsystem.dto.LeadRequest;
+import org.example.academicmanagementsystem.model.LeadStatus;
+import org.example.academicmanagementsystem.model.NotificationType;
+import org.example.academicmanagementsystem.model.PhoneKey;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.example.academicmanagementsystem.repository.DiplomaV2Repository;
+import org.example.academicmanagementsystem.repository.LeadRepository;
+import org.example.academicmanagementsystem.service.LeadImportService;
+import org.example.academicmanagementsystem.service.LeadStatusCounterService;
+import org.example.academicmanagementsystem.service.NotificationService;
+import org.example.academicmanagementsystem.service.PhoneKeyService;
+import org.example.academicmanagementsystem.service.SearchIndexService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeadImportServiceImpl implements LeadImportService {
+
+    private static final ObjectMapper NDJSON_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final String INSERT_LEAD_SQL =
+            "INSERT INTO leads (full_name, phone_number, phone_key, source, diploma_id, moderator_notes, status, closure_reason, " +
+            "created_at, updated_at, created_by, updated_by, deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false)";
+
+    private final DiplomaV2Repository diplomaRepository;
+    private final LeadRepository leadRepository;
+    private final PhoneKeyService phoneKeyService;
+    private final LeadStatusCounterService leadStatusCounterService;
+    private final NotificationService notificationService;
+    private final SearchIndexService searchIndexService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final LeadImportConfig importConfig;
+
+    @Override
+    public LeadImportSummary importLeads(InputStream input, Format format) {
+        if (input == null || format == null) {
+            throw new IllegalArgumentException("Import input or format is null");
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication != null ? authentication.getName() : "system";
+
+        // Diplomas are a small reference table: resolve every row against one prefetched id set
+        Set<Long> diplomaIds = new HashSet<>(diplomaRepository.findAllIds());
+        int batchSize = Math.max(1, importConfig.getBatchSize());
+        ImportRun run = new ImportRun(Math.max(0, importConfig.getMaxReportedErrors()));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        List<PendingRow> chunk = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> csvColumns = null;
+            long lineNumber = 0;
+            if (format == Format.CSV) {
+                String header = reader.readLine();
+                lineNumber++;
+                if (header == null) {
+                    throw new RuntimeException("CSV import is empty (missing header row)");
+                }
+                csvColumns = parseCsvHeader(header);
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                run.totalRows++;
+                try {
+                    LeadRequest request = format == Format.CSV ? parseCsvRow(line, csvColumns) : parseNdjsonRow(line);
+                    validate(request, diplomaIds);
+                    chunk.add(new PendingRow(lineNumber, request));
+                } catch (RuntimeException e) {
+                    run.failed++;
+                    run.addError(lineNumber, null, e.getMessage());
+                }
+
+                if (chunk.size() >= batchSize) {
+                    flushChunk(chunk, run, username, transaction);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                flushChunk(chunk, run, username, transaction);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read lead import stream: " + e.getMessage(), e);
+        }
+
+        if (run.imported > 0) {
+            String message = run.imported + " leads imported in bulk by " + username;
+            notificationService.createForRole(UserRole.ADMIN, NotificationType.LEAD_CREATED, message, null);
+            notificationService.createForRole(UserRole.MODERATOR, NotificationType.LEAD_CREATED, message, null);
+        }
+        log.info("Lead import by {} finished: {} rows, {} imported, {} duplicates, {} failed",
+                username, run.totalRows, run.imported, run.duplicates, run.failed);
+
+        return run.toSummary();
+    }
+
+    // Dedupes one chunk on the canonical phone key with a single IN query and inserts it as one JDBC batch
+    // in its own transaction. The JDBC insert bypasses the search index entity listener, so the committed rows
+    // are indexed here.
+    private void flushChunk(List<PendingRow> chunk, ImportRun run, String username, TransactionTemplate transaction) {
+        Set<String> phoneKeys = new HashSet<>();
+        for (PendingRow row : chunk) {
+            phoneKeys.add(PhoneKey.of(row.request().getPhoneNumber()));
+        }
+
+        List<Object[]> inserted = transaction.execute(status -> {
+            Set<String> taken = phoneKeyService.findTakenLeadKeys(phoneKeys);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> batch = new ArrayList<>(chunk.size());
+            Set<String> insertedKeys = new HashSet<>();
+            Map<LeadStatus, Long> importedByStatus = new EnumMap<>(LeadStatus.class);
+
+            for (PendingRow row : chunk) {
+                LeadRequest request = row.request();
+                // "taken" also absorbs repeats inside the same chunk; earlier chunks are already in the table
+                String phoneKey = PhoneKey.of(request.getPhoneNumber());
+                if (!taken.add(phoneKey)) {
+                    run.duplicates++;
+                    run.addError(row.lineNumber(), request.getPhoneNumber(), "Duplicate phone number");
+                    continue;
+                }
+                batch.add(new Object[]{
+                        request.getFullName(), request.getPhoneNumber(), phoneKey, request.getSource(), request.getDiplomaId(),
+                        request.getModeratorNotes(), request.getStatus().name(), request.getClosureReason(),
+                        now, now, username, username
+                });
+                insertedKeys.add(phoneKey);
+                importedByStatus.merge(request.getStatus(), 1L, Long::sum);
+            }
+
+            if (batch.isEmpty()) {
+                return List.of();
+            }
+            jdbcTemplate.batchUpdate(INSERT_LEAD_SQL, batch);
+            importedByStatus.forEach((leadStatus, imported) -> leadStatusCounterService.adjust(leadStatus, null, imported));
+            run.imported += batch.size();
+            return leadRepository.findSearchRowsByPhoneKeyIn(insertedKeys);
+        });
+
+        for (Object[] row : inserted) {
+            searchIndexService.index(SearchIndexService.Domain.LEAD, (Long) row[0], (String) row[1], (String) row[2]);
+        }
+    }
+
+    private void validate(LeadRequest request, Set<Long> diplomaIds) {
+        if (request.getFullName() == null || request.getFullName().isBlank()) {
+            throw new RuntimeException("Full name is required");
+        }
+        if (request.getPhoneNumber() == null || request.getPhoneNumber().isBlank()) {
+            throw new RuntimeException("Phone number is required");
+        }
+        request.setFullName(request.getFullName().trim());
+        request.setPhoneNumber(request.getPhoneNumber().trim());
+        if (PhoneKey.of(request.getPhoneNumber()) == null) {
+            throw new RuntimeException("Phone number must contain digits");
+        }
+        if (request.getDiplomaId() != null && !diplomaIds.contains(request.getDiplomaId())) {
+            throw new RuntimeException("Diploma not found with id: " + request.getDiplomaId());
+        }
+        if (request.getStatus() == null) {
+            request.setStatus(LeadStatus.OPEN);
+        }
+    }
+
+    // ---- Parsing ----
+
+    private LeadRequest parseNdjsonRow(String line) {
+        try {
+            return NDJSON_MAPPER.readValue(line, LeadRequest.class);
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new RuntimeException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Map<String, Integer> parseCsvHeader(String header) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsvLine(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        for (int i = 0; i < names.size(); i++) {
+            String key = names.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "");
+            switch (key) {
+                case "fullname", "name" -> columns.put("fullName", i);
+                case "phonenumber", "phone" -> columns.put("phoneNumber", i);
+                case "source" -> columns.put("source", i);
+                case "diplomaid" -> columns.put("diplomaId", i);
+                case "moderatornotes", "notes" -> columns.put("moderatorNotes", i);
+                case "status" -> columns.put("status", i);
+                case "closurereason" -> columns.put("closureReason", i);
+                default -> { /* unknown columns are ignored */ }
+            }
+        }
+        if (!columns.containsKey("fullName") || !columns.containsKey("phoneNumber")) {
+            throw new RuntimeException("CSV header must contain fullName and phoneNumber columns");
+        }
+        return columns;
+    }
+
+    private LeadRequest parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> values = splitCsvLine(line);
+        LeadRequest request = new LeadRequest();
+        request.setFullName(csvValue(values, columns, "fullName"));
+        request.setPhoneNumber(csvValue(values, columns, "phoneNumber"));
+        request.setSource(csvValue(values, columns, "source"));
+        request.setModeratorNotes(csvValue(values, columns, "moderatorNotes"));
+        request.setClosureReason(csvValue(values, columns, "closureReason"));
+
+        String diplomaId = csvValue(values, columns, "diplomaId");
+        if (diplomaId != null) {
+            try {
+                request.setDiplomaId(Long.valueOf(diplomaId));
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid diplomaId: " + diplomaId);
+            }
+        }
+        String status = csvValue(values, columns, "status");
+        if (status != null) {
+            try {
+                request.setStatus(LeadStatus.valueOf(status.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid status: " + status);
+            }
+        }
+        return request;
+    }
+
+    private static String csvValue(List<String> values, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 style split of a single line: quoted fields may contain commas and "" escapes (not line breaks)
+    private static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    // ---- Helpers ----
+
+    private record PendingRow(long lineNumber, LeadRequest request) {
+    }
+
+    private static final class ImportRun {
+        private final int maxReportedErrors;
+        private final List<LeadImportSummary.RowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long imported;
+        private long duplicates;
+        private long failed;
+        private boolean errorsTruncated;
+
+        private ImportRun(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void addError(long row, String phoneNumber, String message) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new LeadImportSummary.RowError(row, phoneNumber, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        private LeadImportSummary toSummary() {
+            return LeadImportSummary.builder()
+                    .totalRows(totalRows)
+                    .imported(imported)
+                    .duplicates(duplicates)
+                    .failed(failed)
+                    .errorsTruncated(errorsTruncated)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
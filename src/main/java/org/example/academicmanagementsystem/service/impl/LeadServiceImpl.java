@@ -5,14 +5,20 @@ import lombok.RequiredArgsConstructor;
 import org.example.academicmanagementsystem.dto.LeadDetailResponse;
 import org.example.academicmanagementsystem.dto.LeadRequest;
 import org.example.academicmanagementsystem.dto.LeadResponse;
+import org.example.academicmanagementsystem.dto.LeadStatisticsSummary;
 import org.example.academicmanagementsystem.mapper.LeadMapper;
 import org.example.academicmanagementsystem.model.Lead;
 import org.example.academicmanagementsystem.model.LeadStatus;
+import org.example.academicmanagementsystem.model.PhoneKey;
 import org.example.academicmanagementsystem.model.User;
 import org.example.academicmanagementsystem.model.UserRole;
 import org.example.academicmanagementsystem.repository.LeadRepository;
 import org.example.academicmanagementsystem.repository.UserRepository;
+import org.example.academicmanagementsystem.security.UserDetailsImpl;
 import org.example.academicmanagementsystem.service.LeadService;
+import org.example.academicmanagementsystem.service.LeadStatusCounterService;
+import org.example.academicmanagementsystem.service.PhoneKeyService;
+import org.example.academicmanagementsystem.service.SearchIndexService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -30,6 +36,9 @@ public class LeadServiceImpl implements LeadService {
     private final UserRepository userRepository;
     private final org.example.academicmanagementsystem.repository.DiplomaV2Repository diplomaRepository;
     private final org.example.academicmanagementsystem.service.NotificationService notificationService;
+    private final LeadStatusCounterService leadStatusCounterService;
+    private final SearchIndexService searchIndexService;
+    private final PhoneKeyService phoneKeyService;
 
     @Override
     public Optional<LeadResponse> findById(Long id) {
@@ -51,19 +60,18 @@ public class LeadServiceImpl implements LeadService {
         // Convert DTO to entity
         Lead lead = leadMapper.toLeadEntity(leadRequest);
 
-        // Get current authenticated user from SecurityContext
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // Current user comes from the token claims; no lookup by username
+        Optional<UserDetailsImpl> principal = UserDetailsImpl.current();
 
-        if (authentication != null && authentication.isAuthenticated()) {
-            String username = authentication.getName();
-            User currentUser = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("Current user not found: " + username));
+        if (principal.isPresent()) {
+            String username = principal.get().getUsername();
+            UserRole currentRole = principal.get().getRole();
 
             lead.setCreatedBy(username);
             lead.setUpdatedBy(username);
 
             // Check user role and assign telesales accordingly
-            if (currentUser.getRole() == UserRole.ADMIN || currentUser.getRole() == UserRole.MODERATOR) {
+            if (currentRole == UserRole.ADMIN || currentRole == UserRole.MODERATOR) {
                 // ADMIN or MODERATOR can specify teleSalesId
                 if (leadRequest.getTeleSalesId() != null) {
                     User teleSales = userRepository.findById(leadRequest.getTeleSalesId())
@@ -81,9 +89,9 @@ public class LeadServiceImpl implements LeadService {
                     }
                 }
                 // If no teleSalesId provided, it's auto-assigned or left null if no telesales available
-            } else if (currentUser.getRole() == UserRole.TELESALES) {
+            } else if (currentRole == UserRole.TELESALES) {
                 // TELESALES user is automatically assigned to the lead
-                lead.setTeleSales(currentUser);
+                lead.setTeleSales(userRepository.getReferenceById(principal.get().getId()));
             }
         }
 
@@ -104,6 +112,7 @@ public class LeadServiceImpl implements LeadService {
         Lead savedLead = leadRepository.save(lead);
 
         if (isNew) {
+            leadStatusCounterService.leadCreated(savedLead.getStatus(), savedLead.getTeleSales());
             notificationService.createForRole(org.example.academicmanagementsystem.model.UserRole.ADMIN, org.example.academicmanagementsystem.model.NotificationType.LEAD_CREATED, "New lead created: " + savedLead.getFullName(), savedLead.getId());
             notificationService.createForRole(org.example.academicmanagementsystem.model.UserRole.MODERATOR, org.example.academicmanagementsystem.model.NotificationType.LEAD_CREATED, "New lead created: " + savedLead.getFullName(), savedLead.getId());
         }
@@ -132,21 +141,24 @@ public class LeadServiceImpl implements LeadService {
                     .orElseThrow(() -> new RuntimeException("Diploma not found with id: " + leadCreateRequest.getDiplomaId())));
         }
 
-        // Get current authenticated user from SecurityContext
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // Current user comes from the token claims; no lookup by username
+        Optional<UserDetailsImpl> principal = UserDetailsImpl.current();
 
-        if (authentication != null && authentication.isAuthenticated()) {
-            String username = authentication.getName();
-            User currentUser = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("Current user not found: " + username));
+        if (principal.isPresent()) {
+            String username = principal.get().getUsername();
 
             // Automatically assign TELESALES user to the lead
-            lead.setTeleSales(currentUser);
+            lead.setTeleSales(userRepository.getReferenceById(principal.get().getId()));
             lead.setCreatedBy(username);
             lead.setUpdatedBy(username);
         }
 
 
+        // Reject a phone number that already belongs to a lead, whatever its formatting
+        if (phoneKeyService.isLeadPhoneTaken(leadCreateRequest.getPhoneNumber())) {
+            throw new RuntimeException("A lead with this phone number already exists");
+        }
+
         // Set default status if not provided
         if (leadCreateRequest.getStatus() == null) {
             lead.setStatus(LeadStatus.OPEN);
@@ -156,6 +168,7 @@ public class LeadServiceImpl implements LeadService {
 
         // Save and return detailed response
         Lead savedLead = leadRepository.save(lead);
+        leadStatusCounterService.leadCreated(savedLead.getStatus(), savedLead.getTeleSales());
 
         notificationService.createForRole(org.example.academicmanagementsystem.model.UserRole.ADMIN, org.example.academicmanagementsystem.model.NotificationType.LEAD_CREATED, "New lead created by Telesales: " + savedLead.getFullName(), savedLead.getId());
         notificationService.createForRole(org.example.academicmanagementsystem.model.UserRole.MODERATOR, org.example.academicmanagementsystem.model.NotificationType.LEAD_CREATED, "New lead created by Telesales: " + savedLead.getFullName(), savedLead.getId());
@@ -173,6 +186,46 @@ public class LeadServiceImpl implements LeadService {
                 .map(leadMapper::toLeadResponse);
     }
 
+    @Override
+    public Page<LeadResponse> search(String search, Pageable pageable) {
+        if (search == null || search.isBlank()) {
+            return findAll(pageable);
+        }
+        Optional<Set<Long>> matches = searchIndexService.search(SearchIndexService.Domain.LEAD, search);
+        Page<Lead> leads;
+        if (matches.isPresent()) {
+            leads = matches.get().isEmpty() ? Page.empty(pageable) : leadRepository.findByIdIn(matches.get(), pageable);
+        } else {
+            leads = leadRepository.searchLeads(search.trim(), pageable);
+        }
+        return leads.map(leadMapper::toLeadResponse);
+    }
+
+    @Override
+    public Page<LeadResponse> searchByPhone(String prefix, String suffix, Pageable pageable) {
+        boolean byPrefix = prefix != null && !prefix.isBlank();
+        boolean bySuffix = suffix != null && !suffix.isBlank();
+        if (byPrefix == bySuffix) {
+            throw new IllegalArgumentException("Exactly one of prefix or suffix is required");
+        }
+        String digits = PhoneKey.digitsOf(byPrefix ? prefix : suffix);
+        if (digits.isEmpty()) {
+            throw new IllegalArgumentException("Phone " + (byPrefix ? "prefix" : "suffix") + " has no digits");
+        }
+        Optional<Set<Long>> matches = byPrefix
+                ? searchIndexService.searchPhonePrefix(SearchIndexService.Domain.LEAD, prefix)
+                : searchIndexService.searchPhoneSuffix(SearchIndexService.Domain.LEAD, suffix);
+        Page<Lead> leads;
+        if (matches.isPresent()) {
+            leads = matches.get().isEmpty() ? Page.empty(pageable) : leadRepository.findByIdIn(matches.get(), pageable);
+        } else if (byPrefix) {
+            leads = leadRepository.findByPhoneKeyStartingWith(PhoneKey.of(prefix), pageable);
+        } else {
+            leads = leadRepository.findByPhoneKeyEndingWith(digits, pageable);
+        }
+        return leads.map(leadMapper::toLeadResponse);
+    }
+
     @Override
     @Transactional
     public Boolean deleteById(Long id) {
@@ -180,11 +233,13 @@ public class LeadServiceImpl implements LeadService {
             throw new IllegalArgumentException("ID is null");
         }
 
-        if (!leadRepository.existsById(id)) {
+        Optional<Lead> lead = leadRepository.findById(id);
+        if (lead.isEmpty()) {
             return false;
         }
 
-        leadRepository.deleteById(id);
+        leadRepository.delete(lead.get());
+        leadStatusCounterService.leadRemoved(lead.get().getStatus(), lead.get().getTeleSales());
         return true;
     }
 
@@ -198,6 +253,7 @@ public class LeadServiceImpl implements LeadService {
         return leadRepository.findById(id)
                 .map(existingLead -> {
                     LeadStatus oldStatus = existingLead.getStatus();
+                    User oldTeleSales = existingLead.getTeleSales();
 
                     // Update fields
                     if (leadRequest.getFullName() != null) {
@@ -229,6 +285,7 @@ public class LeadServiceImpl implements LeadService {
                     }
 
                     Lead updatedLead = leadRepository.save(existingLead);
+                    leadStatusCounterService.leadMoved(oldStatus, oldTeleSales, updatedLead.getStatus(), updatedLead.getTeleSales());
 
                     if (leadRequest.getStatus() != null && oldStatus != updatedLead.getStatus()) {
                         String message = "Lead status updated for " + updatedLead.getFullName() + " to " + updatedLead.getStatus();
@@ -245,33 +302,29 @@ public class LeadServiceImpl implements LeadService {
 
     @Override
     public Integer count() {
-        return (int) leadRepository.count();
+        return (int) leadStatusCounterService.countAll();
     }
 
     @Override
     public Integer LeadCompleted() {
-        return leadRepository.findByStatus(LeadStatus.CLOSED).size();
+        return (int) leadStatusCounterService.countByStatus(LeadStatus.CLOSED);
     }
 
     @Override
     public Integer LeadInProgress() {
-        return leadRepository.findByStatus(LeadStatus.OPEN).size();
+        return (int) leadStatusCounterService.countByStatus(LeadStatus.OPEN);
     }
 
     @Override
     public Integer LeadPending() {
         // Assuming OPEN leads without assigned telesales are "pending"
-        return (int) leadRepository.findByStatus(LeadStatus.OPEN).stream()
-                .filter(lead -> lead.getTeleSales() == null)
-                .count();
+        return (int) leadStatusCounterService.countUnassigned(LeadStatus.OPEN);
     }
 
     @Override
     public Integer LeadCancelled() {
         // Assuming closed leads with closure reason are "cancelled"
-        return (int) leadRepository.findByStatus(LeadStatus.CLOSED).stream()
-                .filter(lead -> lead.getClosureReason() != null && !lead.getClosureReason().isEmpty())
-                .count();
+        return (int) leadRepository.countClosedWithClosureReason();
     }
 
     @Override
@@ -301,30 +354,18 @@ public class LeadServiceImpl implements LeadService {
 
     @Override
     public Map<String, Integer> getLeadStatistics() {
-        List<Lead> allLeads = leadRepository.findAll();
-
-        int total = allLeads.size();
-        int opened = (int) allLeads.stream()
-                .filter(l -> l.getStatus() == LeadStatus.OPEN || l.getStatus() == LeadStatus.INTERESTED || l.getStatus() == LeadStatus.FOLLOW_UP)
-                .count();
-        int closed = (int) allLeads.stream()
-                .filter(l -> l.getStatus() == LeadStatus.CLOSED || l.getStatus() == LeadStatus.REJECTED)
-                .count();
-        int enrolled = (int) allLeads.stream()
-                .filter(l -> l.getStatus() == LeadStatus.ENROLLED)
-                .count();
-        int countries = (int) allLeads.stream()
-                .map(Lead::getSource)
-                .filter(Objects::nonNull)
-                .filter(s -> !s.trim().isEmpty())
-                .distinct()
-                .count();
+        // Aggregated in the database so the dashboard never materialises the leads table
+        LeadStatisticsSummary summary = leadRepository.getLeadStatisticsSummary();
+
+        int total = (int) summary.getTotal();
+        int opened = (int) summary.getOpened();
+        int closed = (int) summary.getClosed();
+        int enrolled = (int) summary.getEnrolled();
+        int countries = (int) summary.getDistinctSources();
         if (countries == 0 && total > 0) {
             countries = 1;
         }
-        int noResponses = (int) allLeads.stream()
-                .filter(l -> l.getFollowUps() == null || l.getFollowUps().isEmpty())
-                .count();
+        int noResponses = (int) leadRepository.countLeadsWithoutFollowUps();
 
         Map<String, Integer> statistics = new HashMap<>();
         statistics.put("total", total);
@@ -349,12 +390,9 @@ public class LeadServiceImpl implements LeadService {
         Lead lead = leadRepository.findById(leadId)
                 .orElseThrow(() -> new RuntimeException("Lead not found with id: " + leadId));
 
-        org.springframework.security.core.Authentication authentication = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
-        User currentUser = null;
-        if (authentication != null && authentication.isAuthenticated()) {
-            String username = authentication.getName();
-            currentUser = userRepository.findByUsername(username).orElse(null);
-        }
+        User currentUser = UserDetailsImpl.current()
+                .map(principal -> userRepository.getReferenceById(principal.getId()))
+                .orElse(null);
 
         if (lead.getFollowUps() == null) {
             lead.setFollowUps(new ArrayList<>());
@@ -378,12 +416,14 @@ public class LeadServiceImpl implements LeadService {
         }
         followUp.setUpdatedAt(java.time.LocalDateTime.now());
 
+        LeadStatus oldStatus = lead.getStatus();
         if (request.getStatus() != null) {
             lead.setStatus(request.getStatus());
         }
 
         lead.getFollowUps().add(followUp);
         Lead savedLead = leadRepository.save(lead);
+        leadStatusCounterService.leadMoved(oldStatus, savedLead.getTeleSales(), savedLead.getStatus(), savedLead.getTeleSales());
 
         return leadMapper.toLeadDetailResponse(savedLead);
     }
@@ -404,24 +444,10 @@ public class LeadServiceImpl implements LeadService {
     @Override
     public Map<String, Long> getMyLeadsStats() {
         User currentUser = getCurrentUser();
-        Long agentId = currentUser.getId();
-
-        long total = leadRepository.countByTeleSalesId(agentId);
-        long open = leadRepository.countByTeleSalesIdAndStatus(agentId, LeadStatus.OPEN);
-        long interested = leadRepository.countByTeleSalesIdAndStatus(agentId, LeadStatus.INTERESTED);
-        long followUp = leadRepository.countByTeleSalesIdAndStatus(agentId, LeadStatus.FOLLOW_UP);
-        long enrolled = leadRepository.countByTeleSalesIdAndStatus(agentId, LeadStatus.ENROLLED);
-        long rejected = leadRepository.countByTeleSalesIdAndStatus(agentId, LeadStatus.REJECTED);
-        long closed = leadRepository.countByTeleSalesIdAndStatus(agentId, LeadStatus.CLOSED);
+        Map<LeadStatus, Long> counts = leadStatusCounterService.countByAgent(currentUser.getId());
 
         Map<String, Long> stats = new LinkedHashMap<>();
-        stats.put("total", total);
-        stats.put("open", open);
-        stats.put("interested", interested);
-        stats.put("followUp", followUp);
-        stats.put("enrolled", enrolled);
-        stats.put("rejected", rejected);
-        stats.put("closed", closed);
+        putStatusBreakdown(stats, counts);
         return stats;
     }
 
@@ -435,8 +461,33 @@ public class LeadServiceImpl implements LeadService {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication != null ? authentication.getName() : "system";
 
+        // Resolve all referenced diplomas with one query instead of one lookup per row
+        Set<Long> diplomaIds = new HashSet<>();
+        for (LeadRequest req : leads) {
+            if (req.getDiplomaId() != null) {
+                diplomaIds.add(req.getDiplomaId());
+            }
+        }
+        Map<Long, org.example.academicmanagementsystem.model.DiplomaV2> diplomas = new HashMap<>();
+        diplomaRepository.findAllById(diplomaIds).forEach(d -> diplomas.put(d.getId(), d));
+
+        // Dedupe on the canonical phone key: one IN query for the batch, then "taken" absorbs repeats in the request
+        Set<String> phoneKeys = new HashSet<>();
+        for (LeadRequest req : leads) {
+            String phoneKey = PhoneKey.of(req.getPhoneNumber());
+            if (phoneKey != null) {
+                phoneKeys.add(phoneKey);
+            }
+        }
+        Set<String> taken = phoneKeys.isEmpty() ? new HashSet<>() : phoneKeyService.findTakenLeadKeys(phoneKeys);
+
         List<LeadDetailResponse> results = new ArrayList<>();
+        Map<LeadStatus, Long> importedByStatus = new EnumMap<>(LeadStatus.class);
         for (LeadRequest req : leads) {
+            String phoneKey = PhoneKey.of(req.getPhoneNumber());
+            if (phoneKey != null && !taken.add(phoneKey)) {
+                continue; // Duplicate phone number
+            }
             Lead lead = leadMapper.toLeadEntity(req);
             lead.setCreatedBy(username);
             lead.setUpdatedBy(username);
@@ -444,97 +495,24 @@ public class LeadServiceImpl implements LeadService {
                 lead.setStatus(LeadStatus.OPEN);
             }
             if (req.getDiplomaId() != null) {
-                lead.setDiploma(diplomaRepository.findById(req.getDiplomaId()).orElse(null));
+                lead.setDiploma(diplomas.get(req.getDiplomaId()));
             }
-            // Leave teleSales null â€” will be assigned later by distributeLeads
+            // Leave teleSales null â€” will be assigned later by LeadDistributionService
             Lead saved = leadRepository.save(lead);
+            importedByStatus.merge(saved.getStatus(), 1L, Long::sum);
             results.add(leadMapper.toLeadDetailResponse(saved));
         }
+        // One counter update per status instead of one per row
+        importedByStatus.forEach((status, imported) -> leadStatusCounterService.adjust(status, null, imported));
 
         notificationService.createForRole(UserRole.ADMIN, org.example.academicmanagementsystem.model.NotificationType.LEAD_CREATED,
-                leads.size() + " leads imported in bulk by " + username, null);
+                results.size() + " leads imported in bulk by " + username, null);
         notificationService.createForRole(UserRole.MODERATOR, org.example.academicmanagementsystem.model.NotificationType.LEAD_CREATED,
-                leads.size() + " leads imported in bulk by " + username, null);
+                results.size() + " leads imported in bulk by " + username, null);
 
         return results;
     }
 
-    @Override
-    @Transactional
-    public Map<String, Object> distributeLeads(int leadsPerAgent) {
-        // Get all unassigned leads
-        List<Lead> unassigned = leadRepository.findByTeleSalesIsNull();
-        if (unassigned.isEmpty()) {
-            Map<String, Object> empty = new LinkedHashMap<>();
-            empty.put("total", 0);
-            empty.put("message", "No unassigned leads to distribute");
-            return empty;
-        }
-
-        // Get all active TELESALES users
-        List<User> agents = userRepository.findByRole(UserRole.TELESALES).stream()
-                .filter(u -> Boolean.TRUE.equals(u.getActive()))
-                .toList();
-
-        if (agents.isEmpty()) {
-            throw new RuntimeException("No active TELESALES agents found");
-        }
-
-        int effectiveLimit = (leadsPerAgent <= 0) ? Integer.MAX_VALUE : leadsPerAgent;
-        Map<String, Long> agentAssignedCount = new LinkedHashMap<>();
-        for (User agent : agents) {
-            agentAssignedCount.put(agent.getFullName(), 0L);
-        }
-
-        int agentIndex = 0;
-        int totalDistributed = 0;
-        List<Lead> toSave = new ArrayList<>();
-
-        for (Lead lead : unassigned) {
-            // Round-robin: pick next agent that hasn't hit the limit
-            int checked = 0;
-            while (checked < agents.size()) {
-                User agent = agents.get(agentIndex % agents.size());
-                long alreadyAssigned = agentAssignedCount.get(agent.getFullName());
-                if (alreadyAssigned < effectiveLimit) {
-                    lead.setTeleSales(agent);
-                    lead.setUpdatedBy("system-distribution");
-                    agentAssignedCount.put(agent.getFullName(), alreadyAssigned + 1);
-                    toSave.add(lead);
-                    totalDistributed++;
-                    agentIndex++;
-                    break;
-                }
-                agentIndex++;
-                checked++;
-            }
-            if (checked >= agents.size()) {
-                // All agents hit their limit â€” stop distributing
-                break;
-            }
-        }
-
-        leadRepository.saveAll(toSave);
-
-        // Send notifications to each agent
-        for (User agent : agents) {
-            long count = agentAssignedCount.get(agent.getFullName());
-            if (count > 0) {
-                notificationService.createForUser(agent.getId(),
-                        org.example.academicmanagementsystem.model.NotificationType.LEAD_CREATED,
-                        count + " new leads have been assigned to you", null);
-            }
-        }
-
-        Map<String, Object> result = new LinkedHashMap<>();
-        result.put("total", totalDistributed);
-        result.put("remaining", unassigned.size() - totalDistributed);
-        for (Map.Entry<String, Long> entry : agentAssignedCount.entrySet()) {
-            result.put(entry.getKey(), entry.getValue());
-        }
-        return result;
-    }
-
     @Override
     public Page<LeadResponse> getUnassignedLeads(Pageable pageable) {
         return leadRepository.findByTeleSalesIsNull(pageable).map(leadMapper::toLeadResponse);
@@ -543,6 +521,7 @@ public class LeadServiceImpl implements LeadService {
     @Override
     public List<Map<String, Object>> getTelesalesPerformance() {
         List<User> agents = userRepository.findByRole(UserRole.TELESALES);
+        Map<Long, Map<LeadStatus, Long>> countsByAgent = leadStatusCounterService.countByAllAgents();
         List<Map<String, Object>> result = new ArrayList<>();
 
         for (User agent : agents) {
@@ -551,13 +530,7 @@ public class LeadServiceImpl implements LeadService {
             row.put("id", agentId);
             row.put("name", agent.getFullName());
             row.put("username", agent.getUsername());
-            row.put("total", leadRepository.countByTeleSalesId(agentId));
-            row.put("open", leadRepository.countByTeleSalesIdAndStatus(agentId, LeadStatus.OPEN));
-            row.put("interested", leadRepository.countByTeleSalesIdAndStatus(agentId, LeadStatus.INTERESTED));
-            row.put("followUp", leadRepository.countByTeleSalesIdAndStatus(agentId, LeadStatus.FOLLOW_UP));
-            row.put("enrolled", leadRepository.countByTeleSalesIdAndStatus(agentId, LeadStatus.ENROLLED));
-            row.put("rejected", leadRepository.countByTeleSalesIdAndStatus(agentId, LeadStatus.REJECTED));
-            row.put("closed", leadRepository.countByTeleSalesIdAndStatus(agentId, LeadStatus.CLOSED));
+            putStatusBreakdown(row, countsByAgent.getOrDefault(agentId, Map.of()));
             result.add(row);
         }
 
@@ -566,14 +539,28 @@ public class LeadServiceImpl implements LeadService {
         return result;
     }
 
+    @Override
+    public int rebuildStatusCounters() {
+        return leadStatusCounterService.rebuild();
+    }
+
     // ---- Helpers ----
 
+    private void putStatusBreakdown(Map<String, ? super Long> target, Map<LeadStatus, Long> counts) {
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        target.put("total", total);
+        target.put("open", counts.getOrDefault(LeadStatus.OPEN, 0L));
+        target.put("interested", counts.getOrDefault(LeadStatus.INTERESTED, 0L));
+        target.put("followUp", counts.getOrDefault(LeadStatus.FOLLOW_UP, 0L));
+        target.put("enrolled", counts.getOrDefault(LeadStatus.ENROLLED, 0L));
+        target.put("rejected", counts.getOrDefault(LeadStatus.REJECTED, 0L));
+        target.put("closed", counts.getOrDefault(LeadStatus.CLOSED, 0L));
+    }
+
+    // Reference built from the principal's id; only the id is read, so no query is issued
     private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new RuntimeException("No authenticated user found");
-        }
-        return userRepository.findByUsername(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found: " + authentication.getName()));
+        UserDetailsImpl principal = UserDetailsImpl.current()
+                .orElseThrow(() -> new RuntimeException("No authenticated user found"));
+        return userRepository.getReferenceById(principal.getId());
     }
 }
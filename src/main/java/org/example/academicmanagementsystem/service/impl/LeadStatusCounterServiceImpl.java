@@ -0,0 +1,137 @@
+package org.example.academicmanagementsystem.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.academicmanagementsystem.model.LeadStatus;
+import org.example.academicmanagementsystem.model.LeadStatusCounter;
+import org.example.academicmanagementsystem.model.User;
+import org.example.academicmanagementsystem.repository.LeadStatusCounterRepository;
+import org.example.academicmanagementsystem.service.LeadStatusCounterService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeadStatusCounterServiceImpl implements LeadStatusCounterService {
+
+    private final LeadStatusCounterRepository counterRepository;
+
+    @Override
+    @Transactional
+    public void adjust(LeadStatus status, Long teleSalesId, long delta) {
+        if (status == null || delta == 0) {
+            return;
+        }
+        counterRepository.adjust(status.name(), bucketOf(teleSalesId), delta);
+    }
+
+    @Override
+    @Transactional
+    public void leadCreated(LeadStatus status, User teleSales) {
+        adjust(status, idOf(teleSales), 1);
+    }
+
+    @Override
+    @Transactional
+    public void leadRemoved(LeadStatus status, User teleSales) {
+        adjust(status, idOf(teleSales), -1);
+    }
+
+    @Override
+    @Transactional
+    public void leadMoved(LeadStatus oldStatus, User oldTeleSales, LeadStatus newStatus, User newTeleSales) {
+        Long oldAgentId = idOf(oldTeleSales);
+        Long newAgentId = idOf(newTeleSales);
+        if (oldStatus == newStatus && Objects.equals(oldAgentId, newAgentId)) {
+            return;
+        }
+        adjust(oldStatus, oldAgentId, -1);
+        adjust(newStatus, newAgentId, 1);
+    }
+
+    @Override
+    public long countAll() {
+        return counterRepository.sumAll();
+    }
+
+    @Override
+    public long countByStatus(LeadStatus status) {
+        return counterRepository.sumByStatus(status);
+    }
+
+    @Override
+    public long countUnassigned(LeadStatus status) {
+        return counterRepository.sumByStatusAndTeleSalesId(status, LeadStatusCounter.UNASSIGNED);
+    }
+
+    @Override
+    public Map<LeadStatus, Long> countByAgent(Long teleSalesId) {
+        Map<LeadStatus, Long> counts = emptyBreakdown();
+        for (LeadStatusCounter counter : counterRepository.findByTeleSalesId(bucketOf(teleSalesId))) {
+            counts.put(counter.getStatus(), counter.getLeadCount());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<Long, Map<LeadStatus, Long>> countByAllAgents() {
+        Map<Long, Map<LeadStatus, Long>> result = new HashMap<>();
+        for (LeadStatusCounter counter : counterRepository.findByTeleSalesIdNot(LeadStatusCounter.UNASSIGNED)) {
+            result.computeIfAbsent(counter.getTeleSalesId(), id -> emptyBreakdown())
+                    .put(counter.getStatus(), counter.getLeadCount());
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${leads.counters.rebuild-cron:0 30 3 * * *}")
+    public int rebuild() {
+        // Locking the buckets first serializes the rebuild with adjust(): writers that already adjusted have
+        // committed before the lock is granted, so the snapshot below includes their leads; later writers wait
+        // and apply their delta on top of the recomputed count. Buckets are overwritten in place, never cleared.
+        Map<String, Long> stale = new HashMap<>();
+        for (Object[] row : counterRepository.lockAll()) {
+            stale.put(row[1] + ":" + ((Number) row[2]).longValue(), ((Number) row[0]).longValue());
+        }
+
+        List<Object[]> buckets = counterRepository.countLeadsByBucket();
+        for (Object[] bucket : buckets) {
+            String status = (String) bucket[0];
+            long teleSalesId = ((Number) bucket[1]).longValue();
+            counterRepository.setCount(status, teleSalesId, ((Number) bucket[2]).longValue());
+            stale.remove(status + ":" + teleSalesId);
+        }
+        if (!stale.isEmpty()) {
+            counterRepository.deleteAllByIdInBatch(stale.values());
+        }
+        log.info("Rebuilt lead status counters: {} buckets", buckets.size());
+        return buckets.size();
+    }
+
+    // ---- Helpers ----
+
+    private static Map<LeadStatus, Long> emptyBreakdown() {
+        Map<LeadStatus, Long> counts = new EnumMap<>(LeadStatus.class);
+        for (LeadStatus status : LeadStatus.values()) {
+            counts.put(status, 0L);
+        }
+        return counts;
+    }
+
+    private static Long idOf(User teleSales) {
+        return teleSales != null ? teleSales.getId() : null;
+    }
+
+    private static long bucketOf(Long teleSalesId) {
+        return teleSalesId != null ? teleSalesId : LeadStatusCounter.UNASSIGNED;
+    }
+}
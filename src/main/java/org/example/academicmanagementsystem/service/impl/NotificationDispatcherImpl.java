@@ -0,0 +1,231 @@
+package org.example.academicmanagementsystem.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.academicmanagementsystem.config.NotificationDispatchConfig;
+import org.example.academicmanagementsystem.model.Notification;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.example.academicmanagementsystem.repository.NotificationRepository;
+import org.example.academicmanagementsystem.repository.UserRepository;
+import org.example.academicmanagementsystem.service.NotificationDispatcher;
+import org.example.academicmanagementsystem.service.NotificationInboxService;
+import org.example.academicmanagementsystem.service.NotificationStreamService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDispatcherImpl implements NotificationDispatcher {
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final NotificationDispatchConfig dispatchConfig;
+    private final NotificationInboxService notificationInboxService;
+    private final NotificationStreamService notificationStreamService;
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private BlockingQueue<PendingNotification> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, dispatchConfig.getQueueCapacity()));
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Writes must never join (or be rolled back with) a caller's transaction
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        running = true;
+        worker = new Thread(this::runWorker, "notification-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        try {
+            worker.join(dispatchConfig.getShutdownTimeoutMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // The worker is still busy (or stuck) past the timeout: persist what it left behind here, in
+        // batches, so committed business events are not lost with the JVM
+        if (!queue.isEmpty()) {
+            log.warn("Notification dispatcher worker did not finish within {} ms, persisting {} queued notifications on shutdown",
+                    dispatchConfig.getShutdownTimeoutMs(), queue.size());
+            flush();
+        }
+    }
+
+    @Override
+    public void dispatch(PendingNotification notification) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Only notify about work that actually committed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(notification);
+                }
+            });
+        } else {
+            enqueue(notification);
+        }
+    }
+
+    @Override
+    public void flush() {
+        List<PendingNotification> batch = new ArrayList<>();
+        while (queue.drainTo(batch, batchSize()) > 0) {
+            persist(batch);
+            batch.clear();
+        }
+    }
+
+    @Override
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("queued", queued.get());
+        stats.put("flushed", flushed.get());
+        stats.put("dropped", dropped.get());
+        stats.put("failed", failed.get());
+        stats.put("pending", (long) queue.size());
+        return stats;
+    }
+
+    // ---- Helpers ----
+
+    private void enqueue(PendingNotification notification) {
+        if (!running) {
+            // Shutting down: nobody will drain the queue any more
+            persist(List.of(notification));
+            return;
+        }
+
+        boolean accepted;
+        try {
+            accepted = queue.offer(notification, dispatchConfig.getOfferTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+
+        if (accepted) {
+            queued.incrementAndGet();
+        } else if (dispatchConfig.getOverflowPolicy() == NotificationDispatchConfig.OverflowPolicy.CALLER_RUNS) {
+            persist(List.of(notification));
+        } else {
+            dropped.incrementAndGet();
+            log.warn("Notification queue full, dropped {} notification: {}", notification.type(), notification.message());
+        }
+    }
+
+    private void runWorker() {
+        List<PendingNotification> batch = new ArrayList<>(batchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingNotification first = queue.poll(dispatchConfig.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize() - 1);
+                persist(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Notification dispatcher worker error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // One JDBC batch insert per transaction; if it fails, retry row by row so one bad row cannot sink the rest
+    private void persist(List<PendingNotification> batch) {
+        try {
+            List<Notification> saved = transactionTemplate.execute(status -> notificationRepository.insertBatch(toEntities(batch)));
+            flushed.addAndGet(batch.size());
+            invalidateInboxes(batch);
+            if (saved != null) {
+                // Committed at this point, so stream subscribers never see a notification that could roll back
+                notificationStreamService.publish(saved);
+            }
+        } catch (RuntimeException batchError) {
+            if (batch.size() == 1) {
+                failed.incrementAndGet();
+                log.error("Failed to persist notification: " + batch.get(0).message(), batchError);
+                return;
+            }
+            for (PendingNotification notification : batch) {
+                persist(List.of(notification));
+            }
+        }
+    }
+
+    private void invalidateInboxes(List<PendingNotification> batch) {
+        Set<Long> userIds = new HashSet<>();
+        Set<UserRole> roles = EnumSet.noneOf(UserRole.class);
+        for (PendingNotification pending : batch) {
+            if (pending.userId() != null) {
+                userIds.add(pending.userId());
+            }
+            if (pending.targetRole() != null) {
+                roles.add(pending.targetRole());
+            }
+        }
+        notificationInboxService.onNotificationsChanged(userIds, roles);
+    }
+
+    private List<Notification> toEntities(List<PendingNotification> batch) {
+        List<Notification> entities = new ArrayList<>(batch.size());
+        for (PendingNotification pending : batch) {
+            Notification notification = new Notification();
+            if (pending.userId() != null) {
+                // Only the id is read, so the proxy never loads the user
+                notification.setUser(userRepository.getReferenceById(pending.userId()));
+            }
+            notification.setTargetRole(pending.targetRole());
+            notification.setType(pending.type());
+            notification.setMessage(pending.message());
+            notification.setReferenceId(pending.referenceId());
+            notification.setIsRead(false);
+            notification.setCreatedBy("SYSTEM");
+            entities.add(notification);
+        }
+        return entities;
+    }
+
+    private int batchSize() {
+        return Math.max(1, dispatchConfig.getBatchSize());
+    }
+}
@@ -0,0 +1,200 @@
+package org.example.academicmanagementsystem.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.academicmanagementsystem.model.Notification;
+import org.example.academicmanagementsystem.model.NotificationInboxCursor;
+import org.example.academicmanagementsystem.model.NotificationReceipt;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.example.academicmanagementsystem.repository.NotificationInboxCursorRepository;
+import org.example.academicmanagementsystem.repository.NotificationReceiptRepository;
+import org.example.academicmanagementsystem.repository.NotificationRepository;
+import org.example.academicmanagementsystem.service.NotificationInboxService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class NotificationInboxServiceImpl implements NotificationInboxService {
+
+    private record InboxKey(Long userId, UserRole role) {
+    }
+
+    // A cached count plus the generation it was loaded under; stale once any generation of its key moves on
+    private record CachedCount(long count, long generation) {
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationReceiptRepository receiptRepository;
+    private final NotificationInboxCursorRepository cursorRepository;
+    private final Cache<InboxKey, CachedCount> unreadCounts;
+    // Bumped after every committed change; a key's generation is the sum of its user, role and global counters
+    private final Map<Long, AtomicLong> userGenerations = new ConcurrentHashMap<>();
+    private final Map<UserRole, AtomicLong> roleGenerations = new ConcurrentHashMap<>();
+    private final AtomicLong globalGeneration = new AtomicLong();
+
+    public NotificationInboxServiceImpl(NotificationRepository notificationRepository,
+                                        NotificationReceiptRepository receiptRepository,
+                                        NotificationInboxCursorRepository cursorRepository,
+                                        @Value("${notifications.unread-cache.max-size:10000}") long maxSize,
+                                        @Value("${notifications.unread-cache.ttl-minutes:10}") long ttlMinutes) {
+        this.notificationRepository = notificationRepository;
+        this.receiptRepository = receiptRepository;
+        this.cursorRepository = cursorRepository;
+        // The TTL only bounds how long superseded entries linger; reads never return one
+        this.unreadCounts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getUnreadCount(Long userId, UserRole role) {
+        InboxKey key = new InboxKey(userId, role);
+        long generation = generationOf(key);
+        CachedCount cached = unreadCounts.getIfPresent(key);
+        if (cached != null && cached.generation() == generation) {
+            return cached.count();
+        }
+        // Stamped with the generation read before counting: a change committing meanwhile bumps it past this stamp,
+        // so a load that raced with the change is never served
+        long count = countUnread(userId, role);
+        unreadCounts.put(key, new CachedCount(count, generation));
+        return count;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<Long> findReadIds(Long userId, List<Notification> notifications) {
+        Set<Long> readIds = new HashSet<>();
+        long cursor = cursorOf(userId);
+        List<Long> roleIdsAboveCursor = new ArrayList<>();
+        for (Notification notification : notifications) {
+            if (notification.getTargetRole() == null) {
+                if (Boolean.TRUE.equals(notification.getIsRead())) {
+                    readIds.add(notification.getId());
+                }
+            } else if (notification.getId() <= cursor) {
+                readIds.add(notification.getId());
+            } else {
+                roleIdsAboveCursor.add(notification.getId());
+            }
+        }
+        if (!roleIdsAboveCursor.isEmpty()) {
+            readIds.addAll(receiptRepository.findReadNotificationIds(userId, roleIdsAboveCursor));
+        }
+        return readIds;
+    }
+
+    @Override
+    @Transactional
+    public void markAsRead(Long userId, UserRole role, Notification notification) {
+        if (notification.getTargetRole() == null) {
+            notification.setIsRead(true);
+            notificationRepository.save(notification);
+        } else if (notification.getId() > cursorOf(userId)
+                && !receiptRepository.existsByUserIdAndNotificationId(userId, notification.getId())) {
+            receiptRepository.save(new NotificationReceipt(null, userId, notification.getId(), LocalDateTime.now()));
+        }
+        bumpAfterCommit(List.of(userId), List.of());
+    }
+
+    @Override
+    @Transactional
+    public void markAllAsRead(Long userId, UserRole role) {
+        notificationRepository.markAllReadForUser(userId);
+
+        NotificationInboxCursor cursor = cursorRepository.findByUserId(userId)
+                .orElseGet(() -> new NotificationInboxCursor(null, userId, 0L));
+        long latest = notificationRepository.findLatestIdForRole(role);
+        if (latest > cursor.getRoleReadUpToId()) {
+            cursor.setRoleReadUpToId(latest);
+            cursorRepository.save(cursor);
+            receiptRepository.deleteCoveredByCursor(userId, latest);
+        }
+        bumpAfterCommit(List.of(userId), List.of());
+    }
+
+    @Override
+    public void onNotificationsChanged(Collection<Long> userIds, Collection<UserRole> roles) {
+        if (userIds.isEmpty() && roles.isEmpty()) {
+            return;
+        }
+        bumpAfterCommit(userIds, roles);
+    }
+
+    @Override
+    public void invalidateAll() {
+        afterCommit(() -> {
+            globalGeneration.incrementAndGet();
+            unreadCounts.invalidateAll();
+        });
+    }
+
+    // ---- Helpers ----
+
+    private long countUnread(Long userId, UserRole role) {
+        long cursor = cursorOf(userId);
+        long direct = notificationRepository.countUnreadForUser(userId);
+        long roleUnread = role == null ? 0
+                : notificationRepository.countForRoleAfter(role, cursor) - receiptRepository.countRoleReceiptsAfter(userId, role, cursor);
+        return direct + Math.max(0, roleUnread);
+    }
+
+    private long cursorOf(Long userId) {
+        return cursorRepository.findByUserId(userId)
+                .map(NotificationInboxCursor::getRoleReadUpToId)
+                .orElse(0L);
+    }
+
+    private long generationOf(InboxKey key) {
+        AtomicLong user = userGenerations.get(key.userId());
+        AtomicLong role = key.role() != null ? roleGenerations.get(key.role()) : null;
+        return globalGeneration.get() + (user != null ? user.get() : 0) + (role != null ? role.get() : 0);
+    }
+
+    // Bumps once the change is visible to other transactions. Bumping supersedes every cached count of those users
+    // and roles without scanning the cache; the users' own entries are dropped right away as well.
+    private void bumpAfterCommit(Collection<Long> userIds, Collection<UserRole> roles) {
+        List<Long> users = List.copyOf(userIds);
+        List<UserRole> bumpedRoles = List.copyOf(roles);
+        afterCommit(() -> {
+            for (Long userId : users) {
+                userGenerations.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+            }
+            for (UserRole role : bumpedRoles) {
+                roleGenerations.computeIfAbsent(role, r -> new AtomicLong()).incrementAndGet();
+            }
+            List<InboxKey> keys = new ArrayList<>();
+            for (Long userId : users) {
+                keys.add(new InboxKey(userId, null));
+                for (UserRole role : UserRole.values()) {
+                    keys.add(new InboxKey(userId, role));
+                }
+            }
+            unreadCounts.invalidateAll(keys);
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
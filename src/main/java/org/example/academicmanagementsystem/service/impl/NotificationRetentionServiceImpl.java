@@ -0,0 +1,97 @@
+package org.example.academicmanagementsystem.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.academicmanagementsystem.service.NotificationInboxService;
+import org.example.academicmanagementsystem.service.NotificationRetentionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Slf4j
+public class NotificationRetentionServiceImpl implements NotificationRetentionService {
+
+    private static final String SELECT_CHUNK_IDS =
+            "SELECT id FROM notifications WHERE created_at < ? ORDER BY id LIMIT ?";
+
+    private static final String COPY_CHUNK =
+            "INSERT INTO notifications_archive " +
+            "(id, user_id, target_role, type, message, is_read, reference_id, created_at, created_by, archived_at) " +
+            "SELECT id, user_id, target_role, type, message, is_read, reference_id, created_at, created_by, ? " +
+            "FROM notifications WHERE id BETWEEN ? AND ? AND created_at < ?";
+
+    private static final String DELETE_RECEIPTS =
+            "DELETE FROM notification_receipts WHERE notification_id BETWEEN ? AND ? " +
+            "AND notification_id NOT IN (SELECT id FROM notifications WHERE id BETWEEN ? AND ? AND created_at >= ?)";
+
+    private static final String DELETE_CHUNK =
+            "DELETE FROM notifications WHERE id BETWEEN ? AND ? AND created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationInboxService notificationInboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int batchSize;
+
+    public NotificationRetentionServiceImpl(JdbcTemplate jdbcTemplate,
+                                            NotificationInboxService notificationInboxService,
+                                            PlatformTransactionManager transactionManager,
+                                            @Value("${notifications.retention.days:90}") int retentionDays,
+                                            @Value("${notifications.retention.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notificationInboxService = notificationInboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Scheduled(cron = "${notifications.retention.cron:0 0 4 * * *}")
+    public void archiveExpired() {
+        int archived = archiveOlderThan(retentionDays);
+        if (archived > 0) {
+            log.info("Archived {} notifications older than {} days", archived, retentionDays);
+        }
+    }
+
+    @Override
+    public int archiveOlderThan(int days) {
+        if (days < 1) {
+            throw new RuntimeException("Retention period must be at least one day");
+        }
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(days));
+        int total = 0;
+        while (true) {
+            // One short transaction per id range, so the hot table is never locked for the whole run
+            Integer moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            total += moved;
+        }
+        if (total > 0) {
+            // Archived rows may have been counted as unread
+            notificationInboxService.invalidateAll();
+        }
+        return total;
+    }
+
+    private int archiveChunk(Timestamp cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_CHUNK_IDS, Long.class, cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        long fromId = ids.get(0);
+        long toId = ids.get(ids.size() - 1);
+        jdbcTemplate.update(COPY_CHUNK, Timestamp.valueOf(LocalDateTime.now()), fromId, toId, cutoff);
+        jdbcTemplate.update(DELETE_RECEIPTS, fromId, toId, fromId, toId, cutoff);
+        return jdbcTemplate.update(DELETE_CHUNK, fromId, toId, cutoff);
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.academicmanagementsystem.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.example.academicmanagementsystem.dto.NotificationFeedResponse;
 import org.example.academicmanagementsystem.dto.NotificationResponse;
 import org.example.academicmanagementsystem.model.Notification;
 import org.example.academicmanagementsystem.model.NotificationType;
@@ -9,6 +10,9 @@ import org.example.academicmanagementsystem.model.UserRole;
 import org.example.academicmanagementsystem.repository.NotificationRepository;
 import org.example.academicmanagementsystem.repository.UserRepository;
 import org.example.academicmanagementsystem.security.UserDetailsImpl;
+import org.example.academicmanagementsystem.service.NotificationDispatcher;
+import org.example.academicmanagementsystem.service.NotificationInboxService;
+import org.example.academicmanagementsystem.service.NotificationRetentionService;
 import org.example.academicmanagementsystem.service.NotificationService;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,6 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,17 +29,18 @@ public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationInboxService notificationInboxService;
+    private final NotificationRetentionService notificationRetentionService;
 
-    private User getCurrentUser() {
+    private UserDetailsImpl getCurrentPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new RuntimeException("User is not authenticated");
         }
         Object principal = authentication.getPrincipal();
         if (principal instanceof UserDetailsImpl) {
-            Long userId = ((UserDetailsImpl) principal).getId();
-            return userRepository.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            return (UserDetailsImpl) principal;
         }
         throw new RuntimeException("Principal is not of type UserDetailsImpl");
     }
@@ -42,31 +48,56 @@ public class NotificationServiceImpl implements NotificationService {
     @Override
     @Transactional(readOnly = true)
     public org.springframework.data.domain.Page<NotificationResponse> getMyNotifications(org.springframework.data.domain.Pageable pageable) {
-        User currentUser = getCurrentUser();
+        UserDetailsImpl principal = getCurrentPrincipal();
+        User currentUser = userRepository.getReferenceById(principal.getId());
         // Return notifications targeted to this user or to their specific role
-        return notificationRepository.findByUserOrTargetRole(currentUser, currentUser.getRole(), pageable)
-                .map(this::mapToResponse);
+        org.springframework.data.domain.Page<Notification> page =
+                notificationRepository.findByUserOrTargetRole(currentUser, principal.getRole(), pageable);
+        // Read state of role notifications is per user, resolved for the whole page at once
+        Set<Long> readIds = notificationInboxService.findReadIds(principal.getId(), page.getContent());
+        return page.map(n -> mapToResponse(n, readIds.contains(n.getId())));
     }
 
     @Override
     @Transactional(readOnly = true)
+    public NotificationFeedResponse getMyNotificationFeed(java.time.LocalDateTime beforeCreatedAt, Long beforeId, int size) {
+        UserDetailsImpl principal = getCurrentPrincipal();
+        int pageSize = Math.max(1, Math.min(size, 100));
+        // Fetch one extra row to know whether another page exists, without a count query
+        org.springframework.data.domain.Pageable limit = org.springframework.data.domain.PageRequest.of(0, pageSize + 1);
+        List<Notification> rows = (beforeCreatedAt == null || beforeId == null)
+                ? notificationRepository.findFeedFirstPage(principal.getId(), principal.getRole(), limit)
+                : notificationRepository.findFeedBefore(principal.getId(), principal.getRole(), beforeCreatedAt, beforeId, limit);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Notification> items = hasMore ? rows.subList(0, pageSize) : rows;
+        Set<Long> readIds = notificationInboxService.findReadIds(principal.getId(), items);
+        Notification last = hasMore ? items.get(items.size() - 1) : null;
+        return NotificationFeedResponse.builder()
+                .items(items.stream().map(n -> mapToResponse(n, readIds.contains(n.getId()))).collect(Collectors.toList()))
+                .hasMore(hasMore)
+                .nextCreatedAt(last != null ? last.getCreatedAt() : null)
+                .nextId(last != null ? last.getId() : null)
+                .build();
+    }
+
+    @Override
     public long getUnreadCount() {
-        User currentUser = getCurrentUser();
-        return notificationRepository.countByUserOrTargetRoleAndIsReadFalse(currentUser, currentUser.getRole());
+        // Served from the inbox cache; the principal already carries id and role
+        UserDetailsImpl principal = getCurrentPrincipal();
+        return notificationInboxService.getUnreadCount(principal.getId(), principal.getRole());
     }
 
     @Override
     @Transactional
     public void markAsRead(Long id) {
-        User currentUser = getCurrentUser();
+        UserDetailsImpl principal = getCurrentPrincipal();
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Notification not found with id: " + id));
 
         // Check if the notification belongs to this user or their role
-        if ((notification.getUser() != null && notification.getUser().getId().equals(currentUser.getId())) ||
-                (notification.getTargetRole() != null && notification.getTargetRole() == currentUser.getRole())) {
-            notification.setIsRead(true);
-            notificationRepository.save(notification);
+        if (isVisibleTo(notification, principal)) {
+            notificationInboxService.markAsRead(principal.getId(), principal.getRole(), notification);
         } else {
             throw new RuntimeException("Unauthorized to mark this notification as read");
         }
@@ -75,67 +106,62 @@ public class NotificationServiceImpl implements NotificationService {
     @Override
     @Transactional
     public void markAllAsRead() {
-        User currentUser = getCurrentUser();
-        List<Notification> notifications = notificationRepository.findByUserOrTargetRoleOrderByCreatedAtDesc(currentUser, currentUser.getRole());
-        for (Notification notification : notifications) {
-            if (!notification.getIsRead()) {
-                notification.setIsRead(true);
-            }
-        }
-        notificationRepository.saveAll(notifications);
+        UserDetailsImpl principal = getCurrentPrincipal();
+        notificationInboxService.markAllAsRead(principal.getId(), principal.getRole());
     }
 
     @Override
     @Transactional
     public void deleteNotification(Long id) {
-        User currentUser = getCurrentUser();
+        UserDetailsImpl principal = getCurrentPrincipal();
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Notification not found with id: " + id));
 
-        if ((notification.getUser() != null && notification.getUser().getId().equals(currentUser.getId())) ||
-                (notification.getTargetRole() != null && notification.getTargetRole() == currentUser.getRole())) {
+        if (isVisibleTo(notification, principal)) {
             notificationRepository.delete(notification);
+            notificationInboxService.onNotificationsChanged(
+                    notification.getUser() != null ? List.of(notification.getUser().getId()) : List.of(),
+                    notification.getTargetRole() != null ? List.of(notification.getTargetRole()) : List.of());
         } else {
             throw new RuntimeException("Unauthorized to delete this notification");
         }
     }
 
     @Override
-    @Transactional
     public void createForUser(Long userId, NotificationType type, String message, Long referenceId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Target user not found with id: " + userId));
-
-        Notification notification = new Notification();
-        notification.setUser(user);
-        notification.setType(type);
-        notification.setMessage(message);
-        notification.setReferenceId(referenceId);
-        notification.setIsRead(false);
-        // CreatedBy audit will be populated or set manually
-        notification.setCreatedBy("SYSTEM");
-        notificationRepository.save(notification);
+        if (userId == null) {
+            throw new IllegalArgumentException("Target user id is null");
+        }
+        // Persisted asynchronously, after the caller's transaction commits
+        notificationDispatcher.dispatch(new NotificationDispatcher.PendingNotification(userId, null, type, message, referenceId));
     }
 
     @Override
-    @Transactional
     public void createForRole(UserRole role, NotificationType type, String message, Long referenceId) {
-        Notification notification = new Notification();
-        notification.setTargetRole(role);
-        notification.setType(type);
-        notification.setMessage(message);
-        notification.setReferenceId(referenceId);
-        notification.setIsRead(false);
-        notification.setCreatedBy("SYSTEM");
-        notificationRepository.save(notification);
+        notificationDispatcher.dispatch(new NotificationDispatcher.PendingNotification(null, role, type, message, referenceId));
+    }
+
+    @Override
+    public java.util.Map<String, Long> getDispatchStats() {
+        return notificationDispatcher.getStats();
+    }
+
+    @Override
+    public int archiveNotifications(int olderThanDays) {
+        return notificationRetentionService.archiveOlderThan(olderThanDays);
+    }
+
+    private boolean isVisibleTo(Notification notification, UserDetailsImpl principal) {
+        return (notification.getUser() != null && notification.getUser().getId().equals(principal.getId())) ||
+                (notification.getTargetRole() != null && notification.getTargetRole() == principal.getRole());
     }
 
-    private NotificationResponse mapToResponse(Notification n) {
+    private NotificationResponse mapToResponse(Notification n, boolean read) {
         return NotificationResponse.builder()
                 .id(n.getId())
                 .type(n.getType())
                 .message(n.getMessage())
-                .isRead(n.getIsRead())
+                .isRead(read)
                 .referenceId(n.getReferenceId())
                 .createdAt(n.getCreatedAt())
                 .createdBy(n.getCreatedBy())
@@ -0,0 +1,241 @@
+package org.example.academicmanagementsystem.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.academicmanagementsystem.dto.NotificationResponse;
+import org.example.academicmanagementsystem.model.Notification;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.example.academicmanagementsystem.repository.NotificationRepository;
+import org.example.academicmanagementsystem.service.NotificationStreamService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@Slf4j
+public class NotificationStreamServiceImpl implements NotificationStreamService {
+
+    // One connected client. Events wait in its own bounded queue and are written by at most one sender
+    // thread at a time, so a client that stops reading only ever holds up itself.
+    private static final class Subscriber {
+        private final Long userId;
+        private final UserRole role;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(Long userId, UserRole role, SseEmitter emitter, int queueCapacity) {
+            this.userId = userId;
+            this.role = role;
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final int maxStreams;
+    private final long streamTimeoutMs;
+    private final int replayLimit;
+    private final int queueCapacity;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger activeStreams = new AtomicInteger();
+    private final AtomicInteger senderThreads = new AtomicInteger();
+    // Threads are created on demand and there is at most one drain per subscriber, so a blocked write parks
+    // only that subscriber's drain
+    private final ExecutorService sender = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "notification-stream-" + senderThreads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-stream-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NotificationStreamServiceImpl(NotificationRepository notificationRepository,
+                                         @Value("${notifications.stream.max-streams:2000}") int maxStreams,
+                                         @Value("${notifications.stream.timeout-ms:1800000}") long streamTimeoutMs,
+                                         @Value("${notifications.stream.replay-limit:100}") int replayLimit,
+                                         @Value("${notifications.stream.queue-capacity:256}") int queueCapacity,
+                                         @Value("${notifications.stream.heartbeat-ms:25000}") long heartbeatMs) {
+        this.notificationRepository = notificationRepository;
+        this.maxStreams = maxStreams;
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.replayLimit = replayLimit;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        heartbeat.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SseEmitter> subscribe(Long userId, UserRole role, Long lastEventId) {
+        if (activeStreams.incrementAndGet() > maxStreams) {
+            activeStreams.decrementAndGet();
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = createEmitter(streamTimeoutMs);
+        Subscriber subscriber = new Subscriber(userId, role, emitter, queueCapacity);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+
+        // Register before replaying so nothing published in between is missed (the client dedupes by id)
+        subscribers.add(subscriber);
+        if (lastEventId != null) {
+            List<Notification> missed = notificationRepository.findVisibleAfter(userId, role, lastEventId, PageRequest.of(0, replayLimit));
+            for (Notification notification : missed) {
+                enqueue(subscriber, toEvent(toResponse(notification), notification.getId()));
+            }
+        }
+        return Optional.of(emitter);
+    }
+
+    // Only queues the events, so the dispatcher thread never waits on a client socket
+    @Override
+    public void publish(List<Notification> notifications) {
+        if (subscribers.isEmpty() || notifications.isEmpty()) {
+            return;
+        }
+        for (Notification notification : notifications) {
+            Long recipientId = notification.getUser() != null ? notification.getUser().getId() : null;
+            NotificationResponse response = null;
+            for (Subscriber subscriber : subscribers) {
+                boolean recipient = (recipientId != null && recipientId.equals(subscriber.userId)) ||
+                        (notification.getTargetRole() != null && notification.getTargetRole() == subscriber.role);
+                if (recipient) {
+                    response = response != null ? response : toResponse(notification);
+                    enqueue(subscriber, toEvent(response, notification.getId()));
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getActiveStreams() {
+        return activeStreams.get();
+    }
+
+    // Keeps idle connections open through proxies and detects clients that went away
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event().comment("keep-alive"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            close(subscriber);
+        }
+        subscribers.clear();
+        sender.shutdown();
+    }
+
+    protected SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    // ---- Helpers ----
+
+    // A client whose queue is full has stopped reading: drop it and let it reconnect with Last-Event-ID
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.pending.offer(event)) {
+            log.debug("Dropping notification stream of user {}: {} events pending", subscriber.userId, queueCapacity);
+            close(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        unregister(subscriber);
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining.set(false);
+        }
+    }
+
+    // The only code that writes to or completes a subscriber's emitter
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.closed && (event = subscriber.pending.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+            if (subscriber.closed) {
+                subscriber.pending.clear();
+                subscriber.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscriber.closed = true;
+            unregister(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Covers an event queued after the loop found the queue empty but before the flag was cleared
+        if (!subscriber.closed && !subscriber.pending.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscriber.closed = true;
+        if (subscribers.remove(subscriber)) {
+            activeStreams.decrementAndGet();
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(NotificationResponse response, Long id) {
+        return SseEmitter.event()
+                .id(String.valueOf(id))
+                .name("notification")
+                .data(response);
+    }
+
+    private NotificationResponse toResponse(Notification n) {
+        return NotificationResponse.builder()
+                .id(n.getId())
+                .type(n.getType())
+                .message(n.getMessage())
+                .isRead(false)
+                .referenceId(n.getReferenceId())
+                .createdAt(n.getCreatedAt())
+                .createdBy(n.getCreatedBy())
+                .build();
+    }
+}
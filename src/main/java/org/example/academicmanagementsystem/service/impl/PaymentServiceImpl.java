@@ -1,7 +1,9 @@
 package org.example.academicmanagementsystem.service.impl;
 
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.academicmanagementsystem.dto.PaymentAggregate;
 import org.example.academicmanagementsystem.dto.PaymentRequest;
 import org.example.academicmanagementsystem.dto.PaymentResponse;
 import org.example.academicmanagementsystem.mapper.PaymentMapper;
@@ -13,28 +15,57 @@ import org.example.academicmanagementsystem.service.PaymentService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.Year;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
 
+    private record StatisticsKey(LocalDateTime start, LocalDateTime end, Long diplomaId) {
+    }
+
     private final PaymentRepository paymentRepository;
     private final StudentRepository studentRepository;
     private final UserRepository userRepository;
     private final PaymentMapper paymentMapper;
     private final org.example.academicmanagementsystem.service.NotificationService notificationService;
+    private final org.example.academicmanagementsystem.service.FinanceSnapshotService financeSnapshotService;
+    private final org.example.academicmanagementsystem.service.ReceiptNumberService receiptNumberService;
+    private final Cache<StatisticsKey, Map<String, Object>> statisticsCache;
+
+    public PaymentServiceImpl(PaymentRepository paymentRepository,
+                              StudentRepository studentRepository,
+                              UserRepository userRepository,
+                              PaymentMapper paymentMapper,
+                              org.example.academicmanagementsystem.service.NotificationService notificationService,
+                              org.example.academicmanagementsystem.service.FinanceSnapshotService financeSnapshotService,
+                              org.example.academicmanagementsystem.service.ReceiptNumberService receiptNumberService,
+                              @Value("${payments.statistics-cache.ttl-seconds:30}") long statisticsTtlSeconds) {
+        this.paymentRepository = paymentRepository;
+        this.studentRepository = studentRepository;
+        this.userRepository = userRepository;
+        this.paymentMapper = paymentMapper;
+        this.notificationService = notificationService;
+        this.financeSnapshotService = financeSnapshotService;
+        this.receiptNumberService = receiptNumberService;
+        // Short TTL bounds staleness from payments written outside recordPayment
+        this.statisticsCache = Caffeine.newBuilder()
+                .maximumSize(256)
+                .expireAfterWrite(Duration.ofSeconds(statisticsTtlSeconds))
+                .build();
+    }
 
     @Override
     @Transactional
@@ -62,36 +93,18 @@ public class PaymentServiceImpl implements PaymentService {
         payment.setMethod(paymentRequest.getMethod());
         payment.setNotes(paymentRequest.getNotes());
         payment.setInstallmentNumber(paymentRequest.getInstallmentNumber());
-        payment.setReceiptNumber(generateReceiptNumber());
+        payment.setReceiptNumber(receiptNumberService.nextReceiptNumber());
 
         // Set processedBy to current authenticated user
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated()) {
-            String username = authentication.getName();
-            User currentUser = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("Current user not found: " + username));
-            payment.setProcessedBy(currentUser);
-        }
-
-        // Update student's payment information
-        BigDecimal newPaidAmount = student.getPaidAmount().add(paymentRequest.getAmount());
-        BigDecimal newRemainingAmount = student.getTotalFees().subtract(newPaidAmount);
-
-        student.setPaidAmount(newPaidAmount);
-        student.setRemainingAmount(newRemainingAmount);
-
-        // Update payment status based on amounts
-        if (newPaidAmount.compareTo(BigDecimal.ZERO) == 0) {
-            student.setPaymentStatus(PaymentStatus.PENDING);
-        } else if (newPaidAmount.compareTo(student.getTotalFees()) >= 0) {
-            student.setPaymentStatus(PaymentStatus.PAID);
-        } else {
-            student.setPaymentStatus(PaymentStatus.PARTIAL);
-        }
+        org.example.academicmanagementsystem.security.UserDetailsImpl.current()
+                .ifPresent(principal -> payment.setProcessedBy(userRepository.getReferenceById(principal.getId())));
 
-        // Save payment and student
+        // Save payment, then apply it to the student's balance in a single UPDATE
+        // so concurrent payments for the same student cannot overwrite each other
         Payment savedPayment = paymentRepository.save(payment);
-        studentRepository.save(student);
+        studentRepository.applyPayment(student.getId(), paymentRequest.getAmount());
+        financeSnapshotService.markChanged(savedPayment.getPaymentDate().toLocalDate());
+        invalidateStatisticsAfterCommit();
 
         notificationService.createForRole(org.example.academicmanagementsystem.model.UserRole.ADMIN, org.example.academicmanagementsystem.model.NotificationType.PAYMENT_RECEIVED, "Payment of " + savedPayment.getAmount() + " received from student " + student.getName(), savedPayment.getId());
         notificationService.createForRole(org.example.academicmanagementsystem.model.UserRole.ACCOUNTANT, org.example.academicmanagementsystem.model.NotificationType.PAYMENT_RECEIVED, "Payment of " + savedPayment.getAmount() + " received from student " + student.getName(), savedPayment.getId());
@@ -134,37 +147,67 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     public Map<String, Object> getPaymentStatistics() {
-        Map<String, Object> statistics = new HashMap<>();
-
-        List<Payment> allPayments = paymentRepository.findAll();
-
-        BigDecimal totalCollected = allPayments.stream()
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        long totalPayments = allPayments.size();
-
-        long cashPayments = allPayments.stream()
-                .filter(p -> p.getMethod() == PaymentMethod.CASH)
-                .count();
+        return getPaymentStatistics(null, null, null);
+    }
 
-        long bankTransferPayments = allPayments.stream()
-                .filter(p -> p.getMethod() == PaymentMethod.BANK_TRANSFER)
-                .count();
+    @Override
+    public Map<String, Object> getPaymentStatistics(LocalDateTime start, LocalDateTime end, Long diplomaId) {
+        return statisticsCache.get(new StatisticsKey(start, end, diplomaId),
+                key -> computeStatistics(key.start(), key.end(), key.diplomaId()));
+    }
 
-        long cardPayments = allPayments.stream()
-                .filter(p -> p.getMethod() == PaymentMethod.CARD)
-                .count();
+    // One GROUP BY (method, type) query; the result size depends only on the number of enum values
+    private Map<String, Object> computeStatistics(LocalDateTime start, LocalDateTime end, Long diplomaId) {
+        List<PaymentAggregate> aggregates = paymentRepository.aggregateByMethodAndType(start, end, diplomaId);
+
+        BigDecimal totalCollected = BigDecimal.ZERO;
+        long totalPayments = 0;
+        Map<String, Map<String, Object>> byMethod = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> byType = new LinkedHashMap<>();
+        for (PaymentAggregate aggregate : aggregates) {
+            totalCollected = totalCollected.add(aggregate.getAmount());
+            totalPayments += aggregate.getCount();
+            accumulate(byMethod, aggregate.getMethod().name(), aggregate);
+            accumulate(byType, aggregate.getType().name(), aggregate);
+        }
 
+        Map<String, Object> statistics = new HashMap<>();
         statistics.put("totalCollected", totalCollected);
         statistics.put("totalPayments", totalPayments);
-        statistics.put("cashPayments", cashPayments);
-        statistics.put("bankTransferPayments", bankTransferPayments);
-        statistics.put("cardPayments", cardPayments);
+        statistics.put("cashPayments", countOf(byMethod, PaymentMethod.CASH));
+        statistics.put("bankTransferPayments", countOf(byMethod, PaymentMethod.BANK_TRANSFER));
+        statistics.put("cardPayments", countOf(byMethod, PaymentMethod.CARD));
+        statistics.put("byMethod", byMethod);
+        statistics.put("byType", byType);
 
         return statistics;
     }
 
+    private void accumulate(Map<String, Map<String, Object>> breakdown, String key, PaymentAggregate aggregate) {
+        Map<String, Object> bucket = breakdown.computeIfAbsent(key, k -> new HashMap<>(Map.of("count", 0L, "amount", BigDecimal.ZERO)));
+        bucket.put("count", (Long) bucket.get("count") + aggregate.getCount());
+        bucket.put("amount", ((BigDecimal) bucket.get("amount")).add(aggregate.getAmount()));
+    }
+
+    private long countOf(Map<String, Map<String, Object>> byMethod, PaymentMethod method) {
+        Map<String, Object> bucket = byMethod.get(method.name());
+        return bucket != null ? (Long) bucket.get("count") : 0L;
+    }
+
+    // Drop cached statistics once the new payment is committed and visible to the aggregate query
+    private void invalidateStatisticsAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    statisticsCache.invalidateAll();
+                }
+            });
+        } else {
+            statisticsCache.invalidateAll();
+        }
+    }
+
     @Override
     public List<PaymentResponse> getPaymentsBetweenDates(LocalDateTime start, LocalDateTime end) {
         if (Objects.isNull(start) || Objects.isNull(end)) {
@@ -174,24 +217,4 @@ public class PaymentServiceImpl implements PaymentService {
         List<Payment> payments = paymentRepository.findPaymentsBetweenDates(start, end);
         return paymentMapper.toPaymentResponseList(payments);
     }
-
-    /**
-     * Generates a unique receipt number in format: RCP-YYYY-NNN
-     * Example: RCP-2026-001
-     */
-    private String generateReceiptNumber() {
-        int currentYear = Year.now().getValue();
-        String prefix = "RCP-" + currentYear + "-";
-
-        // Get the count of payments this year to generate sequential number
-        LocalDateTime yearStart = LocalDateTime.of(currentYear, 1, 1, 0, 0);
-        LocalDateTime yearEnd = LocalDateTime.of(currentYear, 12, 31, 23, 59);
-
-        long paymentsThisYear = paymentRepository.findPaymentsBetweenDates(yearStart, yearEnd).size();
-
-        // Generate sequential number with padding (001, 002, etc.)
-        String sequentialNumber = String.format("%03d", paymentsThisYear + 1);
-
-        return prefix + sequentialNumber;
-    }
 }
@@ -0,0 +1,265 @@
+package org.example.academicmanagementsystem.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.academicmanagementsystem.dto.PayrollRunResponse;
+import org.example.academicmanagementsystem.model.PayrollRecord;
+import org.example.academicmanagementsystem.model.PayrollRunStatus;
+import org.example.academicmanagementsystem.repository.AttendanceRepository;
+import org.example.academicmanagementsystem.repository.PayrollRecordRepository;
+import org.example.academicmanagementsystem.repository.SalaryRepository;
+import org.example.academicmanagementsystem.repository.UserRepository;
+import org.example.academicmanagementsystem.service.FinanceSnapshotService;
+import org.example.academicmanagementsystem.service.PayrollService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+@Slf4j
+public class PayrollServiceImpl implements PayrollService {
+
+    private record ChunkResult(Long lastEmployeeId, int processed) {
+    }
+
+    // A salary that already exists for (employee, month) is left untouched
+    private static final String INSERT_SALARY_SQL =
+            "INSERT INTO salaries (employee_id, month, base_salary, bonuses, deductions, overtime, net_salary, paid_amount, " +
+            "status, created_at, updated_at, created_by, updated_by, deleted) " +
+            "VALUES (?, ?, ?, 0, 0, ?, ?, 0, 'PENDING', ?, ?, ?, ?, false) " +
+            "ON DUPLICATE KEY UPDATE id = id";
+
+    private final UserRepository userRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final PayrollRecordRepository payrollRecordRepository;
+    private final SalaryRepository salaryRepository;
+    private final FinanceSnapshotService financeSnapshotService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final BigDecimal standardMonthlyHours;
+    private final BigDecimal overtimeMultiplier;
+
+    // Months being generated by this instance; a second request for the same month joins the running one
+    private final Set<String> runningMonths = ConcurrentHashMap.newKeySet();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "payroll-run");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PayrollServiceImpl(UserRepository userRepository,
+                              AttendanceRepository attendanceRepository,
+                              PayrollRecordRepository payrollRecordRepository,
+                              SalaryRepository salaryRepository,
+                              FinanceSnapshotService financeSnapshotService,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${payroll.batch-size:500}") int batchSize,
+                              @Value("${payroll.standard-monthly-hours:176}") BigDecimal standardMonthlyHours,
+                              @Value("${payroll.overtime-multiplier:1.5}") BigDecimal overtimeMultiplier) {
+        this.userRepository = userRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.payrollRecordRepository = payrollRecordRepository;
+        this.salaryRepository = salaryRepository;
+        this.financeSnapshotService = financeSnapshotService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.standardMonthlyHours = standardMonthlyHours;
+        this.overtimeMultiplier = overtimeMultiplier;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    @Override
+    public Optional<PayrollRunResponse> generatePayroll(String month) {
+        YearMonth payrollMonth = YearMonth.parse(month);
+        if (!runningMonths.add(month)) {
+            throw new RuntimeException("Payroll for " + month + " is already running");
+        }
+        try {
+            String username = currentUsername();
+            Optional<PayrollRecord> claimed = claim(month, username);
+            if (claimed.isEmpty()) {
+                return Optional.empty();
+            }
+            process(payrollMonth, claimed.get(), username);
+            return getProgress(month);
+        } finally {
+            runningMonths.remove(month);
+        }
+    }
+
+    @Override
+    public Optional<PayrollRunResponse> runPayrollInBackground(String month) {
+        YearMonth payrollMonth = YearMonth.parse(month);
+        if (!runningMonths.add(month)) {
+            return getProgress(month);
+        }
+        String username = currentUsername();
+        Optional<PayrollRecord> claimed;
+        try {
+            claimed = claim(month, username);
+        } catch (RuntimeException e) {
+            runningMonths.remove(month);
+            throw e;
+        }
+        if (claimed.isEmpty()) {
+            runningMonths.remove(month);
+            return Optional.empty();
+        }
+
+        PayrollRecord record = claimed.get();
+        worker.execute(() -> {
+            try {
+                process(payrollMonth, record, username);
+            } catch (RuntimeException e) {
+                log.error("Background payroll run for {} failed", month, e);
+            } finally {
+                runningMonths.remove(month);
+            }
+        });
+        return Optional.of(toResponse(claimed.get()));
+    }
+
+    @Override
+    public Optional<PayrollRunResponse> getProgress(String month) {
+        return payrollRecordRepository.findByMonth(month).map(this::toResponse);
+    }
+
+    // Creates or reopens the month's run record; empty when the month is already complete
+    private Optional<PayrollRecord> claim(String month, String username) {
+        return transactionTemplate.execute(status -> {
+            payrollRecordRepository.createIfAbsent(month, LocalDateTime.now(), username);
+            PayrollRecord record = payrollRecordRepository.findByMonth(month)
+                    .orElseThrow(() -> new RuntimeException("Payroll record not found for " + month));
+            if (record.getStatus() == PayrollRunStatus.COMPLETED) {
+                return Optional.<PayrollRecord>empty();
+            }
+            record.setStatus(PayrollRunStatus.RUNNING);
+            record.setTotalEmployees((int) userRepository.countPayrollEligible());
+            return Optional.of(payrollRecordRepository.save(record));
+        });
+    }
+
+    // Continues from the claimed record's cursor until no eligible employee is left
+    private void process(YearMonth payrollMonth, PayrollRecord claimed, String username) {
+        String month = payrollMonth.toString();
+        long cursor = claimed.getLastEmployeeId() != null ? claimed.getLastEmployeeId() : 0L;
+        int processed = claimed.getProcessedEmployees();
+        try {
+            while (true) {
+                long from = cursor;
+                int done = processed;
+                ChunkResult chunk = transactionTemplate.execute(status -> processChunk(payrollMonth, from, done, username));
+                if (chunk == null) {
+                    break;
+                }
+                cursor = chunk.lastEmployeeId();
+                processed = chunk.processed();
+            }
+            transactionTemplate.executeWithoutResult(status -> complete(month));
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> payrollRecordRepository.findByMonth(month)
+                    .ifPresent(record -> record.setStatus(PayrollRunStatus.FAILED)));
+            throw e;
+        }
+    }
+
+    // One keyset page of employees: one grouped attendance query and one JDBC batch; null when no employee is left
+    private ChunkResult processChunk(YearMonth payrollMonth, long afterId, int processedBefore, String username) {
+        List<Object[]> employees = userRepository.findPayrollEligibleAfter(afterId, PageRequest.of(0, batchSize));
+        if (employees.isEmpty()) {
+            return null;
+        }
+
+        List<Long> ids = new ArrayList<>(employees.size());
+        for (Object[] row : employees) {
+            ids.add((Long) row[0]);
+        }
+        LocalDate from = payrollMonth.atDay(1);
+        LocalDate to = payrollMonth.atEndOfMonth();
+        Map<Long, BigDecimal> hoursByEmployee = new HashMap<>();
+        for (Object[] row : attendanceRepository.sumTotalHoursByEmployeesAndDateRange(ids, from, to)) {
+            hoursByEmployee.put((Long) row[0], (BigDecimal) row[1]);
+        }
+
+        String month = payrollMonth.toString();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(employees.size());
+        for (Object[] row : employees) {
+            Long employeeId = (Long) row[0];
+            BigDecimal base = BigDecimal.valueOf((Double) row[1]).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal overtime = overtimePay(base, hoursByEmployee.getOrDefault(employeeId, BigDecimal.ZERO));
+            batch.add(new Object[]{employeeId, month, base, overtime, base.add(overtime), now, now, username, username});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SALARY_SQL, batch);
+
+        Long lastId = ids.get(ids.size() - 1);
+        int processed = processedBefore + employees.size();
+        payrollRecordRepository.advance(month, processed, lastId);
+        return new ChunkResult(lastId, processed);
+    }
+
+    // Hours beyond the standard month are paid at the hourly rate times the overtime multiplier
+    private BigDecimal overtimePay(BigDecimal baseSalary, BigDecimal hoursWorked) {
+        BigDecimal extraHours = hoursWorked.subtract(standardMonthlyHours);
+        if (extraHours.signum() <= 0 || standardMonthlyHours.signum() <= 0) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        return baseSalary.multiply(extraHours).multiply(overtimeMultiplier)
+                .divide(standardMonthlyHours, 2, RoundingMode.HALF_UP);
+    }
+
+    private void complete(String month) {
+        PayrollRecord record = payrollRecordRepository.findByMonth(month)
+                .orElseThrow(() -> new RuntimeException("Payroll record not found for " + month));
+        record.setTotalPayroll(salaryRepository.sumNetSalaryByMonth(month));
+        record.setStatus(PayrollRunStatus.COMPLETED);
+        record.setCompletedAt(LocalDateTime.now());
+        financeSnapshotService.markChanged(month);
+        log.info("Payroll for {} generated for {} employees", month, record.getProcessedEmployees());
+    }
+
+    private PayrollRunResponse toResponse(PayrollRecord record) {
+        return PayrollRunResponse.builder()
+                .month(record.getMonth())
+                .status(record.getStatus())
+                .totalEmployees(record.getTotalEmployees())
+                .processedEmployees(record.getProcessedEmployees())
+                .totalPayroll(record.getTotalPayroll())
+                .generatedAt(record.getGeneratedAt())
+                .completedAt(record.getCompletedAt())
+                .build();
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "system";
+    }
+}
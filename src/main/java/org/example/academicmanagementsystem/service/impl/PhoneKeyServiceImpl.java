@@ -0,0 +1,129 @@
+package org.example.academicmanagementsystem.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.academicmanagementsystem.model.PhoneKey;
+import org.example.academicmanagementsystem.repository.LeadRepository;
+import org.example.academicmanagementsystem.service.PhoneKeyService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+@Slf4j
+public class PhoneKeyServiceImpl implements PhoneKeyService {
+
+    private record KeyedTable(String table, String phoneColumn) {
+    }
+
+    private static final List<KeyedTable> KEYED_TABLES = List.of(
+            new KeyedTable("leads", "phone_number"),
+            new KeyedTable("students", "phone"),
+            new KeyedTable("students_v2", "phone"),
+            new KeyedTable("invoices_v2", "customer_phone"),
+            new KeyedTable("complaints", "phone"));
+
+    private final LeadRepository leadRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "phone-key-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PhoneKeyServiceImpl(LeadRepository leadRepository,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${phone-keys.backfill.batch-size:1000}") int batchSize) {
+        this.leadRepository = leadRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        worker.execute(() -> {
+            int updated = backfill();
+            if (updated > 0) {
+                log.info("Backfilled the phone key of {} rows", updated);
+            }
+        });
+    }
+
+    @Override
+    public Set<String> findTakenLeadKeys(Collection<String> phoneKeys) {
+        if (phoneKeys.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(leadRepository.findExistingPhoneKeys(phoneKeys));
+    }
+
+    @Override
+    public boolean isLeadPhoneTaken(String phone) {
+        String phoneKey = PhoneKey.of(phone);
+        return phoneKey != null && leadRepository.existsByPhoneKey(phoneKey);
+    }
+
+    @Override
+    public int backfill() {
+        int updated = 0;
+        for (KeyedTable table : KEYED_TABLES) {
+            updated += backfill(table);
+        }
+        return updated;
+    }
+
+    // Keyset chunks of rows without a key, each keyed in Java and written back as one JDBC batch in its own
+    // transaction. A key written by the listener in the meantime is never overwritten.
+    private int backfill(KeyedTable table) {
+        String select = "SELECT id, " + table.phoneColumn() + " FROM " + table.table() +
+                " WHERE phone_key IS NULL AND id > ? ORDER BY id LIMIT ?";
+        String update = "UPDATE " + table.table() + " SET phone_key = ? WHERE id = ? AND phone_key IS NULL";
+
+        int updated = 0;
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = jdbcTemplate.query(select, (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2)}, afterId, batchSize);
+            List<Object[]> batch = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                String phoneKey = PhoneKey.of((String) row[1]);
+                if (phoneKey != null) {
+                    batch.add(new Object[]{phoneKey, row[0]});
+                }
+            }
+            if (!batch.isEmpty()) {
+                int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(update, batch));
+                for (int count : counts) {
+                    updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+                }
+            }
+            if (!rows.isEmpty()) {
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+            }
+        } while (rows.size() == batchSize);
+        return updated;
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.academicmanagementsystem.service.impl;
+
+import org.example.academicmanagementsystem.repository.PaymentRepository;
+import org.example.academicmanagementsystem.repository.ReceiptCounterRepository;
+import org.example.academicmanagementsystem.service.ReceiptNumberService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Year;
+
+@Service
+public class ReceiptNumberServiceImpl implements ReceiptNumberService {
+
+    private final ReceiptCounterRepository counterRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate reserveTransaction;
+    private final int blockSize;
+
+    // Block of numbers reserved by this instance: next .. limit - 1 of blockYear
+    private int blockYear;
+    private long next;
+    private long limit;
+
+    public ReceiptNumberServiceImpl(ReceiptCounterRepository counterRepository,
+                                    PaymentRepository paymentRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${payments.receipt.block-size:10}") int blockSize) {
+        this.counterRepository = counterRepository;
+        this.paymentRepository = paymentRepository;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    @Override
+    public synchronized String nextReceiptNumber() {
+        int year = Year.now().getValue();
+        if (year != blockYear || next >= limit) {
+            next = reserveBlock(year);
+            limit = next + blockSize;
+            blockYear = year;
+        }
+        return String.format("%s%03d", prefix(year), next++);
+    }
+
+    // Reserved in its own short transaction so the counter row is not locked for the whole payment.
+    // Numbers of a block left unused at shutdown are skipped; a block size of 1 keeps the year gapless.
+    private long reserveBlock(int year) {
+        Long start = reserveTransaction.execute(status -> {
+            if (counterRepository.findNextValue(year).isEmpty()) {
+                // Continue after receipts issued before the counter existed
+                long issued = paymentRepository.countByReceiptNumberStartingWith(prefix(year));
+                counterRepository.createIfAbsent(year, issued + 1);
+            }
+            counterRepository.advance(year, blockSize);
+            return counterRepository.findNextValue(year)
+                    .orElseThrow(() -> new RuntimeException("Receipt counter missing for year " + year)) - blockSize;
+        });
+        return start;
+    }
+
+    private static String prefix(int year) {
+        return "RCP-" + year + "-";
+    }
+}
@@ -3,9 +3,11 @@ package org.example.academicmanagementsystem.service.impl;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.academicmanagementsystem.config.RetryOnConflict;
 import org.example.academicmanagementsystem.dto.RoundDiplomaV2Request;
 import org.example.academicmanagementsystem.dto.RoundDiplomaV2Response;
 import org.example.academicmanagementsystem.model.DiplomaV2;
+import org.example.academicmanagementsystem.model.InstallmentScheduleV2;
 import org.example.academicmanagementsystem.model.InstructorV2;
 import org.example.academicmanagementsystem.model.RoundDiplomaV2;
 import org.example.academicmanagementsystem.model.RoundV2;
@@ -95,6 +97,7 @@ public class RoundDiplomaV2ServiceImpl implements RoundDiplomaV2Service {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public RoundDiplomaV2Response getDiplomaById(Long id) {
         RoundDiplomaV2 rd = roundDiplomaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("RoundDiploma not found"));
@@ -102,6 +105,7 @@ public class RoundDiplomaV2ServiceImpl implements RoundDiplomaV2Service {
     }
 
     @Override
+    @RetryOnConflict
     @Transactional
     public RoundDiplomaV2Response updateDiploma(Long id, RoundDiplomaV2Request request) {
         RoundDiplomaV2 rd = roundDiplomaRepository.findById(id)
@@ -166,20 +170,10 @@ public class RoundDiplomaV2ServiceImpl implements RoundDiplomaV2Service {
         rd.setEndDate(request.getEndDate());
         rd.setTotalStudents(request.getTotalStudents());
         
-        rd.setInstallment1Percent(request.getInstallment1Percent());
-        rd.setInstallment2Percent(request.getInstallment2Percent());
-        rd.setInstallment3Percent(request.getInstallment3Percent());
-        rd.setInstallment4Percent(request.getInstallment4Percent());
-        
-        rd.setInstallment1Amount(request.getInstallment1Amount());
-        rd.setInstallment2Amount(request.getInstallment2Amount());
-        rd.setInstallment3Amount(request.getInstallment3Amount());
-        rd.setInstallment4Amount(request.getInstallment4Amount());
-        
-        rd.setInstallment1Date(request.getInstallment1Date());
-        rd.setInstallment2Date(request.getInstallment2Date());
-        rd.setInstallment3Date(request.getInstallment3Date());
-        rd.setInstallment4Date(request.getInstallment4Date());
+        rd.putInstallment(1, request.getInstallment1Date(), request.getInstallment1Amount(), request.getInstallment1Percent());
+        rd.putInstallment(2, request.getInstallment2Date(), request.getInstallment2Amount(), request.getInstallment2Percent());
+        rd.putInstallment(3, request.getInstallment3Date(), request.getInstallment3Amount(), request.getInstallment3Percent());
+        rd.putInstallment(4, request.getInstallment4Date(), request.getInstallment4Amount(), request.getInstallment4Percent());
     }
 
     private RoundDiplomaV2Response mapToResponse(RoundDiplomaV2 rd) {
@@ -203,20 +197,30 @@ public class RoundDiplomaV2ServiceImpl implements RoundDiplomaV2Service {
             res.setTotalStudents(rd.getTotalStudents());
             res.setCurrentEnrollment(rd.getCurrentEnrollment());
 
-            res.setInstallment1Percent(rd.getInstallment1Percent());
-            res.setInstallment2Percent(rd.getInstallment2Percent());
-            res.setInstallment3Percent(rd.getInstallment3Percent());
-            res.setInstallment4Percent(rd.getInstallment4Percent());
-
-            res.setInstallment1Amount(rd.getInstallment1Amount());
-            res.setInstallment2Amount(rd.getInstallment2Amount());
-            res.setInstallment3Amount(rd.getInstallment3Amount());
-            res.setInstallment4Amount(rd.getInstallment4Amount());
-
-            res.setInstallment1Date(rd.getInstallment1Date());
-            res.setInstallment2Date(rd.getInstallment2Date());
-            res.setInstallment3Date(rd.getInstallment3Date());
-            res.setInstallment4Date(rd.getInstallment4Date());
+            InstallmentScheduleV2 inst1 = rd.getInstallment(1);
+            if (inst1 != null) {
+                res.setInstallment1Percent(inst1.getPercent());
+                res.setInstallment1Amount(inst1.getAmount());
+                res.setInstallment1Date(inst1.getDueDate());
+            }
+            InstallmentScheduleV2 inst2 = rd.getInstallment(2);
+            if (inst2 != null) {
+                res.setInstallment2Percent(inst2.getPercent());
+                res.setInstallment2Amount(inst2.getAmount());
+                res.setInstallment2Date(inst2.getDueDate());
+            }
+            InstallmentScheduleV2 inst3 = rd.getInstallment(3);
+            if (inst3 != null) {
+                res.setInstallment3Percent(inst3.getPercent());
+                res.setInstallment3Amount(inst3.getAmount());
+                res.setInstallment3Date(inst3.getDueDate());
+            }
+            InstallmentScheduleV2 inst4 = rd.getInstallment(4);
+            if (inst4 != null) {
+                res.setInstallment4Percent(inst4.getPercent());
+                res.setInstallment4Amount(inst4.getAmount());
+                res.setInstallment4Date(inst4.getDueDate());
+            }
 
             return res;
         } catch (Exception e) {
@@ -2,6 +2,7 @@ package org.example.academicmanagementsystem.service.impl;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.example.academicmanagementsystem.config.RetryOnConflict;
 import org.example.academicmanagementsystem.dto.RoundRequest;
 import org.example.academicmanagementsystem.dto.RoundResponse;
 import org.example.academicmanagementsystem.mapper.RoundMapper;
@@ -87,6 +88,7 @@ public class RoundServiceImpl implements RoundService {
     }
 
     @Override
+    @RetryOnConflict
     @Transactional
     public Optional<RoundResponse> update(Long id, RoundRequest roundRequest) {
         if (Objects.isNull(id) || Objects.isNull(roundRequest)) {
@@ -0,0 +1,237 @@
+package org.example.academicmanagementsystem.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.academicmanagementsystem.dto.SearchIndexStatus;
+import org.example.academicmanagementsystem.repository.InvoiceV2Repository;
+import org.example.academicmanagementsystem.repository.LeadRepository;
+import org.example.academicmanagementsystem.repository.StudentV2Repository;
+import org.example.academicmanagementsystem.service.SearchIndexService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+
+@Service
+@Slf4j
+public class SearchIndexServiceImpl implements SearchIndexService {
+
+    // One domain's live index plus the one being rebuilt next to it; writes are guarded by the instance
+    private static final class DomainIndex {
+        private volatile TrigramIndex live;
+        private TrigramIndex building;
+        private Set<Long> touched; // ids written while building, so stale chunk rows do not overwrite them
+        private volatile boolean overCapacity;
+        private volatile LocalDateTime builtAt;
+    }
+
+    private final Map<Domain, BiFunction<Long, Pageable, List<Object[]>>> loaders = new EnumMap<>(Domain.class);
+    private final Map<Domain, DomainIndex> indexes = new EnumMap<>(Domain.class);
+    private final int maxDocuments;
+    private final int maxResults;
+    private final int batchSize;
+
+    private boolean rebuildQueued;
+    private CompletableFuture<Void> lastRebuild = CompletableFuture.completedFuture(null);
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SearchIndexServiceImpl(StudentV2Repository studentRepository,
+                                  LeadRepository leadRepository,
+                                  InvoiceV2Repository invoiceRepository,
+                                  @Value("${search.index.max-documents:100000}") int maxDocuments,
+                                  @Value("${search.index.max-results:2000}") int maxResults,
+                                  @Value("${search.index.batch-size:1000}") int batchSize) {
+        loaders.put(Domain.STUDENT, studentRepository::findSearchRowsAfter);
+        loaders.put(Domain.LEAD, leadRepository::findSearchRowsAfter);
+        loaders.put(Domain.INVOICE, invoiceRepository::findSearchRowsAfter);
+        for (Domain domain : Domain.values()) {
+            indexes.put(domain, new DomainIndex());
+        }
+        this.maxDocuments = maxDocuments;
+        this.maxResults = maxResults;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Override
+    public Optional<Set<Long>> search(Domain domain, String term) {
+        TrigramIndex live = indexes.get(domain).live;
+        if (live == null || term == null || term.isBlank()) {
+            return Optional.empty();
+        }
+        return live.search(term, maxResults);
+    }
+
+    @Override
+    public Optional<Set<Long>> searchPhonePrefix(Domain domain, String phone) {
+        TrigramIndex live = indexes.get(domain).live;
+        return live != null ? live.searchPhonePrefix(phone, maxResults) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Set<Long>> searchPhoneSuffix(Domain domain, String phone) {
+        TrigramIndex live = indexes.get(domain).live;
+        return live != null ? live.searchPhoneSuffix(phone, maxResults) : Optional.empty();
+    }
+
+    @Override
+    public void index(Domain domain, Long id, String name, String phone) {
+        if (id == null) {
+            return;
+        }
+        DomainIndex index = indexes.get(domain);
+        synchronized (index) {
+            if (index.building != null) {
+                index.touched.add(id);
+                if (!index.building.put(id, name, phone)) {
+                    overflow(domain, index);
+                    return;
+                }
+            }
+            if (index.live != null && !index.live.put(id, name, phone)) {
+                overflow(domain, index);
+            }
+        }
+    }
+
+    @Override
+    public void remove(Domain domain, Long id) {
+        if (id == null) {
+            return;
+        }
+        DomainIndex index = indexes.get(domain);
+        synchronized (index) {
+            if (index.building != null) {
+                index.touched.add(id);
+                index.building.remove(id);
+            }
+            if (index.live != null) {
+                index.live.remove(id);
+            }
+        }
+    }
+
+    @Override
+    public synchronized CompletableFuture<Void> rebuild() {
+        if (rebuildQueued) {
+            return lastRebuild;
+        }
+        rebuildQueued = true;
+        lastRebuild = CompletableFuture.runAsync(() -> {
+            synchronized (this) {
+                rebuildQueued = false;
+            }
+            for (Domain domain : Domain.values()) {
+                rebuild(domain);
+            }
+        }, worker);
+        return lastRebuild;
+    }
+
+    @Override
+    public List<SearchIndexStatus> getStatus() {
+        List<SearchIndexStatus> status = new ArrayList<>();
+        for (Map.Entry<Domain, DomainIndex> entry : indexes.entrySet()) {
+            DomainIndex index = entry.getValue();
+            TrigramIndex live = index.live;
+            boolean building;
+            synchronized (index) {
+                building = index.building != null;
+            }
+            status.add(SearchIndexStatus.builder()
+                    .domain(entry.getKey())
+                    .ready(live != null)
+                    .building(building)
+                    .overCapacity(index.overCapacity)
+                    .documents(live != null ? live.size() : 0)
+                    .builtAt(index.builtAt)
+                    .build());
+        }
+        return status;
+    }
+
+    // Builds a fresh index from keyset chunks of (id, name, phone) rows, then swaps it in. The previous
+    // index keeps answering searches meanwhile, and listener writes go to both.
+    private void rebuild(Domain domain) {
+        DomainIndex index = indexes.get(domain);
+        TrigramIndex fresh = new TrigramIndex(maxDocuments);
+        synchronized (index) {
+            index.building = fresh;
+            index.touched = new HashSet<>();
+        }
+        try {
+            Long afterId = 0L;
+            List<Object[]> rows;
+            do {
+                rows = loaders.get(domain).apply(afterId, PageRequest.of(0, batchSize));
+                synchronized (index) {
+                    if (index.building != fresh) {
+                        return;
+                    }
+                    for (Object[] row : rows) {
+                        Long id = (Long) row[0];
+                        if (!index.touched.contains(id) && !fresh.put(id, (String) row[1], (String) row[2])) {
+                            overflow(domain, index);
+                            return;
+                        }
+                    }
+                }
+                if (!rows.isEmpty()) {
+                    afterId = (Long) rows.get(rows.size() - 1)[0];
+                }
+            } while (rows.size() == batchSize);
+
+            synchronized (index) {
+                index.live = fresh;
+                index.building = null;
+                index.touched = null;
+                index.overCapacity = false;
+                index.builtAt = LocalDateTime.now();
+            }
+            log.info("Search index for {} rebuilt with {} documents", domain, fresh.size());
+        } catch (RuntimeException e) {
+            synchronized (index) {
+                index.building = null;
+                index.touched = null;
+            }
+            log.error("Search index rebuild for {} failed; searches keep using the previous index", domain, e);
+        }
+    }
+
+    // Caller holds the index lock. The domain stops answering until a rebuild fits within the capacity again.
+    private void overflow(Domain domain, DomainIndex index) {
+        index.live = null;
+        index.building = null;
+        index.touched = null;
+        index.overCapacity = true;
+        log.warn("Search index for {} exceeds {} documents; searches fall back to SQL", domain, maxDocuments);
+    }
+}
@@ -2,6 +2,7 @@ package org.example.academicmanagementsystem.service.impl;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.example.academicmanagementsystem.config.RetryOnConflict;
 import org.example.academicmanagementsystem.dto.*;
 import org.example.academicmanagementsystem.mapper.PaymentMapper;
 import org.example.academicmanagementsystem.mapper.StudentMapper;
@@ -27,6 +28,9 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class StudentServiceImpl implements StudentService {
 
+    // Installment plans always list at least this many slots, as they did before the schedule table
+    private static final int PLAN_SLOTS = 4;
+
     private final StudentRepository studentRepository;
     private final RoundDiplomaRepository roundDiplomaRepository;
     private final PaymentRepository paymentRepository;
@@ -44,14 +48,9 @@ public class StudentServiceImpl implements StudentService {
         RoundDiploma roundDiploma = roundDiplomaRepository.findById(studentRequest.getRoundDiplomaId())
                 .orElseThrow(() -> new RuntimeException("RoundDiploma not found with id: " + studentRequest.getRoundDiplomaId()));
 
-        // Check if roundDiploma has capacity
-        if (roundDiploma.getCurrentEnrollment() >= roundDiploma.getTotalStudents()) {
-            throw new RuntimeException("This diploma batch is full. Cannot enroll more students.");
-        }
-
-        // Check if phone already exists
-        Optional<Student> existingStudent = studentRepository.findByPhone(studentRequest.getPhone());
-        if (existingStudent.isPresent()) {
+        // Check if phone already exists, in any formatting
+        String phoneKey = PhoneKey.of(studentRequest.getPhone());
+        if (phoneKey != null && studentRepository.existsByPhoneKey(phoneKey)) {
             throw new RuntimeException("Student with this phone number already exists");
         }
 
@@ -67,12 +66,12 @@ public class StudentServiceImpl implements StudentService {
         student.setPaymentStatus(PaymentStatus.PENDING);
         student.setEnrollmentDate(LocalDateTime.now());
 
-        // Increment roundDiploma's current enrollment
-        roundDiploma.setCurrentEnrollment(roundDiploma.getCurrentEnrollment() + 1);
+        // Take a seat atomically; concurrent enrolments cannot push the batch over capacity
+        if (roundDiplomaRepository.reserveSeat(roundDiploma.getId()) == 0) {
+            throw new RuntimeException("This diploma batch is full. Cannot enroll more students.");
+        }
 
-        // Save student and update roundDiploma
         Student savedStudent = studentRepository.save(student);
-        roundDiplomaRepository.save(roundDiploma);
 
         return studentMapper.toStudentResponse(savedStudent);
     }
@@ -111,6 +110,7 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
+    @RetryOnConflict
     @Transactional
     public Optional<StudentResponse> update(Long id, StudentRequest studentRequest) {
         if (Objects.isNull(id) || Objects.isNull(studentRequest)) {
@@ -154,27 +154,16 @@ public class StudentServiceImpl implements StudentService {
 
         RoundDiploma rd = student.getRoundDiploma();
 
-        // Use the individual installment dates and amounts from RoundDiploma
+        // Empty slots come back with a zero amount and no due date
         List<InstallmentPlan.Installment> installments = new ArrayList<>();
-        LocalDate[] dueDates = {
-            rd.getInstallment1Date(),
-            rd.getInstallment2Date(),
-            rd.getInstallment3Date(),
-            rd.getInstallment4Date()
-        };
-        
-        BigDecimal[] installmentAmounts = {
-            rd.getInstallment1Amount(),
-            rd.getInstallment2Amount(),
-            rd.getInstallment3Amount(),
-            rd.getInstallment4Amount()
-        };
-        
+        int slotCount = Math.max(PLAN_SLOTS, rd.getInstallments().stream().mapToInt(InstallmentSchedule::getSeq).max().orElse(0));
+
         // Get all payments for this student
         List<Payment> payments = paymentRepository.findByStudent(student);
 
-        for (int i = 0; i < 4; i++) {
-            final int installmentNumber = i + 1;
+        for (int seq = 1; seq <= slotCount; seq++) {
+            final int installmentNumber = seq;
+            InstallmentSchedule slot = rd.getInstallment(seq);
             Optional<Payment> installmentPayment = payments.stream()
                     .filter(p -> p.getInstallmentNumber() != null && p.getInstallmentNumber() == installmentNumber)
                     .findFirst();
@@ -184,8 +173,8 @@ public class StudentServiceImpl implements StudentService {
 
             installments.add(InstallmentPlan.Installment.builder()
                     .installmentNumber(installmentNumber)
-                    .amount(installmentAmounts[i] != null ? installmentAmounts[i] : BigDecimal.ZERO)
-                    .dueDate(dueDates[i])
+                    .amount(slot != null && slot.getAmount() != null ? slot.getAmount() : BigDecimal.ZERO)
+                    .dueDate(slot != null ? slot.getDueDate() : null)
                     .isPaid(isPaid)
                     .paidDate(paidDate)
                     .build());
@@ -195,7 +184,7 @@ public class StudentServiceImpl implements StudentService {
                 .studentId(student.getId())
                 .studentName(student.getName())
                 .totalFees(student.getTotalFees())
-                .totalInstallments(4)
+                .totalInstallments(installments.size())
                 .installments(installments)
                 .build();
     }
@@ -1,10 +1,12 @@
 package org.example.academicmanagementsystem.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.example.academicmanagementsystem.dto.StudentGridRowV2;
 import org.example.academicmanagementsystem.dto.StudentRequestV2;
 import org.example.academicmanagementsystem.dto.StudentResponseV2;
 import org.example.academicmanagementsystem.model.*;
 import org.example.academicmanagementsystem.repository.*;
+import org.example.academicmanagementsystem.service.SearchIndexService;
 import org.example.academicmanagementsystem.service.StudentV2Service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,6 +15,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +30,8 @@ public class StudentV2ServiceImpl implements StudentV2Service {
     private final DiplomaV2Repository diplomaRepository;
     private final UserRepository userRepository;
     private final RoundDiplomaV2Repository roundDiplomaRepository;
+    private final InstallmentScheduleV2Repository installmentScheduleRepository;
+    private final SearchIndexService searchIndexService;
     private final org.example.academicmanagementsystem.service.NotificationService notificationService;
 
     @Override
@@ -86,13 +95,13 @@ public class StudentV2ServiceImpl implements StudentV2Service {
     @Override
     @Transactional(readOnly = true)
     public Page<StudentResponseV2> getStudentsByStatus(StudentStatus status, Pageable pageable, String search) {
-        Page<StudentV2> students;
-        if (search != null && !search.isEmpty()) {
-            students = studentRepository.findByStatusAndNameContainingIgnoreCase(status, search, pageable);
-        } else {
-            students = studentRepository.findByStatus(status, pageable);
+        Optional<Set<Long>> matches = indexedMatches(search);
+        if (matches.isPresent()) {
+            return matches.get().isEmpty()
+                    ? Page.empty(pageable)
+                    : mapGridPage(studentRepository.findGridRowsByStatusAndIds(status, matches.get(), pageable));
         }
-        return students.map(this::mapToResponse);
+        return mapGridPage(studentRepository.findGridRowsByStatus(status, blankToNull(search), pageable));
     }
 
     @Override
@@ -106,16 +115,16 @@ public class StudentV2ServiceImpl implements StudentV2Service {
     @Override
     @Transactional(readOnly = true)
     public Page<StudentResponseV2> getStudentsByRoundDiploma(Long roundDiplomaId, String search, Pageable pageable) {
-        RoundDiplomaV2 rd = roundDiplomaRepository.findById(roundDiplomaId)
-                .orElseThrow(() -> new RuntimeException("RoundDiploma not found"));
-        
-        Page<StudentV2> students;
-        if (search != null && !search.isEmpty()) {
-            students = studentRepository.searchInRoundDiploma(rd.getRound(), rd.getDiploma(), search, pageable);
-        } else {
-            students = studentRepository.findByRoundAndDiploma(rd.getRound(), rd.getDiploma(), pageable);
+        if (!roundDiplomaRepository.existsById(roundDiplomaId)) {
+            throw new RuntimeException("RoundDiploma not found");
+        }
+        Optional<Set<Long>> matches = indexedMatches(search);
+        if (matches.isPresent()) {
+            return matches.get().isEmpty()
+                    ? Page.empty(pageable)
+                    : mapGridPage(studentRepository.findGridRowsByRoundDiplomaAndIds(roundDiplomaId, matches.get(), pageable));
         }
-        return students.map(this::mapToResponse);
+        return mapGridPage(studentRepository.findGridRowsByRoundDiploma(roundDiplomaId, blankToNull(search), pageable));
     }
 
     @Override
@@ -177,43 +186,116 @@ public class StudentV2ServiceImpl implements StudentV2Service {
         studentRepository.deleteById(id);
     }
 
+    // A grid page is read as projections: the rows themselves, then the ledger entries of the students
+    // and the schedule slots of their round diplomas, so no entity is loaded or dirty-checked
+    private Page<StudentResponseV2> mapGridPage(Page<StudentGridRowV2> rows) {
+        Map<Long, Map<Integer, Object[]>> ledgers = new HashMap<>();
+        Map<Long, Map<Integer, Object[]>> schedules = new HashMap<>();
+        if (rows.hasContent()) {
+            Set<Long> studentIds = new HashSet<>();
+            Set<Long> roundDiplomaIds = new HashSet<>();
+            for (StudentGridRowV2 row : rows) {
+                studentIds.add(row.getId());
+                if (row.getRoundDiplomaId() != null) {
+                    roundDiplomaIds.add(row.getRoundDiplomaId());
+                }
+            }
+            // rows are (ownerId, seq, ...) as returned by the ledger and schedule queries
+            for (Object[] entry : studentRepository.findLedgerRows(studentIds)) {
+                ledgers.computeIfAbsent((Long) entry[0], id -> new HashMap<>()).put((Integer) entry[1], entry);
+            }
+            if (!roundDiplomaIds.isEmpty()) {
+                for (Object[] slot : installmentScheduleRepository.findScheduleRows(roundDiplomaIds)) {
+                    schedules.computeIfAbsent((Long) slot[0], id -> new HashMap<>()).put((Integer) slot[1], slot);
+                }
+            }
+        }
+        return rows.map(row -> {
+            Map<Integer, Object[]> ledger = ledgers.getOrDefault(row.getId(), Map.of());
+            Map<Integer, Object[]> schedule = row.getRoundDiplomaId() != null
+                    ? schedules.getOrDefault(row.getRoundDiplomaId(), Map.of())
+                    : Map.of();
+            return StudentResponseV2.builder()
+                    .id(row.getId())
+                    .name(row.getName())
+                    .phone(row.getPhone())
+                    .email(row.getEmail())
+                    .notes(row.getNotes())
+                    .roundName(row.getRoundName() != null ? row.getRoundName() : "N/A")
+                    .diplomaName(row.getDiplomaName() != null ? row.getDiplomaName() : "N/A")
+                    .depositAmount(row.getDepositAmount())
+                    .salesPersonName(row.getSalesPersonName() != null ? row.getSalesPersonName() : "N/A")
+                    .discount(row.getDiscount())
+                    .password(row.getPassword())
+                    .itStatus(row.getItStatus())
+                    .status(row.getStatus())
+                    .cancellationDate(row.getCancellationDate())
+                    .cancellationReason(row.getCancellationReason())
+                    .enrollmentDate(row.getEnrollmentDate())
+                    .totalAmount(row.getTotalAmount())
+                    .paidAmount(row.getPaidAmount())
+                    .remainingAmount(row.getRemainingAmount())
+                    .endDate(row.getEndDate())
+                    .installment1Paid(amountAt(ledger.get(1), 2))
+                    .installment1Notes(notesAt(ledger.get(1)))
+                    .installment2Paid(amountAt(ledger.get(2), 2))
+                    .installment2Notes(notesAt(ledger.get(2)))
+                    .installment3Paid(amountAt(ledger.get(3), 2))
+                    .installment3Notes(notesAt(ledger.get(3)))
+                    .installment4Paid(amountAt(ledger.get(4), 2))
+                    .installment4Notes(notesAt(ledger.get(4)))
+                    .installment1Date(dueDateAt(schedule.get(1)))
+                    .installment1Amount(amountAt(schedule.get(1), 3))
+                    .installment2Date(dueDateAt(schedule.get(2)))
+                    .installment2Amount(amountAt(schedule.get(2), 3))
+                    .installment3Date(dueDateAt(schedule.get(3)))
+                    .installment3Amount(amountAt(schedule.get(3), 3))
+                    .installment4Date(dueDateAt(schedule.get(4)))
+                    .installment4Amount(amountAt(schedule.get(4), 3))
+                    .build();
+        });
+    }
+
+    private BigDecimal amountAt(Object[] row, int column) {
+        return row != null && row[column] != null ? (BigDecimal) row[column] : BigDecimal.ZERO;
+    }
+
+    private String notesAt(Object[] ledgerRow) {
+        return ledgerRow != null ? (String) ledgerRow[3] : null;
+    }
+
+    private LocalDate dueDateAt(Object[] scheduleRow) {
+        return scheduleRow != null ? (LocalDate) scheduleRow[2] : null;
+    }
+
+    // Students matching the search term according to the in-memory index; empty without a term or when
+    // the index cannot answer, in which case the grid query filters with LIKE itself
+    private Optional<Set<Long>> indexedMatches(String search) {
+        if (search == null || search.isEmpty()) {
+            return Optional.empty();
+        }
+        return searchIndexService.search(SearchIndexService.Domain.STUDENT, search);
+    }
+
+    private String blankToNull(String search) {
+        return search != null && !search.isEmpty() ? search : null;
+    }
+
     private StudentResponseV2 mapToResponse(StudentV2 student) {
+        RoundDiplomaV2 rd = null;
+        if (student.getRound() != null && student.getDiploma() != null) {
+            rd = roundDiplomaRepository.findByRoundAndDiploma(student.getRound(), student.getDiploma()).orElse(null);
+        }
+
         BigDecimal totalAmount = BigDecimal.ZERO;
-        LocalDate startDate = null;
         LocalDate endDate = null;
-        BigDecimal inst1Amt = BigDecimal.ZERO;
-        LocalDate inst1Date = null;
-        BigDecimal inst2Amt = BigDecimal.ZERO;
-        LocalDate inst2Date = null;
-        BigDecimal inst3Amt = BigDecimal.ZERO;
-        LocalDate inst3Date = null;
-        BigDecimal inst4Amt = BigDecimal.ZERO;
-        LocalDate inst4Date = null;
-
-        if (student.getRound() != null && student.getDiploma() != null) {
-            java.util.Optional<RoundDiplomaV2> rdOpt = roundDiplomaRepository.findByRoundAndDiploma(student.getRound(), student.getDiploma());
-            if (rdOpt.isPresent()) {
-                RoundDiplomaV2 rd = rdOpt.get();
-                totalAmount = rd.getTotalPrice() != null ? rd.getTotalPrice() : BigDecimal.ZERO;
-                startDate = rd.getStartDate();
-                endDate = rd.getEndDate();
-                inst1Amt = rd.getInstallment1Amount() != null ? rd.getInstallment1Amount() : BigDecimal.ZERO;
-                inst1Date = rd.getInstallment1Date();
-                inst2Amt = rd.getInstallment2Amount() != null ? rd.getInstallment2Amount() : BigDecimal.ZERO;
-                inst2Date = rd.getInstallment2Date();
-                inst3Amt = rd.getInstallment3Amount() != null ? rd.getInstallment3Amount() : BigDecimal.ZERO;
-                inst3Date = rd.getInstallment3Date();
-                inst4Amt = rd.getInstallment4Amount() != null ? rd.getInstallment4Amount() : BigDecimal.ZERO;
-                inst4Date = rd.getInstallment4Date();
-            }
+        if (rd != null) {
+            totalAmount = rd.getTotalPrice() != null ? rd.getTotalPrice() : BigDecimal.ZERO;
+            endDate = rd.getEndDate();
         }
 
         BigDecimal deposit = student.getDepositAmount() != null ? student.getDepositAmount() : BigDecimal.ZERO;
-        BigDecimal inst1Paid = student.getInstallment1Paid() != null ? student.getInstallment1Paid() : BigDecimal.ZERO;
-        BigDecimal inst2Paid = student.getInstallment2Paid() != null ? student.getInstallment2Paid() : BigDecimal.ZERO;
-        BigDecimal inst3Paid = student.getInstallment3Paid() != null ? student.getInstallment3Paid() : BigDecimal.ZERO;
-        BigDecimal inst4Paid = student.getInstallment4Paid() != null ? student.getInstallment4Paid() : BigDecimal.ZERO;
-        BigDecimal totalPaid = deposit.add(inst1Paid).add(inst2Paid).add(inst3Paid).add(inst4Paid);
+        BigDecimal totalPaid = deposit.add(student.getInstallmentsPaid());
         BigDecimal remainingAmount = totalAmount.subtract(totalPaid);
 
         return StudentResponseV2.builder()
@@ -237,22 +319,42 @@ public class StudentV2ServiceImpl implements StudentV2Service {
                 .paidAmount(totalPaid)
                 .remainingAmount(remainingAmount)
                 .endDate(endDate)
-                .installment1Paid(student.getInstallment1Paid())
-                .installment1Notes(student.getInstallment1Notes())
-                .installment2Paid(student.getInstallment2Paid())
-                .installment2Notes(student.getInstallment2Notes())
-                .installment3Paid(student.getInstallment3Paid())
-                .installment3Notes(student.getInstallment3Notes())
-                .installment4Paid(student.getInstallment4Paid())
-                .installment4Notes(student.getInstallment4Notes())
-                .installment1Date(inst1Date)
-                .installment1Amount(inst1Amt)
-                .installment2Date(inst2Date)
-                .installment2Amount(inst2Amt)
-                .installment3Date(inst3Date)
-                .installment3Amount(inst3Amt)
-                .installment4Date(inst4Date)
-                .installment4Amount(inst4Amt)
+                .installment1Paid(paidOf(student, 1))
+                .installment1Notes(notesOf(student, 1))
+                .installment2Paid(paidOf(student, 2))
+                .installment2Notes(notesOf(student, 2))
+                .installment3Paid(paidOf(student, 3))
+                .installment3Notes(notesOf(student, 3))
+                .installment4Paid(paidOf(student, 4))
+                .installment4Notes(notesOf(student, 4))
+                .installment1Date(dueDateOf(rd, 1))
+                .installment1Amount(amountOf(rd, 1))
+                .installment2Date(dueDateOf(rd, 2))
+                .installment2Amount(amountOf(rd, 2))
+                .installment3Date(dueDateOf(rd, 3))
+                .installment3Amount(amountOf(rd, 3))
+                .installment4Date(dueDateOf(rd, 4))
+                .installment4Amount(amountOf(rd, 4))
                 .build();
     }
+
+    private BigDecimal paidOf(StudentV2 student, int seq) {
+        StudentInstallmentV2 entry = student.getInstallment(seq);
+        return entry != null && entry.getPaidAmount() != null ? entry.getPaidAmount() : BigDecimal.ZERO;
+    }
+
+    private String notesOf(StudentV2 student, int seq) {
+        StudentInstallmentV2 entry = student.getInstallment(seq);
+        return entry != null ? entry.getNotes() : null;
+    }
+
+    private LocalDate dueDateOf(RoundDiplomaV2 rd, int seq) {
+        InstallmentScheduleV2 slot = rd != null ? rd.getInstallment(seq) : null;
+        return slot != null ? slot.getDueDate() : null;
+    }
+
+    private BigDecimal amountOf(RoundDiplomaV2 rd, int seq) {
+        InstallmentScheduleV2 slot = rd != null ? rd.getInstallment(seq) : null;
+        return slot != null && slot.getAmount() != null ? slot.getAmount() : BigDecimal.ZERO;
+    }
 }
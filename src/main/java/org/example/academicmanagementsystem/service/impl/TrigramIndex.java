@@ -0,0 +1,265 @@
+package org.example.academicmanagementsystem.service.impl;
+
+import org.example.academicmanagementsystem.model.PhoneKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Inverted trigram index over one name and one phone number per document. Postings are sorted id arrays,
+ * candidates are verified against the stored text, so results match LIKE '%term%' on the indexed fields.
+ * Phone numbers are indexed by their canonical PhoneKey and additionally kept in prefix and suffix order,
+ * so "+20 100", "0100" and "0020100" find the same numbers.
+ */
+final class TrigramIndex {
+
+    private static final int GRAM = 3;
+
+    private record Document(String name, String phone) {
+    }
+
+    private final int maxDocuments;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Postings> nameGrams = new HashMap<>();
+    private final Map<String, Postings> phoneGrams = new HashMap<>();
+    private final TreeMap<String, Postings> phones = new TreeMap<>();
+    private final TreeMap<String, Postings> reversedPhones = new TreeMap<>();
+
+    TrigramIndex(int maxDocuments) {
+        this.maxDocuments = maxDocuments;
+    }
+
+    // Adds or replaces a document; false when a new document would exceed the capacity
+    boolean put(long id, String name, String phone) {
+        String phoneKey = PhoneKey.of(phone);
+        Document document = new Document(normalizeName(name), phoneKey != null ? phoneKey : "");
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.get(id);
+            if (previous == null && documents.size() >= maxDocuments) {
+                return false;
+            }
+            if (previous != null) {
+                unindex(id, previous);
+            }
+            documents.put(id, document);
+            for (String gram : gramsOf(document.name())) {
+                nameGrams.computeIfAbsent(gram, g -> new Postings()).add(id);
+            }
+            for (String gram : gramsOf(document.phone())) {
+                phoneGrams.computeIfAbsent(gram, g -> new Postings()).add(id);
+            }
+            if (!document.phone().isEmpty()) {
+                phones.computeIfAbsent(document.phone(), p -> new Postings()).add(id);
+                reversedPhones.computeIfAbsent(reverse(document.phone()), p -> new Postings()).add(id);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.remove(id);
+            if (previous != null) {
+                unindex(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids whose name contains the term, or whose phone contains its digits when the term looks like a phone
+    // number; empty when more than limit documents match
+    Optional<Set<Long>> search(String term, int limit) {
+        String text = normalizeName(term);
+        String digits = isPhoneLike(term) ? PhoneKey.searchDigits(term) : "";
+        Set<Long> hits = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            if (!text.isEmpty() && !collect(nameGrams, text, d -> d.name().contains(text), hits, limit)) {
+                return Optional.empty();
+            }
+            if (!digits.isEmpty() && !collect(phoneGrams, digits, d -> d.phone().contains(digits), hits, limit)) {
+                return Optional.empty();
+            }
+            return Optional.of(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Optional<Set<Long>> searchPhonePrefix(String phone, int limit) {
+        String phoneKey = PhoneKey.of(phone);
+        return collectRange(phones, phoneKey != null ? phoneKey : "", limit);
+    }
+
+    Optional<Set<Long>> searchPhoneSuffix(String phone, int limit) {
+        return collectRange(reversedPhones, reverse(PhoneKey.digitsOf(phone)), limit);
+    }
+
+    // Intersects the postings of the needle's trigrams, rarest first; short needles scan the documents
+    private boolean collect(Map<String, Postings> grams, String needle, Predicate<Document> matches,
+                            Set<Long> hits, int limit) {
+        if (needle.length() < GRAM) {
+            for (Map.Entry<Long, Document> entry : documents.entrySet()) {
+                if (matches.test(entry.getValue()) && hits.add(entry.getKey()) && hits.size() > limit) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        List<Postings> postings = new ArrayList<>();
+        for (String gram : gramsOf(needle)) {
+            Postings ids = grams.get(gram);
+            if (ids == null) {
+                return true;
+            }
+            postings.add(ids);
+        }
+        postings.sort(Comparator.comparingInt(p -> p.size));
+        long[] candidates = postings.get(0).toArray();
+        for (int i = 1; i < postings.size() && candidates.length > 0; i++) {
+            candidates = postings.get(i).retain(candidates);
+        }
+        for (long id : candidates) {
+            if (matches.test(documents.get(id)) && hits.add(id) && hits.size() > limit) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Optional<Set<Long>> collectRange(TreeMap<String, Postings> keys, String from, int limit) {
+        if (from.isEmpty()) {
+            return Optional.of(Set.of());
+        }
+        Set<Long> hits = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            SortedMap<String, Postings> range = keys.subMap(from, from + Character.MAX_VALUE);
+            for (Postings ids : range.values()) {
+                for (int i = 0; i < ids.size; i++) {
+                    if (hits.add(ids.ids[i]) && hits.size() > limit) {
+                        return Optional.empty();
+                    }
+                }
+            }
+            return Optional.of(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unindex(long id, Document document) {
+        for (String gram : gramsOf(document.name())) {
+            removePosting(nameGrams, gram, id);
+        }
+        for (String gram : gramsOf(document.phone())) {
+            removePosting(phoneGrams, gram, id);
+        }
+        if (!document.phone().isEmpty()) {
+            removePosting(phones, document.phone(), id);
+            removePosting(reversedPhones, reverse(document.phone()), id);
+        }
+    }
+
+    private static void removePosting(Map<String, Postings> postings, String key, long id) {
+        Postings ids = postings.get(key);
+        if (ids != null && ids.remove(id)) {
+            postings.remove(key);
+        }
+    }
+
+    private static Set<String> gramsOf(String value) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    static String normalizeName(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // Digits with phone punctuation only, in any of the digit scripts PhoneKey understands
+    private static boolean isPhoneLike(String value) {
+        return value != null && !PhoneKey.digitsOf(value).isEmpty()
+                && value.chars().allMatch(c -> Character.isDigit(c) || "+()- ".indexOf(c) >= 0);
+    }
+
+    private static String reverse(String value) {
+        return new StringBuilder(value).reverse().toString();
+    }
+
+    // Sorted, duplicate-free list of ids; ids are mostly appended in increasing order
+    private static final class Postings {
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        // Returns true when the list became empty
+        boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+            }
+            return size == 0;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        long[] retain(long[] candidates) {
+            long[] kept = new long[candidates.length];
+            int count = 0;
+            for (long id : candidates) {
+                if (Arrays.binarySearch(ids, 0, size, id) >= 0) {
+                    kept[count++] = id;
+                }
+            }
+            return Arrays.copyOf(kept, count);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.academicmanagementsystem.config;
+
+import org.example.academicmanagementsystem.model.NotificationType;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.example.academicmanagementsystem.service.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditNotificationCoalescerTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    @InjectMocks
+    private AuditNotificationCoalescer coalescer;
+
+    @Test
+    void shouldCoalesceBurstIntoOneSummaryNotification() {
+        // Given
+        for (int i = 0; i < 40; i++) {
+            coalescer.onAuditEvent(studentUpdate("admin"));
+        }
+
+        // When
+        coalescer.flushAll();
+
+        // Then
+        verify(notificationService).createForRole(UserRole.ADMIN, NotificationType.SYSTEM_UPDATE,
+                "User admin performed 40 update operations on Student", null);
+        verify(notificationService).createForRole(UserRole.MODERATOR, NotificationType.SYSTEM_UPDATE,
+                "User admin performed 40 update operations on Student", null);
+        verifyNoMoreInteractions(notificationService);
+    }
+
+    @Test
+    void shouldKeepSingleEventMessageAndSeparateActors() {
+        // Given
+        coalescer.onAuditEvent(studentUpdate("admin"));
+        coalescer.onAuditEvent(studentUpdate("moderator"));
+
+        // When
+        coalescer.flushAll();
+
+        // Then
+        verify(notificationService).createForRole(UserRole.ADMIN, NotificationType.SYSTEM_UPDATE,
+                "User admin performed update on Student", null);
+        verify(notificationService).createForRole(UserRole.ADMIN, NotificationType.SYSTEM_UPDATE,
+                "User moderator performed update on Student", null);
+    }
+
+    @Test
+    void shouldHoldEventsUntilWindowExpires() {
+        // Given
+        ReflectionTestUtils.setField(coalescer, "coalesceWindowMs", 60_000L);
+        coalescer.onAuditEvent(studentUpdate("admin"));
+
+        // When
+        coalescer.flushExpired();
+
+        // Then
+        verify(notificationService, never()).createForRole(any(), any(), anyString(), any());
+    }
+
+    private AuditNotificationAspect.AuditEvent studentUpdate(String username) {
+        return new AuditNotificationAspect.AuditEvent(username, "Student", "UPDATE", NotificationType.SYSTEM_UPDATE, UserRole.MODERATOR);
+    }
+}
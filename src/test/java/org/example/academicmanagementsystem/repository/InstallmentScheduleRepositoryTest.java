@@ -0,0 +1,152 @@
+package org.example.academicmanagementsystem.repository;
+
+import org.example.academicmanagementsystem.dto.PendingInstallmentSummary;
+import org.example.academicmanagementsystem.model.*;
+import org.example.academicmanagementsystem.util.TestDataBuilder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class InstallmentScheduleRepositoryTest {
+
+    private static final LocalDate MONTH_START = LocalDate.of(2026, 3, 1);
+    private static final LocalDate MONTH_END = LocalDate.of(2026, 3, 31);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private InstallmentScheduleRepository installmentScheduleRepository;
+
+    private Statistics statistics;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldSumUnpaidInstallmentsDueInPeriod() {
+        // Given: installments 1 and 2 fall in March, installment 3 in April
+        RoundDiploma roundDiploma = persistRoundDiploma();
+        Student paidFirst = persistStudent(roundDiploma);
+        persistPayment(paidFirst, 1);
+        Student paidBoth = persistStudent(roundDiploma);
+        persistPayment(paidBoth, 1);
+        persistPayment(paidBoth, 2);
+        persistStudent(roundDiploma);
+        flushAndClear();
+
+        // When
+        PendingInstallmentSummary pending = pending();
+
+        // Then: one student owes installment 1, two owe installment 2
+        assertThat(pending.getAmount(1)).isEqualByComparingTo("1000");
+        assertThat(pending.getAmount(2)).isEqualByComparingTo("1600");
+        assertThat(pending.getAmount(3)).isEqualByComparingTo("0");
+        assertThat(pending.getAmount(4)).isEqualByComparingTo("0");
+        assertThat(pending.getTotal()).isEqualByComparingTo("2600");
+    }
+
+    @Test
+    void shouldIssueOneStatementAsEnrolmentGrows() {
+        // Given
+        RoundDiploma roundDiploma = persistRoundDiploma();
+        for (int i = 0; i < 5; i++) {
+            persistPayment(persistStudent(roundDiploma), 1);
+        }
+        flushAndClear();
+        long smallStatements = countStatements();
+
+        for (int i = 0; i < 300; i++) {
+            Student student = persistStudent(roundDiploma);
+            if (i % 2 == 0) {
+                persistPayment(student, 2);
+            }
+        }
+        flushAndClear();
+
+        // When
+        long largeStatements = countStatements();
+
+        // Then
+        assertThat(largeStatements).isEqualTo(smallStatements).isEqualTo(1);
+        assertThat(pending().getTotal())
+                .isEqualByComparingTo(BigDecimal.valueOf(300L * 1000 + 155L * 800));
+    }
+
+    @Test
+    void shouldFindSlotsDueInPeriodOrderedByDueDate() {
+        // Given
+        persistRoundDiploma();
+        persistRoundDiploma();
+        flushAndClear();
+
+        // When
+        List<InstallmentSchedule> due = installmentScheduleRepository.findByDueDateBetweenOrderByDueDate(MONTH_START, MONTH_END);
+
+        // Then: installments 1 and 2 of both plans, installment 3 falls in April
+        assertThat(due).hasSize(4);
+        assertThat(due).extracting(InstallmentSchedule::getSeq).containsExactly(1, 1, 2, 2);
+    }
+
+    private long countStatements() {
+        statistics.clear();
+        installmentScheduleRepository.sumPendingBySeq(MONTH_START, MONTH_END);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private PendingInstallmentSummary pending() {
+        return PendingInstallmentSummary.fromRows(installmentScheduleRepository.sumPendingBySeq(MONTH_START, MONTH_END));
+    }
+
+    private RoundDiploma persistRoundDiploma() {
+        Round round = entityManager.persist(TestDataBuilder.createRound("Round " + (++sequence)));
+        Diploma diploma = entityManager.persist(TestDataBuilder.createDiploma("Diploma " + sequence));
+        RoundDiploma roundDiploma = TestDataBuilder.createRoundDiploma(round, diploma);
+        roundDiploma.setTotalStudents(1000);
+        roundDiploma.putInstallment(1, LocalDate.of(2026, 3, 1), new BigDecimal("1000"));
+        roundDiploma.putInstallment(2, LocalDate.of(2026, 3, 31), new BigDecimal("800"));
+        roundDiploma.putInstallment(3, LocalDate.of(2026, 4, 1), new BigDecimal("1200"));
+        return entityManager.persist(roundDiploma);
+    }
+
+    private Student persistStudent(RoundDiploma roundDiploma) {
+        ++sequence;
+        return entityManager.persist(TestDataBuilder.createStudent(roundDiploma, "Student " + sequence,
+                "0100" + String.format("%07d", sequence)));
+    }
+
+    private void persistPayment(Student student, int installmentNumber) {
+        Payment payment = new Payment();
+        payment.setStudent(student);
+        payment.setAmount(new BigDecimal("100"));
+        payment.setPaymentDate(LocalDateTime.of(2026, 2, 1, 10, 0));
+        payment.setType(PaymentType.INSTALLMENT);
+        payment.setMethod(PaymentMethod.CASH);
+        payment.setReceiptNumber("RCP-TEST-" + (++sequence));
+        payment.setInstallmentNumber(installmentNumber);
+        entityManager.persist(payment);
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
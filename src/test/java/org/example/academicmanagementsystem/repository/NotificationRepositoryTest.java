@@ -0,0 +1,71 @@
+package org.example.academicmanagementsystem.repository;
+
+import org.example.academicmanagementsystem.model.Notification;
+import org.example.academicmanagementsystem.model.NotificationType;
+import org.example.academicmanagementsystem.model.User;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.example.academicmanagementsystem.util.TestDataBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class NotificationRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldInsertBatchAndAssignGeneratedIds() {
+        // Given
+        User agent = entityManager.persistAndFlush(TestDataBuilder.createTestUser("agent", UserRole.TELESALES));
+        List<Notification> batch = new ArrayList<>();
+        batch.add(notification(agent, null, "Lead assigned", 42L));
+        for (int i = 0; i < 3; i++) {
+            batch.add(notification(null, UserRole.ADMIN, "Import " + i, null));
+        }
+
+        // When
+        List<Notification> saved = notificationRepository.insertBatch(batch);
+
+        // Then
+        assertThat(saved).extracting(Notification::getId).doesNotContainNull().doesNotHaveDuplicates();
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, user_id, target_role, message, reference_id, is_read FROM notifications ORDER BY id");
+        assertThat(rows).hasSize(4);
+        assertThat(rows).extracting(row -> ((Number) row.get("id")).longValue())
+                .containsExactlyElementsOf(saved.stream().map(Notification::getId).toList());
+        assertThat(((Number) rows.get(0).get("user_id")).longValue()).isEqualTo(agent.getId());
+        assertThat(((Number) rows.get(0).get("reference_id")).longValue()).isEqualTo(42L);
+        assertThat(rows.get(3)).containsEntry("target_role", "ADMIN").containsEntry("message", "Import 2")
+                .containsEntry("is_read", false);
+    }
+
+    private Notification notification(User user, UserRole role, String message, Long referenceId) {
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setTargetRole(role);
+        notification.setType(NotificationType.LEAD_CREATED);
+        notification.setMessage(message);
+        notification.setReferenceId(referenceId);
+        notification.setIsRead(false);
+        notification.setCreatedBy("SYSTEM");
+        return notification;
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.academicmanagementsystem.security;
+
+import org.example.academicmanagementsystem.config.JwtConfig;
+import org.example.academicmanagementsystem.model.User;
+import org.example.academicmanagementsystem.util.TestDataBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+    private UserDetailsImpl principal;
+
+    @BeforeEach
+    void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret("testSecretKeyForJunitTestingPurposesOnly123456789");
+        jwtConfig.setExpiration(3600000L);
+        tokenProvider = new JwtTokenProvider(jwtConfig);
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsCache, tokenVersionRegistry);
+
+        User admin = TestDataBuilder.createAdminUser();
+        admin.setId(7L);
+        admin.setTokenVersion(0);
+        principal = UserDetailsImpl.build(admin);
+        lenient().when(tokenVersionRegistry.isCurrent(7L, 0)).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldAcceptStreamTokenFromQueryOnTheStreamEndpoint() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", JwtAuthenticationFilter.STREAM_PATH);
+        request.addParameter(JwtAuthenticationFilter.STREAM_TOKEN_PARAM, tokenProvider.generateStreamToken(principal));
+
+        // When / Then
+        assertThat(authenticatedUser(request)).isEqualTo("admin");
+    }
+
+    @Test
+    void shouldRejectStreamTokenAnywhereElse() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/notifications/my");
+        request.addHeader("Authorization", "Bearer " + tokenProvider.generateStreamToken(principal));
+
+        // When / Then
+        assertThat(authenticatedUser(request)).isNull();
+    }
+
+    @Test
+    void shouldRejectFullTokenInTheQueryString() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", JwtAuthenticationFilter.STREAM_PATH);
+        request.addParameter(JwtAuthenticationFilter.STREAM_TOKEN_PARAM,
+                tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(principal, null)));
+
+        // When / Then
+        assertThat(authenticatedUser(request)).isNull();
+    }
+
+    private String authenticatedUser(MockHttpServletRequest request) throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+}
@@ -113,6 +113,83 @@ class JwtTokenProviderTest {
         assertThat(isValid).isFalse();
     }
 
+    @Test
+    void shouldParseClaimsOnceForValidToken() {
+        // Given
+        UserDetailsImpl userDetails = UserDetailsImpl.build(TestDataBuilder.createAdminUser());
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+        String token = jwtTokenProvider.generateToken(authentication);
+
+        // When
+        java.util.Optional<Claims> claims = jwtTokenProvider.parseClaims(token);
+
+        // Then
+        assertThat(claims).isPresent();
+        assertThat(claims.get().getSubject()).isEqualTo("admin");
+        assertThat(jwtTokenProvider.parseClaims("this.is.invalid.token")).isEmpty();
+        // The signing key is derived once, not per call
+        verify(jwtConfig, times(1)).getSecret();
+    }
+
+    @Test
+    void shouldBuildPrincipalFromClaimsWithoutLookup() {
+        // Given
+        org.example.academicmanagementsystem.model.User admin = TestDataBuilder.createAdminUser();
+        admin.setId(7L);
+        admin.setTokenVersion(3);
+        when(authentication.getPrincipal()).thenReturn(UserDetailsImpl.build(admin));
+        String token = jwtTokenProvider.generateToken(authentication);
+
+        // When
+        java.util.Optional<UserDetailsImpl> principal = jwtTokenProvider.parseClaims(token)
+                .flatMap(jwtTokenProvider::toPrincipal);
+
+        // Then
+        assertThat(principal).isPresent();
+        assertThat(principal.get().getId()).isEqualTo(7L);
+        assertThat(principal.get().getUsername()).isEqualTo("admin");
+        assertThat(principal.get().getRole()).isEqualTo(org.example.academicmanagementsystem.model.UserRole.ADMIN);
+        assertThat(principal.get().getFullName()).isEqualTo(admin.getFullName());
+        assertThat(principal.get().getTokenVersion()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotBuildPrincipalFromLegacyToken() {
+        // Given - a token issued before identity claims existed
+        SecretKey key = Keys.hmacShaKeyFor(testSecret.getBytes(StandardCharsets.UTF_8));
+        String legacyToken = Jwts.builder()
+                .subject("admin")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 3600000))
+                .signWith(key)
+                .compact();
+
+        // When
+        java.util.Optional<UserDetailsImpl> principal = jwtTokenProvider.parseClaims(legacyToken)
+                .flatMap(jwtTokenProvider::toPrincipal);
+
+        // Then
+        assertThat(principal).isEmpty();
+    }
+
+    @Test
+    void shouldIssueShortLivedStreamToken() {
+        // Given
+        when(jwtConfig.getStreamExpiration()).thenReturn(60000L);
+        UserDetailsImpl userDetails = UserDetailsImpl.build(TestDataBuilder.createAdminUser());
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+
+        // When
+        Claims streamClaims = jwtTokenProvider.parseClaims(jwtTokenProvider.generateStreamToken(userDetails)).orElseThrow();
+        Claims fullClaims = jwtTokenProvider.parseClaims(jwtTokenProvider.generateToken(authentication)).orElseThrow();
+
+        // Then
+        assertThat(jwtTokenProvider.isStreamToken(streamClaims)).isTrue();
+        assertThat(jwtTokenProvider.isStreamToken(fullClaims)).isFalse();
+        assertThat(streamClaims.getSubject()).isEqualTo("admin");
+        assertThat(streamClaims.getExpiration().getTime() - streamClaims.getIssuedAt().getTime()).isEqualTo(60000L);
+    }
+
     @Test
     void shouldReturnExpirationTime() {
         // When
@@ -0,0 +1,78 @@
+package org.example.academicmanagementsystem.security;
+
+import org.example.academicmanagementsystem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionRegistry = new TokenVersionRegistry(userRepository, 100, 30);
+    }
+
+    @Test
+    void shouldLoadVersionOncePerUser() {
+        // Given
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertThat(tokenVersionRegistry.isCurrent(1L, 0)).isTrue();
+        }
+
+        // Then
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void shouldRejectTokensIssuedBeforeRevocation() {
+        // Given
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0), Optional.of(1));
+        assertThat(tokenVersionRegistry.isCurrent(1L, 0)).isTrue();
+
+        // When
+        tokenVersionRegistry.revoke(1L);
+
+        // Then
+        verify(userRepository).incrementTokenVersion(1L);
+        assertThat(tokenVersionRegistry.isCurrent(1L, 0)).isFalse();
+        assertThat(tokenVersionRegistry.isCurrent(1L, 1)).isTrue();
+    }
+
+    @Test
+    void shouldRejectTokensOfRemovedUsers() {
+        // Given
+        when(userRepository.findTokenVersionById(2L)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThat(tokenVersionRegistry.isCurrent(2L, 0)).isFalse();
+        assertThat(tokenVersionRegistry.isCurrent(2L, null)).isFalse();
+    }
+
+    @Test
+    void shouldPickUpVersionsBumpedElsewhereOnceTheEntryExpires() {
+        // Given - another node revoked the user; this node never saw the revoke call
+        TokenVersionRegistry expiring = new TokenVersionRegistry(userRepository, 100, 0);
+        when(userRepository.findTokenVersionById(3L)).thenReturn(Optional.of(0), Optional.of(1));
+        assertThat(expiring.isCurrent(3L, 0)).isTrue();
+
+        // When / Then
+        assertThat(expiring.isCurrent(3L, 0)).isFalse();
+        verify(userRepository, times(2)).findTokenVersionById(3L);
+    }
+}
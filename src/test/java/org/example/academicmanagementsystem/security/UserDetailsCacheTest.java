@@ -0,0 +1,62 @@
+package org.example.academicmanagementsystem.security;
+
+import org.example.academicmanagementsystem.model.User;
+import org.example.academicmanagementsystem.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsCacheTest {
+
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    private UserDetailsCache userDetailsCache;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsCache = new UserDetailsCache(userDetailsService, 100, 60);
+    }
+
+    @Test
+    void shouldLoadPrincipalOnceForRepeatedRequests() {
+        // Given
+        User admin = TestDataBuilder.createAdminUser();
+        admin.setId(1L);
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(UserDetailsImpl.build(admin));
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            userDetailsCache.get("admin");
+        }
+
+        // Then
+        verify(userDetailsService, times(1)).loadUserByUsername("admin");
+    }
+
+    @Test
+    void shouldReloadPrincipalAfterUserChanges() {
+        // Given
+        User admin = TestDataBuilder.createAdminUser();
+        admin.setId(1L);
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(UserDetailsImpl.build(admin));
+        userDetailsCache.get("admin");
+
+        admin.setFullName("Renamed Admin");
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(UserDetailsImpl.build(admin));
+
+        // When
+        userDetailsCache.evictUser(1L);
+        UserDetailsImpl reloaded = userDetailsCache.get("admin");
+
+        // Then
+        assertThat(reloaded.getFullName()).isEqualTo("Renamed Admin");
+        verify(userDetailsService, times(2)).loadUserByUsername("admin");
+    }
+}
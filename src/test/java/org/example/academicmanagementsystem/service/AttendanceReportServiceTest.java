@@ -0,0 +1,193 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.dto.AttendanceHoursSummary;
+import org.example.academicmanagementsystem.dto.WeeklyHoursBucket;
+import org.example.academicmanagementsystem.model.Attendance;
+import org.example.academicmanagementsystem.model.User;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.example.academicmanagementsystem.repository.AttendanceRepository;
+import org.example.academicmanagementsystem.service.impl.AttendanceReportServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Each test uses its own weeks, so cached closed weeks never overlap between tests
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import(AttendanceReportServiceImpl.class)
+class AttendanceReportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AttendanceReportService attendanceReportService;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    private Statistics statistics;
+
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldSummarizeHoursDaysAndOvertimePerEmployee() {
+        // Given
+        User alice = persistUser("Alice");
+        User bob = persistUser("Bob");
+        persistAttendance(alice, LocalDate.of(2025, 6, 2), "10");
+        persistAttendance(alice, LocalDate.of(2025, 6, 3), "6");
+        persistAttendance(alice, LocalDate.of(2025, 7, 1), "12");
+        persistAttendance(bob, LocalDate.of(2025, 6, 4), "9");
+        flushAndClear();
+
+        // When
+        List<AttendanceHoursSummary> report = attendanceReportService.getHoursByEmployee(LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 30));
+
+        // Then
+        assertThat(report).extracting(AttendanceHoursSummary::getEmployeeName).containsExactly("Alice", "Bob");
+        assertThat(report.get(0).getHours()).isEqualByComparingTo("16");
+        assertThat(report.get(0).getDays()).isEqualTo(2);
+        assertThat(report.get(0).getOvertimeHours()).isEqualByComparingTo("2");
+        assertThat(report.get(1).getOvertimeHours()).isEqualByComparingTo("1");
+    }
+
+    @Test
+    void shouldBucketHoursBySundayBasedWeek() {
+        // Given: 2026-03-01 is a Sunday and 2026-03-07 the Saturday of the same week
+        User alice = persistUser("Alice");
+        User bob = persistUser("Bob");
+        persistAttendance(alice, LocalDate.of(2026, 3, 1), "8");
+        persistAttendance(alice, LocalDate.of(2026, 3, 7), "9");
+        persistAttendance(alice, LocalDate.of(2026, 3, 8), "4");
+        persistAttendance(bob, LocalDate.of(2026, 3, 4), "5");
+        flushAndClear();
+
+        // When
+        List<WeeklyHoursBucket> all = attendanceReportService.getWeeklyHours(LocalDate.of(2026, 3, 3), LocalDate.of(2026, 3, 10), null);
+        List<WeeklyHoursBucket> aliceOnly = attendanceReportService.getWeeklyHours(LocalDate.of(2026, 3, 3), LocalDate.of(2026, 3, 10), alice.getId());
+
+        // Then
+        assertThat(all).hasSize(3);
+        assertThat(aliceOnly).extracting(WeeklyHoursBucket::getWeekStart)
+                .containsExactly(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 8));
+        assertThat(aliceOnly.get(0).getHours()).isEqualByComparingTo("17");
+        assertThat(aliceOnly.get(0).getDays()).isEqualTo(2);
+        assertThat(aliceOnly.get(0).getOvertimeHours()).isEqualByComparingTo("1");
+        assertThat(aliceOnly.get(1).getHours()).isEqualByComparingTo("4");
+    }
+
+    @Test
+    void shouldServeClosedWeeksFromCacheUntilALogChanges() {
+        // Given
+        User alice = persistUser("Alice");
+        persistAttendance(alice, LocalDate.of(2025, 9, 8), "7");
+        flushAndClear();
+        LocalDate from = LocalDate.of(2025, 9, 7);
+        LocalDate to = LocalDate.of(2025, 9, 20);
+        attendanceReportService.getWeeklyHours(from, to, null);
+
+        // When: both weeks are closed and cached
+        statistics.clear();
+        List<WeeklyHoursBucket> cached = attendanceReportService.getWeeklyHours(from, to, null);
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(cached).hasSize(1);
+
+        // When: a log is added to the second week
+        persistAttendance(alice, LocalDate.of(2025, 9, 16), "3");
+        flushAndClear();
+        attendanceReportService.markChanged(LocalDate.of(2025, 9, 16));
+        statistics.clear();
+        List<WeeklyHoursBucket> refreshed = attendanceReportService.getWeeklyHours(from, to, null);
+
+        // Then: only the invalidated week is reloaded
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(refreshed).extracting(WeeklyHoursBucket::getWeekStart)
+                .containsExactly(LocalDate.of(2025, 9, 7), LocalDate.of(2025, 9, 14));
+    }
+
+    @Test
+    void shouldReplaceThePerEmployeeLoopWithOneStatementFor500Employees() {
+        // Given
+        LocalDate from = LocalDate.of(2024, 5, 1);
+        LocalDate to = LocalDate.of(2024, 5, 31);
+        List<User> employees = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            User employee = persistUser("Employee " + i);
+            employees.add(employee);
+            for (int day = 1; day <= 4; day++) {
+                persistAttendance(employee, from.plusDays(day), String.valueOf(6 + (i + day) % 5));
+            }
+        }
+        flushAndClear();
+
+        // When: the per-employee loop, two queries per employee
+        statistics.clear();
+        Map<Long, BigDecimal> loopHours = employees.stream().collect(Collectors.toMap(User::getId, e -> {
+            attendanceRepository.countDaysByEmployeeAndDateRange(e.getId(), from, to);
+            return attendanceRepository.sumTotalHoursByEmployeeAndDateRange(e.getId(), from, to);
+        }));
+        long loopStatements = statistics.getPrepareStatementCount();
+
+        // When: the grouped report
+        statistics.clear();
+        Map<Long, AttendanceHoursSummary> grouped = attendanceReportService.getHoursByEmployee(from, to).stream()
+                .collect(Collectors.toMap(AttendanceHoursSummary::getEmployeeId, Function.identity()));
+        long groupedStatements = statistics.getPrepareStatementCount();
+
+        // Then
+        assertThat(loopStatements).isEqualTo(1000);
+        assertThat(groupedStatements).isEqualTo(1);
+        assertThat(grouped).hasSize(500);
+        loopHours.forEach((id, hours) -> assertThat(grouped.get(id).getHours()).isEqualByComparingTo(hours));
+    }
+
+    private User persistUser(String fullName) {
+        int n = ++sequence;
+        User user = new User();
+        user.setUsername("employee" + n);
+        user.setEmail("employee" + n + "@example.com");
+        user.setPassword("secret");
+        user.setFullName(fullName);
+        user.setRole(UserRole.EMPLOYEE);
+        return entityManager.persist(user);
+    }
+
+    private void persistAttendance(User employee, LocalDate date, String hours) {
+        Attendance attendance = new Attendance();
+        attendance.setEmployee(employee);
+        attendance.setDate(date);
+        attendance.setCheckInTime(date.atTime(9, 0));
+        attendance.setTotalHours(new BigDecimal(hours));
+        entityManager.persist(attendance);
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,181 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.dto.AttendanceV2Request;
+import org.example.academicmanagementsystem.dto.AttendanceV2Response;
+import org.example.academicmanagementsystem.model.*;
+import org.example.academicmanagementsystem.service.impl.AttendanceV2ServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Real MySQL-mode database: the bulk save relies on ON DUPLICATE KEY UPDATE
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(AttendanceV2ServiceImpl.class)
+class AttendanceV2ServiceTest {
+
+    private static final LocalDate SESSION = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AttendanceV2Service attendanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    private RoundDiplomaV2 roundDiploma;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        RoundV2 round = new RoundV2();
+        round.setName("Round 1");
+        round.setStartDate(LocalDate.of(2026, 1, 1));
+        entityManager.persist(round);
+
+        DiplomaV2 diploma = new DiplomaV2();
+        diploma.setName("BIM");
+        entityManager.persist(diploma);
+
+        roundDiploma = new RoundDiplomaV2();
+        roundDiploma.setRound(round);
+        roundDiploma.setDiploma(diploma);
+        roundDiploma.setTotalPrice(new BigDecimal("3000"));
+        roundDiploma.setStartDate(LocalDate.of(2026, 1, 1));
+        roundDiploma.setEndDate(LocalDate.of(2026, 12, 31));
+        roundDiploma.setTotalStudents(100);
+        entityManager.persist(roundDiploma);
+    }
+
+    @Test
+    void shouldInsertThenOverwriteASessionWithoutDuplicates() {
+        // Given
+        List<StudentV2> students = persistStudents(60);
+        attendanceService.saveBulkAttendance(request(students, AttendanceStatus.PRESENT, "first"));
+
+        // When
+        attendanceService.saveBulkAttendance(request(students.subList(0, 10), AttendanceStatus.ABSENT, "second"));
+        entityManager.clear();
+
+        // Then
+        List<AttendanceV2Response> session = attendanceService.getAttendanceByDiplomaAndDate(roundDiploma.getId(), SESSION);
+        assertThat(session).hasSize(60);
+        assertThat(session).filteredOn(a -> a.getStatus() == AttendanceStatus.ABSENT)
+                .hasSize(10)
+                .allMatch(a -> "second".equals(a.getNotes()));
+        assertThat(session).filteredOn(a -> a.getStatus() == AttendanceStatus.PRESENT).hasSize(50);
+    }
+
+    @Test
+    void shouldIssueTheSameNumberOfStatementsRegardlessOfClassSize() {
+        // Given
+        List<StudentV2> small = persistStudents(5);
+        List<StudentV2> large = persistStudents(60);
+        entityManager.flush();
+
+        // When
+        statistics.clear();
+        attendanceService.saveBulkAttendance(request(small, AttendanceStatus.PRESENT, null));
+        long smallClass = statistics.getPrepareStatementCount();
+        statistics.clear();
+        attendanceService.saveBulkAttendance(request(large, AttendanceStatus.PRESENT, null));
+        long largeClass = statistics.getPrepareStatementCount();
+
+        // Then: diploma check and one IN lookup; the upsert batch goes through JDBC
+        assertThat(largeClass).isEqualTo(smallClass).isLessThanOrEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_attendance_v2", Long.class)).isEqualTo(65);
+    }
+
+    @Test
+    void shouldRejectUnknownStudentsBeforeWritingAnything() {
+        // Given
+        List<StudentV2> students = persistStudents(2);
+        AttendanceV2Request request = request(students, AttendanceStatus.PRESENT, null);
+        AttendanceV2Request.StudentAttendanceRecord unknown = new AttendanceV2Request.StudentAttendanceRecord();
+        unknown.setStudentId(-1L);
+        unknown.setStatus(AttendanceStatus.PRESENT);
+        request.getRecords().add(unknown);
+
+        // When / Then
+        assertThatThrownBy(() -> attendanceService.saveBulkAttendance(request))
+                .hasMessage("Student not found: -1");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_attendance_v2", Long.class)).isZero();
+    }
+
+    @Test
+    void shouldRestoreASoftDeletedRowForTheSameSession() {
+        // Given
+        StudentV2 student = persistStudents(1).get(0);
+        StudentAttendanceV2 deleted = new StudentAttendanceV2();
+        deleted.setStudent(student);
+        deleted.setRoundDiploma(roundDiploma);
+        deleted.setDate(SESSION);
+        deleted.setStatus(AttendanceStatus.PRESENT);
+        deleted.setDeleted(true);
+        entityManager.persist(deleted);
+        entityManager.flush();
+
+        // When
+        attendanceService.saveBulkAttendance(request(List.of(student), AttendanceStatus.EXCUSED, null));
+        entityManager.clear();
+
+        // Then
+        List<AttendanceV2Response> session = attendanceService.getAttendanceByDiplomaAndDate(roundDiploma.getId(), SESSION);
+        assertThat(session).singleElement().satisfies(a -> {
+            assertThat(a.getId()).isEqualTo(deleted.getId());
+            assertThat(a.getStatus()).isEqualTo(AttendanceStatus.EXCUSED);
+        });
+    }
+
+    private List<StudentV2> persistStudents(int count) {
+        List<StudentV2> students = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StudentV2 student = new StudentV2();
+            student.setName("Student " + i);
+            student.setPhone("0100000" + String.format("%04d", i));
+            student.setRound(roundDiploma.getRound());
+            student.setDiploma(roundDiploma.getDiploma());
+            students.add(entityManager.persist(student));
+        }
+        return students;
+    }
+
+    private AttendanceV2Request request(List<StudentV2> students, AttendanceStatus status, String notes) {
+        List<AttendanceV2Request.StudentAttendanceRecord> records = new ArrayList<>();
+        for (StudentV2 student : students) {
+            AttendanceV2Request.StudentAttendanceRecord record = new AttendanceV2Request.StudentAttendanceRecord();
+            record.setStudentId(student.getId());
+            record.setStatus(status);
+            record.setNotes(notes);
+            records.add(record);
+        }
+        AttendanceV2Request request = new AttendanceV2Request();
+        request.setRoundDiplomaId(roundDiploma.getId());
+        request.setDate(SESSION);
+        request.setRecords(records);
+        return request;
+    }
+}
@@ -57,6 +57,12 @@ class AuthServiceTest {
     @Mock
     private PayrollRecordRepository payrollRecordRepository;
 
+    @Mock
+    private org.example.academicmanagementsystem.security.UserDetailsCache userDetailsCache;
+
+    @Mock
+    private FinanceSnapshotService financeSnapshotService;
+
     private final UserMapper userMapper = new UserMapper() {
         @Override
         public UserResponse toUserResponse(User user) {
@@ -90,7 +96,7 @@ class AuthServiceTest {
 
     @BeforeEach
     void setUp() {
-        authService = new AuthService(authenticationManager, userRepository, passwordEncoder, tokenProvider, userMapper, salaryRepository, payrollRecordRepository);
+        authService = new AuthService(authenticationManager, userRepository, passwordEncoder, tokenProvider, userMapper, salaryRepository, payrollRecordRepository, userDetailsCache, financeSnapshotService);
     }
 
     @Test
@@ -0,0 +1,136 @@
+package org.example.academicmanagementsystem.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.academicmanagementsystem.dto.FinanceMonthTotals;
+import org.example.academicmanagementsystem.model.Expense;
+import org.example.academicmanagementsystem.model.InvoiceV2;
+import org.example.academicmanagementsystem.repository.ExpenseRepository;
+import org.example.academicmanagementsystem.repository.InvoiceV2Repository;
+import org.example.academicmanagementsystem.service.impl.FinanceSnapshotServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: snapshots are stored in their own transaction and must see committed data
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(FinanceSnapshotServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FinanceSnapshotServiceTest {
+
+    @Autowired
+    private FinanceSnapshotService snapshotService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private InvoiceV2Repository invoiceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final YearMonth closedMonth = YearMonth.now().minusMonths(3);
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM finance_diploma_revenue_snapshots");
+        jdbcTemplate.execute("DELETE FROM finance_monthly_snapshots");
+        jdbcTemplate.execute("DELETE FROM expenses");
+        jdbcTemplate.execute("DELETE FROM invoices_v2");
+    }
+
+    @Test
+    void shouldServeClosedMonthFromSnapshotUntilItChanges() {
+        // Given
+        expenseRepository.save(expense(closedMonth.atDay(5), "100.00"));
+        invoiceRepository.save(invoice(closedMonth.atDay(10), "250.00"));
+        assertThat(snapshotService.getMonth(closedMonth).getExpenses()).isEqualByComparingTo("100.00");
+
+        // A row written without going through the services is not seen until the month is invalidated
+        expenseRepository.save(expense(closedMonth.atDay(6), "40.00"));
+        FinanceMonthTotals cached = snapshotService.getMonth(closedMonth);
+        assertThat(cached.getExpenses()).isEqualByComparingTo("100.00");
+        assertThat(cached.getInvoiceRevenue()).isEqualByComparingTo("250.00");
+
+        // When
+        snapshotService.markChanged(closedMonth.atDay(6));
+
+        // Then
+        assertThat(snapshotService.getMonth(closedMonth).getExpenses()).isEqualByComparingTo("140.00");
+    }
+
+    @Test
+    void shouldReadSnapshotsWithoutAggregating() {
+        // Given
+        expenseRepository.save(expense(closedMonth.atDay(5), "100.00"));
+        List<YearMonth> months = List.of(closedMonth.minusMonths(1), closedMonth, YearMonth.now());
+        snapshotService.getMonths(months);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        Map<YearMonth, FinanceMonthTotals> totals = snapshotService.getMonths(months);
+
+        // Then: one snapshot lookup for both closed months, four live sums for the current month
+        assertThat(totals.get(closedMonth).getExpenses()).isEqualByComparingTo("100.00");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldRebuildClosedMonthsOnly() {
+        // Given
+        expenseRepository.save(expense(closedMonth.atDay(5), "70.00"));
+
+        // When
+        int rebuilt = snapshotService.rebuild(closedMonth.minusMonths(1), YearMonth.now());
+
+        // Then: the four closed months in range, not the current one
+        assertThat(rebuilt).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT expenses FROM finance_monthly_snapshots WHERE snapshot_month = ?", BigDecimal.class, closedMonth.toString()))
+                .isEqualByComparingTo("70.00");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM finance_monthly_snapshots WHERE snapshot_month = ?", Long.class, YearMonth.now().toString()))
+                .isZero();
+    }
+
+    private Expense expense(LocalDate date, String amount) {
+        Expense expense = new Expense();
+        expense.setTitle("Rent");
+        expense.setAmount(new BigDecimal(amount));
+        expense.setPaymentMethod("Cash");
+        expense.setExpenseDate(date);
+        return expense;
+    }
+
+    private InvoiceV2 invoice(LocalDate date, String amount) {
+        InvoiceV2 invoice = new InvoiceV2();
+        invoice.setInvoiceDate(date);
+        invoice.setCustomerName("Customer");
+        invoice.setCustomerPhone("01000000000");
+        invoice.setAmount(new BigDecimal(amount));
+        return invoice;
+    }
+}
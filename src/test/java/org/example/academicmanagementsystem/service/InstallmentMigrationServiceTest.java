@@ -0,0 +1,135 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.model.*;
+import org.example.academicmanagementsystem.repository.*;
+import org.example.academicmanagementsystem.service.impl.InstallmentMigrationServiceImpl;
+import org.example.academicmanagementsystem.util.TestDataBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: the legacy columns are added with DDL, which commits on its own
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(InstallmentMigrationServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InstallmentMigrationServiceTest {
+
+    @Autowired
+    private InstallmentMigrationService migrationService;
+
+    @Autowired
+    private RoundRepository roundRepository;
+
+    @Autowired
+    private DiplomaRepository diplomaRepository;
+
+    @Autowired
+    private RoundDiplomaRepository roundDiplomaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void addLegacyColumns() {
+        jdbcTemplate.execute("ALTER TABLE round_diplomas ADD COLUMN installment1_amount DECIMAL(10,2)");
+        jdbcTemplate.execute("ALTER TABLE round_diplomas ADD COLUMN installment1_date DATE");
+        jdbcTemplate.execute("ALTER TABLE round_diplomas ADD COLUMN installment2_amount DECIMAL(10,2)");
+        jdbcTemplate.execute("ALTER TABLE round_diplomas ADD COLUMN installment2_date DATE");
+        jdbcTemplate.execute("ALTER TABLE round_diplomas ADD COLUMN installment3_amount DECIMAL(10,2)");
+        jdbcTemplate.execute("ALTER TABLE round_diplomas ADD COLUMN installment3_date DATE");
+        jdbcTemplate.execute("ALTER TABLE round_diplomas ADD COLUMN installment4_amount DECIMAL(10,2)");
+        jdbcTemplate.execute("ALTER TABLE round_diplomas ADD COLUMN installment4_date DATE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM installment_schedule");
+        jdbcTemplate.execute("DELETE FROM round_diplomas");
+        jdbcTemplate.execute("DELETE FROM diplomas");
+        jdbcTemplate.execute("DELETE FROM rounds");
+        for (int seq = 1; seq <= 4; seq++) {
+            jdbcTemplate.execute("ALTER TABLE round_diplomas DROP COLUMN installment" + seq + "_amount");
+            jdbcTemplate.execute("ALTER TABLE round_diplomas DROP COLUMN installment" + seq + "_date");
+        }
+    }
+
+    @Test
+    void shouldCopyLegacyColumnsIntoSchedule() {
+        // Given: a plan with three populated slots in the legacy columns
+        Long roundDiplomaId = persistRoundDiploma();
+        jdbcTemplate.update("UPDATE round_diplomas SET installment1_amount = 1000, installment1_date = ?, " +
+                        "installment2_amount = 800, installment2_date = ?, installment3_date = ? WHERE id = ?",
+                LocalDate.of(2026, 3, 1), LocalDate.of(2026, 4, 1), LocalDate.of(2026, 5, 1), roundDiplomaId);
+
+        // When
+        int migrated = migrationService.migrateLegacyColumns();
+
+        // Then
+        assertThat(migrated).isEqualTo(3);
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT seq, due_date, amount FROM installment_schedule WHERE round_diploma_id = ? ORDER BY seq", roundDiplomaId);
+        assertThat(rows).extracting(row -> ((Number) row.get("seq")).intValue()).containsExactly(1, 2, 3);
+        assertThat((BigDecimal) rows.get(0).get("amount")).isEqualByComparingTo("1000");
+        assertThat(rows.get(2).get("amount")).isNull();
+    }
+
+    @Test
+    void shouldNotDuplicateSlotsWhenRunAgain() {
+        // Given
+        Long roundDiplomaId = persistRoundDiploma();
+        jdbcTemplate.update("UPDATE round_diplomas SET installment1_amount = 1000, installment1_date = ? WHERE id = ?",
+                LocalDate.of(2026, 3, 1), roundDiplomaId);
+        migrationService.migrateLegacyColumns();
+
+        // When
+        int migratedAgain = migrationService.migrateLegacyColumns();
+
+        // Then
+        assertThat(migratedAgain).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM installment_schedule", Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldNotResurrectDeletedSlotsOnRestart() {
+        // Given: a migrated plan whose second slot was later removed
+        Long roundDiplomaId = persistRoundDiploma();
+        jdbcTemplate.update("UPDATE round_diplomas SET installment1_amount = 1000, installment1_date = ?, " +
+                        "installment2_amount = 800, installment2_date = ? WHERE id = ?",
+                LocalDate.of(2026, 3, 1), LocalDate.of(2026, 4, 1), roundDiplomaId);
+        migrationService.migrateLegacyColumns();
+        jdbcTemplate.update("DELETE FROM installment_schedule WHERE round_diploma_id = ? AND seq = 2", roundDiplomaId);
+
+        // When: the startup migration runs again
+        int migratedAgain = migrationService.migrateLegacyColumns();
+
+        // Then
+        assertThat(migratedAgain).isZero();
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT seq FROM installment_schedule WHERE round_diploma_id = ? ORDER BY seq", Integer.class, roundDiplomaId))
+                .containsExactly(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM round_diplomas WHERE installment2_amount IS NOT NULL OR installment2_date IS NOT NULL",
+                Long.class)).isZero();
+    }
+
+    private Long persistRoundDiploma() {
+        Round round = roundRepository.save(TestDataBuilder.createRound("Round 1"));
+        Diploma diploma = diplomaRepository.save(TestDataBuilder.createDiploma("Diploma 1"));
+        return roundDiplomaRepository.save(TestDataBuilder.createRoundDiploma(round, diploma)).getId();
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.config.LeadDistributionConfig;
+import org.example.academicmanagementsystem.dto.AgentSkillWeight;
+import org.example.academicmanagementsystem.dto.LeadDistributionSummary;
+import org.example.academicmanagementsystem.model.DiplomaV2;
+import org.example.academicmanagementsystem.model.Lead;
+import org.example.academicmanagementsystem.model.LeadStatus;
+import org.example.academicmanagementsystem.model.User;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.example.academicmanagementsystem.service.impl.LeadDistributionServiceImpl;
+import org.example.academicmanagementsystem.service.impl.LeadStatusCounterServiceImpl;
+import org.example.academicmanagementsystem.util.TestDataBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Counter upserts use MySQL syntax, so run against the MySQL-mode H2 from application-test.properties
+@DataJpaTest(properties = "leads.distribution.batch-size=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({LeadDistributionServiceImpl.class, LeadStatusCounterServiceImpl.class, LeadDistributionConfig.class})
+class LeadDistributionServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LeadDistributionService leadDistributionService;
+
+    @Autowired
+    private LeadStatusCounterService counterService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @Test
+    void shouldFillTheLeastLoadedAgentsFirst() {
+        // Given
+        User busy = persistAgent("busy", "Agent Busy");
+        User idle = persistAgent("idle", "Sara Ali");
+        User light = persistAgent("light", "Sara Ali");
+        for (int i = 0; i < 3; i++) {
+            persistLead(busy, null, LeadStatus.OPEN);
+        }
+        persistLead(busy, null, LeadStatus.CLOSED);
+        persistLead(light, null, LeadStatus.FOLLOW_UP);
+        for (int i = 0; i < 6; i++) {
+            persistLead(null, null, LeadStatus.OPEN);
+        }
+        entityManager.flush();
+
+        // When
+        LeadDistributionSummary summary = leadDistributionService.distribute(0, null);
+
+        // Then
+        assertThat(summary.getTotal()).isEqualTo(6);
+        assertThat(summary.getRemaining()).isZero();
+        assertThat(summary.getAgents())
+                .extracting(LeadDistributionSummary.AgentAssignment::getAgentId,
+                        LeadDistributionSummary.AgentAssignment::getOpenLeadsBefore,
+                        LeadDistributionSummary.AgentAssignment::getAssigned)
+                .containsExactly(tuple(busy.getId(), 3L, 1L), tuple(idle.getId(), 0L, 3L), tuple(light.getId(), 1L, 2L));
+        assertThat(assignedCounts()).containsEntry(busy.getId(), 5L).containsEntry(idle.getId(), 3L).containsEntry(light.getId(), 3L);
+        assertThat(counterService.countByAgent(idle.getId())).containsEntry(LeadStatus.OPEN, 3L);
+    }
+
+    @Test
+    void shouldRespectSkillWeightsAndPerAgentLimit() {
+        // Given
+        User generalist = persistAgent("generalist", "Generalist");
+        User specialist = persistAgent("specialist", "Specialist");
+        DiplomaV2 diploma = new DiplomaV2();
+        diploma.setName("Data Science");
+        diploma = entityManager.persist(diploma);
+        for (int i = 0; i < 4; i++) {
+            persistLead(null, diploma, LeadStatus.OPEN);
+        }
+        persistLead(null, null, LeadStatus.INTERESTED);
+        persistLead(null, null, LeadStatus.OPEN);
+        entityManager.flush();
+        List<AgentSkillWeight> weights = List.of(new AgentSkillWeight(generalist.getId(), diploma.getId(), 0));
+
+        // When
+        LeadDistributionSummary summary = leadDistributionService.distribute(1, weights);
+
+        // Then: the specialist takes one diploma lead, the rest of them wait for a later run
+        assertThat(summary.getTotal()).isEqualTo(2);
+        assertThat(summary.getRemaining()).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM leads WHERE diploma_id IS NOT NULL AND tele_sales_id = ?", Long.class, specialist.getId()))
+                .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM leads WHERE diploma_id IS NULL AND tele_sales_id = ?", Long.class, generalist.getId()))
+                .isEqualTo(1);
+
+        // When
+        summary = leadDistributionService.distribute(0, weights);
+
+        // Then
+        assertThat(summary.getTotal()).isEqualTo(4);
+        assertThat(assignedCounts()).containsEntry(specialist.getId(), 4L).containsEntry(generalist.getId(), 2L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM leads WHERE diploma_id IS NOT NULL AND tele_sales_id = ?", Long.class, generalist.getId()))
+                .isZero();
+    }
+
+    @Test
+    void shouldReportWhenNothingIsUnassigned() {
+        // Given
+        User agent = persistAgent("agent", "Agent");
+        persistLead(agent, null, LeadStatus.OPEN);
+        entityManager.flush();
+
+        // When
+        LeadDistributionSummary summary = leadDistributionService.distribute(30, null);
+
+        // Then
+        assertThat(summary.getTotal()).isZero();
+        assertThat(summary.getMessage()).isEqualTo("No unassigned leads to distribute");
+    }
+
+    private Map<Long, Long> assignedCounts() {
+        Map<Long, Long> counts = new java.util.HashMap<>();
+        jdbcTemplate.query("SELECT tele_sales_id, COUNT(*) FROM leads WHERE tele_sales_id IS NOT NULL GROUP BY tele_sales_id",
+                rs -> {
+                    counts.put(rs.getLong(1), rs.getLong(2));
+                });
+        return counts;
+    }
+
+    private User persistAgent(String username, String fullName) {
+        User agent = TestDataBuilder.createTestUser(username, UserRole.TELESALES);
+        agent.setFullName(fullName);
+        return entityManager.persist(agent);
+    }
+
+    private Lead persistLead(User teleSales, DiplomaV2 diploma, LeadStatus status) {
+        Lead lead = new Lead();
+        lead.setFullName("Lead");
+        lead.setPhoneNumber("01000000000");
+        lead.setStatus(status);
+        lead.setTeleSales(teleSales);
+        lead.setDiploma(diploma);
+        return entityManager.persist(lead);
+    }
+}
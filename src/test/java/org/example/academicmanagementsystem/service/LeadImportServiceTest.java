@@ -0,0 +1,188 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.config.LeadImportConfig;
+import org.example.academicmanagementsystem.dto.LeadImportSummary;
+import org.example.academicmanagementsystem.dto.LeadResponse;
+import org.example.academicmanagementsystem.mapper.LeadMapperImpl;
+import org.example.academicmanagementsystem.model.DiplomaV2;
+import org.example.academicmanagementsystem.model.Lead;
+import org.example.academicmanagementsystem.model.LeadStatus;
+import org.example.academicmanagementsystem.repository.LeadRepository;
+import org.example.academicmanagementsystem.service.impl.LeadImportServiceImpl;
+import org.example.academicmanagementsystem.service.impl.LeadServiceImpl;
+import org.example.academicmanagementsystem.service.impl.LeadStatusCounterServiceImpl;
+import org.example.academicmanagementsystem.service.impl.PhoneKeyServiceImpl;
+import org.example.academicmanagementsystem.service.impl.SearchIndexServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "leads.import.batch-size=3")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({LeadImportServiceImpl.class, LeadStatusCounterServiceImpl.class, PhoneKeyServiceImpl.class, LeadImportConfig.class,
+        SearchIndexServiceImpl.class, LeadServiceImpl.class, LeadMapperImpl.class})
+class LeadImportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LeadImportService leadImportService;
+
+    @Autowired
+    private LeadStatusCounterService counterService;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private LeadService leadService;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @Test
+    void shouldImportCsvAcrossSeveralBatches() {
+        // Given
+        DiplomaV2 diploma = new DiplomaV2();
+        diploma.setName("Data Science");
+        diploma = entityManager.persistAndFlush(diploma);
+        String csv = "fullName,phoneNumber,source,diplomaId,status\n" +
+                "Ali Hassan,01000000001,Facebook," + diploma.getId() + ",\n" +
+                "\"Mona, Ahmed\",01000000002,Instagram,,INTERESTED\n" +
+                "Omar Samy,01000000003,,,\n" +
+                "Nour Adel,01000000004,Website,,\n" +
+                "\n" +
+                "Hana Magdy,01000000005,Website,,open\n";
+
+        // When
+        LeadImportSummary summary = leadImportService.importLeads(stream(csv), LeadImportService.Format.CSV);
+
+        // Then
+        assertThat(summary.getTotalRows()).isEqualTo(5);
+        assertThat(summary.getImported()).isEqualTo(5);
+        assertThat(summary.getErrors()).isEmpty();
+        assertThat(leadRepository.findByPhoneNumber("01000000002")).singleElement()
+                .satisfies(lead -> {
+                    assertThat(lead.getFullName()).isEqualTo("Mona, Ahmed");
+                    assertThat(lead.getStatus()).isEqualTo(LeadStatus.INTERESTED);
+                });
+        assertThat(leadRepository.findByPhoneNumber("01000000001").get(0).getDiploma().getId()).isEqualTo(diploma.getId());
+        assertThat(counterService.countUnassigned(LeadStatus.OPEN)).isEqualTo(4);
+        assertThat(counterService.countUnassigned(LeadStatus.INTERESTED)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReportDuplicatesAndInvalidRows() {
+        // Given
+        Lead existing = new Lead();
+        existing.setFullName("Existing Lead");
+        existing.setPhoneNumber("01000000001");
+        entityManager.persistAndFlush(existing);
+        String ndjson = "{\"fullName\":\"Ali Hassan\",\"phoneNumber\":\"01000000001\"}\n" +
+                "{\"fullName\":\"Mona Ahmed\",\"phoneNumber\":\"01000000002\"}\n" +
+                "{\"fullName\":\"Mona Again\",\"phoneNumber\":\"01000000002\"}\n" +
+                "{\"phoneNumber\":\"01000000003\"}\n" +
+                "{\"fullName\":\"Omar Samy\",\"phoneNumber\":\"01000000004\",\"diplomaId\":9999}\n" +
+                "not json\n" +
+                "{\"fullName\":\"Nour Adel\",\"phoneNumber\":\"01000000005\",\"status\":\"FOLLOW_UP\"}\n";
+
+        // When
+        LeadImportSummary summary = leadImportService.importLeads(stream(ndjson), LeadImportService.Format.NDJSON);
+
+        // Then
+        assertThat(summary.getTotalRows()).isEqualTo(7);
+        assertThat(summary.getImported()).isEqualTo(2);
+        assertThat(summary.getDuplicates()).isEqualTo(2);
+        assertThat(summary.getFailed()).isEqualTo(3);
+        assertThat(summary.getErrors()).extracting(LeadImportSummary.RowError::getRow)
+                .containsExactlyInAnyOrder(1L, 3L, 4L, 5L, 6L);
+        assertThat(leadRepository.findByPhoneNumber("01000000002")).hasSize(1);
+    }
+
+    @Test
+    void shouldTreatDifferentFormattingsOfANumberAsDuplicates() {
+        // Given
+        Lead existing = new Lead();
+        existing.setFullName("Existing Lead");
+        existing.setPhoneNumber("01000000001");
+        entityManager.persistAndFlush(existing);
+        String csv = "fullName,phoneNumber\n" +
+                "Ali Hassan,+20 100 000 0001\n" +
+                "Mona Ahmed,0020-100-000-0002\n" +
+                "Mona Again,01000000002\n" +
+                "No Digits,n/a\n";
+
+        // When
+        LeadImportSummary summary = leadImportService.importLeads(stream(csv), LeadImportService.Format.CSV);
+
+        // Then
+        assertThat(summary.getImported()).isEqualTo(1);
+        assertThat(summary.getDuplicates()).isEqualTo(2);
+        assertThat(summary.getFailed()).isEqualTo(1);
+        assertThat(leadRepository.findByPhoneNumber("0020-100-000-0002")).singleElement()
+                .satisfies(lead -> assertThat(lead.getPhoneKey()).isEqualTo("201000000002"));
+    }
+
+    @Test
+    void shouldMakeImportedLeadsSearchable() {
+        // Given: a built (empty) index, so lead search answers from it instead of falling back to SQL
+        searchIndexService.rebuild().join();
+        String csv = "fullName,phoneNumber\n" +
+                "Ali Hassan,01000000001\n" +
+                "Mona Hassan,01000000002\n" +
+                "Omar Samy,01000000003\n" +
+                "Nour Hassan,01000000004\n";
+
+        // When
+        leadImportService.importLeads(stream(csv), LeadImportService.Format.CSV);
+
+        // Then
+        assertThat(leadService.search("hassan", PageRequest.of(0, 10)).getContent())
+                .extracting(LeadResponse::getFullName)
+                .containsExactlyInAnyOrder("Ali Hassan", "Mona Hassan", "Nour Hassan");
+        assertThat(leadService.search("0100000000", PageRequest.of(0, 10)).getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldLookUpImportedLeadsByPhonePrefixAndSuffix() {
+        // Given
+        searchIndexService.rebuild().join();
+        String csv = "fullName,phoneNumber\n" +
+                "Ali Hassan,01001234567\n" +
+                "Mona Adel,01101234567\n" +
+                "Omar Samy,+20 100 765 4321\n";
+        leadImportService.importLeads(stream(csv), LeadImportService.Format.CSV);
+
+        // When / Then
+        assertThat(leadService.searchByPhone("0100", null, PageRequest.of(0, 10)).getContent())
+                .extracting(LeadResponse::getFullName)
+                .containsExactlyInAnyOrder("Ali Hassan", "Omar Samy");
+        assertThat(leadService.searchByPhone(null, "234567", PageRequest.of(0, 10)).getContent())
+                .extracting(LeadResponse::getFullName)
+                .containsExactlyInAnyOrder("Ali Hassan", "Mona Adel");
+        assertThatThrownBy(() -> leadService.searchByPhone("0100", "4567", PageRequest.of(0, 10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.mapper.LeadMapperImpl;
+import org.example.academicmanagementsystem.model.FollowUp;
+import org.example.academicmanagementsystem.model.Lead;
+import org.example.academicmanagementsystem.model.LeadStatus;
+import org.example.academicmanagementsystem.service.impl.LeadServiceImpl;
+import org.example.academicmanagementsystem.service.impl.LeadStatusCounterServiceImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({LeadServiceImpl.class, LeadStatusCounterServiceImpl.class, LeadMapperImpl.class})
+class LeadServiceStatisticsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LeadService leadService;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private SearchIndexService searchIndexService;
+
+    @MockitoBean
+    private PhoneKeyService phoneKeyService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldComputeStatisticsInDatabase() {
+        // Given
+        Lead open = persistLead("01000000001", "Facebook", LeadStatus.OPEN);
+        persistLead("01000000002", "facebook ", LeadStatus.INTERESTED);
+        persistLead("01000000003", "  ", LeadStatus.CLOSED);
+        persistLead("01000000004", null, LeadStatus.REJECTED);
+        persistLead("01000000005", "Instagram", LeadStatus.ENROLLED);
+        persistFollowUp(open);
+        flushAndClear();
+
+        // When
+        Map<String, Integer> stats = leadService.getLeadStatistics();
+
+        // Then
+        assertThat(stats).containsEntry("total", 5)
+                .containsEntry("opened", 2)
+                .containsEntry("closed", 2)
+                .containsEntry("enrolled", 1)
+                .containsEntry("countries", 3)
+                .containsEntry("noResponses", 4)
+                .containsEntry("completed", 1)
+                .containsEntry("inProgress", 2)
+                .containsEntry("pending", 2)
+                .containsEntry("cancelled", 2);
+    }
+
+    @Test
+    void shouldReportOneCountryWhenLeadsHaveNoSource() {
+        // Given
+        persistLead("01000000001", null, LeadStatus.OPEN);
+        flushAndClear();
+
+        // When
+        Map<String, Integer> stats = leadService.getLeadStatistics();
+
+        // Then
+        assertThat(stats).containsEntry("countries", 1);
+    }
+
+    @Test
+    void shouldIssueConstantNumberOfStatementsAsLeadsGrow() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            persistFollowUp(persistLead("0100000" + String.format("%04d", i), "Source " + i, LeadStatus.OPEN));
+        }
+        flushAndClear();
+        long smallTableStatements = countStatements();
+
+        for (int i = 5; i < 200; i++) {
+            persistFollowUp(persistLead("0100000" + String.format("%04d", i), "Source " + i, LeadStatus.FOLLOW_UP));
+        }
+        flushAndClear();
+
+        // When
+        long largeTableStatements = countStatements();
+
+        // Then
+        assertThat(largeTableStatements).isEqualTo(smallTableStatements);
+        assertThat(largeTableStatements).isLessThanOrEqualTo(2);
+    }
+
+    private long countStatements() {
+        statistics.clear();
+        leadService.getLeadStatistics();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Lead persistLead(String phone, String source, LeadStatus status) {
+        Lead lead = new Lead();
+        lead.setFullName("Lead " + phone);
+        lead.setPhoneNumber(phone);
+        lead.setSource(source);
+        lead.setStatus(status);
+        return entityManager.persist(lead);
+    }
+
+    private void persistFollowUp(Lead lead) {
+        FollowUp followUp = new FollowUp();
+        followUp.setLead(lead);
+        followUp.setSequence(1);
+        followUp.setMessage("Called");
+        entityManager.persist(followUp);
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
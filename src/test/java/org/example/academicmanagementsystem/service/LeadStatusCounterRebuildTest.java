@@ -0,0 +1,106 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.model.LeadStatus;
+import org.example.academicmanagementsystem.service.impl.LeadStatusCounterServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: the rebuild and a concurrent lead write each commit on their own
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(LeadStatusCounterServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LeadStatusCounterRebuildTest {
+
+    @Autowired
+    private LeadStatusCounterService counterService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM leads");
+        jdbcTemplate.execute("DELETE FROM lead_status_counters");
+    }
+
+    @Test
+    void shouldOverwriteBucketsInPlaceAndDropEmptyOnes() {
+        // Given: a drifted OPEN bucket and a bucket whose leads are gone
+        insertLead(LeadStatus.OPEN);
+        insertLead(LeadStatus.OPEN);
+        counterService.adjust(LeadStatus.OPEN, null, 5);
+        counterService.adjust(LeadStatus.REJECTED, null, 3);
+        Long openBucketId = jdbcTemplate.queryForObject(
+                "SELECT id FROM lead_status_counters WHERE status = 'OPEN'", Long.class);
+
+        // When
+        int buckets = counterService.rebuild();
+
+        // Then
+        assertThat(buckets).isEqualTo(1);
+        assertThat(counterService.countUnassigned(LeadStatus.OPEN)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM lead_status_counters", Long.class)).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT id FROM lead_status_counters WHERE status = 'OPEN'", Long.class)).isEqualTo(openBucketId);
+    }
+
+    @Test
+    void shouldKeepALeadWriteThatRacesTheRebuild() throws Exception {
+        // Given
+        insertLead(LeadStatus.OPEN);
+        counterService.adjust(LeadStatus.OPEN, null, 1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // When: a lead is created while the rebuild holds its locks
+        CompletableFuture<Void> writer = transaction.execute(status -> {
+            counterService.rebuild();
+            CompletableFuture<Void> concurrentWrite = CompletableFuture.runAsync(() ->
+                    transaction.executeWithoutResult(inner -> {
+                        insertLead(LeadStatus.OPEN);
+                        counterService.adjust(LeadStatus.OPEN, null, 1);
+                    }));
+            sleep();
+            assertThat(concurrentWrite).isNotDone();
+            return concurrentWrite;
+        });
+        writer.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(counterService.countUnassigned(LeadStatus.OPEN)).isEqualTo(2);
+        assertThat(counterService.rebuild()).isEqualTo(1);
+        assertThat(counterService.countUnassigned(LeadStatus.OPEN)).isEqualTo(2);
+    }
+
+    private void insertLead(LeadStatus status) {
+        jdbcTemplate.update("INSERT INTO leads (full_name, phone_number, status, deleted) VALUES ('Lead', '01000000000', ?, false)",
+                status.name());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.config.LeadDistributionConfig;
+import org.example.academicmanagementsystem.dto.FollowUpRequest;
+import org.example.academicmanagementsystem.dto.LeadDetailResponse;
+import org.example.academicmanagementsystem.dto.LeadRequest;
+import org.example.academicmanagementsystem.mapper.LeadMapperImpl;
+import org.example.academicmanagementsystem.model.Lead;
+import org.example.academicmanagementsystem.model.LeadStatus;
+import org.example.academicmanagementsystem.model.User;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.example.academicmanagementsystem.service.impl.LeadDistributionServiceImpl;
+import org.example.academicmanagementsystem.service.impl.LeadServiceImpl;
+import org.example.academicmanagementsystem.service.impl.LeadStatusCounterServiceImpl;
+import org.example.academicmanagementsystem.service.impl.PhoneKeyServiceImpl;
+import org.example.academicmanagementsystem.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Counter upserts use MySQL syntax, so run against the MySQL-mode H2 from application-test.properties
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({LeadServiceImpl.class, LeadStatusCounterServiceImpl.class, LeadMapperImpl.class,
+        LeadDistributionServiceImpl.class, LeadDistributionConfig.class, PhoneKeyServiceImpl.class})
+class LeadStatusCounterTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LeadService leadService;
+
+    @Autowired
+    private LeadStatusCounterService counterService;
+
+    @Autowired
+    private LeadDistributionService leadDistributionService;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private SearchIndexService searchIndexService;
+
+    private User agentOne;
+    private User agentTwo;
+
+    @BeforeEach
+    void setUp() {
+        agentOne = TestDataBuilder.createTestUser("agent_one", UserRole.TELESALES);
+        agentOne.setFullName("Agent One");
+        agentOne = entityManager.persist(agentOne);
+        agentTwo = TestDataBuilder.createTestUser("agent_two", UserRole.TELESALES);
+        agentTwo.setFullName("Agent Two");
+        agentTwo = entityManager.persist(agentTwo);
+        entityManager.flush();
+    }
+
+    @Test
+    void shouldTrackBulkImportAsUnassignedOpenLeads() {
+        // When
+        leadService.bulkImport(leadRequests(5));
+
+        // Then
+        assertThat(leadService.count()).isEqualTo(5);
+        assertThat(leadService.LeadInProgress()).isEqualTo(5);
+        assertThat(leadService.LeadPending()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldSkipBulkImportRowsWithAKnownPhoneNumber() {
+        // Given
+        Lead existing = new Lead();
+        existing.setFullName("Existing Lead");
+        existing.setPhoneNumber("0111 999 8888");
+        entityManager.persistAndFlush(existing);
+        List<LeadRequest> requests = leadRequests(3);
+        requests.get(0).setPhoneNumber("+20 100 123 4567");
+        requests.get(1).setPhoneNumber("0020-100-123-4567");
+        requests.get(2).setPhoneNumber("01119998888");
+
+        // When
+        List<LeadDetailResponse> saved = leadService.bulkImport(requests);
+
+        // Then
+        assertThat(saved).singleElement()
+                .satisfies(lead -> assertThat(lead.getPhoneNumber()).isEqualTo("+20 100 123 4567"));
+        assertThat(leadService.LeadPending()).isEqualTo(1);
+        assertThat(entityManager.getEntityManager()
+                .createQuery("SELECT COUNT(l) FROM Lead l WHERE l.phoneKey = '201001234567'", Long.class)
+                .getSingleResult()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldMoveCountersWhenLeadsAreDistributed() {
+        // Given
+        leadService.bulkImport(leadRequests(6));
+
+        // When
+        leadDistributionService.distribute(2, null);
+
+        // Then
+        assertThat(leadService.LeadPending()).isEqualTo(2);
+        assertThat(counterService.countByAgent(agentOne.getId())).containsEntry(LeadStatus.OPEN, 2L);
+        assertThat(counterService.countByAgent(agentTwo.getId())).containsEntry(LeadStatus.OPEN, 2L);
+        assertThat(leadService.count()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldMatchRebuiltCountersAfterMixedWrites() {
+        // Given
+        leadService.bulkImport(leadRequests(8));
+        leadDistributionService.distribute(3, null);
+        List<Long> ids = leadService.findAll(PageRequest.of(0, 20)).map(lead -> lead.getId()).getContent();
+
+        LeadRequest closeRequest = new LeadRequest();
+        closeRequest.setStatus(LeadStatus.CLOSED);
+        closeRequest.setClosureReason("Not reachable");
+        leadService.update(ids.get(0), closeRequest);
+
+        LeadRequest reassignRequest = new LeadRequest();
+        reassignRequest.setTeleSalesId(agentTwo.getId());
+        leadService.update(ids.get(1), reassignRequest);
+
+        FollowUpRequest followUpRequest = new FollowUpRequest();
+        followUpRequest.setMessage("Asked for a call back");
+        followUpRequest.setStatus(LeadStatus.INTERESTED);
+        leadService.addFollowUp(ids.get(2), followUpRequest);
+
+        leadService.deleteById(ids.get(3));
+        entityManager.flush();
+
+        Map<LeadStatus, Long> agentOneIncremental = counterService.countByAgent(agentOne.getId());
+        Map<LeadStatus, Long> agentTwoIncremental = counterService.countByAgent(agentTwo.getId());
+        Map<LeadStatus, Long> unassignedIncremental = counterService.countByAgent(null);
+        long totalIncremental = counterService.countAll();
+
+        // When
+        counterService.rebuild();
+
+        // Then
+        assertThat(totalIncremental).isEqualTo(7);
+        assertThat(counterService.countAll()).isEqualTo(totalIncremental);
+        assertThat(counterService.countByAgent(agentOne.getId())).isEqualTo(agentOneIncremental);
+        assertThat(counterService.countByAgent(agentTwo.getId())).isEqualTo(agentTwoIncremental);
+        assertThat(counterService.countByAgent(null)).isEqualTo(unassignedIncremental);
+        assertThat(leadService.LeadCompleted()).isEqualTo(1);
+        assertThat(leadService.LeadCancelled()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRepairCountersFromLeadsTable() {
+        // Given
+        leadService.bulkImport(leadRequests(4));
+        counterService.adjust(LeadStatus.OPEN, null, 100);
+
+        // When
+        counterService.rebuild();
+
+        // Then
+        assertThat(leadService.count()).isEqualTo(4);
+        assertThat(leadService.LeadPending()).isEqualTo(4);
+    }
+
+    private List<LeadRequest> leadRequests(int size) {
+        List<LeadRequest> requests = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            LeadRequest request = new LeadRequest();
+            request.setFullName("Imported Lead " + i);
+            request.setPhoneNumber("0111000" + String.format("%04d", i));
+            request.setSource("Facebook");
+            requests.add(request);
+        }
+        return requests;
+    }
+}
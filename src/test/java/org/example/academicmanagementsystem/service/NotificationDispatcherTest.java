@@ -0,0 +1,201 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.config.NotificationDispatchConfig;
+import org.example.academicmanagementsystem.model.Notification;
+import org.example.academicmanagementsystem.model.NotificationType;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.example.academicmanagementsystem.repository.NotificationRepository;
+import org.example.academicmanagementsystem.repository.UserRepository;
+import org.example.academicmanagementsystem.service.impl.NotificationDispatcherImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private NotificationInboxService notificationInboxService;
+
+    @Mock
+    private NotificationStreamService notificationStreamService;
+
+    private NotificationDispatchConfig config;
+    private NotificationDispatcherImpl dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        config = new NotificationDispatchConfig();
+        config.setPollIntervalMs(10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void shouldPersistQueuedNotificationsAndDrainOnShutdown() {
+        // Given
+        AtomicInteger saved = new AtomicInteger();
+        when(notificationRepository.insertBatch(anyList())).thenAnswer(invocation -> {
+            saved.addAndGet(invocation.<List<Notification>>getArgument(0).size());
+            return invocation.getArgument(0);
+        });
+        startDispatcher();
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            dispatcher.dispatch(roleNotification("Message " + i));
+        }
+        dispatcher.stop();
+
+        // Then
+        assertThat(saved.get()).isEqualTo(50);
+        assertThat(dispatcher.getStats())
+                .containsEntry("queued", 50L)
+                .containsEntry("flushed", 50L)
+                .containsEntry("dropped", 0L)
+                .containsEntry("pending", 0L);
+    }
+
+    @Test
+    void shouldPersistLeftoversOnTheCallerWhenTheWorkerOutlivesShutdown() throws InterruptedException {
+        // Given: the worker hangs on its first batch
+        config.setShutdownTimeoutMs(50);
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger savedByCaller = new AtomicInteger();
+        when(notificationRepository.insertBatch(anyList())).thenAnswer(invocation -> {
+            if (Thread.currentThread().getName().equals("notification-dispatcher")) {
+                workerBusy.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            } else {
+                savedByCaller.addAndGet(invocation.<List<Notification>>getArgument(0).size());
+            }
+            return invocation.getArgument(0);
+        });
+        startDispatcher();
+        dispatcher.dispatch(roleNotification("Stuck with the worker"));
+        assertThat(workerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 3; i++) {
+            dispatcher.dispatch(roleNotification("Queued " + i));
+        }
+
+        // When
+        dispatcher.stop();
+        release.countDown();
+
+        // Then
+        assertThat(savedByCaller.get()).isEqualTo(3);
+        assertThat(dispatcher.getStats()).containsEntry("pending", 0L);
+    }
+
+    @Test
+    void shouldDropWhenQueueIsFullAndPolicyIsDrop() throws InterruptedException {
+        // Given
+        config.setQueueCapacity(1);
+        config.setOfferTimeoutMs(0);
+        config.setOverflowPolicy(NotificationDispatchConfig.OverflowPolicy.DROP);
+        CountDownLatch workerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(notificationRepository.insertBatch(anyList())).thenAnswer(invocation -> {
+            workerBusy.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        startDispatcher();
+
+        // When
+        dispatcher.dispatch(roleNotification("Taken by worker"));
+        assertThat(workerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        dispatcher.dispatch(roleNotification("Waits in queue"));
+        dispatcher.dispatch(roleNotification("Overflows"));
+        release.countDown();
+        dispatcher.stop();
+
+        // Then
+        assertThat(dispatcher.getStats())
+                .containsEntry("queued", 2L)
+                .containsEntry("flushed", 2L)
+                .containsEntry("dropped", 1L);
+    }
+
+    @Test
+    void shouldIsolateFailingRowsFromTheRestOfTheBatch() {
+        // Given
+        when(notificationRepository.insertBatch(anyList())).thenAnswer(invocation -> {
+            List<Notification> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(n -> n.getMessage().equals("bad"))) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return batch;
+        });
+        startDispatcher();
+
+        // When
+        dispatcher.dispatch(roleNotification("good 1"));
+        dispatcher.dispatch(roleNotification("bad"));
+        dispatcher.dispatch(roleNotification("good 2"));
+        dispatcher.stop();
+
+        // Then
+        assertThat(dispatcher.getStats())
+                .containsEntry("flushed", 2L)
+                .containsEntry("failed", 1L);
+    }
+
+    @Test
+    void shouldWaitForCommitInsideTransaction() {
+        // Given
+        startDispatcher();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            dispatcher.dispatch(roleNotification("After commit"));
+
+            // Then
+            assertThat(dispatcher.getStats()).containsEntry("queued", 0L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        dispatcher.stop();
+        assertThat(dispatcher.getStats()).containsEntry("queued", 1L).containsEntry("flushed", 1L);
+    }
+
+    private void startDispatcher() {
+        dispatcher = new NotificationDispatcherImpl(notificationRepository, userRepository, transactionManager, config, notificationInboxService, notificationStreamService);
+        dispatcher.start();
+    }
+
+    private NotificationDispatcher.PendingNotification roleNotification(String message) {
+        return new NotificationDispatcher.PendingNotification(null, UserRole.ADMIN, NotificationType.SYSTEM_UPDATE, message, null);
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.academicmanagementsystem.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.academicmanagementsystem.model.Notification;
+import org.example.academicmanagementsystem.model.NotificationType;
+import org.example.academicmanagementsystem.model.User;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.example.academicmanagementsystem.repository.NotificationReceiptRepository;
+import org.example.academicmanagementsystem.repository.NotificationRepository;
+import org.example.academicmanagementsystem.repository.UserRepository;
+import org.example.academicmanagementsystem.service.impl.NotificationInboxServiceImpl;
+import org.example.academicmanagementsystem.util.TestDataBuilder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+// Not transactional: cache eviction happens after commit, so every step has to really commit
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import(NotificationInboxServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationInboxServiceTest {
+
+    @Autowired
+    private NotificationInboxService inboxService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoSpyBean
+    private NotificationReceiptRepository receiptRepository;
+
+    private User firstAdmin;
+    private User secondAdmin;
+
+    @BeforeEach
+    void setUp() {
+        firstAdmin = userRepository.save(TestDataBuilder.createTestUser("first_admin", UserRole.ADMIN));
+        secondAdmin = userRepository.save(TestDataBuilder.createTestUser("second_admin", UserRole.ADMIN));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Hard delete: users are soft-deleted through the repository
+        jdbcTemplate.execute("DELETE FROM notification_receipts");
+        jdbcTemplate.execute("DELETE FROM notification_inbox_cursors");
+        jdbcTemplate.execute("DELETE FROM notifications");
+        jdbcTemplate.execute("DELETE FROM users");
+    }
+
+    @Test
+    void shouldTrackRoleNotificationReadStatePerUser() {
+        // Given
+        List<Notification> roleNotifications = List.of(roleNotification("one"), roleNotification("two"), roleNotification("three"));
+        notificationRepository.saveAll(roleNotifications);
+        notificationRepository.save(directNotification(firstAdmin, "direct"));
+        inboxService.onNotificationsChanged(List.of(firstAdmin.getId()), List.of(UserRole.ADMIN));
+
+        // When
+        inboxService.markAsRead(firstAdmin.getId(), UserRole.ADMIN, roleNotifications.get(0));
+
+        // Then
+        assertThat(inboxService.getUnreadCount(firstAdmin.getId(), UserRole.ADMIN)).isEqualTo(3);
+        assertThat(inboxService.getUnreadCount(secondAdmin.getId(), UserRole.ADMIN)).isEqualTo(3);
+        assertThat(inboxService.findReadIds(firstAdmin.getId(), roleNotifications))
+                .containsExactly(roleNotifications.get(0).getId());
+        assertThat(inboxService.findReadIds(secondAdmin.getId(), roleNotifications)).isEmpty();
+    }
+
+    @Test
+    void shouldMarkEverythingReadForOneUserOnly() {
+        // Given
+        notificationRepository.saveAll(List.of(roleNotification("one"), roleNotification("two")));
+        notificationRepository.save(directNotification(firstAdmin, "direct"));
+
+        // When
+        inboxService.markAllAsRead(firstAdmin.getId(), UserRole.ADMIN);
+
+        // Then
+        assertThat(inboxService.getUnreadCount(firstAdmin.getId(), UserRole.ADMIN)).isZero();
+        assertThat(inboxService.getUnreadCount(secondAdmin.getId(), UserRole.ADMIN)).isEqualTo(2);
+
+        // A notification created afterwards is unread again for both
+        notificationRepository.save(roleNotification("three"));
+        inboxService.onNotificationsChanged(List.of(), List.of(UserRole.ADMIN));
+        assertThat(inboxService.getUnreadCount(firstAdmin.getId(), UserRole.ADMIN)).isEqualTo(1);
+        assertThat(inboxService.getUnreadCount(secondAdmin.getId(), UserRole.ADMIN)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotCacheACountLoadedAcrossACommittedChange() throws Exception {
+        // Given: a reader that has counted the role notifications but not yet cached its result
+        notificationRepository.save(roleNotification("one"));
+        CountDownLatch counted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            counted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 0L; // No receipts exist
+        }).when(receiptRepository).countRoleReceiptsAfter(eq(firstAdmin.getId()), eq(UserRole.ADMIN), anyLong());
+        CompletableFuture<Long> reader = CompletableFuture.supplyAsync(
+                () -> inboxService.getUnreadCount(firstAdmin.getId(), UserRole.ADMIN));
+        assertThat(counted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When: a new notification commits before the reader caches
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            notificationRepository.save(roleNotification("two"));
+            inboxService.onNotificationsChanged(List.of(), List.of(UserRole.ADMIN));
+        });
+        release.countDown();
+        assertThat(reader.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        reset(receiptRepository);
+
+        // Then
+        assertThat(inboxService.getUnreadCount(firstAdmin.getId(), UserRole.ADMIN)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldServeRepeatedUnreadCountsFromCache() {
+        // Given
+        notificationRepository.save(roleNotification("one"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        inboxService.getUnreadCount(firstAdmin.getId(), UserRole.ADMIN);
+        statistics.clear();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            inboxService.getUnreadCount(firstAdmin.getId(), UserRole.ADMIN);
+        }
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private Notification roleNotification(String message) {
+        Notification notification = new Notification();
+        notification.setTargetRole(UserRole.ADMIN);
+        notification.setType(NotificationType.SYSTEM_UPDATE);
+        notification.setMessage(message);
+        return notification;
+    }
+
+    private Notification directNotification(User user, String message) {
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setType(NotificationType.SYSTEM_UPDATE);
+        notification.setMessage(message);
+        return notification;
+    }
+}
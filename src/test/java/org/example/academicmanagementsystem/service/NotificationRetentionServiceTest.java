@@ -0,0 +1,103 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.model.Notification;
+import org.example.academicmanagementsystem.model.NotificationReceipt;
+import org.example.academicmanagementsystem.model.NotificationType;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.example.academicmanagementsystem.repository.NotificationReceiptRepository;
+import org.example.academicmanagementsystem.repository.NotificationRepository;
+import org.example.academicmanagementsystem.service.impl.NotificationRetentionServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = "notifications.retention.batch-size=2")
+@ActiveProfiles("test")
+@Import(NotificationRetentionServiceImpl.class)
+class NotificationRetentionServiceTest {
+
+    @Autowired
+    private NotificationRetentionService retentionService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationReceiptRepository receiptRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private NotificationInboxService notificationInboxService;
+
+    @Test
+    void shouldMoveOldNotificationsToArchiveInChunks() {
+        // Given
+        List<Notification> old = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            old.add(persistNotification("old " + i, 120));
+        }
+        Notification recent = persistNotification("recent", 1);
+        receiptRepository.save(new NotificationReceipt(null, 1L, old.get(0).getId(), LocalDateTime.now()));
+        receiptRepository.save(new NotificationReceipt(null, 1L, recent.getId(), LocalDateTime.now()));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        int archived = retentionService.archiveOlderThan(90);
+
+        // Then
+        assertThat(archived).isEqualTo(5);
+        assertThat(notificationRepository.findAll()).extracting(Notification::getMessage).containsExactly("recent");
+        assertThat(jdbcTemplate.queryForList("SELECT message FROM notifications_archive ORDER BY id", String.class))
+                .containsExactly("old 0", "old 1", "old 2", "old 3", "old 4");
+        assertThat(receiptRepository.findAll()).extracting(NotificationReceipt::getNotificationId)
+                .containsExactly(recent.getId());
+        verify(notificationInboxService).invalidateAll();
+    }
+
+    @Test
+    void shouldDoNothingWhenNothingIsExpired() {
+        // Given
+        persistNotification("recent", 1);
+        entityManager.flush();
+
+        // When
+        int archived = retentionService.archiveOlderThan(90);
+
+        // Then
+        assertThat(archived).isZero();
+        assertThat(notificationRepository.count()).isEqualTo(1);
+        verify(notificationInboxService, never()).invalidateAll();
+    }
+
+    private Notification persistNotification(String message, int ageInDays) {
+        Notification notification = new Notification();
+        notification.setTargetRole(UserRole.ADMIN);
+        notification.setType(NotificationType.SYSTEM_UPDATE);
+        notification.setMessage(message);
+        notification = entityManager.persistAndFlush(notification);
+        // createdAt is set on persist and not updatable through the entity
+        jdbcTemplate.update("UPDATE notifications SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(ageInDays)), notification.getId());
+        return notification;
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.model.Notification;
+import org.example.academicmanagementsystem.model.NotificationType;
+import org.example.academicmanagementsystem.model.UserRole;
+import org.example.academicmanagementsystem.repository.NotificationRepository;
+import org.example.academicmanagementsystem.service.impl.NotificationStreamServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationStreamServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private NotificationStreamServiceImpl streamService;
+
+    @BeforeEach
+    void setUp() {
+        streamService = new NotificationStreamServiceImpl(notificationRepository, 2, 60_000, 50, 4, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+    }
+
+    @Test
+    void shouldRejectStreamsAboveNodeCap() {
+        // When
+        boolean first = streamService.subscribe(1L, UserRole.ADMIN, null).isPresent();
+        boolean second = streamService.subscribe(2L, UserRole.ADMIN, null).isPresent();
+        boolean third = streamService.subscribe(3L, UserRole.ADMIN, null).isPresent();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(streamService.getActiveStreams()).isEqualTo(2);
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void shouldReplayMissedNotificationsAfterLastEventId() {
+        // Given
+        Notification missed = new Notification();
+        missed.setId(42L);
+        missed.setTargetRole(UserRole.ADMIN);
+        missed.setType(NotificationType.SYSTEM_UPDATE);
+        missed.setMessage("Missed while offline");
+        when(notificationRepository.findVisibleAfter(7L, UserRole.ADMIN, 41L, PageRequest.of(0, 50))).thenReturn(List.of(missed));
+
+        // When
+        boolean subscribed = streamService.subscribe(7L, UserRole.ADMIN, 41L).isPresent();
+
+        // Then
+        assertThat(subscribed).isTrue();
+        verify(notificationRepository).findVisibleAfter(7L, UserRole.ADMIN, 41L, PageRequest.of(0, 50));
+    }
+
+    @Test
+    void shouldKeepServingOthersWhileOneClientStopsReading() throws Exception {
+        // Given: the first emitter blocks on every write, like a client whose TCP buffer is full
+        CountDownLatch unblock = new CountDownLatch(1);
+        Semaphore delivered = new Semaphore(0);
+        List<SseEmitter> emitters = new ArrayList<>();
+        emitters.add(new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                try {
+                    unblock.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        emitters.add(new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                delivered.release();
+            }
+        });
+        NotificationStreamServiceImpl service = new NotificationStreamServiceImpl(notificationRepository, 2, 60_000, 50, 4, 60_000) {
+            @Override
+            protected SseEmitter createEmitter(long timeoutMs) {
+                return emitters.remove(0);
+            }
+        };
+        service.subscribe(1L, UserRole.ADMIN, null);
+        service.subscribe(2L, UserRole.ADMIN, null);
+
+        try {
+            // When / Then: the reading client gets every event while the stuck one fills its queue
+            for (long id = 1; id <= 6; id++) {
+                service.publish(List.of(roleNotification(id)));
+                assertThat(delivered.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+            }
+
+            // Then: the stuck client overflowed its queue and was dropped
+            assertThat(service.getActiveStreams()).isEqualTo(1);
+        } finally {
+            unblock.countDown();
+            service.shutdown();
+        }
+    }
+
+    private static Notification roleNotification(Long id) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setTargetRole(UserRole.ADMIN);
+        notification.setType(NotificationType.SYSTEM_UPDATE);
+        notification.setMessage("Update " + id);
+        return notification;
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.academicmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.academicmanagementsystem.model.*;
+import org.example.academicmanagementsystem.service.impl.PaymentExportServiceImpl;
+import org.example.academicmanagementsystem.util.TestDataBuilder;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "payments.export.flush-every=100"
+})
+@ActiveProfiles("test")
+@Import(PaymentExportServiceImpl.class)
+class PaymentExportServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2026, 1, 31, 23, 59);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PaymentExportService paymentExportService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldStreamCsvWithHeaderAndEscapedValues() throws Exception {
+        // Given
+        Student student = persistStudent();
+        persistPayment(student, 1, START.plusDays(1), "Paid at desk, \"front\" office");
+        persistPayment(student, 2, START.plusDays(2), null);
+        persistPayment(student, 3, END.plusDays(1), null);
+        flushAndClear();
+
+        // When
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long rows = paymentExportService.exportPayments(START, END, PaymentExportService.Format.CSV, output);
+
+        // Then
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).startsWith("id,receiptNumber,paymentDate,amount");
+        assertThat(lines.get(1)).contains("RCP-TEST-1").endsWith(",\"Paid at desk, \"\"front\"\" office\"");
+        assertThat(lines.get(2)).contains("RCP-TEST-2", "Student One").endsWith(",");
+    }
+
+    @Test
+    void shouldStreamNdjsonInOneQueryAndKeepPersistenceContextEmpty() throws Exception {
+        // Given
+        Student student = persistStudent();
+        for (int i = 1; i <= 250; i++) {
+            persistPayment(student, i, START.plusMinutes(i), null);
+        }
+        flushAndClear();
+        statistics.clear();
+
+        // When
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long rows = paymentExportService.exportPayments(START, END, PaymentExportService.Format.NDJSON, output);
+
+        // Then
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(rows).isEqualTo(250);
+        assertThat(lines).hasSize(250);
+        JsonNode first = new ObjectMapper().readTree(lines.get(0));
+        assertThat(first.get("receiptNumber").asText()).isEqualTo("RCP-TEST-1");
+        assertThat(first.get("studentName").asText()).isEqualTo("Student One");
+        assertThat(first.get("paymentDate").asText()).isEqualTo("2026-01-01T00:01");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(entityManager.getEntityManager().unwrap(SessionImplementor.class)
+                .getPersistenceContext().getNumberOfManagedEntities()).isZero();
+    }
+
+    private Student persistStudent() {
+        Round round = entityManager.persist(TestDataBuilder.createRound("Round 1"));
+        Diploma diploma = entityManager.persist(TestDataBuilder.createDiploma("BIM"));
+        RoundDiploma roundDiploma = entityManager.persist(TestDataBuilder.createRoundDiploma(round, diploma));
+        Student student = TestDataBuilder.createStudent(roundDiploma, "Student One", "01000000001");
+        student.setEnrollmentDate(START);
+        return entityManager.persist(student);
+    }
+
+    private void persistPayment(Student student, int number, LocalDateTime date, String notes) {
+        Payment payment = new Payment();
+        payment.setStudent(student);
+        payment.setAmount(new BigDecimal("100"));
+        payment.setPaymentDate(date);
+        payment.setType(PaymentType.INSTALLMENT);
+        payment.setMethod(PaymentMethod.CASH);
+        payment.setReceiptNumber("RCP-TEST-" + number);
+        payment.setNotes(notes);
+        entityManager.persist(payment);
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.academicmanagementsystem.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.academicmanagementsystem.dto.PaymentRequest;
+import org.example.academicmanagementsystem.mapper.PaymentMapperImpl;
+import org.example.academicmanagementsystem.model.*;
+import org.example.academicmanagementsystem.repository.*;
+import org.example.academicmanagementsystem.service.impl.PaymentServiceImpl;
+import org.example.academicmanagementsystem.service.impl.ReceiptNumberServiceImpl;
+import org.example.academicmanagementsystem.util.TestDataBuilder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: the statistics cache is invalidated after recordPayment commits.
+// Fresh context per test so no cached statistics leak between them.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({PaymentServiceImpl.class, PaymentMapperImpl.class, ReceiptNumberServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PaymentServiceStatisticsTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2026, 1, 15, 10, 0);
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2026, 2, 15, 10, 0);
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private RoundRepository roundRepository;
+
+    @Autowired
+    private DiplomaRepository diplomaRepository;
+
+    @Autowired
+    private RoundDiplomaRepository roundDiplomaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private FinanceSnapshotService financeSnapshotService;
+
+    private int sequence;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM receipt_counters");
+        jdbcTemplate.execute("DELETE FROM payments");
+        jdbcTemplate.execute("DELETE FROM students");
+        jdbcTemplate.execute("DELETE FROM round_diplomas");
+        jdbcTemplate.execute("DELETE FROM diplomas");
+        jdbcTemplate.execute("DELETE FROM rounds");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAggregateByMethodAndTypeWithOptionalFilters() {
+        // Given
+        Student bim = persistStudent("BIM");
+        Student design = persistStudent("Interior Design");
+        persistPayment(bim, "100", PaymentMethod.CASH, PaymentType.INSTALLMENT, JANUARY);
+        persistPayment(bim, "50", PaymentMethod.CARD, PaymentType.INITIAL, FEBRUARY);
+        persistPayment(design, "30", PaymentMethod.CASH, PaymentType.INITIAL, JANUARY);
+
+        // When
+        Map<String, Object> all = paymentService.getPaymentStatistics();
+        Map<String, Object> bimOnly = paymentService.getPaymentStatistics(null, null, bim.getRoundDiploma().getDiploma().getId());
+        Map<String, Object> january = paymentService.getPaymentStatistics(JANUARY.minusDays(14), JANUARY.plusDays(16), null);
+
+        // Then
+        assertThat((BigDecimal) all.get("totalCollected")).isEqualByComparingTo("180");
+        assertThat(all).containsEntry("totalPayments", 3L)
+                .containsEntry("cashPayments", 2L)
+                .containsEntry("cardPayments", 1L)
+                .containsEntry("bankTransferPayments", 0L);
+        Map<String, Map<String, Object>> byType = (Map<String, Map<String, Object>>) all.get("byType");
+        assertThat(byType.get("INITIAL")).containsEntry("count", 2L);
+        assertThat((BigDecimal) byType.get("INITIAL").get("amount")).isEqualByComparingTo("80");
+        assertThat((BigDecimal) bimOnly.get("totalCollected")).isEqualByComparingTo("150");
+        assertThat((BigDecimal) january.get("totalCollected")).isEqualByComparingTo("130");
+    }
+
+    @Test
+    void shouldServeCachedStatisticsUntilAPaymentIsRecorded() {
+        // Given
+        Student student = persistStudent("BIM");
+        persistPayment(student, "100", PaymentMethod.CASH, PaymentType.INSTALLMENT, JANUARY);
+        paymentService.getPaymentStatistics();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When: repeated reads hit the cache
+        Map<String, Object> cached = paymentService.getPaymentStatistics();
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(cached).containsEntry("totalPayments", 1L);
+
+        // When: a payment is recorded
+        PaymentRequest request = new PaymentRequest();
+        request.setStudentId(student.getId());
+        request.setAmount(new BigDecimal("40"));
+        request.setType(PaymentType.INSTALLMENT);
+        request.setMethod(PaymentMethod.BANK_TRANSFER);
+        paymentService.recordPayment(request);
+
+        // Then
+        Map<String, Object> refreshed = paymentService.getPaymentStatistics();
+        assertThat(refreshed).containsEntry("totalPayments", 2L).containsEntry("bankTransferPayments", 1L);
+        assertThat((BigDecimal) refreshed.get("totalCollected")).isEqualByComparingTo("140");
+    }
+
+    private Student persistStudent(String diplomaName) {
+        Round round = roundRepository.save(TestDataBuilder.createRound("Round " + (++sequence)));
+        Diploma diploma = diplomaRepository.save(TestDataBuilder.createDiploma(diplomaName));
+        RoundDiploma roundDiploma = roundDiplomaRepository.save(TestDataBuilder.createRoundDiploma(round, diploma));
+        return studentRepository.save(TestDataBuilder.createStudent(roundDiploma, "Student " + sequence, "0100000000" + sequence));
+    }
+
+    private void persistPayment(Student student, String amount, PaymentMethod method, PaymentType type, LocalDateTime date) {
+        Payment payment = new Payment();
+        payment.setStudent(student);
+        payment.setAmount(new BigDecimal(amount));
+        payment.setPaymentDate(date);
+        payment.setType(type);
+        payment.setMethod(method);
+        payment.setReceiptNumber("RCP-TEST-" + (++sequence));
+        paymentRepository.save(payment);
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.dto.PayrollRunResponse;
+import org.example.academicmanagementsystem.model.*;
+import org.example.academicmanagementsystem.repository.AttendanceRepository;
+import org.example.academicmanagementsystem.repository.PayrollRecordRepository;
+import org.example.academicmanagementsystem.repository.SalaryRepository;
+import org.example.academicmanagementsystem.repository.UserRepository;
+import org.example.academicmanagementsystem.service.impl.PayrollServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: every chunk commits in its own transaction, and the background run uses another thread
+@DataJpaTest(properties = "payroll.batch-size=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(PayrollServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PayrollServiceTest {
+
+    private static final String MONTH = "2026-03";
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private SalaryRepository salaryRepository;
+
+    @Autowired
+    private PayrollRecordRepository payrollRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private FinanceSnapshotService financeSnapshotService;
+
+    private int sequence;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM salaries");
+        jdbcTemplate.execute("DELETE FROM payroll_records");
+        jdbcTemplate.execute("DELETE FROM attendance");
+        jdbcTemplate.execute("DELETE FROM users");
+    }
+
+    @Test
+    void shouldGenerateEligibleSalariesWithOvertimeOnceAMonth() {
+        // Given
+        User overtime = persistUser(8800.0, true);
+        User regular = persistUser(5000.0, true);
+        persistUser(7000.0, false);
+        persistUser(null, true);
+        User third = persistUser(3000.0, true);
+        persistAttendance(overtime, LocalDate.of(2026, 3, 2), "100");
+        persistAttendance(overtime, LocalDate.of(2026, 3, 3), "86");
+        persistAttendance(overtime, LocalDate.of(2026, 4, 1), "50");
+        persistAttendance(regular, LocalDate.of(2026, 3, 2), "120");
+
+        // When
+        Optional<PayrollRunResponse> run = payrollService.generatePayroll(MONTH);
+        Optional<PayrollRunResponse> rerun = payrollService.generatePayroll(MONTH);
+
+        // Then
+        assertThat(run).isPresent();
+        assertThat(run.get().getStatus()).isEqualTo(PayrollRunStatus.COMPLETED);
+        assertThat(run.get().getTotalEmployees()).isEqualTo(3);
+        assertThat(run.get().getProcessedEmployees()).isEqualTo(3);
+        assertThat(rerun).isEmpty();
+
+        Map<Long, Salary> salaries = salaryRepository.findByMonth(MONTH).stream()
+                .collect(Collectors.toMap(s -> s.getEmployee().getId(), s -> s));
+        assertThat(salaries).containsOnlyKeys(overtime.getId(), regular.getId(), third.getId());
+        // 186 hours against a 176-hour month: 10 hours at 8800 / 176 * 1.5
+        assertThat(salaries.get(overtime.getId()).getOvertime()).isEqualByComparingTo("750.00");
+        assertThat(salaries.get(overtime.getId()).getNetSalary()).isEqualByComparingTo("9550.00");
+        assertThat(salaries.get(regular.getId()).getOvertime()).isEqualByComparingTo("0");
+        assertThat(salaries.get(regular.getId()).getStatus()).isEqualTo(SalaryStatus.PENDING);
+        assertThat(payrollRecordRepository.findByMonth(MONTH).orElseThrow().getTotalPayroll())
+                .isEqualByComparingTo("17550.00");
+    }
+
+    @Test
+    void shouldResumeAnInterruptedRunAfterTheLastCommittedChunk() {
+        // Given: a run that committed its first chunk (two employees) before the process died
+        User first = persistUser(1000.0, true);
+        User second = persistUser(2000.0, true);
+        User third = persistUser(3000.0, true);
+        jdbcTemplate.update("INSERT INTO salaries (employee_id, month, base_salary, overtime, net_salary, status, deleted) " +
+                "VALUES (?, ?, 999, 0, 999, 'PAID', false)", first.getId(), MONTH);
+        jdbcTemplate.update("INSERT INTO payroll_records (month, total_payroll, paid_amount, generated_at, status, " +
+                "total_employees, processed_employees, last_employee_id, deleted) VALUES (?, 0, 0, ?, 'RUNNING', 3, 2, ?, false)",
+                MONTH, LocalDateTime.now(), second.getId());
+
+        // When
+        PayrollRunResponse run = payrollService.generatePayroll(MONTH).orElseThrow();
+
+        // Then: only the third employee is added; the existing salary is left untouched
+        assertThat(run.getStatus()).isEqualTo(PayrollRunStatus.COMPLETED);
+        assertThat(run.getProcessedEmployees()).isEqualTo(3);
+        assertThat(salaryRepository.findByMonth(MONTH))
+                .extracting(s -> s.getEmployee().getId())
+                .containsExactlyInAnyOrder(first.getId(), third.getId());
+        assertThat(run.getTotalPayroll()).isEqualByComparingTo("3999.00");
+    }
+
+    @Test
+    void shouldRunInBackgroundAndReportProgress() throws Exception {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            persistUser(1000.0, true);
+        }
+
+        // When
+        PayrollRunResponse started = payrollService.runPayrollInBackground(MONTH).orElseThrow();
+        PayrollRunResponse progress = started;
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (progress.getStatus() != PayrollRunStatus.COMPLETED && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            progress = payrollService.getProgress(MONTH).orElseThrow();
+        }
+
+        // Then
+        assertThat(started.getTotalEmployees()).isEqualTo(5);
+        assertThat(progress.getStatus()).isEqualTo(PayrollRunStatus.COMPLETED);
+        assertThat(progress.getProcessedEmployees()).isEqualTo(5);
+        assertThat(payrollService.runPayrollInBackground(MONTH)).isEmpty();
+        assertThat(salaryRepository.findByMonth(MONTH)).hasSize(5);
+    }
+
+    private User persistUser(Double baseSalary, boolean active) {
+        int n = ++sequence;
+        User user = new User();
+        user.setUsername("employee" + n);
+        user.setEmail("employee" + n + "@example.com");
+        user.setPassword("secret");
+        user.setFullName("Employee " + n);
+        user.setRole(UserRole.EMPLOYEE);
+        user.setActive(active);
+        user.setBaseSalary(baseSalary);
+        return userRepository.save(user);
+    }
+
+    private void persistAttendance(User employee, LocalDate date, String hours) {
+        Attendance attendance = new Attendance();
+        attendance.setEmployee(employee);
+        attendance.setDate(date);
+        attendance.setCheckInTime(date.atTime(9, 0));
+        attendance.setTotalHours(new BigDecimal(hours));
+        attendanceRepository.save(attendance);
+    }
+}
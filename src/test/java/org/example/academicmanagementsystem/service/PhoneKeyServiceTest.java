@@ -0,0 +1,122 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.model.Complaint;
+import org.example.academicmanagementsystem.model.InvoiceV2;
+import org.example.academicmanagementsystem.model.Lead;
+import org.example.academicmanagementsystem.model.LeadStatus;
+import org.example.academicmanagementsystem.model.PhoneKey;
+import org.example.academicmanagementsystem.service.impl.PhoneKeyServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "phone-keys.backfill.batch-size=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(PhoneKeyServiceImpl.class)
+class PhoneKeyServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PhoneKeyService phoneKeyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldKeyEveryFormattingOfANumberAlike() {
+        assertThat(List.of("01001234567", "+20 100 123 4567", "0020-100-123-4567", "(+20) 1001234567",
+                "1001234567", "٠١٠٠١٢٣٤٥٦٧"))
+                .extracting(PhoneKey::of)
+                .containsOnly("201001234567");
+        assertThat(PhoneKey.of("+971 50 123 4567")).isEqualTo("971501234567");
+        assertThat(PhoneKey.of("n/a")).isNull();
+        assertThat(PhoneKey.of(null)).isNull();
+    }
+
+    @Test
+    void shouldMaintainPhoneKeyOnWrites() {
+        // Given
+        Lead lead = persistLead("+20 100 123 4567");
+        InvoiceV2 invoice = new InvoiceV2();
+        invoice.setInvoiceDate(LocalDate.of(2026, 5, 1));
+        invoice.setCustomerName("Salma Nabil");
+        invoice.setCustomerPhone("0122 111 2222");
+        invoice.setAmount(new BigDecimal("1500"));
+        entityManager.persist(invoice);
+        Complaint complaint = new Complaint();
+        complaint.setStudentName("Omar Samy");
+        complaint.setPhone("0020 155 000 1111");
+        complaint.setComplaintText("Late certificate");
+        complaint.setTicketNumber("COMP-2026-001");
+        entityManager.persist(complaint);
+        entityManager.flush();
+
+        // When
+        lead.setPhoneNumber("01119998888");
+        entityManager.flush();
+
+        // Then
+        assertThat(lead.getPhoneKey()).isEqualTo("201119998888");
+        assertThat(invoice.getPhoneKey()).isEqualTo("201221112222");
+        assertThat(complaint.getPhoneKey()).isEqualTo("201550001111");
+        assertThat(jdbcTemplate.queryForObject("SELECT phone_key FROM leads WHERE id = ?", String.class, lead.getId()))
+                .isEqualTo("201119998888");
+    }
+
+    @Test
+    void shouldDetectLeadPhonesInAnyFormatting() {
+        // Given
+        persistLead("01001234567");
+        persistLead("+20 122 000 0000");
+        entityManager.flush();
+
+        // When / Then
+        assertThat(phoneKeyService.isLeadPhoneTaken("0020 100 123 4567")).isTrue();
+        assertThat(phoneKeyService.isLeadPhoneTaken("01001234568")).isFalse();
+        assertThat(phoneKeyService.isLeadPhoneTaken("")).isFalse();
+        assertThat(phoneKeyService.findTakenLeadKeys(List.of("201001234567", "201220000000", "201000000000")))
+                .containsExactlyInAnyOrder("201001234567", "201220000000");
+    }
+
+    @Test
+    void shouldBackfillRowsWithoutAKey() {
+        // Given
+        Lead first = persistLead("0100 000 0001");
+        Lead second = persistLead("+20 100 000 0002");
+        Lead third = persistLead("00201000000003");
+        persistLead("01000000004");
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE leads SET phone_key = NULL WHERE id IN (?, ?, ?)", first.getId(), second.getId(), third.getId());
+
+        // When
+        int updated = phoneKeyService.backfill();
+
+        // Then
+        assertThat(updated).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList("SELECT phone_key FROM leads ORDER BY id", String.class))
+                .containsExactly("201000000001", "201000000002", "201000000003", "201000000004");
+        assertThat(phoneKeyService.backfill()).isZero();
+    }
+
+    private Lead persistLead(String phone) {
+        Lead lead = new Lead();
+        lead.setFullName("Lead " + phone);
+        lead.setPhoneNumber(phone);
+        lead.setStatus(LeadStatus.OPEN);
+        return entityManager.persist(lead);
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.model.*;
+import org.example.academicmanagementsystem.repository.*;
+import org.example.academicmanagementsystem.service.impl.ReceiptNumberServiceImpl;
+import org.example.academicmanagementsystem.util.TestDataBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: blocks are reserved in their own transactions from several threads
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(ReceiptNumberServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReceiptNumberServiceTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 50;
+
+    @Autowired
+    private ReceiptNumberService receiptNumberService;
+
+    @Autowired
+    private ReceiptCounterRepository counterRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private RoundRepository roundRepository;
+
+    @Autowired
+    private DiplomaRepository diplomaRepository;
+
+    @Autowired
+    private RoundDiplomaRepository roundDiplomaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String prefix = "RCP-" + Year.now().getValue() + "-";
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM receipt_counters");
+        jdbcTemplate.execute("DELETE FROM payments");
+        jdbcTemplate.execute("DELETE FROM students");
+        jdbcTemplate.execute("DELETE FROM round_diplomas");
+        jdbcTemplate.execute("DELETE FROM diplomas");
+        jdbcTemplate.execute("DELETE FROM rounds");
+    }
+
+    @Test
+    void shouldHandOutGaplessUniqueNumbersUnderConcurrency() throws Exception {
+        // When
+        List<String> receipts = allocateConcurrently(i -> receiptNumberService);
+
+        // Then
+        assertThat(receipts).doesNotHaveDuplicates().hasSize(THREADS * PER_THREAD);
+        assertThat(receipts.stream().map(this::sequenceOf).collect(Collectors.toSet()))
+                .isEqualTo(IntStream.rangeClosed(1, THREADS * PER_THREAD).boxed().collect(Collectors.toSet()));
+    }
+
+    @Test
+    void shouldNeverCollideAcrossInstancesSharingTheCounter() throws Exception {
+        // Given: two application instances with different block sizes
+        ReceiptNumberService otherInstance =
+                new ReceiptNumberServiceImpl(counterRepository, paymentRepository, transactionManager, 3);
+
+        // When
+        List<String> receipts = allocateConcurrently(i -> i % 2 == 0 ? receiptNumberService : otherInstance);
+
+        // Then
+        assertThat(receipts).doesNotHaveDuplicates().hasSize(THREADS * PER_THREAD);
+        assertThat(receipts).allMatch(receipt -> receipt.startsWith(prefix));
+    }
+
+    @Test
+    void shouldContinueAfterReceiptsIssuedBeforeTheCounter() {
+        // Given
+        Student student = persistStudent();
+        persistPayment(student, prefix + "001");
+        persistPayment(student, prefix + "002");
+
+        // When
+        String receipt = new ReceiptNumberServiceImpl(counterRepository, paymentRepository, transactionManager, 5)
+                .nextReceiptNumber();
+
+        // Then
+        assertThat(receipt).isEqualTo(prefix + "003");
+    }
+
+    private List<String> allocateConcurrently(java.util.function.IntFunction<ReceiptNumberService> serviceForThread)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            ReceiptNumberService service = serviceForThread.apply(t);
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<String> issued = new ArrayList<>();
+                for (int i = 0; i < PER_THREAD; i++) {
+                    issued.add(service.nextReceiptNumber());
+                }
+                return issued;
+            }));
+        }
+        start.countDown();
+        List<String> receipts = new ArrayList<>();
+        for (Future<List<String>> future : futures) {
+            receipts.addAll(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        return receipts;
+    }
+
+    private int sequenceOf(String receipt) {
+        return Integer.parseInt(receipt.substring(prefix.length()));
+    }
+
+    private Student persistStudent() {
+        Round round = roundRepository.save(TestDataBuilder.createRound("Round 1"));
+        Diploma diploma = diplomaRepository.save(TestDataBuilder.createDiploma("Diploma 1"));
+        RoundDiploma roundDiploma = roundDiplomaRepository.save(TestDataBuilder.createRoundDiploma(round, diploma));
+        return studentRepository.save(TestDataBuilder.createStudent(roundDiploma, "Student 1", "01000000001"));
+    }
+
+    private void persistPayment(Student student, String receiptNumber) {
+        Payment payment = new Payment();
+        payment.setStudent(student);
+        payment.setAmount(new BigDecimal("100"));
+        payment.setPaymentDate(LocalDateTime.now());
+        payment.setType(PaymentType.INSTALLMENT);
+        payment.setMethod(PaymentMethod.CASH);
+        payment.setReceiptNumber(receiptNumber);
+        paymentRepository.save(payment);
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.dto.SearchIndexStatus;
+import org.example.academicmanagementsystem.model.InvoiceV2;
+import org.example.academicmanagementsystem.model.Lead;
+import org.example.academicmanagementsystem.model.LeadStatus;
+import org.example.academicmanagementsystem.repository.InvoiceV2Repository;
+import org.example.academicmanagementsystem.repository.LeadRepository;
+import org.example.academicmanagementsystem.service.SearchIndexService.Domain;
+import org.example.academicmanagementsystem.service.impl.SearchIndexServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: the index applies writes after commit and rebuilds on its own thread
+@DataJpaTest(properties = {"search.index.max-documents=4", "search.index.batch-size=2"})
+@ActiveProfiles("test")
+@Import(SearchIndexServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SearchIndexServiceTest {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private InvoiceV2Repository invoiceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM leads");
+        jdbcTemplate.execute("DELETE FROM invoices_v2");
+        searchIndexService.rebuild().join();
+    }
+
+    @Test
+    void shouldFindLeadsByNameFragmentAndPhoneDigits() {
+        // Given
+        Lead ahmed = saveLead("Ahmed  Hassan", "0100 123 4567");
+        Lead mona = saveLead("Mona Ahmed", "01551234999");
+        Lead karim = saveLead("Karim Adel", "+20 122 555 0000");
+        searchIndexService.rebuild().join();
+
+        // When / Then
+        assertThat(searchIndexService.search(Domain.LEAD, "AHMED")).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactlyInAnyOrder(ahmed.getId(), mona.getId()));
+        assertThat(searchIndexService.search(Domain.LEAD, " ahmed hass")).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactly(ahmed.getId()));
+        assertThat(searchIndexService.search(Domain.LEAD, "1234")).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactlyInAnyOrder(ahmed.getId(), mona.getId()));
+        assertThat(searchIndexService.search(Domain.LEAD, "ad")).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactly(karim.getId()));
+        assertThat(searchIndexService.search(Domain.LEAD, "nobody")).hasValueSatisfying(ids ->
+                assertThat(ids).isEmpty());
+        assertThat(searchIndexService.searchPhonePrefix(Domain.LEAD, "0155")).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactly(mona.getId()));
+        assertThat(searchIndexService.searchPhoneSuffix(Domain.LEAD, "555-0000")).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactly(karim.getId()));
+        assertThat(searchIndexService.search(Domain.STUDENT, "ahmed")).hasValueSatisfying(ids ->
+                assertThat(ids).isEmpty());
+    }
+
+    @Test
+    void shouldFollowCommittedWritesWithoutRebuilding() {
+        // Given
+        searchIndexService.rebuild().join();
+
+        // When
+        Lead lead = saveLead("Omar Farouk", "01099998888");
+        InvoiceV2 invoice = saveInvoice("Salma Nabil", "01211112222");
+
+        // Then
+        assertThat(searchIndexService.search(Domain.LEAD, "farouk")).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactly(lead.getId()));
+        assertThat(searchIndexService.search(Domain.INVOICE, "1111")).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactly(invoice.getId()));
+
+        // When
+        lead.setFullName("Omar Said");
+        leadRepository.save(lead);
+
+        // Then
+        assertThat(searchIndexService.search(Domain.LEAD, "farouk")).hasValueSatisfying(ids ->
+                assertThat(ids).isEmpty());
+        assertThat(searchIndexService.search(Domain.LEAD, "said")).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactly(lead.getId()));
+
+        // When
+        leadRepository.delete(leadRepository.findById(lead.getId()).orElseThrow());
+
+        // Then
+        assertThat(searchIndexService.search(Domain.LEAD, "said")).hasValueSatisfying(ids ->
+                assertThat(ids).isEmpty());
+    }
+
+    @Test
+    void shouldIgnoreRolledBackWrites() {
+        // Given
+        searchIndexService.rebuild().join();
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            saveLead("Rolled Back", "01000000000");
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(searchIndexService.search(Domain.LEAD, "rolled")).hasValueSatisfying(ids ->
+                assertThat(ids).isEmpty());
+    }
+
+    @Test
+    void shouldFallBackToSqlWhenOverCapacity() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            saveLead("Lead " + i, "0100000000" + i);
+        }
+
+        // When
+        searchIndexService.rebuild().join();
+
+        // Then
+        assertThat(searchIndexService.search(Domain.LEAD, "lead")).isEmpty();
+        assertThat(searchIndexService.getStatus())
+                .filteredOn(status -> status.getDomain() == Domain.LEAD)
+                .singleElement()
+                .satisfies(status -> {
+                    assertThat(status.isOverCapacity()).isTrue();
+                    assertThat(status.isReady()).isFalse();
+                });
+        assertThat(searchIndexService.getStatus())
+                .filteredOn(status -> status.getDomain() == Domain.INVOICE)
+                .extracting(SearchIndexStatus::isReady)
+                .containsExactly(true);
+    }
+
+    private Lead saveLead(String fullName, String phone) {
+        Lead lead = new Lead();
+        lead.setFullName(fullName);
+        lead.setPhoneNumber(phone);
+        lead.setStatus(LeadStatus.OPEN);
+        return leadRepository.save(lead);
+    }
+
+    private InvoiceV2 saveInvoice(String customerName, String phone) {
+        InvoiceV2 invoice = new InvoiceV2();
+        invoice.setInvoiceDate(LocalDate.of(2026, 5, 1));
+        invoice.setCustomerName(customerName);
+        invoice.setCustomerPhone(phone);
+        invoice.setAmount(new BigDecimal("1500"));
+        return invoiceRepository.save(invoice);
+    }
+}
@@ -0,0 +1,228 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.config.ConflictRetryAspect;
+import org.example.academicmanagementsystem.dto.PaymentRequest;
+import org.example.academicmanagementsystem.dto.StudentRequest;
+import org.example.academicmanagementsystem.mapper.DiplomaMapperImpl;
+import org.example.academicmanagementsystem.mapper.PaymentMapperImpl;
+import org.example.academicmanagementsystem.mapper.StudentMapperImpl;
+import org.example.academicmanagementsystem.model.*;
+import org.example.academicmanagementsystem.repository.*;
+import org.example.academicmanagementsystem.service.impl.PaymentServiceImpl;
+import org.example.academicmanagementsystem.service.impl.ReceiptNumberServiceImpl;
+import org.example.academicmanagementsystem.service.impl.StudentServiceImpl;
+import org.example.academicmanagementsystem.util.TestDataBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers payments, fee updates and enrolments from several threads and checks that
+ * no update is lost and no batch is enrolled past capacity.
+ */
+// Not transactional: every service call commits on its own, as it would per request
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({PaymentServiceImpl.class, StudentServiceImpl.class, ReceiptNumberServiceImpl.class,
+        PaymentMapperImpl.class, StudentMapperImpl.class, DiplomaMapperImpl.class,
+        ConflictRetryAspect.class, StudentBalanceConcurrencyTest.AspectConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudentBalanceConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @TestConfiguration
+    @EnableAspectJAutoProxy
+    static class AspectConfig {
+    }
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private RoundRepository roundRepository;
+
+    @Autowired
+    private DiplomaRepository diplomaRepository;
+
+    @Autowired
+    private RoundDiplomaRepository roundDiplomaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private FinanceSnapshotService financeSnapshotService;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DELETE FROM receipt_counters");
+        jdbcTemplate.execute("DELETE FROM payments");
+        jdbcTemplate.execute("DELETE FROM students");
+        jdbcTemplate.execute("DELETE FROM round_diplomas");
+        jdbcTemplate.execute("DELETE FROM diplomas");
+        jdbcTemplate.execute("DELETE FROM rounds");
+    }
+
+    @Test
+    void shouldNotLoseConcurrentPayments() throws Exception {
+        // Given
+        RoundDiploma roundDiploma = persistRoundDiploma(10);
+        Long studentId = studentService.enrollStudent(studentRequest(roundDiploma, "01000000000", "10000")).getId();
+
+        // When: 8 cashiers record 20 payments of 5 each
+        runConcurrently(THREADS, thread -> {
+            for (int i = 0; i < 20; i++) {
+                paymentService.recordPayment(payment(studentId, "5"));
+            }
+        });
+
+        // Then
+        Student student = studentRepository.findById(studentId).orElseThrow();
+        assertThat(student.getPaidAmount()).isEqualByComparingTo("800");
+        assertThat(student.getRemainingAmount()).isEqualByComparingTo("9200");
+        assertThat(student.getPaymentStatus()).isEqualTo(PaymentStatus.PARTIAL);
+        assertThat(paymentRepository.count()).isEqualTo(160);
+    }
+
+    @Test
+    void shouldKeepBalanceConsistentWhenFeesChangeDuringPayments() throws Exception {
+        // Given
+        RoundDiploma roundDiploma = persistRoundDiploma(10);
+        Long studentId = studentService.enrollStudent(studentRequest(roundDiploma, "01000000000", "10000")).getId();
+        AtomicInteger rejectedUpdates = new AtomicInteger();
+
+        // When: half the threads pay, the other half keep editing the fees
+        runConcurrently(THREADS, thread -> {
+            for (int i = 0; i < 20; i++) {
+                if (thread % 2 == 0) {
+                    paymentService.recordPayment(payment(studentId, "5"));
+                } else {
+                    try {
+                        studentService.update(studentId, StudentRequest.builder()
+                                .totalFees(new BigDecimal(20000 + thread * 100 + i)).build());
+                    } catch (OptimisticLockingFailureException e) {
+                        // Retries exhausted: surfaced to the client as 409, never a lost update
+                        rejectedUpdates.incrementAndGet();
+                    }
+                }
+            }
+        });
+
+        // Then
+        Student student = studentRepository.findById(studentId).orElseThrow();
+        assertThat(student.getPaidAmount()).isEqualByComparingTo("400");
+        assertThat(student.getRemainingAmount())
+                .isEqualByComparingTo(student.getTotalFees().subtract(student.getPaidAmount()));
+        assertThat(rejectedUpdates.get()).isLessThan(40);
+    }
+
+    @Test
+    void shouldNeverEnrolPastCapacity() throws Exception {
+        // Given
+        RoundDiploma roundDiploma = persistRoundDiploma(25);
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // When: 80 enrolment attempts race for 25 seats
+        runConcurrently(THREADS, thread -> {
+            for (int i = 0; i < 10; i++) {
+                try {
+                    studentService.enrollStudent(studentRequest(roundDiploma, "010" + thread + String.format("%07d", i), "3000"));
+                    enrolled.incrementAndGet();
+                } catch (RuntimeException e) {
+                    assertThat(e.getMessage()).contains("full");
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        // Then
+        assertThat(enrolled.get()).isEqualTo(25);
+        assertThat(rejected.get()).isEqualTo(55);
+        assertThat(roundDiplomaRepository.findById(roundDiploma.getId()).orElseThrow().getCurrentEnrollment()).isEqualTo(25);
+        assertThat(studentRepository.count()).isEqualTo(25);
+    }
+
+    private void runConcurrently(int threads, ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(thread);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread);
+    }
+
+    private RoundDiploma persistRoundDiploma(int capacity) {
+        Round round = roundRepository.save(TestDataBuilder.createRound("Round 1"));
+        Diploma diploma = diplomaRepository.save(TestDataBuilder.createDiploma("Diploma 1"));
+        RoundDiploma roundDiploma = TestDataBuilder.createRoundDiploma(round, diploma);
+        roundDiploma.setTotalStudents(capacity);
+        return roundDiplomaRepository.save(roundDiploma);
+    }
+
+    private StudentRequest studentRequest(RoundDiploma roundDiploma, String phone, String totalFees) {
+        return StudentRequest.builder()
+                .name("Student " + phone)
+                .phone(phone)
+                .roundDiplomaId(roundDiploma.getId())
+                .totalFees(new BigDecimal(totalFees))
+                .build();
+    }
+
+    private PaymentRequest payment(Long studentId, String amount) {
+        PaymentRequest request = new PaymentRequest();
+        request.setStudentId(studentId);
+        request.setAmount(new BigDecimal(amount));
+        request.setType(PaymentType.INSTALLMENT);
+        request.setMethod(PaymentMethod.CASH);
+        return request;
+    }
+}
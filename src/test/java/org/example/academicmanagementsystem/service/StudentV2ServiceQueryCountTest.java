@@ -0,0 +1,199 @@
+package org.example.academicmanagementsystem.service;
+
+import org.example.academicmanagementsystem.dto.StudentResponseV2;
+import org.example.academicmanagementsystem.model.*;
+import org.example.academicmanagementsystem.service.impl.StudentV2ServiceImpl;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import(StudentV2ServiceImpl.class)
+class StudentV2ServiceQueryCountTest {
+
+    private static final int[] PAGE_SIZES = {10, 100, 500};
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StudentV2Service studentService;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private SearchIndexService searchIndexService;
+
+    private Statistics statistics;
+
+    private RoundDiplomaV2 bim;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        User sales = new User();
+        sales.setUsername("sales");
+        sales.setEmail("sales@example.com");
+        sales.setPassword("secret");
+        sales.setFullName("Sales Agent");
+        sales.setRole(UserRole.TELESALES);
+        entityManager.persist(sales);
+
+        RoundV2 round = new RoundV2();
+        round.setName("Round 1");
+        round.setStartDate(LocalDate.of(2026, 1, 1));
+        entityManager.persist(round);
+
+        bim = persistRoundDiploma(round, "BIM", "3000");
+        RoundDiplomaV2 design = persistRoundDiploma(round, "Interior Design", "5000");
+
+        // 600 students spread over two diplomas, each with a paid first installment
+        for (int i = 0; i < 600; i++) {
+            RoundDiplomaV2 rd = i % 2 == 0 ? bim : design;
+            StudentV2 student = new StudentV2();
+            student.setName("Student " + i);
+            student.setPhone("0100000" + String.format("%04d", i));
+            student.setRound(round);
+            student.setDiploma(rd.getDiploma());
+            student.setSalesPerson(sales);
+            student.setDepositAmount(new BigDecimal("100"));
+            student.setStatus(StudentStatus.ACTIVE);
+            student.setPassword("pw-" + i);
+            student.setNotes("note " + i);
+            student.recordInstallment(1, new BigDecimal("500"), "cash");
+            entityManager.persist(student);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldListStudentsByStatusWithConstantQueryCount() {
+        List<Long> counts = new ArrayList<>();
+        for (int size : PAGE_SIZES) {
+            // When
+            statistics.clear();
+            Page<StudentResponseV2> page = studentService.getStudentsByStatus(StudentStatus.ACTIVE, PageRequest.of(0, size, Sort.by("id")), null);
+            counts.add(statistics.getPrepareStatementCount());
+            entityManager.clear();
+
+            // Then
+            assertThat(page.getContent()).hasSize(size);
+            StudentResponseV2 first = page.getContent().get(0);
+            assertThat(first.getSalesPersonName()).isEqualTo("Sales Agent");
+            assertThat(first.getTotalAmount()).isEqualByComparingTo("3000");
+            assertThat(first.getPaidAmount()).isEqualByComparingTo("600");
+            assertThat(first.getInstallment1Amount()).isEqualByComparingTo("1000");
+            assertThat(first.getInstallment1Notes()).isEqualTo("cash");
+        }
+
+        // Page, count, ledgers and one pricing lookup, whatever the page size
+        assertThat(counts).containsOnly(counts.get(0));
+        assertThat(counts.get(0)).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void shouldListStudentsOfARoundDiplomaWithConstantQueryCount() {
+        List<Long> counts = new ArrayList<>();
+        for (int size : PAGE_SIZES) {
+            // When
+            statistics.clear();
+            Page<StudentResponseV2> page = studentService.getStudentsByRoundDiploma(bim.getId(), null, PageRequest.of(0, size, Sort.by("id")));
+            counts.add(statistics.getPrepareStatementCount());
+            entityManager.clear();
+
+            // Then
+            assertThat(page.getContent()).hasSize(Math.min(size, 300));
+            assertThat(page.getContent()).allMatch(s -> "BIM".equals(s.getDiplomaName()));
+            assertThat(page.getContent().get(0).getRemainingAmount()).isEqualByComparingTo("2400");
+        }
+
+        // The 500 page holds all 300 BIM students, so Spring Data skips the count query there
+        assertThat(counts.get(1)).isEqualTo(counts.get(0));
+        assertThat(counts.get(2)).isEqualTo(counts.get(0) - 1);
+        assertThat(counts.get(0)).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void shouldReadGridRowsWithoutManagingEntities() {
+        // When
+        Page<StudentResponseV2> byStatus = studentService.getStudentsByStatus(StudentStatus.ACTIVE, PageRequest.of(0, 50), "student 1");
+        Page<StudentResponseV2> byPhone = studentService.getStudentsByRoundDiploma(bim.getId(), "00000598", PageRequest.of(0, 50));
+
+        // Then
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        assertThat(byStatus.getContent()).allMatch(s -> s.getName().startsWith("Student 1"));
+        assertThat(byPhone.getContent()).singleElement().satisfies(s -> {
+            assertThat(s.getName()).isEqualTo("Student 598");
+            assertThat(s.getPassword()).isEqualTo("pw-598");
+            assertThat(s.getNotes()).isEqualTo("note 598");
+            assertThat(s.getEndDate()).isEqualTo(LocalDate.of(2026, 12, 31));
+            assertThat(s.getInstallment2Date()).isEqualTo(LocalDate.of(2026, 3, 1));
+            assertThat(s.getInstallment2Paid()).isEqualByComparingTo("0");
+        });
+    }
+
+    @Test
+    void shouldPageOverSearchIndexMatches() {
+        // Given
+        List<Long> ids = entityManager.getEntityManager()
+                .createQuery("SELECT s.id FROM StudentV2 s WHERE s.name IN ('Student 2', 'Student 3', 'Student 4')", Long.class)
+                .getResultList();
+        when(searchIndexService.search(SearchIndexService.Domain.STUDENT, "student")).thenReturn(Optional.of(new HashSet<>(ids)));
+        when(searchIndexService.search(SearchIndexService.Domain.STUDENT, "nobody")).thenReturn(Optional.of(Set.of()));
+
+        // When
+        Page<StudentResponseV2> byStatus = studentService.getStudentsByStatus(StudentStatus.ACTIVE, PageRequest.of(0, 2, Sort.by("id")), "student");
+        Page<StudentResponseV2> byRoundDiploma = studentService.getStudentsByRoundDiploma(bim.getId(), "student", PageRequest.of(0, 10, Sort.by("id")));
+        Page<StudentResponseV2> none = studentService.getStudentsByStatus(StudentStatus.ACTIVE, PageRequest.of(0, 10), "nobody");
+
+        // Then
+        assertThat(byStatus.getTotalElements()).isEqualTo(3);
+        assertThat(byStatus.getContent()).extracting(StudentResponseV2::getName).containsExactly("Student 2", "Student 3");
+        assertThat(byRoundDiploma.getContent()).extracting(StudentResponseV2::getName).containsExactly("Student 2", "Student 4");
+        assertThat(none.getContent()).isEmpty();
+    }
+
+    private RoundDiplomaV2 persistRoundDiploma(RoundV2 round, String diplomaName, String price) {
+        DiplomaV2 diploma = new DiplomaV2();
+        diploma.setName(diplomaName);
+        entityManager.persist(diploma);
+
+        RoundDiplomaV2 rd = new RoundDiplomaV2();
+        rd.setRound(round);
+        rd.setDiploma(diploma);
+        rd.setTotalPrice(new BigDecimal(price));
+        rd.setStartDate(LocalDate.of(2026, 1, 1));
+        rd.setEndDate(LocalDate.of(2026, 12, 31));
+        rd.setTotalStudents(1000);
+        rd.putInstallment(1, LocalDate.of(2026, 2, 1), new BigDecimal("1000"), 30);
+        rd.putInstallment(2, LocalDate.of(2026, 3, 1), new BigDecimal("1000"), 30);
+        return entityManager.persist(rd);
+    }
+}
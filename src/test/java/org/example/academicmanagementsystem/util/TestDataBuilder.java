@@ -2,11 +2,17 @@ package org.example.academicmanagementsystem.util;
 
 import org.example.academicmanagementsystem.dto.LoginRequest;
 import org.example.academicmanagementsystem.dto.RegisterRequest;
+import org.example.academicmanagementsystem.model.Diploma;
+import org.example.academicmanagementsystem.model.Round;
+import org.example.academicmanagementsystem.model.RoundDiploma;
+import org.example.academicmanagementsystem.model.Student;
 import org.example.academicmanagementsystem.model.User;
 import org.example.academicmanagementsystem.model.UserRole;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 public class TestDataBuilder {
@@ -64,4 +70,40 @@ public class TestDataBuilder {
         request.setFullName("أحمد محمد");
         return request;
     }
+
+    public static Round createRound(String name) {
+        Round round = new Round();
+        round.setName(name);
+        round.setStartDate(LocalDate.of(2026, 1, 1));
+        return round;
+    }
+
+    public static Diploma createDiploma(String name) {
+        Diploma diploma = new Diploma();
+        diploma.setName(name);
+        return diploma;
+    }
+
+    // Round and diploma must already be persisted; neither association cascades
+    public static RoundDiploma createRoundDiploma(Round round, Diploma diploma) {
+        RoundDiploma roundDiploma = new RoundDiploma();
+        roundDiploma.setRound(round);
+        roundDiploma.setDiploma(diploma);
+        roundDiploma.setTotalPrice(new BigDecimal("3000"));
+        roundDiploma.setStartDate(LocalDate.of(2026, 1, 1));
+        roundDiploma.setEndDate(LocalDate.of(2026, 12, 31));
+        roundDiploma.setTotalStudents(30);
+        return roundDiploma;
+    }
+
+    public static Student createStudent(RoundDiploma roundDiploma, String name, String phone) {
+        Student student = new Student();
+        student.setName(name);
+        student.setPhone(phone);
+        student.setRoundDiploma(roundDiploma);
+        student.setTotalFees(roundDiploma.getTotalPrice());
+        student.setRemainingAmount(roundDiploma.getTotalPrice());
+        student.setEnrollmentDate(LocalDateTime.of(2026, 1, 1, 10, 0));
+        return student;
+    }
 }